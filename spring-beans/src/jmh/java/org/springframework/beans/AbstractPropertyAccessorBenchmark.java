@@ -38,7 +38,7 @@ public class AbstractPropertyAccessorBenchmark {
 	@State(Scope.Benchmark)
 	public static class BenchmarkState {
 
-		@Param({"DirectFieldAccessor", "BeanWrapper"})
+		@Param({"DirectFieldAccessor", "BeanWrapper", "CompiledBeanWrapper"})
 		public String accessor;
 
 		@Param({"none", "stringTrimmer", "numberOnPath", "numberOnNestedPath", "numberOnType"})
@@ -58,7 +58,9 @@ public class AbstractPropertyAccessorBenchmark {
 				this.propertyAccessor = new DirectFieldAccessor(this.target);
 			}
 			else {
-				this.propertyAccessor = new BeanWrapperImpl(this.target);
+				BeanWrapperImpl beanWrapper = new BeanWrapperImpl(this.target);
+				beanWrapper.setCompiledPropertyAccess(this.accessor.equals("CompiledBeanWrapper"));
+				this.propertyAccessor = beanWrapper;
 			}
 			switch (this.customEditor) {
 				case "stringTrimmer" ->
@@ -80,6 +82,37 @@ public class AbstractPropertyAccessorBenchmark {
 		return state.target;
 	}
 
+	@State(Scope.Benchmark)
+	public static class WideBeanState {
+
+		@Param({"false", "true"})
+		public boolean compiledPropertyAccess;
+
+		public MutablePropertyValues propertyValues;
+
+		@Setup
+		public void setup() {
+			this.propertyValues = new MutablePropertyValues();
+			for (int i = 0; i < 10; i++) {
+				this.propertyValues.add("name" + i, "value" + i);
+				this.propertyValues.add("number" + i, i);
+			}
+		}
+	}
+
+	/**
+	 * Bind all properties of a new wide bean through a new accessor,
+	 * like for data binding or row mapping.
+	 */
+	@Benchmark
+	public WideBean setPropertyValues(WideBeanState state) {
+		WideBean target = new WideBean();
+		BeanWrapperImpl beanWrapper = new BeanWrapperImpl(target);
+		beanWrapper.setCompiledPropertyAccess(state.compiledPropertyAccess);
+		beanWrapper.setPropertyValues(state.propertyValues);
+		return target;
+	}
+
 	@SuppressWarnings("unused")
 	private static class PrimitiveArrayBean {
 
@@ -94,4 +127,128 @@ public class AbstractPropertyAccessorBenchmark {
 		}
 	}
 
+	@SuppressWarnings("unused")
+	public static class WideBean {
+
+		private String name0;
+
+		private String name1;
+
+		private String name2;
+
+		private String name3;
+
+		private String name4;
+
+		private String name5;
+
+		private String name6;
+
+		private String name7;
+
+		private String name8;
+
+		private String name9;
+
+		private int number0;
+
+		private int number1;
+
+		private int number2;
+
+		private int number3;
+
+		private int number4;
+
+		private int number5;
+
+		private int number6;
+
+		private int number7;
+
+		private int number8;
+
+		private int number9;
+
+		public void setName0(String name0) {
+			this.name0 = name0;
+		}
+
+		public void setName1(String name1) {
+			this.name1 = name1;
+		}
+
+		public void setName2(String name2) {
+			this.name2 = name2;
+		}
+
+		public void setName3(String name3) {
+			this.name3 = name3;
+		}
+
+		public void setName4(String name4) {
+			this.name4 = name4;
+		}
+
+		public void setName5(String name5) {
+			this.name5 = name5;
+		}
+
+		public void setName6(String name6) {
+			this.name6 = name6;
+		}
+
+		public void setName7(String name7) {
+			this.name7 = name7;
+		}
+
+		public void setName8(String name8) {
+			this.name8 = name8;
+		}
+
+		public void setName9(String name9) {
+			this.name9 = name9;
+		}
+
+		public void setNumber0(int number0) {
+			this.number0 = number0;
+		}
+
+		public void setNumber1(int number1) {
+			this.number1 = number1;
+		}
+
+		public void setNumber2(int number2) {
+			this.number2 = number2;
+		}
+
+		public void setNumber3(int number3) {
+			this.number3 = number3;
+		}
+
+		public void setNumber4(int number4) {
+			this.number4 = number4;
+		}
+
+		public void setNumber5(int number5) {
+			this.number5 = number5;
+		}
+
+		public void setNumber6(int number6) {
+			this.number6 = number6;
+		}
+
+		public void setNumber7(int number7) {
+			this.number7 = number7;
+		}
+
+		public void setNumber8(int number8) {
+			this.number8 = number8;
+		}
+
+		public void setNumber9(int number9) {
+			this.number9 = number9;
+		}
+	}
+
 }
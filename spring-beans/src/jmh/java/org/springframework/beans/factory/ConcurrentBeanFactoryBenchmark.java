@@ -18,16 +18,26 @@ package org.springframework.beans.factory;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.infra.Blackhole;
 
+import org.springframework.beans.factory.config.RuntimeBeanReference;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
 import org.springframework.beans.propertyeditors.CustomDateEditor;
 
@@ -38,6 +48,9 @@ import static org.springframework.core.testfixture.io.ResourceTestUtils.qualifie
  * This benchmark requires to customize the number of worker threads {@code -t <int>} on the
  * CLI when running this particular benchmark to leverage concurrency.
  *
+ * <p>Also measures the wall-clock time of pre-instantiating singletons with slow
+ * initialization, sequentially or in parallel on a given number of threads.
+ *
  * @author Brian Clozel
  */
 @BenchmarkMode(Mode.Throughput)
@@ -61,12 +74,67 @@ public class ConcurrentBeanFactoryBenchmark {
 
 	}
 
+	@State(Scope.Benchmark)
+	public static class StartupState {
+
+		@Param({"1000"})
+		public int beanCount;
+
+		@Param({"0", "100"})
+		public int initMicros;
+
+		@Param({"0", "4", "16"})
+		public int threads;
+
+		public ExecutorService executor;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			if (this.threads > 0) {
+				this.executor = Executors.newFixedThreadPool(this.threads);
+			}
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			if (this.executor != null) {
+				this.executor.shutdown();
+			}
+		}
+
+		public DefaultListableBeanFactory createBeanFactory() {
+			DefaultListableBeanFactory factory = new DefaultListableBeanFactory();
+			for (int i = 0; i < this.beanCount; i++) {
+				RootBeanDefinition bd = new RootBeanDefinition(SlowInitBean.class);
+				bd.getPropertyValues().add("initMicros", this.initMicros);
+				if (i > 0) {
+					// Binary tree of dependencies
+					bd.getPropertyValues().add("parent", new RuntimeBeanReference("slowInitBean" + ((i - 1) / 2)));
+				}
+				factory.registerBeanDefinition("slowInitBean" + i, bd);
+			}
+			if (this.executor != null) {
+				factory.setPreInstantiationExecutor(this.executor);
+			}
+			return factory;
+		}
+	}
+
 	@Benchmark
 	public void concurrentBeanCreation(BenchmarkState state, Blackhole bh) {
 		bh.consume(state.factory.getBean("bean1"));
 		bh.consume(state.factory.getBean("bean2"));
 	}
 
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public DefaultListableBeanFactory preInstantiateSingletons(StartupState state) {
+		DefaultListableBeanFactory factory = state.createBeanFactory();
+		factory.preInstantiateSingletons();
+		return factory;
+	}
+
 
 	public static class ConcurrentBean {
 
@@ -80,4 +148,32 @@ public class ConcurrentBeanFactoryBenchmark {
 			this.date = date;
 		}
 	}
+
+
+	public static class SlowInitBean implements InitializingBean {
+
+		private int initMicros;
+
+		private SlowInitBean parent;
+
+		public void setInitMicros(int initMicros) {
+			this.initMicros = initMicros;
+		}
+
+		public void setParent(SlowInitBean parent) {
+			this.parent = parent;
+		}
+
+		public SlowInitBean getParent() {
+			return this.parent;
+		}
+
+		@Override
+		public void afterPropertiesSet() {
+			if (this.initMicros > 0) {
+				// Simulates blocking I/O, e.g. opening a connection pool
+				LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(this.initMicros));
+			}
+		}
+	}
 }
@@ -24,12 +24,15 @@ import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 
+import org.springframework.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor;
 import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.beans.factory.config.RuntimeBeanReference;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.beans.testfixture.beans.LifecycleBean;
 import org.springframework.beans.testfixture.beans.TestBean;
+import org.springframework.core.ResolvableType;
 
 /**
  * Benchmark for retrieving various bean types from the {@link DefaultListableBeanFactory}.
@@ -46,7 +49,8 @@ public class DefaultListableBeanFactoryBenchmark {
 	@State(Scope.Benchmark)
 	public static class PrototypeCreationState extends Shared {
 
-		@Param({"simple", "dependencyCheck", "constructor", "constructorArgument", "properties", "resolvedProperties"})
+		@Param({"simple", "dependencyCheck", "constructor", "constructorArgument", "properties", "resolvedProperties",
+				"postProcessors"})
 		public String mode;
 
 		@Setup
@@ -79,6 +83,16 @@ public class DefaultListableBeanFactoryBenchmark {
 					rbd.getPropertyValues().add("spouse", new RuntimeBeanReference("spouse"));
 					this.beanFactory.registerBeanDefinition("spouse", new RootBeanDefinition(TestBean.class));
 					break;
+				case "postProcessors":
+					rbd.getConstructorArgumentValues().addGenericArgumentValue(new RuntimeBeanReference("spouse"));
+					this.beanFactory.registerBeanDefinition("spouse", new RootBeanDefinition(TestBean.class));
+					AutowiredAnnotationBeanPostProcessor autowiredPostProcessor = new AutowiredAnnotationBeanPostProcessor();
+					autowiredPostProcessor.setBeanFactory(this.beanFactory);
+					this.beanFactory.addBeanPostProcessor(autowiredPostProcessor);
+					for (int i = 0; i < 5; i++) {
+						this.beanFactory.addBeanPostProcessor(new AfterInitializationPostProcessor());
+					}
+					break;
 			}
 			rbd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
 			this.beanFactory.registerBeanDefinition("test", rbd);
@@ -133,10 +147,65 @@ public class DefaultListableBeanFactoryBenchmark {
 		return state.beanFactory.getBean(B.class);
 	}
 
+	@State(Scope.Benchmark)
+	public static class TypeLookupState extends Shared {
+
+		@Param({"1000", "10000"})
+		public int beanCount;
+
+		public ResolvableType repositoryType = ResolvableType.forClassWithGenerics(Repository.class, A.class);
+
+		@Setup
+		public void setup() {
+			this.beanFactory = new DefaultListableBeanFactory();
+			for (int i = 0; i < this.beanCount; i++) {
+				RootBeanDefinition bd = new RootBeanDefinition(Repository.class);
+				bd.setTargetType(ResolvableType.forClassWithGenerics(Repository.class, (i % 10 == 0 ? A.class : B.class)));
+				this.beanFactory.registerBeanDefinition("repository" + i, bd);
+				this.beanFactory.registerBeanDefinition("a" + i, new RootBeanDefinition(A.class));
+			}
+			this.beanFactory.freezeConfiguration();
+			this.beanFactory.preInstantiateSingletons();
+		}
+	}
+
+	@Benchmark
+	public String[] beanNamesForGenericType(TypeLookupState state) {
+		return state.beanFactory.getBeanNamesForType(state.repositoryType);
+	}
+
+	@Benchmark
+	public long beanProviderOrderedStream(TypeLookupState state) {
+		ObjectProvider<Repository<A>> provider = state.beanFactory.getBeanProvider(state.repositoryType);
+		return provider.orderedStream().count();
+	}
+
+	@Benchmark
+	public String[] lateSingletonRegistration(TypeLookupState state) {
+		state.beanFactory.registerSingleton("late", new A());
+		try {
+			return state.beanFactory.getBeanNamesForType(A.class);
+		}
+		finally {
+			state.beanFactory.destroySingleton("late");
+		}
+	}
+
 	static class A {
 	}
 
+	static class AfterInitializationPostProcessor implements BeanPostProcessor {
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) {
+			return bean;
+		}
+	}
+
 	static class B {
 	}
 
+	static class Repository<T> {
+	}
+
 }
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.ManagedList;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.lang.Nullable;
+
+/**
+ * Benchmark for resolving request-scoped beans with singleton dependencies from
+ * several threads at once, each invocation simulating a new request.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+@Threads(8)
+public class ScopedBeanFactoryBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"1", "10"})
+		public int dependencyCount;
+
+		@Param({"false", "true"})
+		public boolean concurrentSingletonCreation;
+
+		public DefaultListableBeanFactory beanFactory;
+
+		public RequestScope requestScope;
+
+		@Setup
+		public void setup() {
+			this.beanFactory = new DefaultListableBeanFactory();
+			this.beanFactory.setConcurrentSingletonCreation(this.concurrentSingletonCreation);
+			this.requestScope = new RequestScope();
+			this.beanFactory.registerScope("request", this.requestScope);
+			ManagedList<RuntimeBeanReference> dependencies = new ManagedList<>();
+			for (int i = 0; i < this.dependencyCount; i++) {
+				this.beanFactory.registerBeanDefinition("dependency" + i, new RootBeanDefinition(Object.class));
+				dependencies.add(new RuntimeBeanReference("dependency" + i));
+			}
+			RootBeanDefinition bd = new RootBeanDefinition(RequestBean.class);
+			bd.setScope("request");
+			bd.getPropertyValues().add("dependencies", dependencies);
+			this.beanFactory.registerBeanDefinition("requestBean", bd);
+			this.beanFactory.preInstantiateSingletons();
+		}
+	}
+
+	@Benchmark
+	public Object requestScopedBean(BenchmarkState state) {
+		state.requestScope.startRequest();
+		try {
+			// Second lookup within the same request served from the scope
+			state.beanFactory.getBean("requestBean");
+			return state.beanFactory.getBean("requestBean");
+		}
+		finally {
+			state.requestScope.endRequest();
+		}
+	}
+
+
+	/**
+	 * Simple request scope, with each thread processing one request at a time.
+	 */
+	public static class RequestScope implements org.springframework.beans.factory.config.Scope {
+
+		private final ThreadLocal<Map<String, Object>> attributes = new ThreadLocal<>();
+
+		public void startRequest() {
+			this.attributes.set(new HashMap<>());
+		}
+
+		public void endRequest() {
+			this.attributes.remove();
+		}
+
+		@Override
+		public Object get(String name, ObjectFactory<?> objectFactory) {
+			return this.attributes.get().computeIfAbsent(name, key -> objectFactory.getObject());
+		}
+
+		@Override
+		@Nullable
+		public Object remove(String name) {
+			return this.attributes.get().remove(name);
+		}
+
+		@Override
+		public void registerDestructionCallback(String name, Runnable callback) {
+		}
+
+		@Override
+		@Nullable
+		public Object resolveContextualObject(String key) {
+			return null;
+		}
+
+		@Override
+		@Nullable
+		public String getConversationId() {
+			return null;
+		}
+	}
+
+
+	public static class RequestBean {
+
+		private List<Object> dependencies;
+
+		public void setDependencies(List<Object> dependencies) {
+			this.dependencies = dependencies;
+		}
+
+		public List<Object> getDependencies() {
+			return this.dependencies;
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,12 +17,17 @@
 package org.springframework.beans;
 
 import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 import org.springframework.core.ResolvableType;
+import org.springframework.core.SpringProperties;
 import org.springframework.core.convert.Property;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.ReflectionUtils;
 
 /**
@@ -57,6 +62,23 @@ import org.springframework.util.ReflectionUtils;
  */
 public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements BeanWrapper {
 
+	/**
+	 * System property that instructs Spring to use compiled property access by
+	 * default: "spring.beans.compiledPropertyAccess", with a value of "true"
+	 * invoking bean property read and write methods through invokers generated
+	 * per bean class instead of through reflection.
+	 * <p>The default is "false", using reflective method invocation. Consider
+	 * switching this flag to "true" for CPU-bound data binding scenarios with
+	 * many properties per object or many objects per bean class.
+	 * @since 6.0
+	 * @see #setCompiledPropertyAccess
+	 */
+	public static final String COMPILED_PROPERTY_ACCESS_PROPERTY_NAME = "spring.beans.compiledPropertyAccess";
+
+	private static final boolean compiledPropertyAccessByDefault =
+			SpringProperties.getFlag(COMPILED_PROPERTY_ACCESS_PROPERTY_NAME);
+
+
 	/**
 	 * Cached introspections results for this object, to prevent encountering
 	 * the cost of JavaBeans introspection every time.
@@ -64,6 +86,8 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 	@Nullable
 	private CachedIntrospectionResults cachedIntrospectionResults;
 
+	private boolean compiledPropertyAccess = compiledPropertyAccessByDefault;
+
 
 	/**
 	 * Create a new empty BeanWrapperImpl. Wrapped instance needs to be set afterwards.
@@ -120,6 +144,7 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 	 */
 	private BeanWrapperImpl(Object object, String nestedPath, BeanWrapperImpl parent) {
 		super(object, nestedPath, parent);
+		this.compiledPropertyAccess = parent.compiledPropertyAccess;
 	}
 
 
@@ -142,6 +167,29 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 		setIntrospectionClass(getWrappedClass());
 	}
 
+	/**
+	 * Set whether to invoke bean property read and write methods through
+	 * invokers compiled per bean class instead of through reflection.
+	 * <p>Default is "false", unless the {@link #COMPILED_PROPERTY_ACCESS_PROPERTY_NAME}
+	 * system property has been set to "true". Turning this on is worthwhile for
+	 * repeated access to the same bean classes, with the invokers cached along
+	 * with the introspection results for each class. Properties that cannot be
+	 * compiled, e.g. in a native image, are accessed through reflection.
+	 * @since 6.0
+	 */
+	public void setCompiledPropertyAccess(boolean compiledPropertyAccess) {
+		this.compiledPropertyAccess = compiledPropertyAccess;
+	}
+
+	/**
+	 * Return whether to invoke bean property read and write methods through
+	 * compiled invokers instead of through reflection.
+	 * @since 6.0
+	 */
+	public boolean isCompiledPropertyAccess() {
+		return this.compiledPropertyAccess;
+	}
+
 	/**
 	 * Set the class to introspect.
 	 * Needs to be called when the target object changes.
@@ -260,6 +308,17 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 		@Override
 		@Nullable
 		public Object getValue() throws Exception {
+			if (compiledPropertyAccess && this.pd instanceof GenericTypeAwarePropertyDescriptor gpd) {
+				Function<Object, Object> compiledReadMethod = gpd.getCompiledReadMethod();
+				if (compiledReadMethod != null) {
+					try {
+						return compiledReadMethod.apply(getWrappedInstance());
+					}
+					catch (Throwable ex) {
+						throw new InvocationTargetException(ex);
+					}
+				}
+			}
 			Method readMethod = this.pd.getReadMethod();
 			ReflectionUtils.makeAccessible(readMethod);
 			return readMethod.invoke(getWrappedInstance(), (Object[]) null);
@@ -267,6 +326,20 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 
 		@Override
 		public void setValue(@Nullable Object value) throws Exception {
+			if (compiledPropertyAccess && this.pd instanceof GenericTypeAwarePropertyDescriptor gpd &&
+					ClassUtils.isAssignableValue(gpd.getWriteMethodParameter().getParameterType(), value)) {
+				// Otherwise let reflective invocation report the argument mismatch
+				BiConsumer<Object, Object> compiledWriteMethod = gpd.getCompiledWriteMethod();
+				if (compiledWriteMethod != null) {
+					try {
+						compiledWriteMethod.accept(getWrappedInstance(), value);
+						return;
+					}
+					catch (Throwable ex) {
+						throw new InvocationTargetException(ex);
+					}
+				}
+			}
 			Method writeMethod = (this.pd instanceof GenericTypeAwarePropertyDescriptor ?
 					((GenericTypeAwarePropertyDescriptor) this.pd).getWriteMethodForActualAccess() :
 					this.pd.getWriteMethod());
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.NativeDetector;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Internal helper for compiling JavaBeans read and write methods into
+ * functional invokers, bound to the target method through the JDK's
+ * {@link LambdaMetafactory} and therefore as fast as a direct call
+ * once inlined, without reflective argument checks for each invocation.
+ *
+ * <p>Compilation is not attempted within a native image and silently
+ * falls back to reflective invocation if the declaring class cannot be
+ * accessed in private mode, e.g. for classes in non-open modules.
+ *
+ * @author agent
+ * @since 6.0
+ * @see GenericTypeAwarePropertyDescriptor#getCompiledReadMethod()
+ * @see GenericTypeAwarePropertyDescriptor#getCompiledWriteMethod()
+ */
+final class CompiledPropertyMethods {
+
+	private static final Log logger = LogFactory.getLog(CompiledPropertyMethods.class);
+
+
+	private CompiledPropertyMethods() {
+	}
+
+
+	/**
+	 * Compile the given read method into a function that takes the target bean.
+	 * @param readMethod the JavaBeans read method
+	 * @return the compiled read method, or {@code null} if not compilable
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	static Function<Object, Object> compileReadMethod(Method readMethod) {
+		if (!isCompilable(readMethod) || readMethod.getParameterCount() != 0) {
+			return null;
+		}
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(
+					readMethod.getDeclaringClass(), MethodHandles.lookup());
+			MethodHandle target = lookup.unreflect(readMethod);
+			CallSite callSite = LambdaMetafactory.metafactory(lookup, "apply",
+					MethodType.methodType(Function.class),
+					MethodType.methodType(Object.class, Object.class), target,
+					MethodType.methodType(ClassUtils.resolvePrimitiveIfNecessary(readMethod.getReturnType()),
+							readMethod.getDeclaringClass()));
+			return (Function<Object, Object>) callSite.getTarget().invoke();
+		}
+		catch (Throwable ex) {
+			if (logger.isTraceEnabled()) {
+				logger.trace("Cannot compile read method [" + readMethod + "] - using reflection", ex);
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Compile the given write method into a consumer that takes the target bean
+	 * and the value to set.
+	 * @param writeMethod the JavaBeans write method
+	 * @return the compiled write method, or {@code null} if not compilable
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	static BiConsumer<Object, Object> compileWriteMethod(Method writeMethod) {
+		if (!isCompilable(writeMethod) || writeMethod.getParameterCount() != 1) {
+			return null;
+		}
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(
+					writeMethod.getDeclaringClass(), MethodHandles.lookup());
+			// A return value from a fluent setter gets ignored by the consumer
+			MethodHandle target = lookup.unreflect(writeMethod);
+			CallSite callSite = LambdaMetafactory.metafactory(lookup, "accept",
+					MethodType.methodType(BiConsumer.class),
+					MethodType.methodType(void.class, Object.class, Object.class), target,
+					MethodType.methodType(void.class, writeMethod.getDeclaringClass(),
+							ClassUtils.resolvePrimitiveIfNecessary(writeMethod.getParameterTypes()[0])));
+			return (BiConsumer<Object, Object>) callSite.getTarget().invoke();
+		}
+		catch (Throwable ex) {
+			if (logger.isTraceEnabled()) {
+				logger.trace("Cannot compile write method [" + writeMethod + "] - using reflection", ex);
+			}
+			return null;
+		}
+	}
+
+	private static boolean isCompilable(Method method) {
+		return (!NativeDetector.inNativeImage() && !Modifier.isStatic(method.getModifiers()));
+	}
+
+}
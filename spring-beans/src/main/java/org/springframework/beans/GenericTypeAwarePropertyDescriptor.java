@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,8 @@ import java.beans.PropertyDescriptor;
 import java.lang.reflect.Method;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 import org.apache.commons.logging.LogFactory;
 
@@ -63,6 +65,16 @@ final class GenericTypeAwarePropertyDescriptor extends PropertyDescriptor {
 	@Nullable
 	private final Class<?> propertyEditorClass;
 
+	@Nullable
+	private volatile Function<Object, Object> compiledReadMethod;
+
+	private volatile boolean readMethodCompiled;
+
+	@Nullable
+	private volatile BiConsumer<Object, Object> compiledWriteMethod;
+
+	private volatile boolean writeMethodCompiled;
+
 
 	public GenericTypeAwarePropertyDescriptor(Class<?> beanClass, String propertyName,
 			@Nullable Method readMethod, @Nullable Method writeMethod,
@@ -145,6 +157,42 @@ final class GenericTypeAwarePropertyDescriptor extends PropertyDescriptor {
 		return this.writeMethod;
 	}
 
+	/**
+	 * Return the read method compiled into a function, lazily compiling it
+	 * on first access.
+	 * @return the compiled read method, or {@code null} if not available
+	 * @since 6.0
+	 * @see CompiledPropertyMethods#compileReadMethod
+	 */
+	@Nullable
+	public Function<Object, Object> getCompiledReadMethod() {
+		if (!this.readMethodCompiled) {
+			if (this.readMethod != null) {
+				this.compiledReadMethod = CompiledPropertyMethods.compileReadMethod(this.readMethod);
+			}
+			this.readMethodCompiled = true;
+		}
+		return this.compiledReadMethod;
+	}
+
+	/**
+	 * Return the write method compiled into a consumer, lazily compiling it
+	 * on first access.
+	 * @return the compiled write method, or {@code null} if not available
+	 * @since 6.0
+	 * @see CompiledPropertyMethods#compileWriteMethod
+	 */
+	@Nullable
+	public BiConsumer<Object, Object> getCompiledWriteMethod() {
+		if (!this.writeMethodCompiled) {
+			if (this.writeMethod != null) {
+				this.compiledWriteMethod = CompiledPropertyMethods.compileWriteMethod(getWriteMethodForActualAccess());
+			}
+			this.writeMethodCompiled = true;
+		}
+		return this.compiledWriteMethod;
+	}
+
 	public MethodParameter getWriteMethodParameter() {
 		Assert.state(this.writeMethodParameter != null, "No write method available");
 		return this.writeMethodParameter;
@@ -39,6 +39,7 @@ import org.springframework.beans.BeansException;
 import org.springframework.beans.PropertyEditorRegistrar;
 import org.springframework.beans.PropertyEditorRegistry;
 import org.springframework.beans.PropertyEditorRegistrySupport;
+import org.springframework.beans.PropertyValues;
 import org.springframework.beans.SimpleTypeConverter;
 import org.springframework.beans.TypeConverter;
 import org.springframework.beans.TypeMismatchException;
@@ -966,8 +967,28 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 		if (bppCache == null) {
 			bppCache = new BeanPostProcessorCache();
 			for (BeanPostProcessor bpp : this.beanPostProcessors) {
+				if (BeanPostProcessorCache.overrides(bpp, BeanPostProcessor.class,
+						"postProcessBeforeInitialization", Object.class, String.class)) {
+					bppCache.beforeInitialization.add(bpp);
+				}
+				if (BeanPostProcessorCache.overrides(bpp, BeanPostProcessor.class,
+						"postProcessAfterInitialization", Object.class, String.class)) {
+					bppCache.afterInitialization.add(bpp);
+				}
 				if (bpp instanceof InstantiationAwareBeanPostProcessor instantiationAwareBpp) {
 					bppCache.instantiationAware.add(instantiationAwareBpp);
+					if (BeanPostProcessorCache.overrides(bpp, InstantiationAwareBeanPostProcessor.class,
+							"postProcessBeforeInstantiation", Class.class, String.class)) {
+						bppCache.beforeInstantiation.add(instantiationAwareBpp);
+					}
+					if (BeanPostProcessorCache.overrides(bpp, InstantiationAwareBeanPostProcessor.class,
+							"postProcessAfterInstantiation", Object.class, String.class)) {
+						bppCache.afterInstantiation.add(instantiationAwareBpp);
+					}
+					if (BeanPostProcessorCache.overrides(bpp, InstantiationAwareBeanPostProcessor.class,
+							"postProcessProperties", PropertyValues.class, Object.class, String.class)) {
+						bppCache.properties.add(instantiationAwareBpp);
+					}
 					if (bpp instanceof SmartInstantiationAwareBeanPostProcessor smartInstantiationAwareBpp) {
 						bppCache.smartInstantiationAware.add(smartInstantiationAwareBpp);
 					}
@@ -1657,6 +1678,10 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 				return (objectType != null ? ResolvableType.forClass(objectType) : ResolvableType.NONE);
 			}
 			catch (BeanCreationException ex) {
+				if (ex.contains(SingletonCreationConflictException.class)) {
+					// Don't swallow a conflict with concurrent creation
+					throw ex;
+				}
 				if (ex.contains(BeanCurrentlyInCreationException.class)) {
 					logger.trace(LogMessage.format("Bean currently in creation on FactoryBean type check: %s", ex));
 				}
@@ -2025,6 +2050,9 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 
 	/**
 	 * Internal cache of pre-filtered post-processors.
+	 * <p>The per-callback lists only contain post-processors which actually
+	 * implement the callback, skipping the no-op default methods of the
+	 * post-processor interfaces on each bean creation.
 	 *
 	 * @since 5.3
 	 */
@@ -2037,6 +2065,30 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
 		final List<DestructionAwareBeanPostProcessor> destructionAware = new ArrayList<>();
 
 		final List<MergedBeanDefinitionPostProcessor> mergedDefinition = new ArrayList<>();
+
+		final List<InstantiationAwareBeanPostProcessor> beforeInstantiation = new ArrayList<>();
+
+		final List<InstantiationAwareBeanPostProcessor> afterInstantiation = new ArrayList<>();
+
+		final List<InstantiationAwareBeanPostProcessor> properties = new ArrayList<>();
+
+		final List<BeanPostProcessor> beforeInitialization = new ArrayList<>();
+
+		final List<BeanPostProcessor> afterInitialization = new ArrayList<>();
+
+		/**
+		 * Determine whether the given post-processor overrides the specified
+		 * default method of the given post-processor interface.
+		 */
+		static boolean overrides(BeanPostProcessor bpp, Class<?> ifc, String methodName, Class<?>... paramTypes) {
+			try {
+				return (bpp.getClass().getMethod(methodName, paramTypes).getDeclaringClass() != ifc);
+			}
+			catch (NoSuchMethodException ex) {
+				// Should not happen for a method of the given interface: apply the post-processor.
+				return true;
+			}
+		}
 	}
 
 }
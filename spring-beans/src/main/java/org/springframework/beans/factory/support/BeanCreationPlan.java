@@ -0,0 +1,127 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.lang.reflect.Executable;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Immutable plan for re-creating a non-singleton bean from its merged bean
+ * definition, captured after the first successful creation of the bean:
+ * the resolved instantiation step along with the state of constructor or
+ * factory method resolution, with merged bean definition post-processing
+ * having been applied already.
+ *
+ * <p>Replaying a plan avoids the resolution checks and the locks on the merged
+ * bean definition for every further instance, which matters for prototype and
+ * scoped beans (e.g. request-scoped beans) being created concurrently.
+ * An instance supplier, e.g. as generated for ahead-of-time processing,
+ * is used as the instantiation step as-is.
+ *
+ * @author agent
+ * @since 6.0
+ * @see RootBeanDefinition#creationPlan
+ */
+final class BeanCreationPlan {
+
+	/**
+	 * The instantiation step of a creation plan.
+	 */
+	enum Instantiation {
+
+		/** Obtain the instance from the instance supplier of the bean definition. */
+		INSTANCE_SUPPLIER,
+
+		/** Invoke the factory method of the bean definition. */
+		FACTORY_METHOD,
+
+		/** Invoke the resolved constructor with resolved or prepared arguments. */
+		AUTOWIRE_CONSTRUCTOR,
+
+		/** Invoke the default constructor through the instantiation strategy. */
+		DEFAULT_CONSTRUCTOR
+	}
+
+
+	final Instantiation instantiation;
+
+	/** The resolved constructor or factory method, if any. */
+	@Nullable
+	final Executable constructorOrFactoryMethod;
+
+	/** Whether the arguments for the constructor or factory method have been resolved. */
+	final boolean argumentsResolved;
+
+	/** Fully resolved arguments, if any. */
+	@Nullable
+	final Object[] resolvedArguments;
+
+	/** Partly prepared arguments to be resolved for each instance, if any. */
+	@Nullable
+	final Object[] preparedArguments;
+
+
+	private BeanCreationPlan(Instantiation instantiation, @Nullable Executable constructorOrFactoryMethod,
+			boolean argumentsResolved, @Nullable Object[] resolvedArguments, @Nullable Object[] preparedArguments) {
+
+		this.instantiation = instantiation;
+		this.constructorOrFactoryMethod = constructorOrFactoryMethod;
+		this.argumentsResolved = argumentsResolved;
+		this.resolvedArguments = resolvedArguments;
+		this.preparedArguments = preparedArguments;
+	}
+
+
+	/**
+	 * Capture a creation plan from the current resolution state of the given
+	 * merged bean definition, after a bean has been created from it.
+	 * @param mbd the merged bean definition
+	 * @return the creation plan, or {@code null} if the constructor to use
+	 * has not been resolved, e.g. in case of method injection
+	 */
+	@Nullable
+	static BeanCreationPlan capture(RootBeanDefinition mbd) {
+		if (!mbd.allowCaching) {
+			return null;
+		}
+		Instantiation instantiation;
+		if (mbd.getInstanceSupplier() != null) {
+			instantiation = Instantiation.INSTANCE_SUPPLIER;
+		}
+		else if (mbd.getFactoryMethodName() != null) {
+			instantiation = Instantiation.FACTORY_METHOD;
+		}
+		else {
+			instantiation = null;
+		}
+		synchronized (mbd.constructorArgumentLock) {
+			Executable resolved = mbd.resolvedConstructorOrFactoryMethod;
+			if (instantiation == null) {
+				if (resolved == null) {
+					return null;
+				}
+				instantiation = (mbd.constructorArgumentsResolved ?
+						Instantiation.AUTOWIRE_CONSTRUCTOR : Instantiation.DEFAULT_CONSTRUCTOR);
+			}
+			boolean argumentsResolved = (resolved != null && mbd.constructorArgumentsResolved);
+			return new BeanCreationPlan(instantiation, resolved, argumentsResolved,
+					mbd.resolvedConstructorArguments, mbd.preparedConstructorArguments);
+		}
+	}
+
+}
@@ -137,13 +137,24 @@ class ConstructorResolver {
 		}
 		else {
 			Object[] argsToResolve = null;
-			synchronized (mbd.constructorArgumentLock) {
-				constructorToUse = (Constructor<?>) mbd.resolvedConstructorOrFactoryMethod;
-				if (constructorToUse != null && mbd.constructorArgumentsResolved) {
-					// Found a cached constructor...
-					argsToUse = mbd.resolvedConstructorArguments;
-					if (argsToUse == null) {
-						argsToResolve = mbd.preparedConstructorArguments;
+			BeanCreationPlan plan = mbd.creationPlan;
+			if (plan != null && plan.argumentsResolved) {
+				// Resolution state captured in the creation plan: no lock needed.
+				constructorToUse = (Constructor<?>) plan.constructorOrFactoryMethod;
+				argsToUse = plan.resolvedArguments;
+				if (argsToUse == null) {
+					argsToResolve = plan.preparedArguments;
+				}
+			}
+			else {
+				synchronized (mbd.constructorArgumentLock) {
+					constructorToUse = (Constructor<?>) mbd.resolvedConstructorOrFactoryMethod;
+					if (constructorToUse != null && mbd.constructorArgumentsResolved) {
+						// Found a cached constructor...
+						argsToUse = mbd.resolvedConstructorArguments;
+						if (argsToUse == null) {
+							argsToResolve = mbd.preparedConstructorArguments;
+						}
 					}
 				}
 			}
@@ -418,13 +429,24 @@ class ConstructorResolver {
 		}
 		else {
 			Object[] argsToResolve = null;
-			synchronized (mbd.constructorArgumentLock) {
-				factoryMethodToUse = (Method) mbd.resolvedConstructorOrFactoryMethod;
-				if (factoryMethodToUse != null && mbd.constructorArgumentsResolved) {
-					// Found a cached factory method...
-					argsToUse = mbd.resolvedConstructorArguments;
-					if (argsToUse == null) {
-						argsToResolve = mbd.preparedConstructorArguments;
+			BeanCreationPlan plan = mbd.creationPlan;
+			if (plan != null && plan.argumentsResolved) {
+				// Resolution state captured in the creation plan: no lock needed.
+				factoryMethodToUse = (Method) plan.constructorOrFactoryMethod;
+				argsToUse = plan.resolvedArguments;
+				if (argsToUse == null) {
+					argsToResolve = plan.preparedArguments;
+				}
+			}
+			else {
+				synchronized (mbd.constructorArgumentLock) {
+					factoryMethodToUse = (Method) mbd.resolvedConstructorOrFactoryMethod;
+					if (factoryMethodToUse != null && mbd.constructorArgumentsResolved) {
+						// Found a cached factory method...
+						argsToUse = mbd.resolvedConstructorArguments;
+						if (argsToUse == null) {
+							argsToResolve = mbd.preparedConstructorArguments;
+						}
 					}
 				}
 			}
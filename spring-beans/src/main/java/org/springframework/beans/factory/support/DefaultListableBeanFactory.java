@@ -26,10 +26,12 @@ import java.lang.annotation.Annotation;
 import java.lang.ref.Reference;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
@@ -38,7 +40,9 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
@@ -170,6 +174,12 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Map of singleton-only bean names, keyed by dependency type. */
 	private final Map<Class<?>, String[]> singletonBeanNamesByType = new ConcurrentHashMap<>(64);
 
+	/** Map of singleton and non-singleton bean names, keyed by generic dependency type. */
+	private final Map<ResolvableType, String[]> allBeanNamesByGenericType = new ConcurrentHashMap<>(64);
+
+	/** Map of singleton-only bean names, keyed by generic dependency type. */
+	private final Map<ResolvableType, String[]> singletonBeanNamesByGenericType = new ConcurrentHashMap<>(64);
+
 	/** List of bean definition names, in registration order. */
 	private volatile List<String> beanDefinitionNames = new ArrayList<>(256);
 
@@ -183,6 +193,10 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Whether bean definition metadata may be cached for all beans. */
 	private volatile boolean configurationFrozen;
 
+	/** Optional Executor for pre-instantiating singletons in parallel. */
+	@Nullable
+	private Executor preInstantiationExecutor;
+
 
 	/**
 	 * Create a new DefaultListableBeanFactory.
@@ -306,6 +320,43 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return this.autowireCandidateResolver;
 	}
 
+	/**
+	 * Specify an {@link Executor} for pre-instantiating singletons in parallel,
+	 * typically a thread pool with a bounded number of threads.
+	 * <p>Default is none, pre-instantiating singletons one after the other in
+	 * registration order. If specified, {@link #preInstantiateSingletons()} determines
+	 * the dependencies between non-lazy singletons from their merged bean definitions
+	 * ("depends-on", factory bean, and bean references in constructor arguments and
+	 * property values), submitting each singleton to the executor once the singletons
+	 * it depends on have been instantiated. Since dependencies such as autowired
+	 * fields are not known upfront, this also switches to
+	 * {@linkplain #setConcurrentSingletonCreation concurrent singleton creation},
+	 * with a lock of its own per singleton.
+	 * <p>If several singletons fail to be created, the failure of the first of those
+	 * in registration order is thrown, as with sequential pre-instantiation, with the
+	 * other failures as suppressed exceptions. {@link SmartInitializingSingleton}
+	 * callbacks are invoked on the calling thread after all singletons have been
+	 * instantiated.
+	 * <p>Needs to be specified while no singleton is currently in creation.
+	 * @since 6.0
+	 * @see #preInstantiateSingletons()
+	 */
+	public void setPreInstantiationExecutor(@Nullable Executor preInstantiationExecutor) {
+		if (preInstantiationExecutor != null) {
+			setConcurrentSingletonCreation(true);
+		}
+		this.preInstantiationExecutor = preInstantiationExecutor;
+	}
+
+	/**
+	 * Return the {@link Executor} for pre-instantiating singletons in parallel, if any.
+	 * @since 6.0
+	 */
+	@Nullable
+	public Executor getPreInstantiationExecutor() {
+		return this.preInstantiationExecutor;
+	}
+
 
 	@Override
 	public void copyConfigurationFrom(ConfigurableBeanFactory otherFactory) {
@@ -515,9 +566,43 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		if (resolved != null && !type.hasGenerics()) {
 			return getBeanNamesForType(resolved, includeNonSingletons, allowEagerInit);
 		}
-		else {
+		if (!isConfigurationFrozen() || resolved == null || !allowEagerInit) {
 			return doGetBeanNamesForType(type, includeNonSingletons, allowEagerInit);
 		}
+		Map<ResolvableType, String[]> cache =
+				(includeNonSingletons ? this.allBeanNamesByGenericType : this.singletonBeanNamesByGenericType);
+		String[] resolvedBeanNames = cache.get(type);
+		if (resolvedBeanNames != null) {
+			return resolvedBeanNames;
+		}
+		resolvedBeanNames = doGetBeanNamesForType(type, includeNonSingletons, true);
+		if (isCacheSafe(type, new HashSet<>())) {
+			cache.put(type, resolvedBeanNames);
+		}
+		return resolvedBeanNames;
+	}
+
+	/**
+	 * Check whether all classes within the given generic type are cache-safe
+	 * in the context of this bean factory's class loader.
+	 */
+	private boolean isCacheSafe(ResolvableType type, Set<Type> visited) {
+		if (type == ResolvableType.NONE || !visited.add(type.getType())) {
+			return true;
+		}
+		Class<?> resolved = type.resolve();
+		if (resolved != null && !ClassUtils.isCacheSafe(resolved, getBeanClassLoader())) {
+			return false;
+		}
+		if (type.isArray()) {
+			return isCacheSafe(type.getComponentType(), visited);
+		}
+		for (ResolvableType generic : type.getGenerics()) {
+			if (!isCacheSafe(generic, visited)) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	@Override
@@ -551,37 +636,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			// Only consider bean as eligible if the bean name is not defined as alias for some other bean.
 			if (!isAlias(beanName)) {
 				try {
-					RootBeanDefinition mbd = getMergedLocalBeanDefinition(beanName);
-					// Only check bean definition if it is complete.
-					if (!mbd.isAbstract() && (allowEagerInit ||
-							(mbd.hasBeanClass() || !mbd.isLazyInit() || isAllowEagerClassLoading()) &&
-									!requiresEagerInitForType(mbd.getFactoryBeanName()))) {
-						boolean isFactoryBean = isFactoryBean(beanName, mbd);
-						BeanDefinitionHolder dbd = mbd.getDecoratedDefinition();
-						boolean matchFound = false;
-						boolean allowFactoryBeanInit = (allowEagerInit || containsSingleton(beanName));
-						boolean isNonLazyDecorated = (dbd != null && !mbd.isLazyInit());
-						if (!isFactoryBean) {
-							if (includeNonSingletons || isSingleton(beanName, mbd, dbd)) {
-								matchFound = isTypeMatch(beanName, type, allowFactoryBeanInit);
-							}
-						}
-						else {
-							if (includeNonSingletons || isNonLazyDecorated ||
-									(allowFactoryBeanInit && isSingleton(beanName, mbd, dbd))) {
-								matchFound = isTypeMatch(beanName, type, allowFactoryBeanInit);
-							}
-							if (!matchFound) {
-								// In case of FactoryBean, try to match FactoryBean instance itself next.
-								beanName = FACTORY_BEAN_PREFIX + beanName;
-								if (includeNonSingletons || isSingleton(beanName, mbd, dbd)) {
-									matchFound = isTypeMatch(beanName, type, allowFactoryBeanInit);
-								}
-							}
-						}
-						if (matchFound) {
-							result.add(beanName);
-						}
+					String matchingName = matchBeanDefinition(beanName, type, includeNonSingletons, allowEagerInit);
+					if (matchingName != null) {
+						result.add(matchingName);
 					}
 				}
 				catch (CannotLoadBeanClassException | BeanDefinitionStoreException ex) {
@@ -605,19 +662,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		// Check manually registered singletons too.
 		for (String beanName : this.manualSingletonNames) {
 			try {
-				// In case of FactoryBean, match object created by FactoryBean.
-				if (isFactoryBean(beanName)) {
-					if ((includeNonSingletons || isSingleton(beanName)) && isTypeMatch(beanName, type)) {
-						result.add(beanName);
-						// Match found for this bean: do not match FactoryBean itself anymore.
-						continue;
-					}
-					// In case of FactoryBean, try to match FactoryBean itself next.
-					beanName = FACTORY_BEAN_PREFIX + beanName;
-				}
-				// Match raw bean instance (might be raw FactoryBean).
-				if (isTypeMatch(beanName, type)) {
-					result.add(beanName);
+				String matchingName = matchManualSingleton(beanName, type, includeNonSingletons);
+				if (matchingName != null) {
+					result.add(matchingName);
 				}
 			}
 			catch (NoSuchBeanDefinitionException ex) {
@@ -630,6 +677,70 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return StringUtils.toStringArray(result);
 	}
 
+	/**
+	 * Match the bean definition of the given name against the given type.
+	 * @return the matching bean name, with a factory dereference prefix in case
+	 * of a matching FactoryBean instance, or {@code null} if not matching
+	 */
+	@Nullable
+	private String matchBeanDefinition(
+			String beanName, ResolvableType type, boolean includeNonSingletons, boolean allowEagerInit) {
+
+		RootBeanDefinition mbd = getMergedLocalBeanDefinition(beanName);
+		// Only check bean definition if it is complete.
+		if (!mbd.isAbstract() && (allowEagerInit ||
+				(mbd.hasBeanClass() || !mbd.isLazyInit() || isAllowEagerClassLoading()) &&
+						!requiresEagerInitForType(mbd.getFactoryBeanName()))) {
+			boolean isFactoryBean = isFactoryBean(beanName, mbd);
+			BeanDefinitionHolder dbd = mbd.getDecoratedDefinition();
+			boolean matchFound = false;
+			boolean allowFactoryBeanInit = (allowEagerInit || containsSingleton(beanName));
+			boolean isNonLazyDecorated = (dbd != null && !mbd.isLazyInit());
+			if (!isFactoryBean) {
+				if (includeNonSingletons || isSingleton(beanName, mbd, dbd)) {
+					matchFound = isTypeMatch(beanName, type, allowFactoryBeanInit);
+				}
+			}
+			else {
+				if (includeNonSingletons || isNonLazyDecorated ||
+						(allowFactoryBeanInit && isSingleton(beanName, mbd, dbd))) {
+					matchFound = isTypeMatch(beanName, type, allowFactoryBeanInit);
+				}
+				if (!matchFound) {
+					// In case of FactoryBean, try to match FactoryBean instance itself next.
+					beanName = FACTORY_BEAN_PREFIX + beanName;
+					if (includeNonSingletons || isSingleton(beanName, mbd, dbd)) {
+						matchFound = isTypeMatch(beanName, type, allowFactoryBeanInit);
+					}
+				}
+			}
+			if (matchFound) {
+				return beanName;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Match the manually registered singleton of the given name against the given type.
+	 * @return the matching bean name, with a factory dereference prefix in case
+	 * of a matching FactoryBean instance, or {@code null} if not matching
+	 */
+	@Nullable
+	private String matchManualSingleton(String beanName, ResolvableType type, boolean includeNonSingletons) {
+		// In case of FactoryBean, match object created by FactoryBean.
+		if (isFactoryBean(beanName)) {
+			if ((includeNonSingletons || isSingleton(beanName)) && isTypeMatch(beanName, type)) {
+				// Match found for this bean: do not match FactoryBean itself anymore.
+				return beanName;
+			}
+			// In case of FactoryBean, try to match FactoryBean itself next.
+			beanName = FACTORY_BEAN_PREFIX + beanName;
+		}
+		// Match raw bean instance (might be raw FactoryBean).
+		return (isTypeMatch(beanName, type) ? beanName : null);
+	}
+
 	private boolean isSingleton(String beanName, RootBeanDefinition mbd, @Nullable BeanDefinitionHolder dbd) {
 		return (dbd != null ? mbd.isSingleton() : isSingleton(beanName));
 	}
@@ -917,17 +1028,26 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		List<String> beanNames = new ArrayList<>(this.beanDefinitionNames);
 
 		// Trigger initialization of all non-lazy singleton beans...
-		for (String beanName : beanNames) {
-			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
-			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
-				if (isFactoryBean(beanName)) {
-					Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
-					if (bean instanceof SmartFactoryBean<?> smartFactoryBean && smartFactoryBean.isEagerInit()) {
-						getBean(beanName);
-					}
+		Executor executor = this.preInstantiationExecutor;
+		if (executor != null) {
+			List<String> singletonNames = new ArrayList<>(beanNames.size());
+			for (String beanName : beanNames) {
+				RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+				if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+					singletonNames.add(beanName);
 				}
-				else {
-					getBean(beanName);
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("Pre-instantiating " + singletonNames.size() + " singletons in parallel");
+			}
+			new ParallelSingletonPreInstantiator(this, singletonNames, executor, this::preInstantiateSingleton)
+					.preInstantiate();
+		}
+		else {
+			for (String beanName : beanNames) {
+				RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+				if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+					preInstantiateSingleton(beanName);
 				}
 			}
 		}
@@ -944,6 +1064,18 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		}
 	}
 
+	private void preInstantiateSingleton(String beanName) {
+		if (isFactoryBean(beanName)) {
+			Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
+			if (bean instanceof SmartFactoryBean<?> smartFactoryBean && smartFactoryBean.isEagerInit()) {
+				getBean(beanName);
+			}
+		}
+		else {
+			getBean(beanName);
+		}
+	}
+
 
 	//---------------------------------------------------------------------
 	// Implementation of BeanDefinitionRegistry interface
@@ -1090,6 +1222,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		// (e.g. the default StaticMessageSource in a StaticApplicationContext).
 		destroySingleton(beanName);
 
+		// The types of other beans might depend on the given bean definition.
+		clearByTypeCache();
+
 		// Notify all post-processors that the specified bean definition has been reset.
 		for (MergedBeanDefinitionPostProcessor processor : getBeanPostProcessorCache().mergedDefinition) {
 			processor.resetBeanDefinition(beanName);
@@ -1131,11 +1266,13 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	public void registerSingleton(String beanName, Object singletonObject) throws IllegalStateException {
 		super.registerSingleton(beanName, singletonObject);
 		updateManualSingletonNames(set -> set.add(beanName), set -> !this.beanDefinitionMap.containsKey(beanName));
-		clearByTypeCache();
+		updateByTypeCache(beanName);
 	}
 
 	@Override
 	public void destroySingletons() {
+		// No point in updating by-type mappings for each singleton being destroyed
+		clearByTypeCache();
 		super.destroySingletons();
 		updateManualSingletonNames(Set::clear, set -> !set.isEmpty());
 		clearByTypeCache();
@@ -1145,7 +1282,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	public void destroySingleton(String beanName) {
 		super.destroySingleton(beanName);
 		removeManualSingletonName(beanName);
-		clearByTypeCache();
+		updateByTypeCache(beanName);
 	}
 
 	private void removeManualSingletonName(String beanName) {
@@ -1183,6 +1320,132 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	private void clearByTypeCache() {
 		this.allBeanNamesByType.clear();
 		this.singletonBeanNamesByType.clear();
+		this.allBeanNamesByGenericType.clear();
+		this.singletonBeanNamesByGenericType.clear();
+	}
+
+	/**
+	 * Update the by-type mappings for a singleton of the given name having
+	 * been registered or destroyed, matching just that bean against each
+	 * cached type instead of removing all assumptions.
+	 * <p>A newly registered manual singleton gets appended to its matching types,
+	 * and a destroyed manual singleton gets removed. Any other change of the
+	 * bean's matching types drops the affected mapping, to be rebuilt on demand.
+	 * A bean definition is matched without eager initialization, not to recreate
+	 * a destroyed singleton just for determining its type.
+	 * @param beanName the name of the singleton
+	 */
+	private void updateByTypeCache(String beanName) {
+		if (this.allBeanNamesByType.isEmpty() && this.singletonBeanNamesByType.isEmpty() &&
+				this.allBeanNamesByGenericType.isEmpty() && this.singletonBeanNamesByGenericType.isEmpty()) {
+			return;
+		}
+		if (isReferencedAsFactoryBean(beanName)) {
+			// The types of other beans depend on the given bean.
+			clearByTypeCache();
+			return;
+		}
+		updateByTypeCache(this.allBeanNamesByType, ResolvableType::forRawClass, beanName, true);
+		updateByTypeCache(this.singletonBeanNamesByType, ResolvableType::forRawClass, beanName, false);
+		updateByTypeCache(this.allBeanNamesByGenericType, Function.identity(), beanName, true);
+		updateByTypeCache(this.singletonBeanNamesByGenericType, Function.identity(), beanName, false);
+	}
+
+	private <K> void updateByTypeCache(Map<K, String[]> cache, Function<K, ResolvableType> typeFunction,
+			String beanName, boolean includeNonSingletons) {
+
+		for (Map.Entry<K, String[]> entry : cache.entrySet()) {
+			String[] beanNames = entry.getValue();
+			String[] updatedBeanNames =
+					updateBeanNamesForType(beanNames, typeFunction.apply(entry.getKey()), beanName, includeNonSingletons);
+			if (updatedBeanNames == null) {
+				cache.remove(entry.getKey(), beanNames);
+			}
+			else if (updatedBeanNames != beanNames) {
+				cache.replace(entry.getKey(), beanNames, updatedBeanNames);
+			}
+		}
+	}
+
+	/**
+	 * Update the given bean names matching the given type for the specified bean.
+	 * @return the updated bean names (the given array if unchanged),
+	 * or {@code null} if the bean names need to be determined again
+	 */
+	@Nullable
+	private String[] updateBeanNamesForType(
+			String[] beanNames, ResolvableType type, String beanName, boolean includeNonSingletons) {
+
+		boolean definition = this.beanDefinitionMap.containsKey(beanName);
+		boolean manualSingleton = (!definition && this.manualSingletonNames.contains(beanName));
+		String matchingName;
+		try {
+			if (definition) {
+				// A mismatch with the eagerly determined names drops the mapping
+				matchingName = (isAlias(beanName) ? null :
+						matchBeanDefinition(beanName, type, includeNonSingletons, false));
+			}
+			else {
+				matchingName = (manualSingleton ? matchManualSingleton(beanName, type, includeNonSingletons) : null);
+			}
+		}
+		catch (BeansException ex) {
+			return null;
+		}
+
+		String factoryBeanName = FACTORY_BEAN_PREFIX + beanName;
+		int index = -1;
+		for (int i = 0; i < beanNames.length; i++) {
+			if (beanNames[i].equals(beanName) || beanNames[i].equals(factoryBeanName)) {
+				index = i;
+				break;
+			}
+		}
+		String existingName = (index != -1 ? beanNames[index] : null);
+		if (ObjectUtils.nullSafeEquals(existingName, matchingName)) {
+			return beanNames;
+		}
+		if (existingName == null && manualSingleton && isLastManualSingleton(beanName)) {
+			// Newly registered manual singleton: matching beans in registration order.
+			String[] updatedBeanNames = Arrays.copyOf(beanNames, beanNames.length + 1);
+			updatedBeanNames[beanNames.length] = matchingName;
+			return updatedBeanNames;
+		}
+		if (matchingName == null && !definition && !manualSingleton) {
+			// Destroyed manual singleton: not available for any type anymore.
+			String[] updatedBeanNames = new String[beanNames.length - 1];
+			System.arraycopy(beanNames, 0, updatedBeanNames, 0, index);
+			System.arraycopy(beanNames, index + 1, updatedBeanNames, index, beanNames.length - index - 1);
+			return updatedBeanNames;
+		}
+		return null;
+	}
+
+	private boolean isLastManualSingleton(String beanName) {
+		String lastName = null;
+		for (String manualSingletonName : this.manualSingletonNames) {
+			lastName = manualSingletonName;
+		}
+		return beanName.equals(lastName);
+	}
+
+	/**
+	 * Determine whether the given bean is referenced as factory bean
+	 * by any bean definition in this factory.
+	 */
+	private boolean isReferencedAsFactoryBean(String beanName) {
+		for (String bdName : this.beanDefinitionNames) {
+			try {
+				if (beanName.equals(getMergedLocalBeanDefinition(bdName).getFactoryBeanName())) {
+					return true;
+				}
+			}
+			catch (BeansException ex) {
+				// Cannot determine the bean's type dependencies.
+				return true;
+			}
+		}
+		return false;
 	}
 
 
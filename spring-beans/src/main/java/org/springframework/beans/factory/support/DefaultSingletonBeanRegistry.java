@@ -17,14 +17,13 @@
 package org.springframework.beans.factory.support;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.BeanCreationNotAllowedException;
@@ -32,6 +31,7 @@ import org.springframework.beans.factory.BeanCurrentlyInCreationException;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.config.SingletonBeanRegistry;
+import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.SimpleAliasRegistry;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -49,6 +49,11 @@ import org.springframework.util.StringUtils;
  * to be destroyed on shutdown of the registry. Dependencies between
  * beans can be registered to enforce an appropriate shutdown order.
  *
+ * <p>Singleton creation is guarded by a common singleton mutex by default.
+ * Alternatively, {@linkplain #setConcurrentSingletonCreation concurrent singleton
+ * creation} guards the creation of each singleton with a lock of its own,
+ * allowing independent singletons to be created on several threads at once.
+ *
  * <p>This class mainly serves as base class for
  * {@link org.springframework.beans.factory.BeanFactory} implementations,
  * factoring out the common management of singleton bean instances. Note that
@@ -78,7 +83,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	private final Map<String, Object> singletonObjects = new ConcurrentHashMap<>(256);
 
 	/** Cache of singleton factories: bean name to ObjectFactory. */
-	private final Map<String, ObjectFactory<?>> singletonFactories = new HashMap<>(16);
+	private final Map<String, ObjectFactory<?>> singletonFactories = new ConcurrentHashMap<>(16);
 
 	/** Cache of early singleton objects: bean name to bean instance. */
 	private final Map<String, Object> earlySingletonObjects = new ConcurrentHashMap<>(16);
@@ -94,9 +99,16 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	private final Set<String> inCreationCheckExclusions =
 			Collections.newSetFromMap(new ConcurrentHashMap<>(16));
 
-	/** Collection of suppressed Exceptions, available for associating related causes. */
+	/** Collection of suppressed Exceptions per thread, available for associating related causes. */
+	private final ThreadLocal<Set<Exception>> suppressedExceptions =
+			new NamedThreadLocal<>("Suppressed exceptions of singleton creation");
+
+	/** Per-bean locks for concurrent singleton creation, if enabled. */
 	@Nullable
-	private Set<Exception> suppressedExceptions;
+	private volatile SingletonCreationLocks singletonCreationLocks;
+
+	/** Mutex for changes to the registry: the singleton mutex unless concurrent creation is enabled. */
+	private volatile Object registryMutex = this.singletonObjects;
 
 	/** Flag that indicates whether we're currently within destroySingletons. */
 	private boolean singletonsCurrentlyInDestruction = false;
@@ -104,21 +116,66 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	/** Disposable bean instances: bean name to disposable instance. */
 	private final Map<String, Object> disposableBeans = new LinkedHashMap<>();
 
+	/*
+	 * The following maps hold unmodifiable Sets, replaced on change through atomic
+	 * per-key operations on the map: to be read without any lock, in particular on
+	 * the creation of scoped beans which repeatedly registers the same dependencies.
+	 */
+
 	/** Map between containing bean names: bean name to Set of bean names that the bean contains. */
-	private final Map<String, Set<String>> containedBeanMap = new ConcurrentHashMap<>(16);
+	private final ConcurrentMap<String, Set<String>> containedBeanMap = new ConcurrentHashMap<>(16);
 
 	/** Map between dependent bean names: bean name to Set of dependent bean names. */
-	private final Map<String, Set<String>> dependentBeanMap = new ConcurrentHashMap<>(64);
+	private final ConcurrentMap<String, Set<String>> dependentBeanMap = new ConcurrentHashMap<>(64);
 
 	/** Map between depending bean names: bean name to Set of bean names for the bean's dependencies. */
-	private final Map<String, Set<String>> dependenciesForBeanMap = new ConcurrentHashMap<>(64);
+	private final ConcurrentMap<String, Set<String>> dependenciesForBeanMap = new ConcurrentHashMap<>(64);
+
+
+	/**
+	 * Specify whether to guard the creation of each singleton with a lock of its own
+	 * instead of the common {@linkplain #getSingletonMutex() singleton mutex}, allowing
+	 * independent singletons to be created on several threads at once.
+	 * <p>Default is "false". If switched on, a thread only sees singletons that it is
+	 * creating itself as {@linkplain #isSingletonCurrentlyInCreation currently in creation},
+	 * with early references only being exposed to that thread, whereas other threads
+	 * requesting such a singleton wait for its creation to complete. A circular
+	 * reference between singletons in creation on different threads is resolved through
+	 * an early reference where available, like within a single thread.
+	 * <p>The singleton mutex is not used for singleton creation in that case anymore,
+	 * only remaining available for external collaborators. Lookups of a singleton in
+	 * creation only contend for the lock of that particular singleton then, which is
+	 * also beneficial for lazy-init singletons being requested concurrently at runtime.
+	 * <p>Needs to be specified while no singleton is currently in creation.
+	 * @since 6.0
+	 * @see org.springframework.beans.factory.support.DefaultListableBeanFactory#setPreInstantiationExecutor
+	 */
+	public void setConcurrentSingletonCreation(boolean concurrentSingletonCreation) {
+		synchronized (this.registryMutex) {
+			Assert.state(this.singletonsCurrentlyInCreation.isEmpty(),
+					"Cannot switch singleton creation mode while singletons are in creation");
+			if (concurrentSingletonCreation != isConcurrentSingletonCreation()) {
+				this.singletonCreationLocks = (concurrentSingletonCreation ? new SingletonCreationLocks() : null);
+				this.registryMutex = (concurrentSingletonCreation ? new Object() : this.singletonObjects);
+			}
+		}
+	}
+
+	/**
+	 * Return whether each singleton is created within a lock of its own.
+	 * @since 6.0
+	 * @see #setConcurrentSingletonCreation
+	 */
+	public boolean isConcurrentSingletonCreation() {
+		return (this.singletonCreationLocks != null);
+	}
 
 
 	@Override
 	public void registerSingleton(String beanName, Object singletonObject) throws IllegalStateException {
 		Assert.notNull(beanName, "Bean name must not be null");
 		Assert.notNull(singletonObject, "Singleton object must not be null");
-		synchronized (this.singletonObjects) {
+		synchronized (this.registryMutex) {
 			Object oldObject = this.singletonObjects.get(beanName);
 			if (oldObject != null) {
 				throw new IllegalStateException("Could not register object [" + singletonObject +
@@ -135,7 +192,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @param singletonObject the singleton object
 	 */
 	protected void addSingleton(String beanName, Object singletonObject) {
-		synchronized (this.singletonObjects) {
+		synchronized (this.registryMutex) {
 			this.singletonObjects.put(beanName, singletonObject);
 			this.singletonFactories.remove(beanName);
 			this.earlySingletonObjects.remove(beanName);
@@ -153,7 +210,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	protected void addSingletonFactory(String beanName, ObjectFactory<?> singletonFactory) {
 		Assert.notNull(singletonFactory, "Singleton factory must not be null");
-		synchronized (this.singletonObjects) {
+		synchronized (this.registryMutex) {
 			if (!this.singletonObjects.containsKey(beanName)) {
 				this.singletonFactories.put(beanName, singletonFactory);
 				this.earlySingletonObjects.remove(beanName);
@@ -183,7 +240,11 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		if (singletonObject == null && isSingletonCurrentlyInCreation(beanName)) {
 			singletonObject = this.earlySingletonObjects.get(beanName);
 			if (singletonObject == null && allowEarlyReference) {
-				synchronized (this.singletonObjects) {
+				if (this.singletonCreationLocks != null) {
+					// Creation lock held by the current thread, see isSingletonCurrentlyInCreation
+					return getEarlySingletonReference(beanName);
+				}
+				synchronized (this.registryMutex) {
 					// Consistent creation of early reference within full singleton lock
 					singletonObject = this.singletonObjects.get(beanName);
 					if (singletonObject == null) {
@@ -203,6 +264,40 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		return singletonObject;
 	}
 
+	/**
+	 * Obtain an early reference to the specified singleton in the case of
+	 * concurrent singleton creation, creating it through the registered singleton
+	 * factory if necessary. To be called by the thread holding the creation lock
+	 * of the singleton, or by a thread that the creating thread waits for.
+	 * @param beanName the name of the bean
+	 * @return the early singleton reference, or {@code null} if none available
+	 */
+	@Nullable
+	private Object getEarlySingletonReference(String beanName) {
+		Object singletonObject = this.singletonObjects.get(beanName);
+		if (singletonObject == null) {
+			singletonObject = this.earlySingletonObjects.get(beanName);
+			if (singletonObject == null) {
+				ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
+				if (singletonFactory != null) {
+					// Not within the registry mutex since the factory might obtain further beans
+					synchronized (singletonFactory) {
+						singletonObject = this.earlySingletonObjects.get(beanName);
+						if (singletonObject == null) {
+							singletonObject = singletonFactory.getObject();
+							// No registry mutex needed: the creating thread does not
+							// register the singleton concurrently. Expose the early
+							// reference before removing the factory, for other callers.
+							this.earlySingletonObjects.put(beanName, singletonObject);
+							this.singletonFactories.remove(beanName, singletonFactory);
+						}
+					}
+				}
+			}
+		}
+		return singletonObject;
+	}
+
 	/**
 	 * Return the (raw) singleton object registered under the given name,
 	 * creating and registering a new one if none registered yet.
@@ -213,55 +308,83 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
 		Assert.notNull(beanName, "Bean name must not be null");
-		synchronized (this.singletonObjects) {
+		SingletonCreationLocks singletonCreationLocks = this.singletonCreationLocks;
+		if (singletonCreationLocks != null) {
 			Object singletonObject = this.singletonObjects.get(beanName);
-			if (singletonObject == null) {
-				if (this.singletonsCurrentlyInDestruction) {
-					throw new BeanCreationNotAllowedException(beanName,
-							"Singleton bean creation not allowed while singletons of this factory are in destruction " +
-							"(Do not request a bean from a BeanFactory in a destroy method implementation!)");
-				}
-				if (logger.isDebugEnabled()) {
-					logger.debug("Creating shared instance of singleton bean '" + beanName + "'");
-				}
-				beforeSingletonCreation(beanName);
-				boolean newSingleton = false;
-				boolean recordSuppressedExceptions = (this.suppressedExceptions == null);
-				if (recordSuppressedExceptions) {
-					this.suppressedExceptions = new LinkedHashSet<>();
-				}
-				try {
-					singletonObject = singletonFactory.getObject();
-					newSingleton = true;
-				}
-				catch (IllegalStateException ex) {
-					// Has the singleton object implicitly appeared in the meantime ->
-					// if yes, proceed with it since the exception indicates that state.
-					singletonObject = this.singletonObjects.get(beanName);
-					if (singletonObject == null) {
-						throw ex;
-					}
+			if (singletonObject != null) {
+				return singletonObject;
+			}
+			if (!singletonCreationLocks.lock(beanName)) {
+				// The thread creating the singleton waits for a singleton in creation
+				// in the current thread: resolve like a circular reference, if possible.
+				singletonObject = getEarlySingletonReference(beanName);
+				if (singletonObject == null) {
+					throw new SingletonCreationConflictException(beanName);
 				}
-				catch (BeanCreationException ex) {
-					if (recordSuppressedExceptions) {
-						for (Exception suppressedException : this.suppressedExceptions) {
-							ex.addRelatedCause(suppressedException);
-						}
-					}
+				return singletonObject;
+			}
+			try {
+				return createSingletonIfNecessary(beanName, singletonFactory);
+			}
+			finally {
+				singletonCreationLocks.unlock(beanName);
+			}
+		}
+		synchronized (this.registryMutex) {
+			return createSingletonIfNecessary(beanName, singletonFactory);
+		}
+	}
+
+	private Object createSingletonIfNecessary(String beanName, ObjectFactory<?> singletonFactory) {
+		Object singletonObject = this.singletonObjects.get(beanName);
+		if (singletonObject == null) {
+			if (this.singletonsCurrentlyInDestruction) {
+				throw new BeanCreationNotAllowedException(beanName,
+						"Singleton bean creation not allowed while singletons of this factory are in destruction " +
+						"(Do not request a bean from a BeanFactory in a destroy method implementation!)");
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("Creating shared instance of singleton bean '" + beanName + "'");
+			}
+			beforeSingletonCreation(beanName);
+			boolean newSingleton = false;
+			Set<Exception> suppressedExceptions = this.suppressedExceptions.get();
+			boolean recordSuppressedExceptions = (suppressedExceptions == null);
+			if (recordSuppressedExceptions) {
+				suppressedExceptions = new LinkedHashSet<>();
+				this.suppressedExceptions.set(suppressedExceptions);
+			}
+			try {
+				singletonObject = singletonFactory.getObject();
+				newSingleton = true;
+			}
+			catch (IllegalStateException ex) {
+				// Has the singleton object implicitly appeared in the meantime ->
+				// if yes, proceed with it since the exception indicates that state.
+				singletonObject = this.singletonObjects.get(beanName);
+				if (singletonObject == null) {
 					throw ex;
 				}
-				finally {
-					if (recordSuppressedExceptions) {
-						this.suppressedExceptions = null;
+			}
+			catch (BeanCreationException ex) {
+				if (recordSuppressedExceptions) {
+					for (Exception suppressedException : suppressedExceptions) {
+						ex.addRelatedCause(suppressedException);
 					}
-					afterSingletonCreation(beanName);
 				}
-				if (newSingleton) {
-					addSingleton(beanName, singletonObject);
+				throw ex;
+			}
+			finally {
+				if (recordSuppressedExceptions) {
+					this.suppressedExceptions.remove();
 				}
+				afterSingletonCreation(beanName);
+			}
+			if (newSingleton) {
+				addSingleton(beanName, singletonObject);
 			}
-			return singletonObject;
 		}
+		return singletonObject;
 	}
 
 	/**
@@ -274,10 +397,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @see BeanCreationException#getRelatedCauses()
 	 */
 	protected void onSuppressedException(Exception ex) {
-		synchronized (this.singletonObjects) {
-			if (this.suppressedExceptions != null && this.suppressedExceptions.size() < SUPPRESSED_EXCEPTIONS_LIMIT) {
-				this.suppressedExceptions.add(ex);
-			}
+		Set<Exception> suppressedExceptions = this.suppressedExceptions.get();
+		if (suppressedExceptions != null && suppressedExceptions.size() < SUPPRESSED_EXCEPTIONS_LIMIT) {
+			suppressedExceptions.add(ex);
 		}
 	}
 
@@ -288,7 +410,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @see #getSingletonMutex()
 	 */
 	protected void removeSingleton(String beanName) {
-		synchronized (this.singletonObjects) {
+		synchronized (this.registryMutex) {
 			this.singletonObjects.remove(beanName);
 			this.singletonFactories.remove(beanName);
 			this.earlySingletonObjects.remove(beanName);
@@ -303,14 +425,14 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 
 	@Override
 	public String[] getSingletonNames() {
-		synchronized (this.singletonObjects) {
+		synchronized (this.registryMutex) {
 			return StringUtils.toStringArray(this.registeredSingletons);
 		}
 	}
 
 	@Override
 	public int getSingletonCount() {
-		synchronized (this.singletonObjects) {
+		synchronized (this.registryMutex) {
 			return this.registeredSingletons.size();
 		}
 	}
@@ -341,7 +463,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @param beanName the name of the bean
 	 */
 	public boolean isSingletonCurrentlyInCreation(String beanName) {
-		return this.singletonsCurrentlyInCreation.contains(beanName);
+		SingletonCreationLocks singletonCreationLocks = this.singletonCreationLocks;
+		return (this.singletonsCurrentlyInCreation.contains(beanName) &&
+				(singletonCreationLocks == null || singletonCreationLocks.isHeldByCurrentThread(beanName)));
 	}
 
 	/**
@@ -394,14 +518,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @see #registerDependentBean
 	 */
 	public void registerContainedBean(String containedBeanName, String containingBeanName) {
-		synchronized (this.containedBeanMap) {
-			Set<String> containedBeans =
-					this.containedBeanMap.computeIfAbsent(containingBeanName, k -> new LinkedHashSet<>(8));
-			if (!containedBeans.add(containedBeanName)) {
-				return;
-			}
+		if (addToSet(this.containedBeanMap, containingBeanName, containedBeanName)) {
+			registerDependentBean(containedBeanName, containingBeanName);
 		}
-		registerDependentBean(containedBeanName, containingBeanName);
 	}
 
 	/**
@@ -412,20 +531,52 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	public void registerDependentBean(String beanName, String dependentBeanName) {
 		String canonicalName = canonicalName(beanName);
-
-		synchronized (this.dependentBeanMap) {
-			Set<String> dependentBeans =
-					this.dependentBeanMap.computeIfAbsent(canonicalName, k -> new LinkedHashSet<>(8));
-			if (!dependentBeans.add(dependentBeanName)) {
-				return;
-			}
+		if (addToSet(this.dependentBeanMap, canonicalName, dependentBeanName)) {
+			addToSet(this.dependenciesForBeanMap, dependentBeanName, canonicalName);
 		}
+	}
 
-		synchronized (this.dependenciesForBeanMap) {
-			Set<String> dependenciesForBean =
-					this.dependenciesForBeanMap.computeIfAbsent(dependentBeanName, k -> new LinkedHashSet<>(8));
-			dependenciesForBean.add(canonicalName);
+	/**
+	 * Add the given element to the Set for the given key, replacing the Set
+	 * with a modified copy unless it contains the element already.
+	 * @return {@code true} if the element has been added by the current thread,
+	 * or {@code false} if it had been registered before
+	 */
+	private static boolean addToSet(ConcurrentMap<String, Set<String>> map, String key, String element) {
+		Set<String> elements = map.get(key);
+		if (elements != null && elements.contains(element)) {
+			// Quick check without any locking
+			return false;
 		}
+		boolean[] added = new boolean[1];
+		map.compute(key, (k, existing) -> {
+			if (existing != null && existing.contains(element)) {
+				return existing;
+			}
+			Set<String> copy = (existing != null ? new LinkedHashSet<>(existing) : new LinkedHashSet<>(8));
+			copy.add(element);
+			added[0] = true;
+			return Collections.unmodifiableSet(copy);
+		});
+		return added[0];
+	}
+
+	/**
+	 * Remove the given element from the Set for the given key, replacing the Set
+	 * with a modified copy or removing the key if the Set would be empty.
+	 */
+	private static void removeFromSet(ConcurrentMap<String, Set<String>> map, String key, String element) {
+		map.computeIfPresent(key, (k, existing) -> {
+			if (!existing.contains(element)) {
+				return existing;
+			}
+			if (existing.size() == 1) {
+				return null;
+			}
+			Set<String> copy = new LinkedHashSet<>(existing);
+			copy.remove(element);
+			return Collections.unmodifiableSet(copy);
+		});
 	}
 
 	/**
@@ -436,9 +587,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @since 4.0
 	 */
 	protected boolean isDependent(String beanName, String dependentBeanName) {
-		synchronized (this.dependentBeanMap) {
-			return isDependent(beanName, dependentBeanName, null);
-		}
+		return isDependent(beanName, dependentBeanName, null);
 	}
 
 	private boolean isDependent(String beanName, String dependentBeanName, @Nullable Set<String> alreadySeen) {
@@ -483,9 +632,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		if (dependentBeans == null) {
 			return new String[0];
 		}
-		synchronized (this.dependentBeanMap) {
-			return StringUtils.toStringArray(dependentBeans);
-		}
+		return StringUtils.toStringArray(dependentBeans);
 	}
 
 	/**
@@ -499,16 +646,14 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		if (dependenciesForBean == null) {
 			return new String[0];
 		}
-		synchronized (this.dependenciesForBeanMap) {
-			return StringUtils.toStringArray(dependenciesForBean);
-		}
+		return StringUtils.toStringArray(dependenciesForBean);
 	}
 
 	public void destroySingletons() {
 		if (logger.isTraceEnabled()) {
 			logger.trace("Destroying singletons in " + this);
 		}
-		synchronized (this.singletonObjects) {
+		synchronized (this.registryMutex) {
 			this.singletonsCurrentlyInDestruction = true;
 		}
 
@@ -532,7 +677,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @since 4.3.15
 	 */
 	protected void clearSingletonCache() {
-		synchronized (this.singletonObjects) {
+		synchronized (this.registryMutex) {
 			this.singletonObjects.clear();
 			this.singletonFactories.clear();
 			this.earlySingletonObjects.clear();
@@ -567,11 +712,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	protected void destroyBean(String beanName, @Nullable DisposableBean bean) {
 		// Trigger destruction of dependent beans first...
-		Set<String> dependencies;
-		synchronized (this.dependentBeanMap) {
-			// Within full synchronization in order to guarantee a disconnected Set
-			dependencies = this.dependentBeanMap.remove(beanName);
-		}
+		Set<String> dependencies = this.dependentBeanMap.remove(beanName);
 		if (dependencies != null) {
 			if (logger.isTraceEnabled()) {
 				logger.trace("Retrieved dependent beans for bean '" + beanName + "': " + dependencies);
@@ -594,11 +735,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		}
 
 		// Trigger destruction of contained beans...
-		Set<String> containedBeans;
-		synchronized (this.containedBeanMap) {
-			// Within full synchronization in order to guarantee a disconnected Set
-			containedBeans = this.containedBeanMap.remove(beanName);
-		}
+		Set<String> containedBeans = this.containedBeanMap.remove(beanName);
 		if (containedBeans != null) {
 			for (String containedBeanName : containedBeans) {
 				destroySingleton(containedBeanName);
@@ -606,15 +743,8 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		}
 
 		// Remove destroyed bean from other beans' dependencies.
-		synchronized (this.dependentBeanMap) {
-			for (Iterator<Map.Entry<String, Set<String>>> it = this.dependentBeanMap.entrySet().iterator(); it.hasNext();) {
-				Map.Entry<String, Set<String>> entry = it.next();
-				Set<String> dependenciesToClean = entry.getValue();
-				dependenciesToClean.remove(beanName);
-				if (dependenciesToClean.isEmpty()) {
-					it.remove();
-				}
-			}
+		for (String dependencyName : this.dependentBeanMap.keySet()) {
+			removeFromSet(this.dependentBeanMap, dependencyName, beanName);
 		}
 
 		// Remove destroyed bean's prepared dependency information.
@@ -627,10 +757,48 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * any sort of extended singleton creation phase. In particular, subclasses
 	 * should <i>not</i> have their own mutexes involved in singleton creation,
 	 * to avoid the potential for deadlocks in lazy-init situations.
+	 * <p>In case of {@linkplain #setConcurrentSingletonCreation concurrent
+	 * singleton creation}, the singleton mutex is not involved in singleton
+	 * creation anymore.
 	 */
 	@Override
 	public final Object getSingletonMutex() {
 		return this.singletonObjects;
 	}
 
+	/**
+	 * Return the mutex for changes to this registry: the singleton mutex,
+	 * or a separate mutex in case of concurrent singleton creation.
+	 */
+	final Object getRegistryMutex() {
+		return this.registryMutex;
+	}
+
+	/**
+	 * Acquire the creation lock for the given singleton in case of
+	 * {@linkplain #setConcurrentSingletonCreation concurrent singleton creation},
+	 * for an extended singleton creation phase.
+	 * @param beanName the name of the bean
+	 * @param wait whether to wait for another thread to release the lock
+	 * @return {@code true} if the lock has been acquired, or {@code false} if it
+	 * is held by another thread and waiting for it is not possible or not desired
+	 * @see #unlockSingletonCreation
+	 */
+	final boolean lockSingletonCreation(String beanName, boolean wait) {
+		SingletonCreationLocks singletonCreationLocks = this.singletonCreationLocks;
+		Assert.state(singletonCreationLocks != null, "Concurrent singleton creation not enabled");
+		return (wait ? singletonCreationLocks.lock(beanName) : singletonCreationLocks.tryLock(beanName));
+	}
+
+	/**
+	 * Release the creation lock for the given singleton,
+	 * as acquired through {@link #lockSingletonCreation}.
+	 * @param beanName the name of the bean
+	 */
+	final void unlockSingletonCreation(String beanName) {
+		SingletonCreationLocks singletonCreationLocks = this.singletonCreationLocks;
+		Assert.state(singletonCreationLocks != null, "Concurrent singleton creation not enabled");
+		singletonCreationLocks.unlock(beanName);
+	}
+
 }
@@ -0,0 +1,328 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+import org.springframework.beans.FatalBeanException;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.BeanFactoryUtils;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.ConstructorArgumentValues.ValueHolder;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Pre-instantiates singletons on an {@link Executor}, in the order given by the
+ * dependencies declared in their merged bean definitions: a singleton is submitted
+ * once all singletons that it depends on have been instantiated.
+ *
+ * <p>Singletons whose creation conflicted with the creation of a singleton on
+ * another thread, as well as singletons in a cycle of declared dependencies, are
+ * instantiated sequentially in registration order after all submitted singletons
+ * have been processed. After a failure, no further singletons are submitted; the
+ * reported failure is the one of the first failing singleton in registration order,
+ * just like with sequential pre-instantiation.
+ *
+ * @author agent
+ * @since 6.0
+ * @see DefaultListableBeanFactory#setPreInstantiationExecutor
+ */
+final class ParallelSingletonPreInstantiator {
+
+	private final List<Node> nodes;
+
+	private final Executor executor;
+
+	private final Consumer<String> instantiator;
+
+	@Nullable
+	private final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+
+	/** Number of submitted singletons not processed yet: guarded by this. */
+	private int running;
+
+	/** Whether to stop submitting singletons after a failure: guarded by this. */
+	private boolean stopped;
+
+
+	/**
+	 * Create a new pre-instantiator for the given singletons.
+	 * @param beanFactory the bean factory to resolve bean definitions and aliases against
+	 * @param beanNames the names of the singletons to pre-instantiate, in registration order
+	 * @param executor the executor to instantiate singletons on
+	 * @param instantiator the callback for instantiating a singleton of the given name
+	 */
+	ParallelSingletonPreInstantiator(DefaultListableBeanFactory beanFactory, List<String> beanNames,
+			Executor executor, Consumer<String> instantiator) {
+
+		this.nodes = buildGraph(beanFactory, beanNames);
+		this.executor = executor;
+		this.instantiator = instantiator;
+	}
+
+
+	/**
+	 * Pre-instantiate all singletons, returning once all of them have been
+	 * instantiated or rethrowing the first failure in registration order.
+	 */
+	public void preInstantiate() {
+		List<Node> ready = new ArrayList<>();
+		for (Node node : this.nodes) {
+			if (node.unresolvedDependencies == 0) {
+				ready.add(node);
+			}
+		}
+		submit(ready);
+
+		synchronized (this) {
+			while (this.running > 0) {
+				try {
+					wait();
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					this.stopped = true;
+					throw new FatalBeanException("Interrupted while pre-instantiating singletons", ex);
+				}
+			}
+		}
+
+		// Sequentially instantiate remaining singletons preceding the first failure, if any.
+		Node firstFailure = null;
+		for (Node node : this.nodes) {
+			if (node.failure != null && (firstFailure == null || node.index < firstFailure.index)) {
+				firstFailure = node;
+			}
+		}
+		for (Node node : this.nodes) {
+			if (firstFailure != null && node.index > firstFailure.index) {
+				break;
+			}
+			if (!node.completed && node.failure == null) {
+				try {
+					this.instantiator.accept(node.beanName);
+					node.completed = true;
+				}
+				catch (Throwable ex) {
+					node.failure = ex;
+					firstFailure = node;
+				}
+			}
+		}
+
+		if (firstFailure != null) {
+			Throwable failure = firstFailure.failure;
+			for (Node node : this.nodes) {
+				if (node.failure != null && node.failure != failure) {
+					failure.addSuppressed(node.failure);
+				}
+			}
+			ReflectionUtils.rethrowRuntimeException(failure);
+		}
+	}
+
+	private void submit(List<Node> ready) {
+		for (Node node : ready) {
+			synchronized (this) {
+				if (this.stopped) {
+					return;
+				}
+				this.running++;
+			}
+			try {
+				this.executor.execute(() -> run(node));
+			}
+			catch (RejectedExecutionException ex) {
+				// Leave it to sequential instantiation
+				synchronized (this) {
+					this.running--;
+					notifyAll();
+				}
+			}
+		}
+	}
+
+	private void run(Node node) {
+		Throwable failure = null;
+		Thread currentThread = Thread.currentThread();
+		ClassLoader previousClassLoader = currentThread.getContextClassLoader();
+		currentThread.setContextClassLoader(this.contextClassLoader);
+		try {
+			this.instantiator.accept(node.beanName);
+		}
+		catch (Throwable ex) {
+			failure = ex;
+		}
+		finally {
+			currentThread.setContextClassLoader(previousClassLoader);
+		}
+
+		List<Node> ready = new ArrayList<>();
+		synchronized (this) {
+			if (failure == null) {
+				node.completed = true;
+				for (Node dependent : node.dependents) {
+					dependent.unresolvedDependencies--;
+					if (dependent.unresolvedDependencies == 0) {
+						ready.add(dependent);
+					}
+				}
+			}
+			else if (!isConflict(failure)) {
+				node.failure = failure;
+				this.stopped = true;
+			}
+			// Else: conflict with the creation of a singleton on another thread
+			// -> leave it to sequential instantiation, along with its dependents.
+		}
+		try {
+			submit(ready);
+		}
+		finally {
+			synchronized (this) {
+				this.running--;
+				notifyAll();
+			}
+		}
+	}
+
+	private static boolean isConflict(Throwable ex) {
+		for (Throwable cause = ex; cause != null; cause = (cause.getCause() != cause ? cause.getCause() : null)) {
+			if (cause instanceof SingletonCreationConflictException) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+
+	private static List<Node> buildGraph(DefaultListableBeanFactory beanFactory, List<String> beanNames) {
+		List<Node> nodes = new ArrayList<>(beanNames.size());
+		Map<String, Node> nodesByName = new HashMap<>(beanNames.size() * 4 / 3 + 1);
+		for (String beanName : beanNames) {
+			Node node = new Node(beanName, nodes.size());
+			nodes.add(node);
+			nodesByName.put(beanName, node);
+		}
+		for (Node node : nodes) {
+			Set<String> dependencies = new LinkedHashSet<>();
+			collectDependencies(beanFactory.getMergedLocalBeanDefinition(node.beanName), dependencies);
+			Set<Node> dependencyNodes = new LinkedHashSet<>();
+			for (String dependency : dependencies) {
+				Node dependencyNode = nodesByName.get(
+						beanFactory.canonicalName(BeanFactoryUtils.transformedBeanName(dependency)));
+				if (dependencyNode != null && dependencyNode != node) {
+					dependencyNodes.add(dependencyNode);
+				}
+			}
+			for (Node dependencyNode : dependencyNodes) {
+				dependencyNode.dependents.add(node);
+			}
+			node.unresolvedDependencies = dependencyNodes.size();
+		}
+		return nodes;
+	}
+
+	private static void collectDependencies(BeanDefinition bd, Set<String> dependencies) {
+		String[] dependsOn = bd.getDependsOn();
+		if (dependsOn != null) {
+			for (String dependency : dependsOn) {
+				dependencies.add(dependency);
+			}
+		}
+		if (bd.getFactoryBeanName() != null) {
+			dependencies.add(bd.getFactoryBeanName());
+		}
+		if (bd.hasConstructorArgumentValues()) {
+			for (ValueHolder valueHolder : bd.getConstructorArgumentValues().getIndexedArgumentValues().values()) {
+				collectReferences(valueHolder.getValue(), dependencies);
+			}
+			for (ValueHolder valueHolder : bd.getConstructorArgumentValues().getGenericArgumentValues()) {
+				collectReferences(valueHolder.getValue(), dependencies);
+			}
+		}
+		if (bd.hasPropertyValues()) {
+			for (PropertyValue pv : bd.getPropertyValues().getPropertyValues()) {
+				collectReferences(pv.getValue(), dependencies);
+			}
+		}
+	}
+
+	private static void collectReferences(@Nullable Object value, Set<String> dependencies) {
+		if (value instanceof RuntimeBeanReference reference) {
+			if (!reference.isToParent() && reference.getBeanType() == null) {
+				dependencies.add(reference.getBeanName());
+			}
+		}
+		else if (value instanceof BeanDefinitionHolder holder) {
+			collectDependencies(holder.getBeanDefinition(), dependencies);
+		}
+		else if (value instanceof BeanDefinition innerBeanDefinition) {
+			collectDependencies(innerBeanDefinition, dependencies);
+		}
+		else if (value instanceof Collection<?> collection) {
+			for (Object element : collection) {
+				collectReferences(element, dependencies);
+			}
+		}
+		else if (value instanceof Map<?, ?> map) {
+			for (Map.Entry<?, ?> entry : map.entrySet()) {
+				collectReferences(entry.getKey(), dependencies);
+				collectReferences(entry.getValue(), dependencies);
+			}
+		}
+	}
+
+
+	/**
+	 * A singleton to pre-instantiate, with its state guarded by the
+	 * enclosing {@code ParallelSingletonPreInstantiator}.
+	 */
+	private static final class Node {
+
+		final String beanName;
+
+		final int index;
+
+		final List<Node> dependents = new ArrayList<>(2);
+
+		int unresolvedDependencies;
+
+		boolean completed;
+
+		@Nullable
+		Throwable failure;
+
+		Node(String beanName, int index) {
+			this.beanName = beanName;
+			this.index = index;
+		}
+	}
+
+}
@@ -120,6 +120,10 @@ public class RootBeanDefinition extends AbstractBeanDefinition {
 	@Nullable
 	volatile Boolean beforeInstantiationResolved;
 
+	/** Package-visible field for caching the plan for re-creating a non-singleton bean. */
+	@Nullable
+	volatile BeanCreationPlan creationPlan;
+
 	@Nullable
 	private Set<Member> externallyManagedConfigMembers;
 
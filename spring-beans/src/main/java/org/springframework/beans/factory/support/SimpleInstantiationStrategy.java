@@ -58,6 +58,10 @@ public class SimpleInstantiationStrategy implements InstantiationStrategy {
 	public Object instantiate(RootBeanDefinition bd, @Nullable String beanName, BeanFactory owner) {
 		// Don't override the class with CGLIB if no overrides.
 		if (!bd.hasMethodOverrides()) {
+			BeanCreationPlan plan = bd.creationPlan;
+			if (plan != null && plan.constructorOrFactoryMethod instanceof Constructor<?> plannedConstructor) {
+				return BeanUtils.instantiateClass(plannedConstructor);
+			}
 			Constructor<?> constructorToUse;
 			synchronized (bd.constructorArgumentLock) {
 				constructorToUse = (Constructor<?>) bd.resolvedConstructorOrFactoryMethod;
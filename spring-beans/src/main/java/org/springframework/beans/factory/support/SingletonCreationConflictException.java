@@ -0,0 +1,43 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import org.springframework.beans.factory.BeanCreationException;
+
+/**
+ * Internal exception thrown by {@link DefaultSingletonBeanRegistry} in case of
+ * concurrent singleton creation when a singleton is being created by another
+ * thread which in turn waits for a singleton held by the current thread,
+ * without an early reference available for resolving the conflict.
+ *
+ * <p>Deliberately not a {@link org.springframework.beans.factory.BeanCurrentlyInCreationException}
+ * since the conflict must not be tolerated like a regular circular reference.
+ * Parallel pre-instantiation catches it and retries the affected bean sequentially.
+ *
+ * @author agent
+ * @since 6.0
+ * @see DefaultListableBeanFactory#setPreInstantiationExecutor
+ */
+@SuppressWarnings("serial")
+class SingletonCreationConflictException extends BeanCreationException {
+
+	public SingletonCreationConflictException(String beanName) {
+		super(beanName, "Singleton bean currently in creation in another thread which waits for " +
+				"a singleton bean in creation in the current thread: Is there an unresolvable circular reference?");
+	}
+
+}
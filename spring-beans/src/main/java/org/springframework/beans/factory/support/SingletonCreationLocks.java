@@ -0,0 +1,141 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Per-bean locks for the creation of singletons, used by
+ * {@link DefaultSingletonBeanRegistry} instead of its common singleton mutex
+ * when {@linkplain DefaultSingletonBeanRegistry#setConcurrentSingletonCreation
+ * concurrent singleton creation} is enabled.
+ *
+ * <p>Before a thread starts waiting for a lock held by another thread, it checks
+ * whether waiting would close a cycle of threads waiting for each other, e.g. for
+ * beans with circular references being created on different threads. In that case,
+ * {@link #lock} returns {@code false} instead of blocking, leaving it up to the
+ * caller to resolve the conflict.
+ *
+ * @author agent
+ * @since 6.0
+ */
+final class SingletonCreationLocks {
+
+	private final Map<String, CreationLock> locks = new ConcurrentHashMap<>(256);
+
+	/** Bean names that threads are currently waiting for: guarded by itself. */
+	private final Map<Thread, String> waitingThreads = new HashMap<>();
+
+
+	/**
+	 * Acquire the lock for the given bean, waiting for another thread to
+	 * release it if necessary.
+	 * @param beanName the name of the bean
+	 * @return {@code true} if the lock has been acquired, or {@code false}
+	 * if waiting for it would have resulted in a deadlock
+	 */
+	boolean lock(String beanName) {
+		CreationLock lock = this.locks.computeIfAbsent(beanName, name -> new CreationLock());
+		if (lock.tryLock()) {
+			return true;
+		}
+		Thread currentThread = Thread.currentThread();
+		synchronized (this.waitingThreads) {
+			if (wouldDeadlock(currentThread, lock)) {
+				return false;
+			}
+			this.waitingThreads.put(currentThread, beanName);
+		}
+		try {
+			lock.lock();
+			return true;
+		}
+		finally {
+			synchronized (this.waitingThreads) {
+				this.waitingThreads.remove(currentThread);
+			}
+		}
+	}
+
+	/**
+	 * Acquire the lock for the given bean if it is not held by another thread.
+	 * @param beanName the name of the bean
+	 * @return {@code true} if the lock has been acquired
+	 */
+	boolean tryLock(String beanName) {
+		return this.locks.computeIfAbsent(beanName, name -> new CreationLock()).tryLock();
+	}
+
+	/**
+	 * Release the lock for the given bean, as acquired by the current thread.
+	 * @param beanName the name of the bean
+	 */
+	void unlock(String beanName) {
+		CreationLock lock = this.locks.get(beanName);
+		if (lock == null) {
+			throw new IllegalStateException("No creation lock for bean '" + beanName + "'");
+		}
+		lock.unlock();
+	}
+
+	/**
+	 * Determine whether the lock for the given bean is held by the current thread.
+	 * @param beanName the name of the bean
+	 */
+	boolean isHeldByCurrentThread(String beanName) {
+		CreationLock lock = this.locks.get(beanName);
+		return (lock != null && lock.isHeldByCurrentThread());
+	}
+
+	/**
+	 * Follow the chain of lock owners waiting for other locks, starting with
+	 * the given lock, checking whether it leads back to the given thread.
+	 */
+	private boolean wouldDeadlock(Thread currentThread, CreationLock lock) {
+		Thread owner = lock.getOwner();
+		// A cycle not involving the current thread would have been detected by one of its threads
+		for (int i = 0; owner != null && i <= this.waitingThreads.size(); i++) {
+			if (owner == currentThread) {
+				return true;
+			}
+			String awaitedBean = this.waitingThreads.get(owner);
+			if (awaitedBean == null) {
+				return false;
+			}
+			CreationLock awaitedLock = this.locks.get(awaitedBean);
+			owner = (awaitedLock != null ? awaitedLock.getOwner() : null);
+		}
+		return false;
+	}
+
+
+	@SuppressWarnings("serial")
+	private static class CreationLock extends ReentrantLock {
+
+		@Override
+		@Nullable
+		protected Thread getOwner() {
+			return super.getOwner();
+		}
+	}
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.testfixture.beans.TestBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * {@link BeanWrapperImpl} tests with compiled property access,
+ * running all common accessor tests against the compiled invokers.
+ *
+ * @author agent
+ */
+class CompiledBeanWrapperTests extends BeanWrapperTests {
+
+	@Override
+	protected BeanWrapperImpl createAccessor(Object target) {
+		BeanWrapperImpl accessor = new BeanWrapperImpl(target);
+		accessor.setCompiledPropertyAccess(true);
+		return accessor;
+	}
+
+
+	@Test
+	void compiledMethodsUsed() {
+		TestBean target = new TestBean();
+		BeanWrapperImpl accessor = createAccessor(target);
+		accessor.setPropertyValue("age", "42");
+		accessor.setPropertyValue("spouse", new TestBean("kerry"));
+		assertThat(target.getAge()).isEqualTo(42);
+		assertThat(accessor.getPropertyValue("spouse.name")).isEqualTo("kerry");
+
+		GenericTypeAwarePropertyDescriptor pd =
+				(GenericTypeAwarePropertyDescriptor) accessor.getPropertyDescriptor("age");
+		assertThat(pd.getCompiledReadMethod()).isNotNull();
+		assertThat(pd.getCompiledWriteMethod()).isNotNull();
+		assertThat(((BeanWrapperImpl) accessor.getPropertyAccessorForPropertyPath("spouse.name"))
+				.isCompiledPropertyAccess()).isTrue();
+	}
+
+	@Test
+	void compiledMethodsForNonPublicBeanClass() {
+		NonPublicBean target = new NonPublicBean();
+		BeanWrapperImpl accessor = createAccessor(target);
+		accessor.setPropertyValue("value", 5);
+		assertThat(accessor.getPropertyValue("value")).isEqualTo(5);
+		GenericTypeAwarePropertyDescriptor pd =
+				(GenericTypeAwarePropertyDescriptor) accessor.getPropertyDescriptor("value");
+		assertThat(pd.getCompiledWriteMethod()).isNotNull();
+	}
+
+	@Test
+	void fluentSetter() {
+		FluentBean target = new FluentBean();
+		BeanWrapperImpl accessor = createAccessor(target);
+		accessor.setPropertyValue("name", "tom");
+		assertThat(target.getName()).isEqualTo("tom");
+	}
+
+	@Test
+	void exceptionFromCompiledWriteMethod() {
+		NonPublicBean target = new NonPublicBean();
+		BeanWrapperImpl accessor = createAccessor(target);
+		assertThatExceptionOfType(MethodInvocationException.class)
+				.isThrownBy(() -> accessor.setPropertyValue("value", -1))
+				.withCauseInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void exceptionFromCompiledReadMethod() {
+		NonPublicBean target = new NonPublicBean();
+		BeanWrapperImpl accessor = createAccessor(target);
+		assertThatExceptionOfType(InvalidPropertyException.class)
+				.isThrownBy(() -> accessor.getPropertyValue("broken"))
+				.withRootCauseInstanceOf(IllegalStateException.class);
+	}
+
+
+	@SuppressWarnings("unused")
+	static class NonPublicBean {
+
+		private int value;
+
+		public int getValue() {
+			return this.value;
+		}
+
+		public void setValue(int value) {
+			if (value < 0) {
+				throw new IllegalArgumentException("Negative value");
+			}
+			this.value = value;
+		}
+
+		public String getBroken() {
+			throw new IllegalStateException("Broken");
+		}
+	}
+
+
+	@SuppressWarnings("unused")
+	public static class FluentBean {
+
+		private String name;
+
+		public String getName() {
+			return this.name;
+		}
+
+		public FluentBean setName(String name) {
+			this.name = name;
+			return this;
+		}
+	}
+
+}
@@ -33,6 +33,7 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -1412,6 +1413,93 @@ class DefaultListableBeanFactoryTests {
 		assertThat(bean.getBeanName()).isEqualTo("bd1");
 	}
 
+	@Test
+	void getBeanNamesForGenericTypeAgainstFrozen() {
+		ResolvableType stringList = ResolvableType.forClassWithGenerics(List.class, String.class);
+		ResolvableType integerList = ResolvableType.forClassWithGenerics(List.class, Integer.class);
+		RootBeanDefinition bd1 = new RootBeanDefinition(ArrayList.class);
+		bd1.setTargetType(stringList);
+		lbf.registerBeanDefinition("bd1", bd1);
+		RootBeanDefinition bd2 = new RootBeanDefinition(ArrayList.class);
+		bd2.setTargetType(integerList);
+		lbf.registerBeanDefinition("bd2", bd2);
+		lbf.freezeConfiguration();
+
+		String[] beanNames = lbf.getBeanNamesForType(stringList);
+		assertThat(beanNames).containsExactly("bd1");
+		assertThat(lbf.getBeanNamesForType(stringList)).isSameAs(beanNames);
+		assertThat(lbf.getBeanNamesForType(integerList)).containsExactly("bd2");
+		assertThat(lbf.getBeanNamesForType(stringList, false, false)).containsExactly("bd1");
+
+		RootBeanDefinition bd3 = new RootBeanDefinition(ArrayList.class);
+		bd3.setTargetType(stringList);
+		lbf.registerBeanDefinition("bd3", bd3);
+		assertThat(lbf.getBeanNamesForType(stringList)).containsExactly("bd1", "bd3");
+		lbf.removeBeanDefinition("bd1");
+		assertThat(lbf.getBeanNamesForType(stringList)).containsExactly("bd3");
+	}
+
+	@Test
+	void getBeanNamesForTypeWithLateSingletonRegistrationAgainstFrozen() {
+		lbf.registerBeanDefinition("bd1", new RootBeanDefinition(TestBean.class));
+		lbf.registerBeanDefinition("bd2", new RootBeanDefinition(NestedTestBean.class));
+		lbf.freezeConfiguration();
+		assertThat(lbf.getBeanNamesForType(TestBean.class)).containsExactly("bd1");
+		assertThat(lbf.getBeanNamesForType(ITestBean.class)).containsExactly("bd1");
+		String[] nestedBeanNames = lbf.getBeanNamesForType(NestedTestBean.class);
+		assertThat(nestedBeanNames).containsExactly("bd2");
+
+		lbf.registerSingleton("late1", new DerivedTestBean());
+		lbf.registerSingleton("late2", new TestBean());
+		assertThat(lbf.getBeanNamesForType(TestBean.class)).containsExactly("bd1", "late1", "late2");
+		assertThat(lbf.getBeanNamesForType(ITestBean.class)).containsExactly("bd1", "late1", "late2");
+		assertThat(lbf.getBeanNamesForType(DerivedTestBean.class)).containsExactly("late1");
+		assertThat(lbf.getBeanNamesForType(NestedTestBean.class)).isSameAs(nestedBeanNames);
+		assertThat(lbf.getBeanProvider(TestBean.class).stream().map(TestBean::getBeanName))
+				.containsExactly("bd1", null, null);
+
+		lbf.destroySingleton("late1");
+		assertThat(lbf.getBeanNamesForType(TestBean.class)).containsExactly("bd1", "late2");
+		assertThat(lbf.getBeanNamesForType(DerivedTestBean.class)).isEmpty();
+		lbf.destroySingleton("bd1");
+		assertThat(lbf.getBeanNamesForType(TestBean.class)).containsExactly("bd1", "late2");
+		lbf.destroySingletons();
+		assertThat(lbf.getBeanNamesForType(TestBean.class)).containsExactly("bd1");
+	}
+
+	@Test
+	void getBeanNamesForTypeWithLateFactoryBeanRegistrationAgainstFrozen() {
+		lbf.registerBeanDefinition("bd1", new RootBeanDefinition(TestBean.class));
+		lbf.freezeConfiguration();
+		assertThat(lbf.getBeanNamesForType(TestBean.class)).containsExactly("bd1");
+		assertThat(lbf.getBeanNamesForType(DummyFactory.class)).isEmpty();
+
+		lbf.registerSingleton("factory", new DummyFactory());
+		assertThat(lbf.getBeanNamesForType(TestBean.class)).containsExactly("bd1", "factory");
+		assertThat(lbf.getBeanNamesForType(DummyFactory.class)).containsExactly("&factory");
+		lbf.destroySingleton("factory");
+		assertThat(lbf.getBeanNamesForType(TestBean.class)).containsExactly("bd1");
+		assertThat(lbf.getBeanNamesForType(DummyFactory.class)).isEmpty();
+	}
+
+	@Test
+	void getBeanNamesForTypeAfterFactoryBeanDestructionAgainstFrozen() {
+		AtomicInteger instanceCount = new AtomicInteger();
+		RootBeanDefinition bd = new RootBeanDefinition(CountingFactoryBean.class);
+		bd.getConstructorArgumentValues().addGenericArgumentValue(instanceCount);
+		lbf.registerBeanDefinition("factory", bd);
+		lbf.registerBeanDefinition("bd1", new RootBeanDefinition(TestBean.class));
+		lbf.freezeConfiguration();
+		lbf.getBean("&factory");
+		assertThat(lbf.getBeanNamesForType(TestBean.class)).containsExactly("factory", "bd1");
+		assertThat(instanceCount).hasValue(1);
+
+		lbf.destroySingleton("factory");
+		assertThat(instanceCount).hasValue(1);
+		assertThat(lbf.containsSingleton("factory")).isFalse();
+		assertThat(lbf.getBeanNamesForType(TestBean.class)).containsExactly("factory", "bd1");
+	}
+
 	@Test
 	void getBeanByTypeDefinedInParent() {
 		DefaultListableBeanFactory parent = new DefaultListableBeanFactory();
@@ -2739,6 +2827,24 @@ class DefaultListableBeanFactoryTests {
 	}
 
 
+	public static class CountingFactoryBean implements FactoryBean<Object> {
+
+		public CountingFactoryBean(AtomicInteger instanceCount) {
+			instanceCount.incrementAndGet();
+		}
+
+		@Override
+		public Object getObject() {
+			return new TestBean();
+		}
+
+		@Override
+		public Class<?> getObjectType() {
+			return TestBean.class;
+		}
+	}
+
+
 	public static class ConstructorDependencyWithClassResolution {
 
 		public ConstructorDependencyWithClassResolution(Class<?> clazz) {
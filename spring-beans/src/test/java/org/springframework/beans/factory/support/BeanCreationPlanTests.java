@@ -0,0 +1,161 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.PropertyValues;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.BeanCreationPlan.Instantiation;
+import org.springframework.beans.testfixture.beans.TestBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link BeanCreationPlan} and the pre-filtered post-processors
+ * applied on bean creation.
+ *
+ * @author agent
+ */
+class BeanCreationPlanTests {
+
+	private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+
+	@Test
+	void defaultConstructorPlan() {
+		registerPrototype("test", new RootBeanDefinition(TestBean.class));
+
+		TestBean first = this.beanFactory.getBean("test", TestBean.class);
+		assertThat(getCreationPlan("test").instantiation).isEqualTo(Instantiation.DEFAULT_CONSTRUCTOR);
+		TestBean second = this.beanFactory.getBean("test", TestBean.class);
+		assertThat(second).isNotSameAs(first);
+	}
+
+	@Test
+	void autowireConstructorPlanResolvesReferencesForEachInstance() {
+		RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+		bd.getConstructorArgumentValues().addGenericArgumentValue(new RuntimeBeanReference("spouse"));
+		registerPrototype("test", bd);
+		registerPrototype("spouse", new RootBeanDefinition(TestBean.class));
+
+		TestBean first = this.beanFactory.getBean("test", TestBean.class);
+		BeanCreationPlan plan = getCreationPlan("test");
+		assertThat(plan.instantiation).isEqualTo(Instantiation.AUTOWIRE_CONSTRUCTOR);
+		assertThat(plan.argumentsResolved).isTrue();
+		assertThat(plan.preparedArguments).isNotNull();
+		TestBean second = this.beanFactory.getBean("test", TestBean.class);
+		assertThat(second.getSpouse()).isNotNull().isNotSameAs(first.getSpouse());
+	}
+
+	@Test
+	void factoryMethodPlan() {
+		RootBeanDefinition bd = new RootBeanDefinition(BeanCreationPlanTests.class);
+		bd.setFactoryMethodName("createTestBean");
+		bd.getConstructorArgumentValues().addGenericArgumentValue("juergen");
+		registerPrototype("test", bd);
+
+		this.beanFactory.getBean("test");
+		BeanCreationPlan plan = getCreationPlan("test");
+		assertThat(plan.instantiation).isEqualTo(Instantiation.FACTORY_METHOD);
+		assertThat(plan.argumentsResolved).isTrue();
+		assertThat(this.beanFactory.getBean("test", TestBean.class).getName()).isEqualTo("juergen");
+	}
+
+	@Test
+	void instanceSupplierPlan() {
+		registerPrototype("test", new RootBeanDefinition(TestBean.class, () -> new TestBean("supplied")));
+
+		this.beanFactory.getBean("test");
+		assertThat(getCreationPlan("test").instantiation).isEqualTo(Instantiation.INSTANCE_SUPPLIER);
+		assertThat(this.beanFactory.getBean("test", TestBean.class).getName()).isEqualTo("supplied");
+	}
+
+	@Test
+	void noPlanForSingleton() {
+		this.beanFactory.registerBeanDefinition("test", new RootBeanDefinition(TestBean.class));
+
+		this.beanFactory.getBean("test");
+		assertThat(this.beanFactory.getMergedLocalBeanDefinition("test").creationPlan).isNull();
+	}
+
+	@Test
+	void noPlanForExplicitArguments() {
+		registerPrototype("test", new RootBeanDefinition(TestBean.class));
+
+		TestBean tb = (TestBean) this.beanFactory.getBean("test", "juergen", 99);
+		assertThat(tb.getName()).isEqualTo("juergen");
+		assertThat(this.beanFactory.getMergedLocalBeanDefinition("test").creationPlan).isNull();
+	}
+
+	@Test
+	void postProcessorsFilteredByImplementedCallbacks() {
+		List<String> invocations = new ArrayList<>();
+		BeanPostProcessor beforeOnly = new BeanPostProcessor() {
+			@Override
+			public Object postProcessBeforeInitialization(Object bean, String beanName) {
+				invocations.add("before");
+				return bean;
+			}
+		};
+		InstantiationAwareBeanPostProcessor propertiesOnly = new InstantiationAwareBeanPostProcessor() {
+			@Override
+			public PropertyValues postProcessProperties(PropertyValues pvs, Object bean, String beanName) {
+				invocations.add("properties");
+				return pvs;
+			}
+		};
+		this.beanFactory.addBeanPostProcessor(beforeOnly);
+		this.beanFactory.addBeanPostProcessor(propertiesOnly);
+
+		AbstractBeanFactory.BeanPostProcessorCache cache = this.beanFactory.getBeanPostProcessorCache();
+		assertThat(cache.beforeInitialization).containsExactly(beforeOnly);
+		assertThat(cache.afterInitialization).isEmpty();
+		assertThat(cache.instantiationAware).containsExactly(propertiesOnly);
+		assertThat(cache.beforeInstantiation).isEmpty();
+		assertThat(cache.afterInstantiation).isEmpty();
+		assertThat(cache.properties).containsExactly(propertiesOnly);
+
+		registerPrototype("test", new RootBeanDefinition(TestBean.class));
+		this.beanFactory.getBean("test");
+		this.beanFactory.getBean("test");
+		assertThat(invocations).containsExactly("properties", "before", "properties", "before");
+	}
+
+
+	private void registerPrototype(String beanName, RootBeanDefinition bd) {
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		this.beanFactory.registerBeanDefinition(beanName, bd);
+	}
+
+	private BeanCreationPlan getCreationPlan(String beanName) {
+		BeanCreationPlan plan = this.beanFactory.getMergedLocalBeanDefinition(beanName).creationPlan;
+		assertThat(plan).isNotNull();
+		return plan;
+	}
+
+	public static TestBean createTestBean(String name) {
+		return new TestBean(name);
+	}
+
+}
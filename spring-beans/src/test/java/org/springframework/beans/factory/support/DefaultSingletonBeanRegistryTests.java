@@ -16,6 +16,12 @@
 
 package org.springframework.beans.factory.support;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.jupiter.api.Test;
 
 import org.springframework.beans.testfixture.beans.DerivedTestBean;
@@ -94,4 +100,50 @@ public class DefaultSingletonBeanRegistryTests {
 		assertThat(beanRegistry.isDependent("c", "c")).isTrue();
 	}
 
+	@Test
+	public void testDependentRegistrationOrderAndDestruction() {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+
+		beanRegistry.registerDependentBean("a", "c");
+		beanRegistry.registerDependentBean("a", "b");
+		beanRegistry.registerDependentBean("a", "c");
+		beanRegistry.registerDependentBean("d", "b");
+		beanRegistry.registerContainedBean("e", "b");
+		assertThat(beanRegistry.getDependentBeans("a")).containsExactly("c", "b");
+		assertThat(beanRegistry.getDependenciesForBean("b")).containsExactly("a", "d", "e");
+
+		beanRegistry.destroySingleton("b");
+		assertThat(beanRegistry.getDependentBeans("a")).containsExactly("c");
+		assertThat(beanRegistry.getDependentBeans("d")).isEmpty();
+		assertThat(beanRegistry.getDependentBeans("e")).isEmpty();
+		assertThat(beanRegistry.hasDependentBean("d")).isFalse();
+		assertThat(beanRegistry.getDependenciesForBean("b")).isEmpty();
+	}
+
+	@Test
+	public void testConcurrentDependentRegistration() throws Exception {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				int thread = i;
+				futures.add(executor.submit(() -> {
+					for (int j = 0; j < 1000; j++) {
+						beanRegistry.registerDependentBean("a", "b" + (j % 100));
+						beanRegistry.registerDependentBean("a", "c" + thread + "_" + j);
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+		assertThat(beanRegistry.getDependentBeans("a")).hasSize(4100);
+		assertThat(beanRegistry.getDependenciesForBean("b0")).containsExactly("a");
+	}
+
 }
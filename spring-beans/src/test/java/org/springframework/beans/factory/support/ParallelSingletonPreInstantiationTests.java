@@ -0,0 +1,286 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.BeanCurrentlyInCreationException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.testfixture.beans.TestBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for parallel singleton pre-instantiation through
+ * {@link DefaultListableBeanFactory#setPreInstantiationExecutor}.
+ *
+ * @author agent
+ */
+class ParallelSingletonPreInstantiationTests {
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+	private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+
+	@AfterEach
+	void shutdownExecutor() {
+		this.executor.shutdownNow();
+	}
+
+
+	@Test
+	void independentSingletonsOnSeveralThreads() {
+		RootBeanDefinition bd = new RootBeanDefinition(LatchBean.class);
+		bd.getConstructorArgumentValues().addGenericArgumentValue(new CountDownLatch(4));
+		for (int i = 0; i < 4; i++) {
+			this.beanFactory.registerBeanDefinition("bean" + i, new RootBeanDefinition(bd));
+		}
+		this.beanFactory.setPreInstantiationExecutor(this.executor);
+		this.beanFactory.preInstantiateSingletons();
+
+		assertThat(this.beanFactory.isConcurrentSingletonCreation()).isTrue();
+		assertThat(this.beanFactory.getBeansOfType(LatchBean.class)).hasSize(4);
+		assertThat(LatchBean.threads).hasSize(4);
+	}
+
+	@Test
+	void declaredDependenciesInstantiatedFirst() {
+		for (int i = 0; i < 20; i++) {
+			RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+			if (i > 0) {
+				bd.getPropertyValues().add("spouse", new RuntimeBeanReference("bean" + (i - 1)));
+			}
+			this.beanFactory.registerBeanDefinition("bean" + i, bd);
+		}
+		RootBeanDefinition dependent = new RootBeanDefinition(DependentBean.class);
+		dependent.setDependsOn("bean19");
+		this.beanFactory.registerBeanDefinition("dependent", dependent);
+		this.beanFactory.setPreInstantiationExecutor(this.executor);
+		this.beanFactory.preInstantiateSingletons();
+
+		for (int i = 1; i < 20; i++) {
+			assertThat(this.beanFactory.getBean("bean" + i, TestBean.class).getSpouse())
+					.isSameAs(this.beanFactory.getBean("bean" + (i - 1)));
+		}
+		assertThat(this.beanFactory.getBean(DependentBean.class).dependencyPresent).isTrue();
+		assertThat(this.beanFactory.getBean(DependentBean.class).afterSingletonsInstantiatedThread)
+				.isSameAs(Thread.currentThread());
+	}
+
+	@Test
+	void circularReferenceAcrossThreads() {
+		this.beanFactory.registerBeanDefinition("circularA", new RootBeanDefinition(CircularBean.class));
+		this.beanFactory.registerBeanDefinition("circularB", new RootBeanDefinition(CircularBean.class));
+		this.beanFactory.getBeanDefinition("circularA").getPropertyValues().add("otherName", "circularB");
+		this.beanFactory.getBeanDefinition("circularB").getPropertyValues().add("otherName", "circularA");
+		this.beanFactory.setPreInstantiationExecutor(this.executor);
+		this.beanFactory.preInstantiateSingletons();
+
+		CircularBean circularA = this.beanFactory.getBean("circularA", CircularBean.class);
+		CircularBean circularB = this.beanFactory.getBean("circularB", CircularBean.class);
+		assertThat(circularA.other).isSameAs(circularB);
+		assertThat(circularB.other).isSameAs(circularA);
+	}
+
+	@Test
+	void unresolvableCircularReferenceAcrossThreads() {
+		RootBeanDefinition bdA = new RootBeanDefinition(CircularBean.class);
+		bdA.getPropertyValues().add("otherName", "circularB");
+		this.beanFactory.registerBeanDefinition("circularA", bdA);
+		RootBeanDefinition bdB = new RootBeanDefinition(CircularBean.class);
+		bdB.getPropertyValues().add("otherName", "circularA");
+		this.beanFactory.registerBeanDefinition("circularB", bdB);
+		this.beanFactory.setAllowCircularReferences(false);
+		this.beanFactory.setPreInstantiationExecutor(this.executor);
+
+		assertThatExceptionOfType(BeanCreationException.class)
+				.isThrownBy(this.beanFactory::preInstantiateSingletons)
+				.satisfies(ex -> {
+					assertThat(ex.getBeanName()).isEqualTo("circularA");
+					assertThat(ex.contains(BeanCurrentlyInCreationException.class)).isTrue();
+				});
+	}
+
+	@Test
+	void slowFactoryBeanObtainedOnceForParallelDependents() {
+		this.beanFactory.registerBeanDefinition("slowFactory", new RootBeanDefinition(SlowFactoryBean.class));
+		registerDependentOfSlowFactory("dependent0", 0);
+		registerDependentOfSlowFactory("dependent1", 0);
+		this.beanFactory.setPreInstantiationExecutor(this.executor);
+		this.beanFactory.preInstantiateSingletons();
+
+		Object product = this.beanFactory.getBean("slowFactory");
+		assertThat(this.beanFactory.getBean("&slowFactory", SlowFactoryBean.class).invocations).hasValue(1);
+		assertThat(this.beanFactory.getBean("dependent0", CircularBean.class).other).isSameAs(product);
+		assertThat(this.beanFactory.getBean("dependent1", CircularBean.class).other).isSameAs(product);
+	}
+
+	@Test
+	void slowFactoryBeanWithCircularReferenceAcrossThreads() {
+		RootBeanDefinition factoryBd = new RootBeanDefinition(SlowFactoryBean.class);
+		factoryBd.getPropertyValues().add("dependencyName", "dependent1");
+		this.beanFactory.registerBeanDefinition("slowFactory", factoryBd);
+		registerDependentOfSlowFactory("dependent0", 0);
+		// Asks for the object once its creation waits for this bean on another thread
+		registerDependentOfSlowFactory("dependent1", 50);
+		this.beanFactory.setPreInstantiationExecutor(this.executor);
+		this.beanFactory.preInstantiateSingletons();
+
+		Object product = this.beanFactory.getBean("slowFactory");
+		assertThat(this.beanFactory.getBean("dependent0", CircularBean.class).other).isSameAs(product);
+		assertThat(this.beanFactory.getBean("dependent1", CircularBean.class).other).isSameAs(product);
+	}
+
+	private void registerDependentOfSlowFactory(String beanName, long delay) {
+		RootBeanDefinition bd = new RootBeanDefinition(CircularBean.class);
+		bd.getPropertyValues().add("otherName", "slowFactory");
+		bd.getPropertyValues().add("delay", delay);
+		this.beanFactory.registerBeanDefinition(beanName, bd);
+	}
+
+	@Test
+	void firstFailureInRegistrationOrderReported() {
+		for (int i = 0; i < 10; i++) {
+			RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+			if (i == 3 || i == 7) {
+				bd.setInitMethodName("nonExistingInitMethod");
+			}
+			this.beanFactory.registerBeanDefinition("bean" + i, bd);
+		}
+		this.beanFactory.setPreInstantiationExecutor(this.executor);
+
+		assertThatExceptionOfType(BeanCreationException.class)
+				.isThrownBy(this.beanFactory::preInstantiateSingletons)
+				.satisfies(ex -> assertThat(ex.getBeanName()).isEqualTo("bean3"));
+	}
+
+
+	public static class LatchBean {
+
+		static final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+		public LatchBean(CountDownLatch latch) throws InterruptedException {
+			threads.add(Thread.currentThread());
+			latch.countDown();
+			// Only completes if all beans are being created at the same time
+			assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		}
+	}
+
+
+	public static class DependentBean implements BeanFactoryAware, SmartInitializingSingleton {
+
+		boolean dependencyPresent;
+
+		Thread afterSingletonsInstantiatedThread;
+
+		@Override
+		public void setBeanFactory(BeanFactory beanFactory) {
+			this.dependencyPresent = ((DefaultListableBeanFactory) beanFactory).containsSingleton("bean19");
+		}
+
+		@Override
+		public void afterSingletonsInstantiated() {
+			this.afterSingletonsInstantiatedThread = Thread.currentThread();
+		}
+	}
+
+
+	public static class SlowFactoryBean implements FactoryBean<Object>, BeanFactoryAware {
+
+		final AtomicInteger invocations = new AtomicInteger();
+
+		private BeanFactory beanFactory;
+
+		private String dependencyName;
+
+		@Override
+		public void setBeanFactory(BeanFactory beanFactory) {
+			this.beanFactory = beanFactory;
+		}
+
+		public void setDependencyName(String dependencyName) {
+			this.dependencyName = dependencyName;
+		}
+
+		@Override
+		public Object getObject() throws InterruptedException {
+			this.invocations.incrementAndGet();
+			if (this.dependencyName != null) {
+				this.beanFactory.getBean(this.dependencyName);
+			}
+			// Keep the object in creation while the dependents ask for it
+			Thread.sleep(100);
+			return new Object();
+		}
+
+		@Override
+		public Class<?> getObjectType() {
+			return Object.class;
+		}
+	}
+
+
+	public static class CircularBean implements BeanFactoryAware, InitializingBean {
+
+		private BeanFactory beanFactory;
+
+		private String otherName;
+
+		private long delay = 50;
+
+		Object other;
+
+		@Override
+		public void setBeanFactory(BeanFactory beanFactory) {
+			this.beanFactory = beanFactory;
+		}
+
+		public void setOtherName(String otherName) {
+			this.otherName = otherName;
+		}
+
+		public void setDelay(long delay) {
+			this.delay = delay;
+		}
+
+		@Override
+		public void afterPropertiesSet() throws InterruptedException {
+			// Give the other bean a chance to be in creation on another thread
+			Thread.sleep(this.delay);
+			this.other = this.beanFactory.getBean(this.otherName);
+		}
+	}
+
+}
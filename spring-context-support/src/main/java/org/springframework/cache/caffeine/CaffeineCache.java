@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,8 +17,12 @@
 package org.springframework.cache.caffeine;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 
 import org.springframework.cache.support.AbstractValueAdaptingCache;
@@ -29,6 +33,11 @@ import org.springframework.util.Assert;
  * Spring {@link org.springframework.cache.Cache} adapter implementation
  * on top of a Caffeine {@link com.github.benmanes.caffeine.cache.Cache} instance.
  *
+ * <p>Can also be created on top of a Caffeine {@link AsyncCache}, which
+ * coalesces concurrent loads of the same key through {@link #retrieve(Object, Supplier)}
+ * and, with an {@link AsyncLoadingCache} configured with {@code refreshAfterWrite},
+ * refreshes entries ahead of their expiration.
+ *
  * <p>Requires Caffeine 2.1 or higher.
  *
  * @author Ben Manes
@@ -43,6 +52,9 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 
 	private final com.github.benmanes.caffeine.cache.Cache<Object, Object> cache;
 
+	@Nullable
+	private final AsyncCache<Object, Object> asyncCache;
+
 
 	/**
 	 * Create a {@link CaffeineCache} instance with the specified name and the
@@ -70,6 +82,25 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 		Assert.notNull(cache, "Cache must not be null");
 		this.name = name;
 		this.cache = cache;
+		this.asyncCache = null;
+	}
+
+	/**
+	 * Create a {@link CaffeineCache} instance with the specified name and the
+	 * given internal {@link AsyncCache} to use.
+	 * @param name the name of the cache
+	 * @param cache the backing Caffeine AsyncCache instance
+	 * @param allowNullValues whether to accept and convert {@code null}
+	 * values for this cache
+	 * @since 6.0
+	 */
+	public CaffeineCache(String name, AsyncCache<Object, Object> cache, boolean allowNullValues) {
+		super(allowNullValues);
+		Assert.notNull(name, "Name must not be null");
+		Assert.notNull(cache, "Cache must not be null");
+		this.name = name;
+		this.cache = cache.synchronous();
+		this.asyncCache = cache;
 	}
 
 
@@ -78,11 +109,25 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 		return this.name;
 	}
 
+	/**
+	 * Return the internal Caffeine Cache
+	 * (possibly the synchronous view of an {@link AsyncCache}).
+	 */
 	@Override
 	public final com.github.benmanes.caffeine.cache.Cache<Object, Object> getNativeCache() {
 		return this.cache;
 	}
 
+	/**
+	 * Return the internal Caffeine AsyncCache, if this cache has been
+	 * created on top of one.
+	 * @since 6.0
+	 */
+	@Nullable
+	public final AsyncCache<Object, Object> getAsyncCache() {
+		return this.asyncCache;
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	@Nullable
@@ -90,6 +135,63 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 		return (T) fromStoreValue(this.cache.get(key, new LoadFunction(valueLoader)));
 	}
 
+	@Override
+	public boolean isRetrieveSupported() {
+		return true;
+	}
+
+	/**
+	 * Retrieve the value for the given key without blocking on an
+	 * {@link AsyncCache}, including values that are still being loaded.
+	 * Otherwise, the value is looked up in the synchronous cache.
+	 */
+	@Override
+	@Nullable
+	public CompletableFuture<?> retrieve(Object key) {
+		if (this.asyncCache != null) {
+			CompletableFuture<Object> result = (this.asyncCache instanceof AsyncLoadingCache<Object, Object> loadingCache ?
+					loadingCache.get(key) : this.asyncCache.getIfPresent(key));
+			return (result != null ? result.thenApply(this::fromStoreValue) : null);
+		}
+		Object storeValue = lookup(key);
+		return (storeValue != null ? CompletableFuture.completedFuture(fromStoreValue(storeValue)) : null);
+	}
+
+	/**
+	 * Retrieve the value for the given key, loading it through the given
+	 * loader if necessary. On an {@link AsyncCache}, concurrent loads of
+	 * the same key are coalesced; otherwise, a value that is not present
+	 * yet gets stored once the loader's result is available.
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		if (this.asyncCache != null) {
+			return this.asyncCache.get(key, (k, executor) -> valueLoader.get().thenApply(this::toNullableStoreValue))
+					.thenApply(storeValue -> (T) fromStoreValue(storeValue));
+		}
+		Object storeValue = lookup(key);
+		if (storeValue != null) {
+			return CompletableFuture.completedFuture((T) fromStoreValue(storeValue));
+		}
+		return valueLoader.get().thenApply(value -> {
+			Object newStoreValue = toNullableStoreValue(value);
+			if (newStoreValue != null) {
+				this.cache.put(key, newStoreValue);
+			}
+			return value;
+		});
+	}
+
+	/**
+	 * Convert the given loaded value to a store value, returning {@code null}
+	 * (i.e. not caching the value) for a {@code null} value if not allowed.
+	 */
+	@Nullable
+	private Object toNullableStoreValue(@Nullable Object value) {
+		return (value != null || isAllowNullValues() ? toStoreValue(value) : null);
+	}
+
 	@Override
 	@Nullable
 	protected Object lookup(Object key) {
@@ -16,6 +16,10 @@
 
 package org.springframework.cache.caffeine;
 
+import java.util.concurrent.CompletableFuture;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
 import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.CaffeineSpec;
@@ -208,4 +212,44 @@ public class CaffeineCacheManagerTests {
 		assertThat(cm.getCache("c2") == cache2).isTrue();
 	}
 
+	@Test
+	public void asyncCacheMode() {
+		CaffeineCacheManager cm = new CaffeineCacheManager("c1");
+		CaffeineCache cache1 = (CaffeineCache) cm.getCache("c1");
+		assertThat(cache1.getAsyncCache()).isNull();
+
+		cm.setAsyncCacheMode(true);
+		assertThat(cm.isAsyncCacheMode()).isTrue();
+		CaffeineCache asyncCache1 = (CaffeineCache) cm.getCache("c1");
+		assertThat(asyncCache1).isNotSameAs(cache1);
+		assertThat(asyncCache1.getAsyncCache()).isNotNull();
+		assertThat(asyncCache1.isRetrieveSupported()).isTrue();
+
+		assertThat(asyncCache1.retrieve("key", () -> CompletableFuture.completedFuture("value")))
+				.isCompletedWithValue("value");
+		assertThat(asyncCache1.retrieve("key")).isCompletedWithValue("value");
+		assertThat(asyncCache1.get("key").get()).isEqualTo("value");
+	}
+
+	@Test
+	public void asyncCacheLoaderUseAsyncLoadingCache() {
+		CaffeineCacheManager cm = new CaffeineCacheManager("c1");
+		cm.setAsyncCacheLoader((key, executor) -> CompletableFuture.completedFuture("pong"));
+		assertThat(cm.isAsyncCacheMode()).isTrue();
+
+		CaffeineCache cache1 = (CaffeineCache) cm.getCache("c1");
+		assertThat(cache1.getAsyncCache()).isInstanceOf(AsyncLoadingCache.class);
+		assertThat(cache1.retrieve("ping")).isCompletedWithValue("pong");
+	}
+
+	@Test
+	public void customAsyncCacheRegistration() {
+		CaffeineCacheManager cm = new CaffeineCacheManager("c1");
+		AsyncCache<Object, Object> nc = Caffeine.newBuilder().buildAsync();
+		cm.registerCustomCache("c2", nc);
+
+		CaffeineCache cache2 = (CaffeineCache) cm.getCache("c2");
+		assertThat(cache2.getAsyncCache()).isSameAs(nc);
+	}
+
 }
@@ -16,6 +16,9 @@
 
 package org.springframework.cache.caffeine;
 
+import java.util.concurrent.CompletableFuture;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -26,6 +29,7 @@ import org.springframework.context.testfixture.cache.AbstractValueAdaptingCacheT
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.api.Assertions.fail;
 
 /**
  * Tests for {@link CaffeineCache}.
@@ -93,6 +97,53 @@ class CaffeineCacheTests extends AbstractValueAdaptingCacheTests<CaffeineCache>
 		assertThatIllegalStateException().isThrownBy(() -> loadingCache.get(new Object(), Long.class));
 	}
 
+	@Test
+	void testAsyncCacheRetrieve() {
+		AsyncCache<Object, Object> asyncCache = Caffeine.newBuilder().buildAsync();
+		CaffeineCache cache = new CaffeineCache(CACHE_NAME, asyncCache, true);
+		assertThat(cache.getAsyncCache()).isSameAs(asyncCache);
+		assertThat(cache.isRetrieveSupported()).isTrue();
+
+		assertThat(cache.retrieve("key")).isNull();
+		assertThat(cache.retrieve("key", () -> CompletableFuture.completedFuture("value")))
+				.isCompletedWithValue("value");
+		assertThat(cache.retrieve("key")).isCompletedWithValue("value");
+		assertThat(cache.get("key").get()).isEqualTo("value");
+	}
+
+	@Test
+	void testAsyncCacheRetrieveCoalescesConcurrentLoads() {
+		CaffeineCache cache = new CaffeineCache(CACHE_NAME, Caffeine.newBuilder().buildAsync(), true);
+		CompletableFuture<String> value = new CompletableFuture<>();
+
+		CompletableFuture<String> first = cache.retrieve("key", () -> value);
+		CompletableFuture<String> second = cache.retrieve("key", () -> fail("Unexpected second load"));
+		assertThat(cache.retrieve("key")).isNotDone();
+
+		value.complete("value");
+		assertThat(first).isCompletedWithValue("value");
+		assertThat(second).isCompletedWithValue("value");
+	}
+
+	@Test
+	void testAsyncCacheRetrieveNullValue() {
+		CaffeineCache cache = new CaffeineCache(CACHE_NAME, Caffeine.newBuilder().buildAsync(), true);
+		assertThat(cache.retrieve("key", () -> CompletableFuture.completedFuture(null))).isCompletedWithValue(null);
+		assertThat(cache.retrieve("key")).isCompletedWithValue(null);
+
+		CaffeineCache cacheNoNull = new CaffeineCache(CACHE_NAME_NO_NULL, Caffeine.newBuilder().buildAsync(), false);
+		assertThat(cacheNoNull.retrieve("key", () -> CompletableFuture.completedFuture(null))).isCompletedWithValue(null);
+		assertThat(cacheNoNull.retrieve("key")).isNull();
+	}
+
+	@Test
+	void testAsyncLoadingCacheRetrieve() {
+		CaffeineCache cache = new CaffeineCache(CACHE_NAME, Caffeine.newBuilder()
+				.buildAsync(key -> "loaded-" + key), true);
+		assertThat(cache.retrieve("key")).isCompletedWithValue("loaded-key");
+		assertThat(cache.get("key").get()).isEqualTo("loaded-key");
+	}
+
 	@Test
 	void testPutIfAbsentNullValue() {
 		CaffeineCache cache = getCache();
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.cache.Cache;
+
+/**
+ * Benchmarks for {@link ConcurrentMapCache} backed by an unbounded map or by a
+ * {@link BoundedConcurrentMap}, with keys accessed following a Zipfian distribution.
+ * Misses are loaded through {@link Cache#get(Object, java.util.concurrent.Callable)}
+ * and reported, along with hits, as secondary results.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+@Threads(4)
+public class ConcurrentMapCacheBenchmark {
+
+	@Benchmark
+	public void getWithLoader(BenchmarkData data, ThreadData thread, CacheCounters counters, Blackhole bh) {
+		Integer key = data.keys[thread.nextIndex()];
+		counters.hits++;
+		bh.consume(data.cache.get(key, () -> {
+			counters.hits--;
+			counters.misses++;
+			return key.toString();
+		}));
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkData {
+
+		private static final int KEY_SAMPLES = 1 << 20;
+
+		@Param({"unbounded", "maximumSize", "maximumSizeWithExpiry"})
+		public String store;
+
+		@Param({"false", "true"})
+		public boolean recordStats;
+
+		@Param({"100000"})
+		public int keySpace;
+
+		@Param({"10000"})
+		public int maximumSize;
+
+		@Param({"1.0"})
+		public double zipfExponent;
+
+		public Integer[] keys;
+
+		public ConcurrentMapCache cache;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+			if (!this.store.equals("unbounded")) {
+				cacheManager.setMaximumSize(this.maximumSize);
+			}
+			if (this.store.equals("maximumSizeWithExpiry")) {
+				cacheManager.setExpireAfterAccess(Duration.ofMinutes(10));
+			}
+			cacheManager.setRecordStats(this.recordStats);
+			this.cache = (ConcurrentMapCache) cacheManager.getCache("benchmark");
+			this.keys = zipfianKeys(this.keySpace, this.zipfExponent, KEY_SAMPLES);
+		}
+
+		/**
+		 * Sample the given number of keys from {@code [0, keySpace)} where
+		 * the frequency of key {@code k} is proportional to {@code 1 / (k + 1)^exponent}.
+		 */
+		private static Integer[] zipfianKeys(int keySpace, double exponent, int samples) {
+			double[] cumulative = new double[keySpace];
+			double sum = 0;
+			for (int i = 0; i < keySpace; i++) {
+				sum += 1 / Math.pow(i + 1, exponent);
+				cumulative[i] = sum;
+			}
+			Random random = new Random(42);
+			Integer[] keys = new Integer[samples];
+			for (int i = 0; i < samples; i++) {
+				int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+				keys[i] = (index >= 0 ? index : Math.min(-index - 1, keySpace - 1));
+			}
+			return keys;
+		}
+	}
+
+
+	@State(Scope.Thread)
+	public static class ThreadData {
+
+		private int index = new Random().nextInt(BenchmarkData.KEY_SAMPLES);
+
+		int nextIndex() {
+			this.index = (this.index + 1) & (BenchmarkData.KEY_SAMPLES - 1);
+			return this.index;
+		}
+	}
+
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class CacheCounters {
+
+		public long hits;
+
+		public long misses;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			this.hits = 0;
+			this.misses = 0;
+		}
+	}
+
+}
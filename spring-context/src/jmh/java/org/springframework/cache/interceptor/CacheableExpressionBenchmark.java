@@ -0,0 +1,113 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Benchmark for the overhead of {@link Cacheable @Cacheable} methods on cache hits,
+ * with default key generation and with SpEL key and condition expressions.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class CacheableExpressionBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public AnnotationConfigApplicationContext context;
+
+		public CachedService service;
+
+		@Setup
+		public void setup() {
+			this.context = new AnnotationConfigApplicationContext(CachingConfiguration.class);
+			this.service = this.context.getBean(CachedService.class);
+		}
+
+		@TearDown
+		public void teardown() {
+			this.context.close();
+		}
+	}
+
+	@Benchmark
+	public Object defaultKey(BenchmarkState state) {
+		return state.service.defaultKey(42L);
+	}
+
+	@Benchmark
+	public Object keyExpression(BenchmarkState state) {
+		return state.service.keyExpression(42L, "name");
+	}
+
+	@Benchmark
+	public Object keyAndConditionExpressions(BenchmarkState state) {
+		return state.service.keyAndConditionExpressions(42L, "name");
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class CachingConfiguration {
+
+		@Bean
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager();
+		}
+
+		@Bean
+		public CachedService cachedService() {
+			return new CachedService();
+		}
+	}
+
+
+	public static class CachedService {
+
+		@Cacheable("defaultKey")
+		public Object defaultKey(Long id) {
+			return id;
+		}
+
+		@Cacheable(cacheNames = "keyExpression", key = "#id + '-' + #name")
+		public Object keyExpression(Long id, String name) {
+			return id;
+		}
+
+		@Cacheable(cacheNames = "keyAndCondition", key = "#id", condition = "#id > 0 and #name != null")
+		public Object keyAndConditionExpressions(Long id, String name) {
+			return id;
+		}
+	}
+
+}
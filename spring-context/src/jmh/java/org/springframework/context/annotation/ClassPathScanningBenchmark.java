@@ -0,0 +1,121 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.context.annotation;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.asm.AnnotationVisitor;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.stereotype.Component;
+
+/**
+ * Benchmark for classpath scanning of a synthetic jar, reading the metadata
+ * of the scanned classes sequentially or in parallel.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class ClassPathScanningBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		static final String BASE_PACKAGE = "org.springframework.context.annotation.synthetic";
+
+		@Param({"20000"})
+		public int classCount;
+
+		@Param({"10"})
+		public int componentRatio;
+
+		@Param({"false", "true"})
+		public boolean parallel;
+
+		public File jar;
+
+		public URLClassLoader classLoader;
+
+		@Setup(Level.Trial)
+		public void setup() throws IOException {
+			this.jar = File.createTempFile("synthetic", ".jar");
+			try (JarOutputStream out = new JarOutputStream(new FileOutputStream(this.jar))) {
+				for (int i = 0; i < this.classCount; i++) {
+					String className = BASE_PACKAGE.replace('.', '/') + "/p" + (i % 100) + "/Synthetic" + i;
+					out.putNextEntry(new JarEntry(className + ".class"));
+					out.write(generateClass(className, i % this.componentRatio == 0));
+					out.closeEntry();
+				}
+			}
+			this.classLoader = new URLClassLoader(new URL[] {this.jar.toURI().toURL()}, getClass().getClassLoader());
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() throws IOException {
+			this.classLoader.close();
+			Files.deleteIfExists(this.jar.toPath());
+		}
+
+		private static byte[] generateClass(String className, boolean component) {
+			ClassWriter cw = new ClassWriter(0);
+			cw.visit(Opcodes.V17, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, className, null, "java/lang/Object", null);
+			if (component) {
+				AnnotationVisitor av = cw.visitAnnotation(Type.getDescriptor(Component.class), true);
+				av.visitEnd();
+			}
+			MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+			mv.visitCode();
+			mv.visitVarInsn(Opcodes.ALOAD, 0);
+			mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+			mv.visitInsn(Opcodes.RETURN);
+			mv.visitMaxs(1, 1);
+			mv.visitEnd();
+			cw.visitEnd();
+			return cw.toByteArray();
+		}
+	}
+
+	@Benchmark
+	public Set<BeanDefinition> scan(BenchmarkState state) {
+		ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(true);
+		provider.setResourceLoader(new DefaultResourceLoader(state.classLoader));
+		provider.setParallelScanning(state.parallel);
+		return provider.findCandidateComponents(BenchmarkState.BASE_PACKAGE);
+	}
+
+}
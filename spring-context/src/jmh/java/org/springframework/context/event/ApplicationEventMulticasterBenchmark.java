@@ -0,0 +1,138 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * Benchmark for multicasting events to listeners, synchronously as well as
+ * through an executor with individual tasks or with per-listener queues.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class ApplicationEventMulticasterBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"10", "100"})
+		public int listenerCount;
+
+		@Param({"sync", "executor", "listenerQueue"})
+		public String dispatch;
+
+		public SimpleApplicationEventMulticaster multicaster;
+
+		public ExecutorService executor;
+
+		public ApplicationListener<?> lateListener = new OtherEventListener();
+
+		@Setup
+		public void setup() {
+			this.multicaster = new SimpleApplicationEventMulticaster();
+			if (!this.dispatch.equals("sync")) {
+				this.executor = Executors.newFixedThreadPool(4);
+				this.multicaster.setTaskExecutor(this.executor);
+				if (this.dispatch.equals("listenerQueue")) {
+					this.multicaster.setListenerQueueCapacity(1024);
+				}
+			}
+			for (int i = 0; i < this.listenerCount; i++) {
+				this.multicaster.addApplicationListener(
+						i % 2 == 0 ? new TestEventListener() : new OtherEventListener());
+			}
+		}
+
+		@TearDown
+		public void teardown() throws InterruptedException {
+			if (this.executor != null) {
+				this.executor.shutdown();
+				this.executor.awaitTermination(10, TimeUnit.SECONDS);
+			}
+		}
+	}
+
+	@Benchmark
+	public void multicastEvent(BenchmarkState state) {
+		state.multicaster.multicastEvent(new TestEvent(state));
+	}
+
+	/**
+	 * Register and remove a listener for a different event type
+	 * in between events, like for listeners from scoped beans.
+	 */
+	@Benchmark
+	public void multicastEventWithListenerRegistration(BenchmarkState state) {
+		state.multicaster.addApplicationListener(state.lateListener);
+		state.multicaster.multicastEvent(new TestEvent(state));
+		state.multicaster.removeApplicationListener(state.lateListener);
+	}
+
+
+	@SuppressWarnings("serial")
+	static class TestEvent extends ApplicationEvent {
+
+		TestEvent(Object source) {
+			super(source);
+		}
+	}
+
+
+	@SuppressWarnings("serial")
+	static class OtherEvent extends ApplicationEvent {
+
+		OtherEvent(Object source) {
+			super(source);
+		}
+	}
+
+
+	static class TestEventListener implements ApplicationListener<TestEvent> {
+
+		private final AtomicLong eventCount = new AtomicLong();
+
+		@Override
+		public void onApplicationEvent(TestEvent event) {
+			this.eventCount.incrementAndGet();
+		}
+	}
+
+
+	static class OtherEventListener implements ApplicationListener<OtherEvent> {
+
+		@Override
+		public void onApplicationEvent(OtherEvent event) {
+		}
+	}
+
+}
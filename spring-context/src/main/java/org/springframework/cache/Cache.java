@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,8 @@
 package org.springframework.cache;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import org.springframework.lang.Nullable;
 
@@ -100,6 +102,71 @@ public interface Cache {
 	@Nullable
 	<T> T get(Object key, Callable<T> valueLoader);
 
+	/**
+	 * Return the value to which this cache maps the specified key,
+	 * wrapped in a {@link CompletableFuture}. This operation must not block
+	 * but may return a completed {@code CompletableFuture} if the corresponding
+	 * value is immediately available, or a pending one for a value that is
+	 * currently being loaded by {@link #retrieve(Object, Supplier)}.
+	 * <p>Returns {@code null} if the cache contains no mapping for this key;
+	 * otherwise, the cached value (which may be {@code null} itself) will be
+	 * returned as the result of the {@code CompletableFuture}.
+	 * <p>The default implementation throws an {@link UnsupportedOperationException};
+	 * cache providers are encouraged to support it for their native async APIs.
+	 * @param key the key whose associated value is to be returned
+	 * @return the value to which this cache maps the specified key, contained
+	 * within a {@link CompletableFuture} which may also hold a cached {@code null}
+	 * value. A straight {@code null} being returned means that the cache contains
+	 * no mapping for this key.
+	 * @since 6.0
+	 * @see #retrieve(Object, Supplier)
+	 */
+	@Nullable
+	default CompletableFuture<?> retrieve(Object key) {
+		throw new UnsupportedOperationException(
+				getClass().getName() + " does not support CompletableFuture-based retrieval");
+	}
+
+	/**
+	 * Return the value to which this cache maps the specified key, obtaining
+	 * that value from {@code valueLoader} if necessary. This method provides
+	 * a simple substitute for the conventional "if cached, return; otherwise
+	 * create, cache and return" pattern, based on {@link CompletableFuture}.
+	 * <p>Implementations should ensure that the loading operation is coalesced
+	 * so that the specified {@code valueLoader} is only called once in case of
+	 * concurrent access on the same key, with all callers receiving the result
+	 * of the same in-flight load. The resolved value (not the future) gets cached.
+	 * <p>The default implementation throws an {@link UnsupportedOperationException};
+	 * cache providers are encouraged to support it for their native async APIs.
+	 * @param key the key whose associated value is to be returned
+	 * @param valueLoader the loader returning the value to cache, wrapped in
+	 * a {@code CompletableFuture}
+	 * @return the value to which this cache maps the specified key, contained
+	 * within a {@link CompletableFuture}
+	 * @since 6.0
+	 * @see #retrieve(Object)
+	 * @see #get(Object, Callable)
+	 */
+	default <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		throw new UnsupportedOperationException(
+				getClass().getName() + " does not support CompletableFuture-based retrieval");
+	}
+
+	/**
+	 * Return whether this cache supports {@link #retrieve(Object)} and
+	 * {@link #retrieve(Object, Supplier)}.
+	 * <p>The caching infrastructure only caches the resolved value of methods
+	 * returning a {@code CompletableFuture} or a reactive type if all of the
+	 * caches involved support such retrieval. Otherwise, the returned future
+	 * or publisher itself is cached, as it used to be the case before 6.0.
+	 * <p>The default implementation returns {@code false}; implementations
+	 * of the {@code retrieve} variants are expected to return {@code true}.
+	 * @since 6.0
+	 */
+	default boolean isRetrieveSupported() {
+		return false;
+	}
+
 	/**
 	 * Associate the specified value with the specified key in this cache.
 	 * <p>If the cache previously contained a mapping for this key, the old
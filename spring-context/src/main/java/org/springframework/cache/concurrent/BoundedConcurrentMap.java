@@ -0,0 +1,594 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntBiFunction;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link ConcurrentMap} bounded by a maximum total weight and optionally
+ * expiring entries after a fixed time since their creation or last access,
+ * for use as the internal store of a {@link ConcurrentMapCache}.
+ *
+ * <p>Entries are held in a {@link ConcurrentHashMap} for lock-free reads,
+ * with an access-ordered linked list for choosing the least recently used
+ * entry once the maximum weight is exceeded, similar to
+ * {@link org.springframework.util.ConcurrentLruCache}. All modifications
+ * are performed under a lock; reads only reorder the list if that lock is
+ * immediately available, so the eviction order is an approximation of the
+ * actual access order under contention.
+ *
+ * <p>Expired entries are never returned but only removed once they are
+ * accessed or reach the head of the access order on a write; call
+ * {@link #cleanUp()} for removing all expired entries right away.
+ *
+ * <p>This map does not allow {@code null} keys or values, consistent with
+ * {@link ConcurrentHashMap}. Its {@link #size()} may include expired entries
+ * that have not been removed yet.
+ *
+ * @author agent
+ * @since 6.0
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ * @see ConcurrentMapCacheManager#setMaximumSize
+ * @see ConcurrentMapCacheManager#setExpireAfterWrite
+ * @see ConcurrentMapCacheManager#setExpireAfterAccess
+ */
+public class BoundedConcurrentMap<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+
+	private final long maximumWeight;
+
+	@Nullable
+	private final ToIntBiFunction<? super K, ? super V> weigher;
+
+	private final long expireAfterWriteNanos;
+
+	private final long expireAfterAccessNanos;
+
+	private final LongSupplier ticker;
+
+	private final ConcurrentHashMap<K, Node<K, V>> map = new ConcurrentHashMap<>(256);
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/** Sentinel of the access-ordered list, guarded by the lock. */
+	private final Node<K, V> head = new Node<>();
+
+	/** Total weight of all entries in the list, guarded by the lock. */
+	private long weightedSize;
+
+	private final LongAdder evictionCount = new LongAdder();
+
+	@Nullable
+	private EntrySet entrySet;
+
+
+	/**
+	 * Create a new BoundedConcurrentMap holding up to the given number of entries.
+	 * @param maximumSize the maximum number of entries
+	 */
+	public BoundedConcurrentMap(long maximumSize) {
+		this(maximumSize, null, null, null);
+	}
+
+	/**
+	 * Create a new BoundedConcurrentMap with the given limits.
+	 * @param maximumWeight the maximum total weight of all entries
+	 * ({@link Long#MAX_VALUE} for no limit)
+	 * @param weigher the function to determine the weight of each entry
+	 * (or {@code null} for a weight of 1 per entry, turning the maximum
+	 * weight into a maximum number of entries)
+	 * @param expireAfterWrite the time after which an entry expires once
+	 * it has been created or replaced (or {@code null} for no such expiration)
+	 * @param expireAfterAccess the time after which an entry expires once
+	 * it has been last accessed (or {@code null} for no such expiration)
+	 */
+	public BoundedConcurrentMap(long maximumWeight, @Nullable ToIntBiFunction<? super K, ? super V> weigher,
+			@Nullable Duration expireAfterWrite, @Nullable Duration expireAfterAccess) {
+
+		this(maximumWeight, weigher, expireAfterWrite, expireAfterAccess, System::nanoTime);
+	}
+
+	BoundedConcurrentMap(long maximumWeight, @Nullable ToIntBiFunction<? super K, ? super V> weigher,
+			@Nullable Duration expireAfterWrite, @Nullable Duration expireAfterAccess, LongSupplier ticker) {
+
+		Assert.isTrue(maximumWeight >= 0, "Maximum weight must not be negative");
+		Assert.isTrue(expireAfterWrite == null || !expireAfterWrite.isNegative(),
+				"Expire-after-write duration must not be negative");
+		Assert.isTrue(expireAfterAccess == null || !expireAfterAccess.isNegative(),
+				"Expire-after-access duration must not be negative");
+		this.maximumWeight = maximumWeight;
+		this.weigher = weigher;
+		this.expireAfterWriteNanos = (expireAfterWrite != null ? expireAfterWrite.toNanos() : -1);
+		this.expireAfterAccessNanos = (expireAfterAccess != null ? expireAfterAccess.toNanos() : -1);
+		this.ticker = ticker;
+		this.head.prev = this.head;
+		this.head.next = this.head;
+	}
+
+
+	/**
+	 * Return the maximum total weight of all entries in this map.
+	 */
+	public long getMaximumWeight() {
+		return this.maximumWeight;
+	}
+
+	/**
+	 * Return the current total weight of all entries in this map,
+	 * including expired entries that have not been removed yet.
+	 */
+	public long getWeightedSize() {
+		this.lock.lock();
+		try {
+			return this.weightedSize;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Return the number of entries which have been removed from this map
+	 * because of its maximum weight or because they expired.
+	 */
+	public long getEvictionCount() {
+		return this.evictionCount.sum();
+	}
+
+	/**
+	 * Remove all expired entries from this map.
+	 */
+	public void cleanUp() {
+		if (!isExpiring()) {
+			return;
+		}
+		this.lock.lock();
+		try {
+			long now = this.ticker.getAsLong();
+			Node<K, V> node = this.head.next;
+			while (node != this.head) {
+				Node<K, V> next = node.next;
+				if (isExpired(node, now)) {
+					evict(node);
+				}
+				node = next;
+			}
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+
+	@Override
+	@Nullable
+	public V get(Object key) {
+		Node<K, V> node = this.map.get(key);
+		if (node == null) {
+			return null;
+		}
+		if (isExpiring()) {
+			long now = this.ticker.getAsLong();
+			if (isExpired(node, now)) {
+				expire(node);
+				return null;
+			}
+			node.accessTime = now;
+		}
+		if (this.lock.tryLock()) {
+			try {
+				moveToTail(node);
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+		return node.value;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		Node<K, V> node = this.map.get(key);
+		return (node != null && !isExpired(node, currentTime()));
+	}
+
+	@Override
+	@Nullable
+	public V put(K key, V value) {
+		Assert.notNull(key, "Key must not be null");
+		Assert.notNull(value, "Value must not be null");
+		this.lock.lock();
+		try {
+			return doPut(key, value, currentTime());
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	@Nullable
+	public V putIfAbsent(K key, V value) {
+		Assert.notNull(key, "Key must not be null");
+		Assert.notNull(value, "Value must not be null");
+		this.lock.lock();
+		try {
+			long now = currentTime();
+			Node<K, V> existing = this.map.get(key);
+			if (existing != null && !isExpired(existing, now)) {
+				existing.accessTime = now;
+				moveToTail(existing);
+				return existing.value;
+			}
+			doPut(key, value, now);
+			return null;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	@Nullable
+	public V replace(K key, V value) {
+		Assert.notNull(key, "Key must not be null");
+		Assert.notNull(value, "Value must not be null");
+		this.lock.lock();
+		try {
+			long now = currentTime();
+			Node<K, V> existing = this.map.get(key);
+			return (existing != null && !isExpired(existing, now) ? doPut(key, value, now) : null);
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean replace(K key, V oldValue, V newValue) {
+		Assert.notNull(key, "Key must not be null");
+		Assert.notNull(oldValue, "Old value must not be null");
+		Assert.notNull(newValue, "New value must not be null");
+		this.lock.lock();
+		try {
+			long now = currentTime();
+			Node<K, V> existing = this.map.get(key);
+			if (existing != null && !isExpired(existing, now) && existing.value.equals(oldValue)) {
+				doPut(key, newValue, now);
+				return true;
+			}
+			return false;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	@Nullable
+	public V remove(Object key) {
+		this.lock.lock();
+		try {
+			Node<K, V> node = this.map.remove(key);
+			if (node == null) {
+				return null;
+			}
+			unlink(node);
+			return (isExpired(node, currentTime()) ? null : node.value);
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean remove(Object key, Object value) {
+		this.lock.lock();
+		try {
+			Node<K, V> node = this.map.get(key);
+			if (node != null && !isExpired(node, currentTime()) && node.value.equals(value)) {
+				this.map.remove(key);
+				unlink(node);
+				return true;
+			}
+			return false;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public void clear() {
+		this.lock.lock();
+		try {
+			this.map.clear();
+			this.head.prev = this.head;
+			this.head.next = this.head;
+			this.weightedSize = 0;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public int size() {
+		return this.map.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.map.isEmpty();
+	}
+
+	@Override
+	public Set<Entry<K, V>> entrySet() {
+		EntrySet entrySet = this.entrySet;
+		if (entrySet == null) {
+			entrySet = new EntrySet();
+			this.entrySet = entrySet;
+		}
+		return entrySet;
+	}
+
+
+	/**
+	 * Store a new node for the given key and value, evicting entries
+	 * as necessary. To be called under the lock.
+	 */
+	@Nullable
+	private V doPut(K key, V value, long now) {
+		int weight = (this.weigher != null ? this.weigher.applyAsInt(key, value) : 1);
+		Assert.isTrue(weight >= 0, "Weight must not be negative");
+		Node<K, V> node = new Node<>(key, value, weight, now);
+		Node<K, V> existing = this.map.put(key, node);
+		V oldValue = null;
+		if (existing != null) {
+			unlink(existing);
+			if (!isExpired(existing, now)) {
+				oldValue = existing.value;
+			}
+		}
+		linkLast(node);
+		evictEntries(now);
+		return oldValue;
+	}
+
+	/**
+	 * Evict expired entries at the head of the access order as well as
+	 * least recently used entries beyond the maximum weight.
+	 * To be called under the lock.
+	 */
+	private void evictEntries(long now) {
+		if (isExpiring()) {
+			while (this.head.next != this.head && isExpired(this.head.next, now)) {
+				evict(this.head.next);
+			}
+		}
+		while (this.weightedSize > this.maximumWeight && this.head.next != this.head) {
+			evict(this.head.next);
+		}
+	}
+
+	private void expire(Node<K, V> node) {
+		this.lock.lock();
+		try {
+			if (node.isLinked()) {
+				evict(node);
+			}
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	private void evict(Node<K, V> node) {
+		this.map.remove(node.key, node);
+		unlink(node);
+		this.evictionCount.increment();
+	}
+
+	private void linkLast(Node<K, V> node) {
+		Node<K, V> last = this.head.prev;
+		node.prev = last;
+		node.next = this.head;
+		last.next = node;
+		this.head.prev = node;
+		this.weightedSize += node.weight;
+	}
+
+	private void unlink(Node<K, V> node) {
+		if (node.isLinked()) {
+			node.prev.next = node.next;
+			node.next.prev = node.prev;
+			node.prev = null;
+			node.next = null;
+			this.weightedSize -= node.weight;
+		}
+	}
+
+	private void moveToTail(Node<K, V> node) {
+		if (node.isLinked() && node.next != this.head) {
+			node.prev.next = node.next;
+			node.next.prev = node.prev;
+			Node<K, V> last = this.head.prev;
+			node.prev = last;
+			node.next = this.head;
+			last.next = node;
+			this.head.prev = node;
+		}
+	}
+
+	private boolean isExpiring() {
+		return (this.expireAfterWriteNanos >= 0 || this.expireAfterAccessNanos >= 0);
+	}
+
+	private boolean isExpired(Node<K, V> node, long now) {
+		return ((this.expireAfterWriteNanos >= 0 && now - node.writeTime >= this.expireAfterWriteNanos) ||
+				(this.expireAfterAccessNanos >= 0 && now - node.accessTime >= this.expireAfterAccessNanos));
+	}
+
+	private long currentTime() {
+		return (isExpiring() ? this.ticker.getAsLong() : 0);
+	}
+
+
+	/**
+	 * A map entry, also serving as a node of the access-ordered list.
+	 */
+	private static final class Node<K, V> {
+
+		@Nullable
+		final K key;
+
+		@Nullable
+		final V value;
+
+		final int weight;
+
+		final long writeTime;
+
+		volatile long accessTime;
+
+		// Guarded by the lock of the enclosing map
+		@Nullable
+		Node<K, V> prev;
+
+		@Nullable
+		Node<K, V> next;
+
+		Node() {
+			this.key = null;
+			this.value = null;
+			this.weight = 0;
+			this.writeTime = 0;
+		}
+
+		Node(K key, V value, int weight, long now) {
+			this.key = key;
+			this.value = value;
+			this.weight = weight;
+			this.writeTime = now;
+			this.accessTime = now;
+		}
+
+		boolean isLinked() {
+			return (this.next != null);
+		}
+	}
+
+
+	/**
+	 * Entry set view, skipping expired entries.
+	 */
+	private final class EntrySet extends AbstractSet<Entry<K, V>> {
+
+		@Override
+		public Iterator<Entry<K, V>> iterator() {
+			return new EntryIterator();
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if (o instanceof Map.Entry<?, ?> entry) {
+				Object key = entry.getKey();
+				Node<K, V> node = (key != null ? map.get(key) : null);
+				return (node != null && !isExpired(node, currentTime()) && node.value.equals(entry.getValue()));
+			}
+			return false;
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			return (o instanceof Map.Entry<?, ?> entry &&
+					BoundedConcurrentMap.this.remove(entry.getKey(), entry.getValue()));
+		}
+
+		@Override
+		public int size() {
+			return BoundedConcurrentMap.this.size();
+		}
+
+		@Override
+		public void clear() {
+			BoundedConcurrentMap.this.clear();
+		}
+	}
+
+
+	/**
+	 * Iterator over the entries of the underlying map, skipping expired entries.
+	 */
+	private final class EntryIterator implements Iterator<Entry<K, V>> {
+
+		private final Iterator<Node<K, V>> delegate = map.values().iterator();
+
+		private final long now = currentTime();
+
+		@Nullable
+		private Node<K, V> next;
+
+		@Nullable
+		private Node<K, V> last;
+
+		@Override
+		public boolean hasNext() {
+			while (this.next == null && this.delegate.hasNext()) {
+				Node<K, V> candidate = this.delegate.next();
+				if (!isExpired(candidate, this.now)) {
+					this.next = candidate;
+				}
+			}
+			return (this.next != null);
+		}
+
+		@Override
+		public Entry<K, V> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Node<K, V> node = this.next;
+			this.next = null;
+			this.last = node;
+			return new SimpleImmutableEntry<>(node.key, node.value);
+		}
+
+		@Override
+		public void remove() {
+			Assert.state(this.last != null, "No current entry");
+			BoundedConcurrentMap.this.remove(this.last.key, this.last.value);
+			this.last = null;
+		}
+	}
+
+}
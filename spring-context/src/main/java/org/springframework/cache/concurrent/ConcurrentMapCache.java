@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,10 +17,15 @@
 package org.springframework.cache.concurrent;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.CacheStatistics;
 import org.springframework.core.serializer.support.SerializationDelegate;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -38,6 +43,15 @@ import org.springframework.util.Assert;
  * them with a predefined internal object. This behavior can be changed through the
  * {@link #ConcurrentMapCache(String, ConcurrentMap, boolean)} constructor.
  *
+ * <p>As of 6.0, concurrent loads of the same key through {@link #get(Object, Callable)}
+ * or {@link #retrieve(Object, Supplier)} are coalesced into a single in-flight load
+ * per key, performed outside of any lock on the internal store. A load that has
+ * been superseded by a {@link #put}, {@link #evict} or {@link #clear} of its key
+ * in the meantime returns its value to current callers but does not store it.
+ *
+ * <p>Can be backed by a {@link BoundedConcurrentMap} for a size limit and
+ * expiration of entries, and may record {@link #getStatistics() statistics}.
+ *
  * @author Costin Leau
  * @author Juergen Hoeller
  * @author Stephane Nicoll
@@ -53,6 +67,11 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 	@Nullable
 	private final SerializationDelegate serialization;
 
+	@Nullable
+	private final StatisticsCounter statistics;
+
+	private final ConcurrentMap<Object, CompletableFuture<Object>> inFlightLoads = new ConcurrentHashMap<>();
+
 
 	/**
 	 * Create a new ConcurrentMapCache with the specified name.
@@ -100,12 +119,33 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 	protected ConcurrentMapCache(String name, ConcurrentMap<Object, Object> store,
 			boolean allowNullValues, @Nullable SerializationDelegate serialization) {
 
+		this(name, store, allowNullValues, serialization, false);
+	}
+
+	/**
+	 * Create a new ConcurrentMapCache with the specified name and the
+	 * given internal {@link ConcurrentMap} to use, optionally recording
+	 * {@link #getStatistics() statistics}.
+	 * @param name the name of the cache
+	 * @param store the ConcurrentMap to use as an internal store
+	 * (e.g. a {@link BoundedConcurrentMap})
+	 * @param allowNullValues whether to allow {@code null} values
+	 * (adapting them to an internal null holder value)
+	 * @param serialization the {@link SerializationDelegate} to use
+	 * to serialize cache entry or {@code null} to store the reference
+	 * @param recordStats whether to record hit, miss and load statistics
+	 * @since 6.0
+	 */
+	protected ConcurrentMapCache(String name, ConcurrentMap<Object, Object> store,
+			boolean allowNullValues, @Nullable SerializationDelegate serialization, boolean recordStats) {
+
 		super(allowNullValues);
 		Assert.notNull(name, "Name must not be null");
 		Assert.notNull(store, "Store must not be null");
 		this.name = name;
 		this.store = store;
 		this.serialization = serialization;
+		this.statistics = (recordStats ? new StatisticsCounter(store) : null);
 	}
 
 
@@ -129,29 +169,197 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 		return this.store;
 	}
 
+	/**
+	 * Return the statistics recorded for this cache,
+	 * or {@code null} if this cache does not record statistics.
+	 * @since 6.0
+	 * @see ConcurrentMapCacheManager#setRecordStats
+	 */
+	@Nullable
+	public final CacheStatistics getStatistics() {
+		return this.statistics;
+	}
+
 	@Override
 	@Nullable
 	protected Object lookup(Object key) {
-		return this.store.get(key);
+		Object storeValue = this.store.get(key);
+		recordLookup(storeValue);
+		return storeValue;
 	}
 
 	@SuppressWarnings("unchecked")
 	@Override
 	@Nullable
 	public <T> T get(Object key, Callable<T> valueLoader) {
-		return (T) fromStoreValue(this.store.computeIfAbsent(key, k -> {
-			try {
-				return toStoreValue(valueLoader.call());
+		Object storeValue = lookup(key);
+		if (storeValue == null) {
+			SynchronousLoad load = new SynchronousLoad();
+			CompletableFuture<Object> inFlightLoad = this.inFlightLoads.putIfAbsent(key, load);
+			storeValue = (inFlightLoad != null ?
+					awaitLoad(key, valueLoader, inFlightLoad) : load(key, valueLoader, load));
+		}
+		return (T) fromStoreValue(storeValue);
+	}
+
+	@Nullable
+	private Object load(Object key, Callable<?> valueLoader, CompletableFuture<Object> load) {
+		try {
+			// Re-check since a concurrent load may have completed in the meantime
+			Object storeValue = this.store.get(key);
+			if (storeValue == null) {
+				long startTime = loadStartTime();
+				try {
+					storeValue = toStoreValue(valueLoader.call());
+				}
+				finally {
+					recordLoad(startTime, storeValue != null);
+				}
+				storeLoadedValue(key, load, storeValue);
 			}
-			catch (Throwable ex) {
-				throw new ValueRetrievalException(key, valueLoader, ex);
+			load.complete(storeValue);
+			return storeValue;
+		}
+		catch (Throwable ex) {
+			load.completeExceptionally(ex);
+			throw new ValueRetrievalException(key, valueLoader, ex);
+		}
+		finally {
+			this.inFlightLoads.remove(key, load);
+		}
+	}
+
+	@Nullable
+	private Object awaitLoad(Object key, Callable<?> valueLoader, CompletableFuture<Object> load) {
+		if (load instanceof SynchronousLoad synchronousLoad && synchronousLoad.thread == Thread.currentThread()) {
+			throw new IllegalStateException("Recursive load of key '" + key + "' in cache '" + this.name + "'");
+		}
+		try {
+			return load.get();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new ValueRetrievalException(key, valueLoader, ex);
+		}
+		catch (ExecutionException ex) {
+			throw new ValueRetrievalException(key, valueLoader, ex.getCause());
+		}
+	}
+
+	@Override
+	public boolean isRetrieveSupported() {
+		return true;
+	}
+
+	@Override
+	@Nullable
+	public CompletableFuture<?> retrieve(Object key) {
+		Object storeValue = lookup(key);
+		if (storeValue != null) {
+			return CompletableFuture.completedFuture(fromStoreValue(storeValue));
+		}
+		CompletableFuture<Object> inFlightLoad = this.inFlightLoads.get(key);
+		return (inFlightLoad != null ? inFlightLoad.thenApply(this::fromStoreValue) : null);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		Object storeValue = lookup(key);
+		if (storeValue != null) {
+			return CompletableFuture.completedFuture((T) fromStoreValue(storeValue));
+		}
+		CompletableFuture<Object> load = new CompletableFuture<>();
+		CompletableFuture<Object> inFlightLoad = this.inFlightLoads.putIfAbsent(key, load);
+		if (inFlightLoad == null) {
+			inFlightLoad = load;
+			// Re-check since a concurrent load may have completed in the meantime
+			storeValue = this.store.get(key);
+			if (storeValue != null) {
+				this.inFlightLoads.remove(key, load);
+				load.complete(storeValue);
+			}
+			else {
+				long startTime = loadStartTime();
+				try {
+					valueLoader.get().whenComplete((value, ex) -> completeLoad(key, load, startTime, value, ex));
+				}
+				catch (RuntimeException | Error ex) {
+					recordLoad(startTime, false);
+					this.inFlightLoads.remove(key, load);
+					load.completeExceptionally(ex);
+					throw ex;
+				}
 			}
-		}));
+		}
+		return inFlightLoad.thenApply(value -> (T) fromStoreValue(value));
+	}
+
+	private void completeLoad(Object key, CompletableFuture<Object> load, long startTime,
+			@Nullable Object value, @Nullable Throwable failure) {
+
+		recordLoad(startTime, failure == null);
+		Object storeValue = null;
+		try {
+			if (failure != null) {
+				load.completeExceptionally(failure);
+				return;
+			}
+			// A null value without null support is returned to current callers but not cached
+			if (value != null || isAllowNullValues()) {
+				storeValue = toStoreValue(value);
+				storeLoadedValue(key, load, storeValue);
+			}
+		}
+		catch (Throwable ex) {
+			load.completeExceptionally(ex);
+			return;
+		}
+		finally {
+			this.inFlightLoads.remove(key, load);
+		}
+		load.complete(storeValue);
+	}
+
+	/**
+	 * Store the given loaded value, provided that the given load is still
+	 * registered for the key, i.e. has not been superseded by a put, evict
+	 * or clear in the meantime. The check and the write happen atomically
+	 * with respect to the deregistration of the load.
+	 */
+	private void storeLoadedValue(Object key, CompletableFuture<Object> load, Object storeValue) {
+		this.inFlightLoads.computeIfPresent(key, (k, inFlightLoad) -> {
+			if (inFlightLoad != load) {
+				return inFlightLoad;
+			}
+			this.store.putIfAbsent(key, storeValue);
+			return null;
+		});
+	}
+
+	private void recordLookup(@Nullable Object storeValue) {
+		if (this.statistics != null) {
+			(storeValue != null ? this.statistics.hitCount : this.statistics.missCount).increment();
+		}
+	}
+
+	private long loadStartTime() {
+		return (this.statistics != null ? System.nanoTime() : 0);
+	}
+
+	private void recordLoad(long startTime, boolean success) {
+		if (this.statistics != null) {
+			this.statistics.totalLoadTime.add(System.nanoTime() - startTime);
+			(success ? this.statistics.loadSuccessCount : this.statistics.loadFailureCount).increment();
+		}
 	}
 
 	@Override
 	public void put(Object key, @Nullable Object value) {
-		this.store.put(key, toStoreValue(value));
+		Object storeValue = toStoreValue(value);
+		// Supersede any in-flight load of the same key
+		this.inFlightLoads.remove(key);
+		this.store.put(key, storeValue);
 	}
 
 	@Override
@@ -163,21 +371,25 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 
 	@Override
 	public void evict(Object key) {
+		this.inFlightLoads.remove(key);
 		this.store.remove(key);
 	}
 
 	@Override
 	public boolean evictIfPresent(Object key) {
+		this.inFlightLoads.remove(key);
 		return (this.store.remove(key) != null);
 	}
 
 	@Override
 	public void clear() {
+		this.inFlightLoads.clear();
 		this.store.clear();
 	}
 
 	@Override
 	public boolean invalidate() {
+		this.inFlightLoads.clear();
 		boolean notEmpty = !this.store.isEmpty();
 		this.store.clear();
 		return notEmpty;
@@ -215,4 +427,75 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 		}
 	}
 
+
+	/**
+	 * In-flight load through {@link #get(Object, Callable)}, recording
+	 * the loading thread for detecting recursive loads of the same key.
+	 */
+	private static class SynchronousLoad extends CompletableFuture<Object> {
+
+		final Thread thread = Thread.currentThread();
+	}
+
+
+	/**
+	 * {@link CacheStatistics} implementation based on {@link LongAdder} counters,
+	 * taking the eviction count from a {@link BoundedConcurrentMap} store.
+	 */
+	private static class StatisticsCounter implements CacheStatistics {
+
+		final LongAdder hitCount = new LongAdder();
+
+		final LongAdder missCount = new LongAdder();
+
+		final LongAdder loadSuccessCount = new LongAdder();
+
+		final LongAdder loadFailureCount = new LongAdder();
+
+		final LongAdder totalLoadTime = new LongAdder();
+
+		private final ConcurrentMap<Object, Object> store;
+
+		StatisticsCounter(ConcurrentMap<Object, Object> store) {
+			this.store = store;
+		}
+
+		@Override
+		public long getHitCount() {
+			return this.hitCount.sum();
+		}
+
+		@Override
+		public long getMissCount() {
+			return this.missCount.sum();
+		}
+
+		@Override
+		public long getEvictionCount() {
+			return (this.store instanceof BoundedConcurrentMap<?, ?> boundedStore ? boundedStore.getEvictionCount() : 0);
+		}
+
+		@Override
+		public long getLoadSuccessCount() {
+			return this.loadSuccessCount.sum();
+		}
+
+		@Override
+		public long getLoadFailureCount() {
+			return this.loadFailureCount.sum();
+		}
+
+		@Override
+		public long getTotalLoadTime() {
+			return this.totalLoadTime.sum();
+		}
+
+		@Override
+		public String toString() {
+			return "CacheStatistics[hits=" + getHitCount() + ", misses=" + getMissCount() +
+					", evictions=" + getEvictionCount() + ", loadSuccesses=" + getLoadSuccessCount() +
+					", loadFailures=" + getLoadFailureCount() + ", totalLoadTime=" + getTotalLoadTime() + "ns]";
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,18 +16,22 @@
 
 package org.springframework.cache.concurrent;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.ToIntBiFunction;
 
 import org.springframework.beans.factory.BeanClassLoaderAware;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.core.serializer.support.SerializationDelegate;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
 
 /**
  * {@link CacheManager} implementation that lazily builds {@link ConcurrentMapCache}
@@ -35,7 +39,13 @@ import org.springframework.lang.Nullable;
  * the set of cache names is pre-defined through {@link #setCacheNames}, with no
  * dynamic creation of further cache regions at runtime.
  *
- * <p>Note: This is by no means a sophisticated CacheManager; it comes with no
+ * <p>Caches are unbounded by default. As of 6.0, a {@link #setMaximumSize maximum size}
+ * or {@link #setMaximumWeight maximum weight} as well as an expiration after
+ * {@link #setExpireAfterWrite write} or {@link #setExpireAfterAccess access} may be
+ * specified, backing each cache with a {@link BoundedConcurrentMap}, and caches may
+ * {@link #setRecordStats record statistics}.
+ *
+ * <p>Note: This is by no means a sophisticated CacheManager; it comes with few
  * cache configuration options. However, it may be useful for testing or simple
  * caching scenarios. For advanced local caching needs, consider
  * {@link org.springframework.cache.jcache.JCacheCacheManager} or
@@ -58,6 +68,21 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 	@Nullable
 	private SerializationDelegate serialization;
 
+	private long maximumSize = -1;
+
+	private long maximumWeight = -1;
+
+	@Nullable
+	private ToIntBiFunction<Object, Object> weigher;
+
+	@Nullable
+	private Duration expireAfterWrite;
+
+	@Nullable
+	private Duration expireAfterAccess;
+
+	private boolean recordStats = false;
+
 
 	/**
 	 * Construct a dynamic ConcurrentMapCacheManager,
@@ -145,6 +170,110 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 		return this.storeByValue;
 	}
 
+	/**
+	 * Specify the maximum number of entries in each cache, evicting the
+	 * least recently used entries beyond that number.
+	 * <p>Default is none, i.e. unbounded caches. Ignored if a
+	 * {@link #setMaximumWeight "maximumWeight"} has been specified.
+	 * <p>Note: A change of the maximum size will reset all existing caches,
+	 * if any, to reconfigure them with the new limit.
+	 * @since 6.0
+	 * @see BoundedConcurrentMap#BoundedConcurrentMap(long)
+	 */
+	public void setMaximumSize(long maximumSize) {
+		Assert.isTrue(maximumSize >= 0, "Maximum size must not be negative");
+		if (maximumSize != this.maximumSize) {
+			this.maximumSize = maximumSize;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Specify the maximum total weight of the entries in each cache, as
+	 * determined by the {@link #setWeigher "weigher"}, evicting the least
+	 * recently used entries beyond that weight.
+	 * <p>Default is none, i.e. unbounded caches. Takes precedence over a
+	 * {@link #setMaximumSize "maximumSize"}, if specified as well.
+	 * <p>Note: A change of the maximum weight will reset all existing caches,
+	 * if any, to reconfigure them with the new limit.
+	 * @since 6.0
+	 * @see #setWeigher
+	 */
+	public void setMaximumWeight(long maximumWeight) {
+		Assert.isTrue(maximumWeight >= 0, "Maximum weight must not be negative");
+		if (maximumWeight != this.maximumWeight) {
+			this.maximumWeight = maximumWeight;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Specify the function to determine the weight of each cache entry against
+	 * the {@link #setMaximumWeight "maximumWeight"}, receiving the cache key and
+	 * the internal store value (e.g. a serialized byte array in store-by-value mode).
+	 * <p>Default is a weight of 1 per entry.
+	 * @since 6.0
+	 */
+	public void setWeigher(ToIntBiFunction<Object, Object> weigher) {
+		if (!ObjectUtils.nullSafeEquals(weigher, this.weigher)) {
+			this.weigher = weigher;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Specify the time after which each cache entry expires once it has
+	 * been created or replaced.
+	 * <p>Default is none, i.e. no expiration.
+	 * <p>Note: A change of the expiration will reset all existing caches,
+	 * if any, to reconfigure them with the new expiration.
+	 * @since 6.0
+	 */
+	public void setExpireAfterWrite(@Nullable Duration expireAfterWrite) {
+		if (!ObjectUtils.nullSafeEquals(expireAfterWrite, this.expireAfterWrite)) {
+			this.expireAfterWrite = expireAfterWrite;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Specify the time after which each cache entry expires once it has
+	 * been last accessed.
+	 * <p>Default is none, i.e. no expiration.
+	 * <p>Note: A change of the expiration will reset all existing caches,
+	 * if any, to reconfigure them with the new expiration.
+	 * @since 6.0
+	 */
+	public void setExpireAfterAccess(@Nullable Duration expireAfterAccess) {
+		if (!ObjectUtils.nullSafeEquals(expireAfterAccess, this.expireAfterAccess)) {
+			this.expireAfterAccess = expireAfterAccess;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Specify whether each cache records hit, miss, eviction and load
+	 * statistics, exposed through {@link ConcurrentMapCache#getStatistics()}.
+	 * <p>Default is "false", avoiding the recording overhead.
+	 * <p>Note: A change of this setting will reset all existing caches,
+	 * if any, to reconfigure them accordingly.
+	 * @since 6.0
+	 */
+	public void setRecordStats(boolean recordStats) {
+		if (recordStats != this.recordStats) {
+			this.recordStats = recordStats;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return whether the caches of this cache manager record statistics.
+	 * @since 6.0
+	 */
+	public boolean isRecordStats() {
+		return this.recordStats;
+	}
+
 	@Override
 	public void setBeanClassLoader(ClassLoader classLoader) {
 		this.serialization = new SerializationDelegate(classLoader);
@@ -189,7 +318,20 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 	 */
 	protected Cache createConcurrentMapCache(String name) {
 		SerializationDelegate actualSerialization = (isStoreByValue() ? this.serialization : null);
-		return new ConcurrentMapCache(name, new ConcurrentHashMap<>(256), isAllowNullValues(), actualSerialization);
+		return new ConcurrentMapCache(name, createStore(), isAllowNullValues(), actualSerialization, isRecordStats());
+	}
+
+	private ConcurrentMap<Object, Object> createStore() {
+		if (this.maximumSize < 0 && this.maximumWeight < 0 &&
+				this.expireAfterWrite == null && this.expireAfterAccess == null) {
+			return new ConcurrentHashMap<>(256);
+		}
+		if (this.maximumWeight >= 0) {
+			return new BoundedConcurrentMap<>(this.maximumWeight, this.weigher,
+					this.expireAfterWrite, this.expireAfterAccess);
+		}
+		return new BoundedConcurrentMap<>(this.maximumSize >= 0 ? this.maximumSize : Long.MAX_VALUE, null,
+				this.expireAfterWrite, this.expireAfterAccess);
 	}
 
 }
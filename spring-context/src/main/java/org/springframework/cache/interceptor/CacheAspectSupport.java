@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,11 +24,16 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import org.springframework.aop.framework.AopProxyUtils;
 import org.springframework.aop.support.AopUtils;
@@ -43,6 +48,8 @@ import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.expression.AnnotatedElementKey;
 import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.ReactiveAdapter;
+import org.springframework.core.ReactiveAdapterRegistry;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -69,6 +76,17 @@ import org.springframework.util.function.SupplierUtils;
  * used for determining caching operations, a {@link KeyGenerator} will build the
  * cache keys, and a {@link CacheResolver} will resolve the actual cache(s) to use.
  *
+ * <p>Methods returning a {@link CompletableFuture} or, with Reactor present, a
+ * reactive type such as {@code Mono} or {@code Flux} have their resolved value
+ * cached (rather than the future or publisher itself) if all of the caches involved
+ * {@linkplain Cache#isRetrieveSupported() support} the {@code CompletableFuture}-based
+ * {@link Cache#retrieve(Object)} and {@link Cache#retrieve(Object, Supplier)} variants.
+ * With {@code @Cacheable(sync = true)}, concurrent invocations for the same key
+ * are then coalesced into a single in-flight invocation without blocking. Failures
+ * to apply cache operations to such a resolved value are logged rather than
+ * propagated to the caller. For other caches, the returned future or publisher
+ * itself gets cached, with or without {@code sync}.
+ *
  * <p>Note: A cache aspect is serializable but does not perform any actual caching
  * after deserialization.
  *
@@ -83,6 +101,10 @@ import org.springframework.util.function.SupplierUtils;
 public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		implements BeanFactoryAware, InitializingBean, SmartInitializingSingleton {
 
+	private static final boolean reactorPresent = ClassUtils.isPresent(
+			"reactor.core.publisher.Mono", CacheAspectSupport.class.getClassLoader());
+
+
 	protected final Log logger = LogFactory.getLog(getClass());
 
 	private final Map<CacheOperationCacheKey, CacheOperationMetadata> metadataCache = new ConcurrentHashMap<>(1024);
@@ -378,6 +400,11 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			if (isConditionPassing(context, CacheOperationExpressionEvaluator.NO_RESULT)) {
 				Object key = generateKey(context, CacheOperationExpressionEvaluator.NO_RESULT);
 				Cache cache = context.getCaches().iterator().next();
+				AsyncResultAdapter asyncResultAdapter = contexts.getAsyncResultAdapter();
+				if (asyncResultAdapter != null) {
+					return asyncResultAdapter.fromFuture(
+							handleSynchronizedRetrieve(invoker, key, cache, asyncResultAdapter));
+				}
 				try {
 					return wrapCacheValue(method, handleSynchronizedGet(invoker, key, cache));
 				}
@@ -399,7 +426,9 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 				CacheOperationExpressionEvaluator.NO_RESULT);
 
 		// Check if we have a cached item matching the conditions
-		Cache.ValueWrapper cacheHit = findCachedItem(contexts.get(CacheableOperation.class));
+		AsyncResultAdapter asyncResultAdapter = contexts.getAsyncResultAdapter();
+		Cache.ValueWrapper cacheHit =
+				findCachedItem(contexts.get(CacheableOperation.class), asyncResultAdapter != null);
 
 		// Collect puts from any @Cacheable miss, if no cached item is found
 		List<CachePutRequest> cachePutRequests = new ArrayList<>();
@@ -414,7 +443,8 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		if (cacheHit != null && !hasCachePut(contexts)) {
 			// If there are no put requests, just use the cache hit
 			cacheValue = cacheHit.get();
-			returnValue = wrapCacheValue(method, cacheValue);
+			returnValue = (asyncResultAdapter != null ?
+					asyncResultAdapter.fromFuture((CompletableFuture<?>) cacheValue) : wrapCacheValue(method, cacheValue));
 		}
 		else {
 			// Invoke the method if we don't have a cache hit
@@ -422,6 +452,19 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			cacheValue = unwrapReturnValue(returnValue);
 		}
 
+		if (asyncResultAdapter != null && returnValue != null) {
+			// Apply puts and late evictions once the asynchronous result is available
+			return asyncResultAdapter.doOnSuccess(returnValue,
+					result -> completeAsyncCacheOperations(contexts, cachePutRequests, result, method));
+		}
+
+		completeCacheOperations(contexts, cachePutRequests, cacheValue);
+		return returnValue;
+	}
+
+	private void completeCacheOperations(CacheOperationContexts contexts,
+			List<CachePutRequest> cachePutRequests, @Nullable Object cacheValue) {
+
 		// Collect any explicit @CachePuts
 		collectPutRequests(contexts.get(CachePutOperation.class), cacheValue, cachePutRequests);
 
@@ -432,8 +475,35 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 		// Process any late evictions
 		processCacheEvicts(contexts.get(CacheEvictOperation.class), false, cacheValue);
+	}
 
-		return returnValue;
+	private void completeAsyncCacheOperations(CacheOperationContexts contexts,
+			List<CachePutRequest> cachePutRequests, @Nullable Object cacheValue, Method method) {
+
+		try {
+			completeCacheOperations(contexts, cachePutRequests, cacheValue);
+		}
+		catch (RuntimeException ex) {
+			// Do not fail the asynchronous result that the caller has been given
+			if (logger.isWarnEnabled()) {
+				logger.warn("Failed to apply cache operations to asynchronous result of method '" +
+						method + "'", ex);
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private CompletableFuture<?> handleSynchronizedRetrieve(CacheOperationInvoker invoker, Object key, Cache cache,
+			AsyncResultAdapter asyncResultAdapter) {
+
+		return cache.retrieve(key, () -> {
+			if (logger.isTraceEnabled()) {
+				logger.trace("No cache entry for key '" + key + "' in cache " + cache.getName());
+			}
+			Object returnValue = invokeOperation(invoker);
+			return (CompletableFuture<Object>) (returnValue != null ?
+					asyncResultAdapter.toFuture(returnValue) : CompletableFuture.completedFuture(null));
+		});
 	}
 
 	@Nullable
@@ -524,16 +594,17 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	/**
 	 * Find a cached item only for {@link CacheableOperation} that passes the condition.
 	 * @param contexts the cacheable operations
-	 * @return a {@link Cache.ValueWrapper} holding the cached item,
-	 * or {@code null} if none is found
+	 * @param async whether to retrieve a {@link CompletableFuture} for the cached item
+	 * @return a {@link Cache.ValueWrapper} holding the cached item (or a
+	 * {@code CompletableFuture} for it), or {@code null} if none is found
 	 */
 	@Nullable
-	private Cache.ValueWrapper findCachedItem(Collection<CacheOperationContext> contexts) {
+	private Cache.ValueWrapper findCachedItem(Collection<CacheOperationContext> contexts, boolean async) {
 		Object result = CacheOperationExpressionEvaluator.NO_RESULT;
 		for (CacheOperationContext context : contexts) {
 			if (isConditionPassing(context, result)) {
 				Object key = generateKey(context, result);
-				Cache.ValueWrapper cached = findInCaches(context, key);
+				Cache.ValueWrapper cached = findInCaches(context, key, async);
 				if (cached != null) {
 					return cached;
 				}
@@ -566,9 +637,16 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	}
 
 	@Nullable
-	private Cache.ValueWrapper findInCaches(CacheOperationContext context, Object key) {
+	private Cache.ValueWrapper findInCaches(CacheOperationContext context, Object key, boolean async) {
 		for (Cache cache : context.getCaches()) {
-			Cache.ValueWrapper wrapper = doGet(cache, key);
+			Cache.ValueWrapper wrapper;
+			if (async) {
+				CompletableFuture<?> future = doRetrieve(cache, key);
+				wrapper = (future != null ? () -> future : null);
+			}
+			else {
+				wrapper = doGet(cache, key);
+			}
 			if (wrapper != null) {
 				if (logger.isTraceEnabled()) {
 					logger.trace("Cache entry for key '" + key + "' found in cache '" + cache.getName() + "'");
@@ -607,14 +685,31 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 		private final boolean sync;
 
+		@Nullable
+		private final AsyncResultAdapter asyncResultAdapter;
+
 		public CacheOperationContexts(Collection<? extends CacheOperation> operations, Method method,
 				Object[] args, Object target, Class<?> targetClass) {
 
 			this.contexts = new LinkedMultiValueMap<>(operations.size());
+			AsyncResultAdapter asyncResultAdapter = null;
+			boolean retrieveSupported = true;
 			for (CacheOperation op : operations) {
-				this.contexts.add(op.getClass(), getOperationContext(op, method, args, target, targetClass));
+				CacheOperationContext context = getOperationContext(op, method, args, target, targetClass);
+				this.contexts.add(op.getClass(), context);
+				asyncResultAdapter = context.metadata.asyncResultAdapter;
+				if (asyncResultAdapter != null && retrieveSupported) {
+					for (Cache cache : context.getCaches()) {
+						if (!cache.isRetrieveSupported()) {
+							retrieveSupported = false;
+							break;
+						}
+					}
+				}
 			}
 			this.sync = determineSyncFlag(method);
+			// Only cache resolved values if all caches involved support retrieval of them
+			this.asyncResultAdapter = (retrieveSupported ? asyncResultAdapter : null);
 		}
 
 		public Collection<CacheOperationContext> get(Class<? extends CacheOperation> operationClass) {
@@ -626,6 +721,11 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			return this.sync;
 		}
 
+		@Nullable
+		public AsyncResultAdapter getAsyncResultAdapter() {
+			return this.asyncResultAdapter;
+		}
+
 		private boolean determineSyncFlag(Method method) {
 			List<CacheOperationContext> cacheOperationContexts = this.contexts.get(CacheableOperation.class);
 			if (cacheOperationContexts == null) {  // no @Cacheable operation at all
@@ -684,6 +784,9 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 		private final CacheResolver cacheResolver;
 
+		@Nullable
+		private final AsyncResultAdapter asyncResultAdapter;
+
 		public CacheOperationMetadata(CacheOperation operation, Method method, Class<?> targetClass,
 				KeyGenerator keyGenerator, CacheResolver cacheResolver) {
 
@@ -695,6 +798,7 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			this.methodKey = new AnnotatedElementKey(this.targetMethod, targetClass);
 			this.keyGenerator = keyGenerator;
 			this.cacheResolver = cacheResolver;
+			this.asyncResultAdapter = AsyncResultAdapter.forReturnType(this.method.getReturnType());
 		}
 	}
 
@@ -893,4 +997,107 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 	}
 
+
+	/**
+	 * Adapter for asynchronous return values, exposing their resolved value
+	 * as a {@link CompletableFuture} for caching purposes and vice versa.
+	 */
+	private interface AsyncResultAdapter {
+
+		/**
+		 * Adapt the given return value to a future for the value to cache.
+		 */
+		CompletableFuture<?> toFuture(Object returnValue);
+
+		/**
+		 * Adapt the given future for a cached value to the method's return type.
+		 */
+		Object fromFuture(CompletableFuture<?> future);
+
+		/**
+		 * Decorate the given return value to invoke the given callback with the
+		 * value to cache once it has been successfully resolved.
+		 */
+		Object doOnSuccess(Object returnValue, Consumer<Object> callback);
+
+		@Nullable
+		static AsyncResultAdapter forReturnType(Class<?> returnType) {
+			if (returnType == CompletableFuture.class) {
+				return CompletableFutureResultAdapter.INSTANCE;
+			}
+			if (reactorPresent) {
+				ReactiveAdapter adapter = ReactiveAdapterRegistry.getSharedInstance().getAdapter(returnType);
+				if (adapter != null && !adapter.isNoValue()) {
+					return new ReactiveResultAdapter(adapter);
+				}
+			}
+			return null;
+		}
+	}
+
+
+	/**
+	 * {@link AsyncResultAdapter} for {@link CompletableFuture} return values.
+	 */
+	private static class CompletableFutureResultAdapter implements AsyncResultAdapter {
+
+		static final CompletableFutureResultAdapter INSTANCE = new CompletableFutureResultAdapter();
+
+		@Override
+		public CompletableFuture<?> toFuture(Object returnValue) {
+			return (CompletableFuture<?>) returnValue;
+		}
+
+		@Override
+		public Object fromFuture(CompletableFuture<?> future) {
+			return future;
+		}
+
+		@Override
+		public Object doOnSuccess(Object returnValue, Consumer<Object> callback) {
+			return ((CompletableFuture<?>) returnValue).whenComplete((value, ex) -> {
+				if (ex == null) {
+					callback.accept(value);
+				}
+			});
+		}
+	}
+
+
+	/**
+	 * {@link AsyncResultAdapter} for reactive return values, caching the
+	 * single value or the list of values (for multi-value types) emitted.
+	 * Inner class to avoid a hard dependency on Reactor.
+	 */
+	private static class ReactiveResultAdapter implements AsyncResultAdapter {
+
+		private final ReactiveAdapter adapter;
+
+		ReactiveResultAdapter(ReactiveAdapter adapter) {
+			this.adapter = adapter;
+		}
+
+		@Override
+		public CompletableFuture<?> toFuture(Object returnValue) {
+			Publisher<?> publisher = this.adapter.toPublisher(returnValue);
+			return (this.adapter.isMultiValue() ?
+					Flux.from(publisher).collectList().toFuture() : Mono.from(publisher).toFuture());
+		}
+
+		@Override
+		public Object fromFuture(CompletableFuture<?> future) {
+			Mono<?> mono = Mono.fromFuture(future);
+			return this.adapter.fromPublisher(this.adapter.isMultiValue() ?
+					mono.flatMapMany(value -> Flux.fromIterable((Iterable<?>) value)) : mono);
+		}
+
+		@Override
+		public Object doOnSuccess(Object returnValue, Consumer<Object> callback) {
+			Publisher<?> publisher = this.adapter.toPublisher(returnValue);
+			return this.adapter.fromPublisher(this.adapter.isMultiValue() ?
+					Flux.from(publisher).collectList().doOnSuccess(callback).flatMapMany(Flux::fromIterable) :
+					Mono.from(publisher).doOnSuccess(callback));
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,8 +18,6 @@ package org.springframework.cache.interceptor;
 
 import java.lang.reflect.Method;
 import java.util.Collection;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.cache.Cache;
@@ -28,14 +26,17 @@ import org.springframework.context.expression.BeanFactoryResolver;
 import org.springframework.context.expression.CachedExpressionEvaluator;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentLruCache;
 
 /**
  * Utility class handling the SpEL expression parsing.
  * Meant to be used as a reusable, thread-safe component.
  *
  * <p>Performs internal caching for performance reasons
- * using {@link AnnotatedElementKey}.
+ * using {@link AnnotatedElementKey}, with a single bounded cache
+ * for key, condition and unless expressions.
  *
  * @author Costin Leau
  * @author Phillip Webb
@@ -61,11 +62,22 @@ class CacheOperationExpressionEvaluator extends CachedExpressionEvaluator {
 	public static final String RESULT_VARIABLE = "result";
 
 
-	private final Map<ExpressionKey, Expression> keyCache = new ConcurrentHashMap<>(64);
+	private final ConcurrentLruCache<ExpressionKey, Expression> expressionCache = createExpressionCache();
 
-	private final Map<ExpressionKey, Expression> conditionCache = new ConcurrentHashMap<>(64);
 
-	private final Map<ExpressionKey, Expression> unlessCache = new ConcurrentHashMap<>(64);
+	/**
+	 * Create a new instance with a default {@link SpelExpressionParser}.
+	 */
+	CacheOperationExpressionEvaluator() {
+	}
+
+	/**
+	 * Create a new instance with the specified {@link SpelExpressionParser}.
+	 * @since 6.0
+	 */
+	CacheOperationExpressionEvaluator(SpelExpressionParser parser) {
+		super(parser);
+	}
 
 
 	/**
@@ -87,6 +99,7 @@ class CacheOperationExpressionEvaluator extends CachedExpressionEvaluator {
 				caches, method, args, target, targetClass);
 		CacheEvaluationContext evaluationContext = new CacheEvaluationContext(
 				rootObject, targetMethod, args, getParameterNameDiscoverer());
+		applySharedDelegates(evaluationContext);
 		if (result == RESULT_UNAVAILABLE) {
 			evaluationContext.addUnavailableVariable(RESULT_VARIABLE);
 		}
@@ -101,16 +114,16 @@ class CacheOperationExpressionEvaluator extends CachedExpressionEvaluator {
 
 	@Nullable
 	public Object key(String keyExpression, AnnotatedElementKey methodKey, EvaluationContext evalContext) {
-		return getExpression(this.keyCache, methodKey, keyExpression).getValue(evalContext);
+		return getExpression(this.expressionCache, methodKey, keyExpression).getValue(evalContext);
 	}
 
 	public boolean condition(String conditionExpression, AnnotatedElementKey methodKey, EvaluationContext evalContext) {
-		return (Boolean.TRUE.equals(getExpression(this.conditionCache, methodKey, conditionExpression).getValue(
+		return (Boolean.TRUE.equals(getExpression(this.expressionCache, methodKey, conditionExpression).getValue(
 				evalContext, Boolean.class)));
 	}
 
 	public boolean unless(String unlessExpression, AnnotatedElementKey methodKey, EvaluationContext evalContext) {
-		return (Boolean.TRUE.equals(getExpression(this.unlessCache, methodKey, unlessExpression).getValue(
+		return (Boolean.TRUE.equals(getExpression(this.expressionCache, methodKey, unlessExpression).getValue(
 				evalContext, Boolean.class)));
 	}
 
@@ -118,9 +131,7 @@ class CacheOperationExpressionEvaluator extends CachedExpressionEvaluator {
 	 * Clear all caches.
 	 */
 	void clear() {
-		this.keyCache.clear();
-		this.conditionCache.clear();
-		this.unlessCache.clear();
+		this.expressionCache.clear();
 	}
 
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+/**
+ * Interface exposing cumulative usage statistics of a
+ * {@link org.springframework.cache.Cache} implementation.
+ *
+ * <p>All counts are recorded since the creation of the cache
+ * and are not reset when the cache gets cleared.
+ *
+ * @author agent
+ * @since 6.0
+ * @see org.springframework.cache.concurrent.ConcurrentMapCache#getStatistics()
+ */
+public interface CacheStatistics {
+
+	/**
+	 * Return the number of lookups which found a cached value.
+	 */
+	long getHitCount();
+
+	/**
+	 * Return the number of lookups which did not find a cached value.
+	 */
+	long getMissCount();
+
+	/**
+	 * Return the number of entries which have been evicted from the cache,
+	 * either because of a size limit or because they expired.
+	 * Explicit evictions through the {@code Cache} API are not included.
+	 */
+	long getEvictionCount();
+
+	/**
+	 * Return the number of value loader invocations which completed successfully.
+	 */
+	long getLoadSuccessCount();
+
+	/**
+	 * Return the number of value loader invocations which failed.
+	 */
+	long getLoadFailureCount();
+
+	/**
+	 * Return the total time spent in value loader invocations, in nanoseconds.
+	 */
+	long getTotalLoadTime();
+
+	/**
+	 * Return the ratio of lookups which found a cached value,
+	 * or {@code 1.0} if no lookups have been recorded yet.
+	 */
+	default double getHitRate() {
+		long hitCount = getHitCount();
+		long requestCount = hitCount + getMissCount();
+		return (requestCount == 0 ? 1.0 : (double) hitCount / requestCount);
+	}
+
+	/**
+	 * Return the average time spent in value loader invocations, in nanoseconds,
+	 * or {@code 0.0} if no loads have been recorded yet.
+	 */
+	default double getAverageLoadPenalty() {
+		long loadCount = getLoadSuccessCount() + getLoadFailureCount();
+		return (loadCount == 0 ? 0.0 : (double) getTotalLoadTime() / loadCount);
+	}
+
+}
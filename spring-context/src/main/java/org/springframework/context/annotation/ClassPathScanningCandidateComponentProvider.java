@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,6 +24,7 @@ import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.IntStream;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -36,6 +37,7 @@ import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.context.ResourceLoaderAware;
 import org.springframework.context.index.CandidateComponentsIndex;
 import org.springframework.context.index.CandidateComponentsIndexLoader;
+import org.springframework.core.SpringProperties;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.EnvironmentCapable;
@@ -89,6 +91,15 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 
 	static final String DEFAULT_RESOURCE_PATTERN = "**/*.class";
 
+	/**
+	 * System property that instructs Spring to read the metadata of scanned
+	 * classes in parallel by default: {@value}.
+	 * @since 6.0
+	 * @see #setParallelScanning(boolean)
+	 * @see org.springframework.core.SpringProperties
+	 */
+	public static final String PARALLEL_SCANNING_PROPERTY_NAME = "spring.context.parallel-scanning";
+
 
 	protected final Log logger = LogFactory.getLog(getClass());
 
@@ -113,6 +124,8 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 	@Nullable
 	private CandidateComponentsIndex componentsIndex;
 
+	private boolean parallelScanning = SpringProperties.getFlag(PARALLEL_SCANNING_PROPERTY_NAME);
+
 
 	/**
 	 * Protected constructor for flexible subclass initialization.
@@ -302,6 +315,29 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 		return this.metadataReaderFactory;
 	}
 
+	/**
+	 * Set whether to read the metadata of scanned classes in parallel,
+	 * using the common {@link java.util.concurrent.ForkJoinPool}.
+	 * <p>Filters and conditions are still applied in resource order on the
+	 * calling thread, so candidate components are returned in the same order
+	 * as with sequential scanning. The {@link MetadataReaderFactory} in use
+	 * needs to be thread-safe, as is the case for the default factory.
+	 * <p>Default is "false", unless the {@value #PARALLEL_SCANNING_PROPERTY_NAME}
+	 * property has been set to "true".
+	 * @since 6.0
+	 */
+	public void setParallelScanning(boolean parallelScanning) {
+		this.parallelScanning = parallelScanning;
+	}
+
+	/**
+	 * Return whether the metadata of scanned classes is read in parallel.
+	 * @since 6.0
+	 */
+	public boolean isParallelScanning() {
+		return this.parallelScanning;
+	}
+
 
 	/**
 	 * Scan the class path for candidate components.
@@ -419,14 +455,19 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 			String packageSearchPath = ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX +
 					resolveBasePackage(basePackage) + '/' + this.resourcePattern;
 			Resource[] resources = getResourcePatternResolver().getResources(packageSearchPath);
+			Object[] metadataReaders = (this.parallelScanning && resources.length > 1 ?
+					readMetadataInParallel(resources) : null);
 			boolean traceEnabled = logger.isTraceEnabled();
 			boolean debugEnabled = logger.isDebugEnabled();
-			for (Resource resource : resources) {
+			for (int i = 0; i < resources.length; i++) {
+				Resource resource = resources[i];
 				if (traceEnabled) {
 					logger.trace("Scanning " + resource);
 				}
 				try {
-					MetadataReader metadataReader = getMetadataReaderFactory().getMetadataReader(resource);
+					MetadataReader metadataReader = (metadataReaders != null ?
+							getMetadataReader(metadataReaders[i]) :
+							getMetadataReaderFactory().getMetadataReader(resource));
 					if (isCandidateComponent(metadataReader)) {
 						ScannedGenericBeanDefinition sbd = new ScannedGenericBeanDefinition(metadataReader);
 						sbd.setSource(resource);
@@ -465,6 +506,37 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 		return candidates;
 	}
 
+	/**
+	 * Read the metadata of the given resources in parallel.
+	 * @param resources the resources to read
+	 * @return an array holding, for each resource at the same index,
+	 * either its {@link MetadataReader} or the exception thrown when reading it
+	 */
+	private Object[] readMetadataInParallel(Resource[] resources) {
+		MetadataReaderFactory metadataReaderFactory = getMetadataReaderFactory();
+		Object[] metadataReaders = new Object[resources.length];
+		IntStream.range(0, resources.length).parallel().forEach(i -> {
+			try {
+				metadataReaders[i] = metadataReaderFactory.getMetadataReader(resources[i]);
+			}
+			catch (Throwable ex) {
+				metadataReaders[i] = ex;
+			}
+		});
+		return metadataReaders;
+	}
+
+	/**
+	 * Return the {@link MetadataReader} read in parallel, rethrowing the
+	 * exception thrown when reading it if necessary.
+	 */
+	private MetadataReader getMetadataReader(Object result) throws Throwable {
+		if (result instanceof Throwable ex) {
+			throw ex;
+		}
+		return (MetadataReader) result;
+	}
+
 
 	/**
 	 * Resolve the specified base package into a pattern specification for
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.springframework.context.event;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -64,8 +65,11 @@ import org.springframework.util.ObjectUtils;
 public abstract class AbstractApplicationEventMulticaster
 		implements ApplicationEventMulticaster, BeanClassLoaderAware, BeanFactoryAware {
 
-	private final DefaultListenerRetriever defaultRetriever = new DefaultListenerRetriever();
+	/** Copy-on-write snapshot of all registered listeners, replaced on every change. */
+	private volatile DefaultListenerRetriever defaultRetriever =
+			new DefaultListenerRetriever(Collections.emptySet(), Collections.emptySet());
 
+	/** Cache of pre-filtered listeners, also serving as the lock for listener registration. */
 	final Map<ListenerCacheKey, CachedListenerRetriever> retrieverCache = new ConcurrentHashMap<>(64);
 
 	@Nullable
@@ -102,67 +106,174 @@ public abstract class AbstractApplicationEventMulticaster
 
 	@Override
 	public void addApplicationListener(ApplicationListener<?> listener) {
-		synchronized (this.defaultRetriever) {
+		synchronized (this.retrieverCache) {
+			Set<ApplicationListener<?>> listeners = new LinkedHashSet<>(this.defaultRetriever.applicationListeners);
 			// Explicitly remove target for a proxy, if registered already,
 			// in order to avoid double invocations of the same listener.
 			Object singletonTarget = AopProxyUtils.getSingletonTarget(listener);
-			if (singletonTarget instanceof ApplicationListener) {
-				this.defaultRetriever.applicationListeners.remove(singletonTarget);
+			boolean targetRemoved = (singletonTarget instanceof ApplicationListener && listeners.remove(singletonTarget));
+			if (listeners.add(listener) || targetRemoved) {
+				updateListeners(listeners);
+				if (targetRemoved) {
+					removeFromRetrieverCache((ApplicationListener<?>) singletonTarget);
+				}
+				addToRetrieverCache(listener);
 			}
-			this.defaultRetriever.applicationListeners.add(listener);
-			this.retrieverCache.clear();
 		}
 	}
 
 	@Override
 	public void addApplicationListenerBean(String listenerBeanName) {
-		synchronized (this.defaultRetriever) {
-			this.defaultRetriever.applicationListenerBeans.add(listenerBeanName);
-			this.retrieverCache.clear();
+		synchronized (this.retrieverCache) {
+			Set<String> listenerBeans = new LinkedHashSet<>(this.defaultRetriever.applicationListenerBeans);
+			if (listenerBeans.add(listenerBeanName)) {
+				updateListenerBeans(listenerBeans);
+				this.retrieverCache.clear();
+			}
 		}
 	}
 
 	@Override
 	public void removeApplicationListener(ApplicationListener<?> listener) {
-		synchronized (this.defaultRetriever) {
-			this.defaultRetriever.applicationListeners.remove(listener);
-			this.retrieverCache.clear();
+		synchronized (this.retrieverCache) {
+			Set<ApplicationListener<?>> listeners = new LinkedHashSet<>(this.defaultRetriever.applicationListeners);
+			if (listeners.remove(listener)) {
+				updateListeners(listeners);
+				removeFromRetrieverCache(listener);
+			}
 		}
 	}
 
 	@Override
 	public void removeApplicationListenerBean(String listenerBeanName) {
-		synchronized (this.defaultRetriever) {
-			this.defaultRetriever.applicationListenerBeans.remove(listenerBeanName);
-			this.retrieverCache.clear();
+		synchronized (this.retrieverCache) {
+			Set<String> listenerBeans = new LinkedHashSet<>(this.defaultRetriever.applicationListenerBeans);
+			if (listenerBeans.remove(listenerBeanName)) {
+				updateListenerBeans(listenerBeans);
+				this.retrieverCache.clear();
+			}
 		}
 	}
 
 	@Override
 	public void removeApplicationListeners(Predicate<ApplicationListener<?>> predicate) {
-		synchronized (this.defaultRetriever) {
-			this.defaultRetriever.applicationListeners.removeIf(predicate);
-			this.retrieverCache.clear();
+		synchronized (this.retrieverCache) {
+			Set<ApplicationListener<?>> listeners = new LinkedHashSet<>(this.defaultRetriever.applicationListeners);
+			if (listeners.removeIf(predicate)) {
+				updateListeners(listeners);
+				this.retrieverCache.clear();
+			}
 		}
 	}
 
 	@Override
 	public void removeApplicationListenerBeans(Predicate<String> predicate) {
-		synchronized (this.defaultRetriever) {
-			this.defaultRetriever.applicationListenerBeans.removeIf(predicate);
-			this.retrieverCache.clear();
+		synchronized (this.retrieverCache) {
+			Set<String> listenerBeans = new LinkedHashSet<>(this.defaultRetriever.applicationListenerBeans);
+			if (listenerBeans.removeIf(predicate)) {
+				updateListenerBeans(listenerBeans);
+				this.retrieverCache.clear();
+			}
 		}
 	}
 
 	@Override
 	public void removeAllListeners() {
-		synchronized (this.defaultRetriever) {
-			this.defaultRetriever.applicationListeners.clear();
-			this.defaultRetriever.applicationListenerBeans.clear();
+		synchronized (this.retrieverCache) {
+			this.defaultRetriever = new DefaultListenerRetriever(Collections.emptySet(), Collections.emptySet());
+			this.retrieverCache.clear();
+		}
+	}
+
+	private void updateListeners(Set<ApplicationListener<?>> listeners) {
+		this.defaultRetriever = new DefaultListenerRetriever(
+				Collections.unmodifiableSet(listeners), this.defaultRetriever.applicationListenerBeans);
+	}
+
+	private void updateListenerBeans(Set<String> listenerBeans) {
+		this.defaultRetriever = new DefaultListenerRetriever(
+				this.defaultRetriever.applicationListeners, Collections.unmodifiableSet(listenerBeans));
+	}
+
+	/**
+	 * Add the given newly registered listener to all cached retrievers for
+	 * event types that it supports, keeping unrelated retrievers as they are.
+	 * <p>To be called with the registration lock held.
+	 */
+	private void addToRetrieverCache(ApplicationListener<?> listener) {
+		if (this.retrieverCache.isEmpty()) {
+			return;
+		}
+		String listenerBeanName = findListenerBeanName(listener);
+		for (Map.Entry<ListenerCacheKey, CachedListenerRetriever> entry : this.retrieverCache.entrySet()) {
+			ListenerCacheKey cacheKey = entry.getKey();
+			CachedListenerRetriever retriever = entry.getValue();
+			Set<ApplicationListener<?>> applicationListeners = retriever.applicationListeners;
+			if (applicationListeners == null || retriever.applicationListenerBeans == null) {
+				// Not fully populated yet: to be retrieved again
+				this.retrieverCache.remove(cacheKey, retriever);
+			}
+			else if (!applicationListeners.contains(listener) &&
+					supportsEvent(listener, cacheKey.eventType, cacheKey.sourceType) &&
+					(listenerBeanName == null ||
+							supportsEvent(getBeanFactory(), listenerBeanName, cacheKey.eventType))) {
+				List<ApplicationListener<?>> allListeners = new ArrayList<>(applicationListeners.size() + 1);
+				allListeners.addAll(applicationListeners);
+				allListeners.add(listener);
+				AnnotationAwareOrderComparator.sort(allListeners);
+				retriever.applicationListeners = new LinkedHashSet<>(allListeners);
+			}
+		}
+	}
+
+	/**
+	 * Remove the given deregistered listener from all cached retrievers,
+	 * keeping unrelated retrievers as they are.
+	 * <p>To be called with the registration lock held.
+	 */
+	private void removeFromRetrieverCache(ApplicationListener<?> listener) {
+		if (this.retrieverCache.isEmpty()) {
+			return;
+		}
+		if (findListenerBeanName(listener) != null) {
+			// Still to be retrieved by bean name
 			this.retrieverCache.clear();
+			return;
+		}
+		for (Map.Entry<ListenerCacheKey, CachedListenerRetriever> entry : this.retrieverCache.entrySet()) {
+			CachedListenerRetriever retriever = entry.getValue();
+			Set<ApplicationListener<?>> applicationListeners = retriever.applicationListeners;
+			if (applicationListeners == null || retriever.applicationListenerBeans == null) {
+				// Not fully populated yet: to be retrieved again
+				this.retrieverCache.remove(entry.getKey(), retriever);
+			}
+			else if (applicationListeners.contains(listener)) {
+				Set<ApplicationListener<?>> remainingListeners = new LinkedHashSet<>(applicationListeners);
+				remainingListeners.remove(listener);
+				retriever.applicationListeners = remainingListeners;
+			}
 		}
 	}
 
+	/**
+	 * Find the name of the registered listener bean that the given listener
+	 * is the singleton instance of, if any.
+	 */
+	@Nullable
+	private String findListenerBeanName(ApplicationListener<?> listener) {
+		Set<String> listenerBeans = this.defaultRetriever.applicationListenerBeans;
+		if (!listenerBeans.isEmpty()) {
+			ConfigurableBeanFactory beanFactory = getBeanFactory();
+			for (String listenerBeanName : listenerBeans) {
+				if (beanFactory.containsSingleton(listenerBeanName) &&
+						beanFactory.getSingleton(listenerBeanName) == listener) {
+					return listenerBeanName;
+				}
+			}
+		}
+		return null;
+	}
+
 
 	/**
 	 * Return a Collection containing all ApplicationListeners.
@@ -170,9 +281,7 @@ public abstract class AbstractApplicationEventMulticaster
 	 * @see org.springframework.context.ApplicationListener
 	 */
 	protected Collection<ApplicationListener<?>> getApplicationListeners() {
-		synchronized (this.defaultRetriever) {
-			return this.defaultRetriever.getApplicationListeners();
-		}
+		return this.defaultRetriever.getApplicationListeners();
 	}
 
 	/**
@@ -218,29 +327,27 @@ public abstract class AbstractApplicationEventMulticaster
 			// Proceed like caching wasn't possible for this current local attempt.
 		}
 
-		return retrieveApplicationListeners(eventType, sourceType, newRetriever);
+		return retrieveApplicationListeners(eventType, sourceType, cacheKey, newRetriever);
 	}
 
 	/**
 	 * Actually retrieve the application listeners for the given event and source type.
 	 * @param eventType the event type
 	 * @param sourceType the event source type
+	 * @param cacheKey the cache key for the given event and source type
 	 * @param retriever the ListenerRetriever, if supposed to populate one (for caching purposes)
 	 * @return the pre-filtered list of application listeners for the given event and source type
 	 */
-	private Collection<ApplicationListener<?>> retrieveApplicationListeners(
-			ResolvableType eventType, @Nullable Class<?> sourceType, @Nullable CachedListenerRetriever retriever) {
+	private Collection<ApplicationListener<?>> retrieveApplicationListeners(ResolvableType eventType,
+			@Nullable Class<?> sourceType, ListenerCacheKey cacheKey, @Nullable CachedListenerRetriever retriever) {
 
 		List<ApplicationListener<?>> allListeners = new ArrayList<>();
 		Set<ApplicationListener<?>> filteredListeners = (retriever != null ? new LinkedHashSet<>() : null);
 		Set<String> filteredListenerBeans = (retriever != null ? new LinkedHashSet<>() : null);
 
-		Set<ApplicationListener<?>> listeners;
-		Set<String> listenerBeans;
-		synchronized (this.defaultRetriever) {
-			listeners = new LinkedHashSet<>(this.defaultRetriever.applicationListeners);
-			listenerBeans = new LinkedHashSet<>(this.defaultRetriever.applicationListenerBeans);
-		}
+		DefaultListenerRetriever defaultRetriever = this.defaultRetriever;
+		Set<ApplicationListener<?>> listeners = defaultRetriever.applicationListeners;
+		Set<String> listenerBeans = defaultRetriever.applicationListenerBeans;
 
 		// Add programmatically registered listeners, including ones coming
 		// from ApplicationListenerDetector (singleton beans and inner beans).
@@ -294,13 +401,19 @@ public abstract class AbstractApplicationEventMulticaster
 
 		AnnotationAwareOrderComparator.sort(allListeners);
 		if (retriever != null) {
-			if (filteredListenerBeans.isEmpty()) {
-				retriever.applicationListeners = new LinkedHashSet<>(allListeners);
-				retriever.applicationListenerBeans = filteredListenerBeans;
-			}
-			else {
-				retriever.applicationListeners = filteredListeners;
-				retriever.applicationListenerBeans = filteredListenerBeans;
+			synchronized (this.retrieverCache) {
+				if (this.defaultRetriever != defaultRetriever) {
+					// Listeners changed in the meantime: to be retrieved again
+					this.retrieverCache.remove(cacheKey, retriever);
+				}
+				else if (filteredListenerBeans.isEmpty()) {
+					retriever.applicationListeners = new LinkedHashSet<>(allListeners);
+					retriever.applicationListenerBeans = filteredListenerBeans;
+				}
+				else {
+					retriever.applicationListeners = filteredListeners;
+					retriever.applicationListenerBeans = filteredListenerBeans;
+				}
 			}
 		}
 		return allListeners;
@@ -480,13 +593,21 @@ public abstract class AbstractApplicationEventMulticaster
 
 
 	/**
-	 * Helper class that encapsulates a general set of target listeners.
+	 * Helper class that encapsulates a general set of target listeners,
+	 * as an immutable snapshot to be replaced on registration changes.
 	 */
 	private class DefaultListenerRetriever {
 
-		public final Set<ApplicationListener<?>> applicationListeners = new LinkedHashSet<>();
+		public final Set<ApplicationListener<?>> applicationListeners;
 
-		public final Set<String> applicationListenerBeans = new LinkedHashSet<>();
+		public final Set<String> applicationListenerBeans;
+
+		public DefaultListenerRetriever(
+				Set<ApplicationListener<?>> applicationListeners, Set<String> applicationListenerBeans) {
+
+			this.applicationListeners = applicationListeners;
+			this.applicationListenerBeans = applicationListenerBeans;
+		}
 
 		public Collection<ApplicationListener<?>> getApplicationListeners() {
 			List<ApplicationListener<?>> allListeners = new ArrayList<>(
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,14 @@
 
 package org.springframework.context.event;
 
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -25,9 +32,12 @@ import org.springframework.beans.factory.BeanFactory;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.ResolvableType;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 import org.springframework.util.ErrorHandler;
+import org.springframework.util.ReflectionUtils;
 
 /**
  * Simple implementation of the {@link ApplicationEventMulticaster} interface.
@@ -41,6 +51,9 @@ import org.springframework.util.ErrorHandler;
  * This allows the danger of a rogue listener blocking the entire application,
  * but adds minimal overhead. Specify an alternative task executor to have
  * listeners executed in different threads, for example from a thread pool.
+ * With a {@linkplain #setListenerQueueCapacity listener queue capacity} in
+ * addition, events get queued per listener and dispatched in batches,
+ * preserving the order of events for each listener.
  *
  * @author Rod Johnson
  * @author Juergen Hoeller
@@ -50,9 +63,21 @@ import org.springframework.util.ErrorHandler;
  */
 public class SimpleApplicationEventMulticaster extends AbstractApplicationEventMulticaster {
 
+	/** Maximum number of events to dispatch to a listener within a single executor task. */
+	private static final int MAX_BATCH_SIZE = 256;
+
+	/** Whether the current thread is dispatching events from a listener queue. */
+	private static final ThreadLocal<Boolean> queueDispatchInProgress =
+			new NamedThreadLocal<>("Listener queue dispatch in progress");
+
+
 	@Nullable
 	private Executor taskExecutor;
 
+	private int listenerQueueCapacity;
+
+	final Map<ApplicationListener<?>, ListenerQueue> listenerQueues = new ConcurrentHashMap<>(64);
+
 	@Nullable
 	private ErrorHandler errorHandler;
 
@@ -98,6 +123,36 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		return this.taskExecutor;
 	}
 
+	/**
+	 * Set the capacity of the queue of pending events for each listener,
+	 * when invoking listeners with a {@linkplain #setTaskExecutor task executor}.
+	 * <p>Default is 0, submitting each listener invocation to the executor
+	 * as an individual task, without any ordering guarantees for a listener.
+	 * <p>Specify a positive capacity for queueing events per listener instead:
+	 * A single executor task at a time dispatches the queued events to each
+	 * listener in batches, in the order of publication. Once the queue for a
+	 * listener is full, the publisher of an event blocks until there is space
+	 * available again, providing back-pressure against slow listeners.
+	 * Events published while dispatching queued events, e.g. by a listener
+	 * itself, are accepted beyond the capacity instead, since the publishing
+	 * thread might be the one that needs to drain the full queue.
+	 * Use {@link Integer#MAX_VALUE} for an unbounded queue.
+	 * @since 6.0
+	 * @see #setTaskExecutor
+	 */
+	public void setListenerQueueCapacity(int listenerQueueCapacity) {
+		Assert.isTrue(listenerQueueCapacity >= 0, "Listener queue capacity must not be negative");
+		this.listenerQueueCapacity = listenerQueueCapacity;
+	}
+
+	/**
+	 * Return the capacity of the queue of pending events for each listener.
+	 * @since 6.0
+	 */
+	public int getListenerQueueCapacity() {
+		return this.listenerQueueCapacity;
+	}
+
 	/**
 	 * Set the {@link ErrorHandler} to invoke in case an exception is thrown
 	 * from a listener.
@@ -137,7 +192,12 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		Executor executor = getTaskExecutor();
 		for (ApplicationListener<?> listener : getApplicationListeners(event, type)) {
 			if (executor != null) {
-				executor.execute(() -> invokeListener(listener, event));
+				if (this.listenerQueueCapacity > 0) {
+					enqueueEvent(listener, event, executor);
+				}
+				else {
+					executor.execute(() -> invokeListener(listener, event));
+				}
 			}
 			else {
 				invokeListener(listener, event);
@@ -145,6 +205,36 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		}
 	}
 
+	/**
+	 * Add the given event to the queue for the given listener, scheduling
+	 * a dispatch task for the queue unless one is active already.
+	 */
+	private void enqueueEvent(ApplicationListener<?> listener, ApplicationEvent event, Executor executor) {
+		ListenerQueue queue = this.listenerQueues.compute(listener, (key, existing) -> {
+			ListenerQueue queueToUse = (existing != null ? existing :
+					new ListenerQueue(key, this.listenerQueueCapacity, executor));
+			queueToUse.publishers.incrementAndGet();
+			return queueToUse;
+		});
+		try {
+			queue.enqueue(event);
+		}
+		finally {
+			if (queue.publishers.decrementAndGet() == 0) {
+				releaseIfIdle(queue);
+			}
+		}
+	}
+
+	/**
+	 * Remove the given queue once neither dispatching nor being published to,
+	 * so that queues do not outlive their listeners.
+	 */
+	private void releaseIfIdle(ListenerQueue queue) {
+		this.listenerQueues.computeIfPresent(queue.listener, (key, existing) ->
+				(existing == queue && queue.pending.get() == 0 && queue.publishers.get() == 0 ? null : existing));
+	}
+
 	private ResolvableType resolveDefaultEventType(ApplicationEvent event) {
 		return ResolvableType.forInstance(event);
 	}
@@ -215,4 +305,126 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		return false;
 	}
 
+
+	/**
+	 * Queue of pending events for a specific listener, drained by a single
+	 * executor task at a time in order to preserve the order of events.
+	 */
+	private class ListenerQueue implements Runnable {
+
+		final ApplicationListener<?> listener;
+
+		private final Queue<ApplicationEvent> events = new ConcurrentLinkedQueue<>();
+
+		/** Permits for adding an event, one per free slot in the queue. */
+		private final Semaphore capacity;
+
+		/** Number of events added without a permit, from a dispatching thread. */
+		private final AtomicInteger overflow = new AtomicInteger();
+
+		private final Executor executor;
+
+		/** Number of queued events not dispatched yet: a dispatch task is active if positive. */
+		final AtomicInteger pending = new AtomicInteger();
+
+		/** Number of publishers currently adding an event. */
+		final AtomicInteger publishers = new AtomicInteger();
+
+		ListenerQueue(ApplicationListener<?> listener, int capacity, Executor executor) {
+			this.listener = listener;
+			this.capacity = new Semaphore(capacity);
+			this.executor = executor;
+		}
+
+		void enqueue(ApplicationEvent event) {
+			if (queueDispatchInProgress.get() != null) {
+				// Never block a dispatching thread: it might have to drain this queue itself
+				this.overflow.incrementAndGet();
+			}
+			else {
+				try {
+					this.capacity.acquire();
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException(
+							"Thread was interrupted while waiting for queue capacity of listener " + this.listener, ex);
+				}
+			}
+			this.events.add(event);
+			if (this.pending.getAndIncrement() == 0 && !schedule()) {
+				// Keep dispatching in order, within the current thread
+				run();
+			}
+		}
+
+		private boolean schedule() {
+			try {
+				this.executor.execute(this);
+				return true;
+			}
+			catch (RejectedExecutionException ex) {
+				return false;
+			}
+		}
+
+		@Override
+		public void run() {
+			Boolean outerDispatch = queueDispatchInProgress.get();
+			queueDispatchInProgress.set(Boolean.TRUE);
+			try {
+				dispatch();
+			}
+			finally {
+				if (outerDispatch == null) {
+					queueDispatchInProgress.remove();
+				}
+			}
+		}
+
+		private void dispatch() {
+			Throwable failure = null;
+			int batchSize = 0;
+			while (true) {
+				ApplicationEvent event = this.events.poll();
+				Assert.state(event != null, "No pending event");
+				releaseCapacity();
+				try {
+					invokeListener(this.listener, event);
+				}
+				catch (RuntimeException | Error ex) {
+					if (failure == null) {
+						failure = ex;
+					}
+					else {
+						failure.addSuppressed(ex);
+					}
+				}
+				if (this.pending.decrementAndGet() == 0) {
+					releaseIfIdle(this);
+					break;
+				}
+				if (++batchSize == MAX_BATCH_SIZE || failure != null) {
+					// Let other tasks proceed, or propagate the failure to the executor,
+					// continuing with a new task for this listener
+					if (schedule()) {
+						break;
+					}
+					batchSize = 0;
+				}
+			}
+			if (failure != null) {
+				ReflectionUtils.rethrowRuntimeException(failure);
+			}
+		}
+
+		private void releaseCapacity() {
+			// Events added without a permit are not necessarily polled first:
+			// release one permit less per such event, in whichever order
+			if (this.overflow.getAndUpdate(count -> (count > 0 ? count - 1 : 0)) == 0) {
+				this.capacity.release();
+			}
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,29 +16,59 @@
 
 package org.springframework.context.expression;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
 import java.util.Map;
 
 import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ObjectUtils;
 
 /**
  * Shared utility class used to evaluate and cache SpEL expressions that
  * are defined on {@link java.lang.reflect.AnnotatedElement}.
  *
+ * <p>Expressions are interpreted by the default parser unless a compiler mode
+ * has been set through the {@value SpelParserConfiguration#SPRING_EXPRESSION_COMPILER_MODE_PROPERTY_NAME}
+ * property, or a parser with a specific {@link SpelParserConfiguration} has been
+ * provided. Note that in {@link SpelCompilerMode#MIXED mixed mode}, an expression
+ * is evaluated again in interpreted form if its compiled form fails, so any
+ * side effects of the expression (e.g. of a method invoked in a key expression)
+ * may happen twice for a single evaluation.
+ *
+ * <p>As of 6.0, parameter names are resolved once per method, and per-invocation
+ * evaluation contexts may share the delegates of this evaluator through
+ * {@link #applySharedDelegates}.
+ *
  * @author Stephane Nicoll
  * @since 4.2
  * @see AnnotatedElementKey
  */
 public abstract class CachedExpressionEvaluator {
 
+	/**
+	 * The default size limit for expression caches created through
+	 * {@link #createExpressionCache()}.
+	 * @since 6.0
+	 */
+	protected static final int DEFAULT_EXPRESSION_CACHE_LIMIT = 4096;
+
+
 	private final SpelExpressionParser parser;
 
-	private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+	private final ParameterNameDiscoverer parameterNameDiscoverer = new CachingParameterNameDiscoverer();
+
+	private final StandardEvaluationContext sharedEvaluationContext = new StandardEvaluationContext();
 
 
 	/**
@@ -66,12 +96,26 @@ public abstract class CachedExpressionEvaluator {
 
 	/**
 	 * Return a shared parameter name discoverer which caches data internally.
+	 * <p>As of 6.0, the parameter names are resolved once per method or
+	 * constructor, with the returned arrays shared between callers.
 	 * @since 4.3
 	 */
 	protected ParameterNameDiscoverer getParameterNameDiscoverer() {
 		return this.parameterNameDiscoverer;
 	}
 
+	/**
+	 * Apply the delegates of a context shared by this evaluator to the given
+	 * per-invocation evaluation context, so that property accessors and method
+	 * resolvers keep their reflective caches across invocations.
+	 * @param evaluationContext the evaluation context for the current invocation
+	 * @since 6.0
+	 * @see StandardEvaluationContext#applyDelegatesTo(StandardEvaluationContext)
+	 */
+	protected void applySharedDelegates(StandardEvaluationContext evaluationContext) {
+		this.sharedEvaluationContext.applyDelegatesTo(evaluationContext);
+	}
+
 
 	/**
 	 * Return the {@link Expression} for the specified SpEL value
@@ -92,6 +136,46 @@ public abstract class CachedExpressionEvaluator {
 		return expr;
 	}
 
+	/**
+	 * Create a bounded expression cache for this evaluator with the
+	 * {@link #DEFAULT_EXPRESSION_CACHE_LIMIT default size limit}.
+	 * @since 6.0
+	 * @see #createExpressionCache(int)
+	 */
+	protected ConcurrentLruCache<ExpressionKey, Expression> createExpressionCache() {
+		return createExpressionCache(DEFAULT_EXPRESSION_CACHE_LIMIT);
+	}
+
+	/**
+	 * Create a bounded expression cache for this evaluator, parsing expressions
+	 * on demand and evicting the least recently used ones beyond the given limit.
+	 * <p>Since expressions are keyed by the annotated element as well as the
+	 * expression string, a single cache may be used for several kinds of
+	 * expressions on the same element (e.g. key and condition expressions).
+	 * @param sizeLimit the maximum number of expressions to keep
+	 * @since 6.0
+	 * @see #getExpression(ConcurrentLruCache, AnnotatedElementKey, String)
+	 */
+	protected ConcurrentLruCache<ExpressionKey, Expression> createExpressionCache(int sizeLimit) {
+		return new ConcurrentLruCache<>(sizeLimit, key -> parseExpression(key.expression));
+	}
+
+	/**
+	 * Return the {@link Expression} for the specified SpEL value from the
+	 * given bounded cache, {@link #parseExpression(String) parsing} the
+	 * expression if it is not cached yet.
+	 * @param cache the cache to use
+	 * @param elementKey the element on which the expression is defined
+	 * @param expression the expression to parse
+	 * @since 6.0
+	 * @see #createExpressionCache()
+	 */
+	protected Expression getExpression(ConcurrentLruCache<ExpressionKey, Expression> cache,
+			AnnotatedElementKey elementKey, String expression) {
+
+		return cache.get(createKey(elementKey, expression));
+	}
+
 	/**
 	 * Parse the specified {@code expression}.
 	 * @param expression the expression to parse
@@ -154,4 +238,40 @@ public abstract class CachedExpressionEvaluator {
 		}
 	}
 
+
+	/**
+	 * A {@link ParameterNameDiscoverer} which resolves the parameter names
+	 * of each method and constructor only once.
+	 */
+	private static class CachingParameterNameDiscoverer implements ParameterNameDiscoverer {
+
+		private static final String[] NO_PARAMETER_NAMES = new String[0];
+
+		private final ParameterNameDiscoverer delegate = new DefaultParameterNameDiscoverer();
+
+		private final Map<Executable, String[]> parameterNamesCache = new ConcurrentReferenceHashMap<>(256);
+
+		@Override
+		@Nullable
+		public String[] getParameterNames(Method method) {
+			return getCachedParameterNames(method);
+		}
+
+		@Override
+		@Nullable
+		public String[] getParameterNames(Constructor<?> ctor) {
+			return getCachedParameterNames(ctor);
+		}
+
+		@Nullable
+		private String[] getCachedParameterNames(Executable executable) {
+			String[] parameterNames = this.parameterNamesCache.computeIfAbsent(executable, key -> {
+				String[] names = (key instanceof Method method ? this.delegate.getParameterNames(method) :
+						this.delegate.getParameterNames((Constructor<?>) key));
+				return (names != null ? names : NO_PARAMETER_NAMES);
+			});
+			return (parameterNames != NO_PARAMETER_NAMES ? parameterNames : null);
+		}
+	}
+
 }
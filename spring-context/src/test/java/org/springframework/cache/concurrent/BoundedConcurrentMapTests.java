@@ -0,0 +1,145 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link BoundedConcurrentMap}.
+ *
+ * @author agent
+ */
+class BoundedConcurrentMapTests {
+
+	private final AtomicLong ticker = new AtomicLong();
+
+
+	@Test
+	void evictLeastRecentlyUsed() {
+		BoundedConcurrentMap<String, String> map = new BoundedConcurrentMap<>(2);
+		map.put("k1", "v1");
+		map.put("k2", "v2");
+		assertThat(map.get("k1")).isEqualTo("v1");
+		map.put("k3", "v3");
+
+		assertThat(map).containsOnlyKeys("k1", "k3");
+		assertThat(map.getWeightedSize()).isEqualTo(2);
+		assertThat(map.getEvictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	void replaceDoesNotEvict() {
+		BoundedConcurrentMap<String, String> map = new BoundedConcurrentMap<>(2);
+		map.put("k1", "v1");
+		map.put("k2", "v2");
+		assertThat(map.put("k1", "v1x")).isEqualTo("v1");
+		assertThat(map.putIfAbsent("k2", "v2x")).isEqualTo("v2");
+
+		assertThat(map).containsEntry("k1", "v1x").containsEntry("k2", "v2");
+		assertThat(map.getEvictionCount()).isZero();
+	}
+
+	@Test
+	void evictByWeight() {
+		BoundedConcurrentMap<String, String> map =
+				new BoundedConcurrentMap<>(10, (key, value) -> value.length(), null, null);
+		map.put("k1", "12345");
+		map.put("k2", "1234");
+		assertThat(map.getWeightedSize()).isEqualTo(9);
+		map.put("k3", "123");
+
+		assertThat(map).containsOnlyKeys("k2", "k3");
+		assertThat(map.getWeightedSize()).isEqualTo(7);
+		map.put("k4", "12345678901");
+		assertThat(map).isEmpty();
+		assertThat(map.getWeightedSize()).isZero();
+	}
+
+	@Test
+	void expireAfterWrite() {
+		BoundedConcurrentMap<String, String> map = new BoundedConcurrentMap<>(
+				Long.MAX_VALUE, null, Duration.ofNanos(10), null, this.ticker::get);
+		map.put("k1", "v1");
+		this.ticker.set(5);
+		assertThat(map.get("k1")).isEqualTo("v1");
+		map.put("k2", "v2");
+		this.ticker.set(10);
+
+		assertThat(map.get("k1")).isNull();
+		assertThat(map.containsKey("k2")).isTrue();
+		assertThat(map.putIfAbsent("k1", "v1x")).isNull();
+		assertThat(map.get("k1")).isEqualTo("v1x");
+		assertThat(map.getEvictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	void expireAfterAccess() {
+		BoundedConcurrentMap<String, String> map = new BoundedConcurrentMap<>(
+				Long.MAX_VALUE, null, null, Duration.ofNanos(10), this.ticker::get);
+		map.put("k1", "v1");
+		map.put("k2", "v2");
+		this.ticker.set(8);
+		assertThat(map.get("k1")).isEqualTo("v1");
+		this.ticker.set(15);
+
+		assertThat(map.get("k1")).isEqualTo("v1");
+		assertThat(map.get("k2")).isNull();
+		assertThat(map).containsOnlyKeys("k1");
+	}
+
+	@Test
+	void cleanUpRemovesExpiredEntries() {
+		BoundedConcurrentMap<String, String> map = new BoundedConcurrentMap<>(
+				Long.MAX_VALUE, null, Duration.ofNanos(10), null, this.ticker::get);
+		map.put("k1", "v1");
+		map.put("k2", "v2");
+		this.ticker.set(10);
+		assertThat(map.size()).isEqualTo(2);
+		assertThat(map.entrySet().iterator().hasNext()).isFalse();
+
+		map.cleanUp();
+		assertThat(map.size()).isZero();
+		assertThat(map.getWeightedSize()).isZero();
+		assertThat(map.getEvictionCount()).isEqualTo(2);
+	}
+
+	@Test
+	void removeAndClear() {
+		BoundedConcurrentMap<String, String> map = new BoundedConcurrentMap<>(10);
+		map.put("k1", "v1");
+		map.put("k2", "v2");
+		map.put("k3", "v3");
+
+		assertThat(map.remove("k1")).isEqualTo("v1");
+		assertThat(map.remove("k2", "v2x")).isFalse();
+		assertThat(map.remove("k2", "v2")).isTrue();
+		assertThat(map.replace("k3", "v3", "v3x")).isTrue();
+		assertThat(map).containsOnlyKeys("k3");
+		assertThat(map.getWeightedSize()).isEqualTo(1);
+
+		map.clear();
+		assertThat(map).isEmpty();
+		assertThat(map.getWeightedSize()).isZero();
+		assertThat(map.getEvictionCount()).isZero();
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package org.springframework.cache.concurrent;
 
+import java.time.Duration;
+
 import org.junit.jupiter.api.Test;
 
 import org.springframework.cache.Cache;
@@ -131,4 +133,39 @@ public class ConcurrentMapCacheManagerTests {
 		assertThat(cache1x.get("key")).isNull();
 	}
 
+	@Test
+	public void testBoundedCaches() {
+		ConcurrentMapCacheManager cm = new ConcurrentMapCacheManager("c1");
+		assertThat(((ConcurrentMapCache) cm.getCache("c1")).getNativeCache())
+				.isNotInstanceOf(BoundedConcurrentMap.class);
+
+		cm.setMaximumSize(2);
+		cm.setExpireAfterAccess(Duration.ofMinutes(10));
+		cm.setRecordStats(true);
+		ConcurrentMapCache cache1 = (ConcurrentMapCache) cm.getCache("c1");
+		assertThat(cache1.getNativeCache()).isInstanceOf(BoundedConcurrentMap.class);
+		cache1.put("key1", "value1");
+		cache1.put("key2", "value2");
+		assertThat(cache1.get("key1").get()).isEqualTo("value1");
+		cache1.put("key3", "value3");
+		assertThat(cache1.get("key2")).isNull();
+
+		assertThat(cache1.getStatistics().getHitCount()).isEqualTo(1);
+		assertThat(cache1.getStatistics().getMissCount()).isEqualTo(1);
+		assertThat(cache1.getStatistics().getEvictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void testBoundedCachesByWeight() {
+		ConcurrentMapCacheManager cm = new ConcurrentMapCacheManager("c1");
+		cm.setMaximumWeight(10);
+		cm.setWeigher((key, value) -> ((String) value).length());
+		ConcurrentMapCache cache1 = (ConcurrentMapCache) cm.getCache("c1");
+		cache1.put("key1", "12345");
+		cache1.put("key2", "123456");
+		assertThat(cache1.get("key1")).isNull();
+		assertThat(cache1.get("key2").get()).isEqualTo("123456");
+		assertThat(cache1.getStatistics()).isNull();
+	}
+
 }
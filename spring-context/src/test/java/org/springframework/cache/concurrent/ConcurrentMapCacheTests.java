@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,17 +19,22 @@ package org.springframework.cache.concurrent;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.CacheStatistics;
 import org.springframework.context.testfixture.cache.AbstractValueAdaptingCacheTests;
 import org.springframework.core.serializer.support.SerializationDelegate;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 /**
  * @author Costin Leau
@@ -115,6 +120,157 @@ public class ConcurrentMapCacheTests extends AbstractValueAdaptingCacheTests<Con
 			.withMessageContaining("Some garbage");
 	}
 
+	@Test
+	public void testRetrieve() {
+		String key = createRandomKey();
+		assertThat(this.cache.retrieve(key)).isNull();
+
+		this.cache.put(key, "value");
+		assertThat(this.cache.retrieve(key)).isCompletedWithValue("value");
+
+		this.cache.put(key, null);
+		assertThat(this.cache.retrieve(key)).isCompletedWithValue(null);
+	}
+
+	@Test
+	public void testRetrieveWithLoaderCoalescesConcurrentLoads() {
+		String key = createRandomKey();
+		AtomicInteger loads = new AtomicInteger();
+		CompletableFuture<String> value = new CompletableFuture<>();
+
+		CompletableFuture<String> first = this.cache.retrieve(key, () -> {
+			loads.incrementAndGet();
+			return value;
+		});
+		CompletableFuture<String> second = this.cache.retrieve(key, () -> {
+			loads.incrementAndGet();
+			return CompletableFuture.completedFuture("other");
+		});
+		assertThat(this.cache.retrieve(key)).isNotDone();
+		assertThat(this.nativeCache).doesNotContainKey(key);
+
+		value.complete("value");
+		assertThat(first).isCompletedWithValue("value");
+		assertThat(second).isCompletedWithValue("value");
+		assertThat(loads).hasValue(1);
+		assertThat(this.cache.get(key).get()).isEqualTo("value");
+		assertThat(this.cache.retrieve(key, () -> CompletableFuture.completedFuture("other")))
+				.isCompletedWithValue("value");
+	}
+
+	@Test
+	public void testRetrieveWithLoaderFailure() {
+		String key = createRandomKey();
+		CompletableFuture<String> value = new CompletableFuture<>();
+		CompletableFuture<String> result = this.cache.retrieve(key, () -> value);
+
+		value.completeExceptionally(new IllegalStateException("Expected failure"));
+		assertThat(result).isCompletedExceptionally();
+		assertThat(this.nativeCache).doesNotContainKey(key);
+		assertThat(this.cache.retrieve(key)).isNull();
+		assertThat(this.cache.retrieve(key, () -> CompletableFuture.completedFuture("value")))
+				.isCompletedWithValue("value");
+	}
+
+	@Test
+	public void testRetrieveWithLoaderNullValueNotAllowed() {
+		String key = createRandomKey();
+		CompletableFuture<Object> result = this.cacheNoNull.retrieve(key, () -> CompletableFuture.completedFuture(null));
+		assertThat(result).isCompletedWithValue(null);
+		assertThat(this.nativeCacheNoNull).doesNotContainKey(key);
+	}
+
+	@Test
+	public void testRetrieveWithLoaderNotStoredIfEvictedDuringLoad() {
+		String key = createRandomKey();
+		CompletableFuture<String> value = new CompletableFuture<>();
+		CompletableFuture<String> result = this.cache.retrieve(key, () -> value);
+
+		this.cache.evict(key);
+		value.complete("value");
+		assertThat(result).isCompletedWithValue("value");
+		assertThat(this.nativeCache).doesNotContainKey(key);
+	}
+
+	@Test
+	public void testRetrieveWithLoaderNotStoredIfPutDuringLoad() {
+		String key = createRandomKey();
+		CompletableFuture<String> value = new CompletableFuture<>();
+		CompletableFuture<String> result = this.cache.retrieve(key, () -> value);
+
+		this.cache.put(key, "put");
+		value.complete("loaded");
+		assertThat(result).isCompletedWithValue("loaded");
+		assertThat(this.cache.get(key).get()).isEqualTo("put");
+	}
+
+	@Test
+	public void testRetrieveWithLoaderNotStoredIfClearedDuringLoad() {
+		String key = createRandomKey();
+		CompletableFuture<String> value = new CompletableFuture<>();
+		CompletableFuture<String> result = this.cache.retrieve(key, () -> value);
+
+		this.cache.clear();
+		value.complete("value");
+		assertThat(result).isCompletedWithValue("value");
+		assertThat(this.nativeCache).doesNotContainKey(key);
+	}
+
+	@Test
+	public void testCacheGetCallableNotStoredIfPutDuringLoad() {
+		String key = createRandomKey();
+		Object result = this.cache.get(key, () -> {
+			this.cache.put(key, "put");
+			return "loaded";
+		});
+
+		assertThat(result).isEqualTo("loaded");
+		assertThat(this.cache.get(key).get()).isEqualTo("put");
+	}
+
+	@Test
+	public void testCacheGetCallableNotStoredIfEvictedDuringLoad() {
+		String key = createRandomKey();
+		Object result = this.cache.get(key, () -> {
+			this.cache.evict(key);
+			return "loaded";
+		});
+
+		assertThat(result).isEqualTo("loaded");
+		assertThat(this.nativeCache).doesNotContainKey(key);
+	}
+
+	@Test
+	public void testCacheGetCallableRecursiveLoad() {
+		String key = createRandomKey();
+		assertThatExceptionOfType(Cache.ValueRetrievalException.class).isThrownBy(() ->
+				this.cache.get(key, () -> this.cache.get(key, () -> "value")))
+			.withRootCauseInstanceOf(IllegalStateException.class);
+		assertThat(this.nativeCache).doesNotContainKey(key);
+	}
+
+	@Test
+	public void testStatistics() {
+		ConcurrentMapCache cache = new ConcurrentMapCache(CACHE_NAME, this.nativeCache, true, null, true);
+		String key = createRandomKey();
+		assertThat(cache.get(key)).isNull();
+		assertThat(cache.get(key, () -> "value")).isEqualTo("value");
+		assertThat(cache.get(key, () -> "other")).isEqualTo("value");
+		assertThatExceptionOfType(Cache.ValueRetrievalException.class).isThrownBy(() ->
+				cache.get(createRandomKey(), () -> {
+					throw new IllegalStateException("Expected failure");
+				}));
+
+		CacheStatistics statistics = cache.getStatistics();
+		assertThat(statistics.getHitCount()).isEqualTo(1);
+		assertThat(statistics.getMissCount()).isEqualTo(3);
+		assertThat(statistics.getLoadSuccessCount()).isEqualTo(1);
+		assertThat(statistics.getLoadFailureCount()).isEqualTo(1);
+		assertThat(statistics.getTotalLoadTime()).isNotNegative();
+		assertThat(statistics.getEvictionCount()).isZero();
+		assertThat(this.cache.getStatistics()).isNull();
+	}
+
 
 	private ConcurrentMapCache createCacheWithStoreByValue() {
 		return new ConcurrentMapCache(CACHE_NAME, this.nativeCache, true,
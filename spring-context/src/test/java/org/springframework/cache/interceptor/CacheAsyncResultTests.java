@@ -0,0 +1,308 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.Nullable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for caching the resolved value of {@link CompletableFuture} and
+ * reactive return types, depending on {@link Cache#isRetrieveSupported()}.
+ *
+ * @author agent
+ */
+public class CacheAsyncResultTests {
+
+	private ConfigurableApplicationContext context;
+
+	private CacheManager cacheManager;
+
+	private AsyncService service;
+
+	@BeforeEach
+	public void setUp() {
+		this.context = new AnnotationConfigApplicationContext(Config.class);
+		this.cacheManager = this.context.getBean(CacheManager.class);
+		this.service = this.context.getBean(AsyncService.class);
+	}
+
+	@AfterEach
+	public void closeContext() {
+		if (this.context != null) {
+			this.context.close();
+		}
+	}
+
+	@Test
+	public void completableFuture() {
+		assertThat(this.service.future("key").join()).isEqualTo(0L);
+		assertThat(this.service.future("key").join()).isEqualTo(0L);
+		assertThat(this.service.future("other").join()).isEqualTo(1L);
+		assertThat(cachedValue("cache", "key")).isEqualTo(0L);
+	}
+
+	@Test
+	public void completableFutureWithFailure() {
+		assertThat(this.service.failingFuture("key")).isCompletedExceptionally();
+		assertThat(this.cacheManager.getCache("cache").get("key")).isNull();
+	}
+
+	@Test
+	public void mono() {
+		assertThat(this.service.mono("key").block()).isEqualTo(0L);
+		assertThat(this.service.mono("key").block()).isEqualTo(0L);
+		assertThat(this.service.counter.get()).isEqualTo(1L);
+		assertThat(cachedValue("cache", "key")).isEqualTo(0L);
+	}
+
+	@Test
+	public void flux() {
+		assertThat(this.service.flux("key").collectList().block()).containsExactly(0L, 1L);
+		assertThat(this.service.flux("key").collectList().block()).containsExactly(0L, 1L);
+		assertThat(this.service.counter.get()).isEqualTo(2L);
+		assertThat(cachedValue("cache", "key")).isEqualTo(Arrays.asList(0L, 1L));
+	}
+
+	@Test
+	public void unlessEvaluatedAgainstResolvedValue() {
+		assertThat(this.service.unlessZero("key").join()).isEqualTo(0L);
+		assertThat(this.cacheManager.getCache("cache").get("key")).isNull();
+		assertThat(this.service.unlessZero("key").join()).isEqualTo(1L);
+		assertThat(this.service.unlessZero("key").join()).isEqualTo(1L);
+		assertThat(cachedValue("cache", "key")).isEqualTo(1L);
+	}
+
+	@Test
+	public void syncCompletableFuture() {
+		assertThat(this.service.syncFuture("key").join()).isEqualTo(0L);
+		assertThat(this.service.syncFuture("key").join()).isEqualTo(0L);
+		assertThat(cachedValue("cache", "key")).isEqualTo(0L);
+	}
+
+	@Test
+	public void syncMono() {
+		assertThat(this.service.syncMono("key").block()).isEqualTo(0L);
+		assertThat(this.service.syncMono("key").block()).isEqualTo(0L);
+		assertThat(cachedValue("cache", "key")).isEqualTo(0L);
+	}
+
+	@Test
+	public void putFailureNotPropagated() {
+		assertThat(this.service.failingPut("key").join()).isEqualTo(0L);
+		assertThat(this.service.failingPutMono("key").block()).isEqualTo(1L);
+	}
+
+	@Test
+	public void completableFutureWithoutRetrieveSupport() {
+		CompletableFuture<Long> future = this.service.legacyFuture("key");
+		assertThat(this.service.legacyFuture("key")).isSameAs(future);
+		assertThat(cachedValue("legacy", "key")).isSameAs(future);
+	}
+
+	@Test
+	public void syncCompletableFutureWithoutRetrieveSupport() {
+		CompletableFuture<Long> future = this.service.legacySyncFuture("key");
+		assertThat(this.service.legacySyncFuture("key")).isSameAs(future);
+		assertThat(cachedValue("legacy", "key")).isSameAs(future);
+	}
+
+	@Test
+	public void syncMonoWithoutRetrieveSupport() {
+		Mono<Long> mono = this.service.legacySyncMono("key");
+		assertThat(this.service.legacySyncMono("key")).isSameAs(mono);
+		assertThat(cachedValue("legacy", "key")).isSameAs(mono);
+	}
+
+	@Nullable
+	private Object cachedValue(String cacheName, Object key) {
+		Cache.ValueWrapper wrapper = this.cacheManager.getCache(cacheName).get(key);
+		assertThat(wrapper).isNotNull();
+		return wrapper.get();
+	}
+
+
+	static class AsyncService {
+
+		final AtomicLong counter = new AtomicLong();
+
+		@Cacheable("cache")
+		public CompletableFuture<Long> future(Object key) {
+			return CompletableFuture.completedFuture(this.counter.getAndIncrement());
+		}
+
+		@Cacheable("cache")
+		public CompletableFuture<Long> failingFuture(Object key) {
+			return CompletableFuture.failedFuture(new IllegalStateException("failure"));
+		}
+
+		@Cacheable("cache")
+		public Mono<Long> mono(Object key) {
+			return Mono.fromSupplier(this.counter::getAndIncrement);
+		}
+
+		@Cacheable("cache")
+		public Flux<Long> flux(Object key) {
+			return Flux.defer(() -> Flux.just(this.counter.getAndIncrement(), this.counter.getAndIncrement()));
+		}
+
+		@Cacheable(cacheNames = "cache", unless = "#result == 0")
+		public CompletableFuture<Long> unlessZero(Object key) {
+			return CompletableFuture.completedFuture(this.counter.getAndIncrement());
+		}
+
+		@Cacheable(cacheNames = "cache", sync = true)
+		public CompletableFuture<Long> syncFuture(Object key) {
+			return CompletableFuture.completedFuture(this.counter.getAndIncrement());
+		}
+
+		@Cacheable(cacheNames = "cache", sync = true)
+		public Mono<Long> syncMono(Object key) {
+			return Mono.fromSupplier(this.counter::getAndIncrement);
+		}
+
+		@Cacheable("failingPut")
+		public CompletableFuture<Long> failingPut(Object key) {
+			return CompletableFuture.completedFuture(this.counter.getAndIncrement());
+		}
+
+		@Cacheable("failingPut")
+		public Mono<Long> failingPutMono(Object key) {
+			return Mono.fromSupplier(this.counter::getAndIncrement);
+		}
+
+		@Cacheable("legacy")
+		public CompletableFuture<Long> legacyFuture(Object key) {
+			return CompletableFuture.completedFuture(this.counter.getAndIncrement());
+		}
+
+		@Cacheable(cacheNames = "legacy", sync = true)
+		public CompletableFuture<Long> legacySyncFuture(Object key) {
+			return CompletableFuture.completedFuture(this.counter.getAndIncrement());
+		}
+
+		@Cacheable(cacheNames = "legacy", sync = true)
+		public Mono<Long> legacySyncMono(Object key) {
+			return Mono.fromSupplier(this.counter::getAndIncrement);
+		}
+	}
+
+
+	/**
+	 * Cache that does not support {@code CompletableFuture}-based retrieval.
+	 */
+	static class LegacyCache implements Cache {
+
+		private final ConcurrentMapCache delegate;
+
+		LegacyCache(String name) {
+			this.delegate = new ConcurrentMapCache(name);
+		}
+
+		@Override
+		public String getName() {
+			return this.delegate.getName();
+		}
+
+		@Override
+		public Object getNativeCache() {
+			return this.delegate.getNativeCache();
+		}
+
+		@Override
+		@Nullable
+		public ValueWrapper get(Object key) {
+			return this.delegate.get(key);
+		}
+
+		@Override
+		@Nullable
+		public <T> T get(Object key, @Nullable Class<T> type) {
+			return this.delegate.get(key, type);
+		}
+
+		@Override
+		@Nullable
+		public <T> T get(Object key, Callable<T> valueLoader) {
+			return this.delegate.get(key, valueLoader);
+		}
+
+		@Override
+		public void put(Object key, @Nullable Object value) {
+			this.delegate.put(key, value);
+		}
+
+		@Override
+		public void evict(Object key) {
+			this.delegate.evict(key);
+		}
+
+		@Override
+		public void clear() {
+			this.delegate.clear();
+		}
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class Config implements CachingConfigurer {
+
+		@Override
+		@Bean
+		public CacheManager cacheManager() {
+			SimpleCacheManager cacheManager = new SimpleCacheManager();
+			Cache failingPutCache = new ConcurrentMapCache("failingPut") {
+				@Override
+				public void put(Object key, @Nullable Object value) {
+					throw new IllegalStateException("put failure");
+				}
+			};
+			cacheManager.setCaches(List.of(new ConcurrentMapCache("cache"), new LegacyCache("legacy"), failingPutCache));
+			return cacheManager;
+		}
+
+		@Bean
+		public AsyncService asyncService() {
+			return new AsyncService();
+		}
+	}
+
+}
@@ -33,6 +33,9 @@ import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.context.expression.AnnotatedElementKey;
 import org.springframework.context.support.StaticApplicationContext;
 import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.util.ReflectionUtils;
 
@@ -136,6 +139,35 @@ public class ExpressionEvaluatorTests {
 		assertThat(value).isEqualTo(String.class.getName());
 	}
 
+	@Test
+	public void compiledExpressionsKeepTheirResults() {
+		SpelExpressionParser parser = new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.MIXED, null));
+		CacheOperationExpressionEvaluator eval = new CacheOperationExpressionEvaluator(parser);
+		Method method = ReflectionUtils.findMethod(
+				AnnotatedClass.class, "multipleCaching", Object.class, Object.class);
+		AnnotatedElementKey key = new AnnotatedElementKey(method, AnnotatedClass.class);
+		Collection<ConcurrentMapCache> caches = Collections.singleton(new ConcurrentMapCache("test"));
+
+		// Beyond the number of interpreted evaluations after which SpEL compiles an expression
+		for (int i = 0; i < 300; i++) {
+			Object[] args = new Object[] {"a" + i, (i % 2 == 0 ? "b" : "bb")};
+			EvaluationContext evalCtx = eval.createEvaluationContext(caches, method, args,
+					new AnnotatedClass(), AnnotatedClass.class, method, "result" + i, null);
+			assertThat(eval.key("#a", key, evalCtx)).isEqualTo(args[0]);
+			assertThat(eval.condition("#b.length() == 2", key, evalCtx)).isEqualTo(i % 2 != 0);
+			assertThat(eval.unless("#result.length() < 8", key, evalCtx)).isEqualTo(i < 10);
+		}
+
+		EvaluationContext evalCtx = eval.createEvaluationContext(caches, method, new Object[] {"a", "bb"},
+				new AnnotatedClass(), AnnotatedClass.class, method, "result", null);
+		for (String expression : new String[] {"#a", "#b.length() == 2", "#result.length() < 8"}) {
+			SpelExpression spelExpression = (SpelExpression) parser.parseExpression(expression);
+			Object interpretedValue = spelExpression.getValue(evalCtx);
+			assertThat(spelExpression.compileExpression()).as(expression).isTrue();
+			assertThat(spelExpression.getValue(evalCtx)).as(expression).isEqualTo(interpretedValue);
+		}
+	}
+
 	private EvaluationContext createEvaluationContext(Object result) {
 		return createEvaluationContext(result, null);
 	}
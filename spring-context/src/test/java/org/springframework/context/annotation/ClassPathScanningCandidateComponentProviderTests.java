@@ -18,6 +18,7 @@ package org.springframework.context.annotation;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
+import java.util.List;
 import java.util.Set;
 import java.util.regex.Pattern;
 
@@ -89,6 +90,30 @@ class ClassPathScanningCandidateComponentProviderTests {
 		testDefault(provider);
 	}
 
+	@Test
+	void defaultsWithParallelScan() {
+		ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(true);
+		provider.setResourceLoader(new DefaultResourceLoader(
+				CandidateComponentsTestClassLoader.disableIndex(getClass().getClassLoader())));
+		provider.setParallelScanning(true);
+		testDefault(provider);
+	}
+
+	@Test
+	void parallelScanKeepsResourceOrder() {
+		ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(true);
+		provider.setResourceLoader(new DefaultResourceLoader(
+				CandidateComponentsTestClassLoader.disableIndex(getClass().getClassLoader())));
+		List<String> expected = provider.findCandidateComponents(TEST_BASE_PACKAGE).stream()
+				.map(BeanDefinition::getBeanClassName).toList();
+
+		provider.setParallelScanning(true);
+		provider.clearCache();
+		List<String> actual = provider.findCandidateComponents(TEST_BASE_PACKAGE).stream()
+				.map(BeanDefinition::getBeanClassName).toList();
+		assertThat(actual).isEqualTo(expected);
+	}
+
 	private void testDefault(ClassPathScanningCandidateComponentProvider provider) {
 		Set<BeanDefinition> candidates = provider.findCandidateComponents(TEST_BASE_PACKAGE);
 		assertThat(containsBeanClass(candidates, DefaultNamedComponent.class)).isTrue();
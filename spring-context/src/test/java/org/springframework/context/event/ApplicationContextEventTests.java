@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.aopalliance.intercept.MethodInvocation;
 import org.junit.jupiter.api.Test;
@@ -180,6 +181,153 @@ public class ApplicationContextEventTests extends AbstractApplicationEventListen
 		smc.multicastEvent(evt);
 	}
 
+	@Test
+	public void simpleApplicationEventMulticasterWithListenerQueue() {
+		MyOrderedListener1 listener1 = new MyOrderedListener1();
+		MyOrderedListener3 listener2 = new MyOrderedListener3();
+		List<Runnable> tasks = new ArrayList<>();
+
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.setTaskExecutor(tasks::add);
+		smc.setListenerQueueCapacity(Integer.MAX_VALUE);
+		smc.addApplicationListener(listener1);
+		smc.addApplicationListener(listener2);
+
+		List<ApplicationEvent> events = new ArrayList<>();
+		for (int i = 0; i < 300; i++) {
+			events.add(i % 2 == 0 ? new MyEvent(this) : new MyOtherEvent(this));
+			smc.multicastEvent(events.get(i));
+		}
+		assertThat(tasks).hasSize(2);
+		assertThat(listener1.seenEvents).isEmpty();
+
+		while (!tasks.isEmpty()) {
+			tasks.remove(0).run();
+		}
+		assertThat(listener1.seenEvents).isEqualTo(events);
+		assertThat(listener2.seenEvents).hasSize(300);
+		assertThat(smc.listenerQueues).isEmpty();
+	}
+
+	@Test
+	public void simpleApplicationEventMulticasterWithListenerQueueAndRejectingExecutor() {
+		MyOrderedListener1 listener = new MyOrderedListener1();
+
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.setTaskExecutor(command -> {
+			throw new RejectedExecutionException();
+		});
+		smc.setListenerQueueCapacity(1);
+		smc.addApplicationListener(listener);
+
+		MyEvent event1 = new MyEvent(this);
+		MyEvent event2 = new MyEvent(this);
+		smc.multicastEvent(event1);
+		smc.multicastEvent(event2);
+		assertThat(listener.seenEvents).containsExactly(event1, event2);
+		assertThat(smc.listenerQueues).isEmpty();
+	}
+
+	@Test
+	public void simpleApplicationEventMulticasterWithListenerQueueAndSelfPublishingListener() {
+		List<Runnable> tasks = new ArrayList<>();
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.setTaskExecutor(tasks::add);
+		smc.setListenerQueueCapacity(1);
+		List<ApplicationEvent> seenEvents = addSelfPublishingListener(smc);
+
+		MyEvent event = new MyEvent(this);
+		smc.multicastEvent(event);
+		assertThat(tasks).hasSize(1);
+		while (!tasks.isEmpty()) {
+			tasks.remove(0).run();
+		}
+		assertThat(seenEvents).hasSize(3).startsWith(event);
+		assertThat(smc.listenerQueues).isEmpty();
+	}
+
+	@Test
+	public void simpleApplicationEventMulticasterWithListenerQueueAndRejectingExecutorAndSelfPublishingListener() {
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.setTaskExecutor(command -> {
+			throw new RejectedExecutionException();
+		});
+		smc.setListenerQueueCapacity(1);
+		List<ApplicationEvent> seenEvents = addSelfPublishingListener(smc);
+
+		MyEvent event = new MyEvent(this);
+		smc.multicastEvent(event);
+		assertThat(seenEvents).hasSize(3).startsWith(event);
+		assertThat(smc.listenerQueues).isEmpty();
+	}
+
+	private List<ApplicationEvent> addSelfPublishingListener(SimpleApplicationEventMulticaster smc) {
+		List<ApplicationEvent> seenEvents = new ArrayList<>();
+		ApplicationListener<ApplicationEvent> listener = event -> {
+			seenEvents.add(event);
+			if (seenEvents.size() == 1) {
+				// More events than the queue capacity, published from the dispatching thread
+				smc.multicastEvent(new MyOtherEvent(this));
+				smc.multicastEvent(new MyOtherEvent(this));
+			}
+		};
+		smc.addApplicationListener(listener);
+		return seenEvents;
+	}
+
+	@Test
+	public void simpleApplicationEventMulticasterWithListenerQueueAndException() {
+		@SuppressWarnings("unchecked")
+		ApplicationListener<ApplicationEvent> listener = mock(ApplicationListener.class);
+		ApplicationEvent evt1 = new ContextClosedEvent(new StaticApplicationContext());
+		ApplicationEvent evt2 = new ContextClosedEvent(new StaticApplicationContext());
+		List<Runnable> tasks = new ArrayList<>();
+
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.setTaskExecutor(tasks::add);
+		smc.setListenerQueueCapacity(10);
+		smc.addApplicationListener(listener);
+
+		RuntimeException thrown = new RuntimeException();
+		willThrow(thrown).given(listener).onApplicationEvent(evt1);
+		smc.multicastEvent(evt1);
+		smc.multicastEvent(evt2);
+		assertThatRuntimeException()
+				.isThrownBy(() -> tasks.remove(0).run())
+				.satisfies(ex -> assertThat(ex).isSameAs(thrown));
+		assertThat(tasks).hasSize(1);
+		tasks.remove(0).run();
+		verify(listener).onApplicationEvent(evt2);
+		assertThat(smc.listenerQueues).isEmpty();
+	}
+
+	@Test
+	public void listenerRegistrationKeepsUnrelatedRetrievers() {
+		MyOrderedListener1 listener1 = new MyOrderedListener1();
+		MyOrderedListener2 listener2 = new MyOrderedListener2(listener1);
+
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.addApplicationListener(listener1);
+		smc.multicastEvent(new MyEvent(this));
+		smc.multicastEvent(new MyOtherEvent(this));
+		assertThat(smc.retrieverCache).hasSize(2);
+
+		smc.addApplicationListener(listener2);
+		assertThat(smc.retrieverCache).hasSize(2);
+		MyEvent event = new MyEvent(this);
+		assertThat(smc.getApplicationListeners(event, ResolvableType.forInstance(event)))
+				.containsExactly(listener1, listener2);
+		MyOtherEvent otherEvent = new MyOtherEvent(this);
+		assertThat(smc.getApplicationListeners(otherEvent, ResolvableType.forInstance(otherEvent)))
+				.containsExactly(listener1);
+
+		smc.removeApplicationListener(listener1);
+		assertThat(smc.retrieverCache).hasSize(2);
+		assertThat(smc.getApplicationListeners(event, ResolvableType.forInstance(event)))
+				.containsExactly(listener2);
+		assertThat(smc.getApplicationListeners(otherEvent, ResolvableType.forInstance(otherEvent))).isEmpty();
+	}
+
 	@Test
 	public void orderedListeners() {
 		MyOrderedListener1 listener1 = new MyOrderedListener1();
@@ -297,8 +445,9 @@ public class ApplicationContextEventTests extends AbstractApplicationEventListen
 		assertThat(listener1.seenEvents.contains(event3)).isTrue();
 		assertThat(listener1.seenEvents.contains(event4)).isTrue();
 
+		// Retriever for ContextRefreshedEvent kept on lazy registration of listener2
 		AbstractApplicationEventMulticaster multicaster = context.getBean(AbstractApplicationEventMulticaster.class);
-		assertThat(multicaster.retrieverCache.size()).isEqualTo(2);
+		assertThat(multicaster.retrieverCache.size()).isEqualTo(3);
 
 		context.close();
 	}
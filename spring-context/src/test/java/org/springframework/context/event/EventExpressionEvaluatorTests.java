@@ -0,0 +1,73 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.expression.AnnotatedElementKey;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.util.ReflectionUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link EventExpressionEvaluator}.
+ *
+ * @author agent
+ */
+class EventExpressionEvaluatorTests {
+
+	@Test
+	void conditionWithDefaultParser() {
+		EventExpressionEvaluator eval = new EventExpressionEvaluator();
+		assertThat(evaluateCondition(eval, "foo")).isTrue();
+		assertThat(evaluateCondition(eval, "bar")).isFalse();
+	}
+
+	@Test
+	void compiledConditionKeepsItsResult() {
+		EventExpressionEvaluator eval = new EventExpressionEvaluator(
+				new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.MIXED, null)));
+
+		// Beyond the number of interpreted evaluations after which SpEL compiles an expression
+		for (int i = 0; i < 300; i++) {
+			String payload = (i % 2 == 0 ? "foo" : "bar");
+			assertThat(evaluateCondition(eval, payload)).as(payload + i).isEqualTo(i % 2 == 0);
+		}
+	}
+
+	private boolean evaluateCondition(EventExpressionEvaluator eval, String payload) {
+		Method method = ReflectionUtils.findMethod(SampleListener.class, "handle", String.class);
+		AnnotatedElementKey methodKey = new AnnotatedElementKey(method, SampleListener.class);
+		return eval.condition("#p0 == 'foo'", new PayloadApplicationEvent<>(this, payload),
+				method, methodKey, new Object[] {payload}, null);
+	}
+
+
+	static class SampleListener {
+
+		@EventListener(condition = "#p0 == 'foo'")
+		public void handle(String payload) {
+		}
+	}
+
+}
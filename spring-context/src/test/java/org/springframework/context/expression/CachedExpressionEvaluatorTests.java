@@ -24,6 +24,8 @@ import org.junit.jupiter.api.Test;
 
 import org.springframework.expression.Expression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.util.ConcurrentLruCache;
 import org.springframework.util.ReflectionUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -67,6 +69,37 @@ public class CachedExpressionEvaluatorTests {
 		assertThat(expressionEvaluator.testCache.size()).as("Cached expression should be based on type").isEqualTo(2);
 	}
 
+	@Test
+	public void cacheExpressionInBoundedCache() {
+		Method method = ReflectionUtils.findMethod(getClass(), "toString");
+		Expression expression = expressionEvaluator.getBoundedTestExpression("true", method, getClass());
+		assertThat(expressionEvaluator.getBoundedTestExpression("true", method, getClass())).isSameAs(expression);
+		hasParsedExpression("true");
+		assertThat(expressionEvaluator.boundedTestCache.size()).as("Only one expression should be in cache").isEqualTo(1);
+
+		expressionEvaluator.getBoundedTestExpression("false", method, getClass());
+		expressionEvaluator.getBoundedTestExpression("1 > 0", method, getClass());
+		assertThat(expressionEvaluator.boundedTestCache.size()).as("Cache should be bounded").isEqualTo(2);
+	}
+
+	@Test
+	public void resolveParameterNamesOnce() {
+		Method method = ReflectionUtils.findMethod(getClass(), "hasParsedExpression", String.class);
+		String[] parameterNames = expressionEvaluator.getParameterNameDiscoverer().getParameterNames(method);
+		assertThat(parameterNames).containsExactly("expression");
+		assertThat(expressionEvaluator.getParameterNameDiscoverer().getParameterNames(method)).isSameAs(parameterNames);
+	}
+
+	@Test
+	public void applySharedDelegates() {
+		StandardEvaluationContext context1 = new StandardEvaluationContext();
+		StandardEvaluationContext context2 = new StandardEvaluationContext();
+		expressionEvaluator.applySharedDelegates(context1);
+		expressionEvaluator.applySharedDelegates(context2);
+		assertThat(context1.getPropertyAccessors()).isEqualTo(context2.getPropertyAccessors());
+		assertThat(context1.getMethodResolvers()).isEqualTo(context2.getMethodResolvers());
+	}
+
 	private void hasParsedExpression(String expression) {
 		verify(expressionEvaluator.getParser(), times(1)).parseExpression(expression);
 	}
@@ -75,6 +108,8 @@ public class CachedExpressionEvaluatorTests {
 
 		private final Map<ExpressionKey, Expression> testCache = new ConcurrentHashMap<>();
 
+		private final ConcurrentLruCache<ExpressionKey, Expression> boundedTestCache = createExpressionCache(2);
+
 		public TestExpressionEvaluator() {
 			super(mockSpelExpressionParser());
 		}
@@ -83,6 +118,10 @@ public class CachedExpressionEvaluatorTests {
 			return getExpression(this.testCache, new AnnotatedElementKey(method, type), expression);
 		}
 
+		public Expression getBoundedTestExpression(String expression, Method method, Class<?> type) {
+			return getExpression(this.boundedTestCache, new AnnotatedElementKey(method, type), expression);
+		}
+
 		private static SpelExpressionParser mockSpelExpressionParser() {
 			SpelExpressionParser parser = new SpelExpressionParser();
 			return spy(parser);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -39,6 +40,10 @@ import org.springframework.util.CollectionUtils;
 /**
  * Benchmarks for {@link GenericConversionService}.
  *
+ * <p>Scalar conversions are best run with the GC profiler ({@code -prof gc})
+ * in order to compare allocation rates per conversion between conversions by
+ * class and conversions by type descriptor.
+ *
  * @author Brian Clozel
  */
 @BenchmarkMode(Mode.Throughput)
@@ -101,6 +106,66 @@ public class GenericConversionServiceBenchmark {
 		}
 	}
 
+	@Benchmark
+	public void convertStringToScalarWithClass(ScalarBenchmarkState state, Blackhole bh) {
+		bh.consume(state.conversionService.convert(state.source, state.targetClass));
+	}
+
+	@Benchmark
+	public void convertStringToScalarWithTypeDescriptor(ScalarBenchmarkState state, Blackhole bh) {
+		TypeDescriptor sourceTypeDesc = TypeDescriptor.forObject(state.source);
+		bh.consume(state.conversionService.convert(state.source, sourceTypeDesc, state.targetTypeDesc));
+	}
+
+	@Benchmark
+	public void convertStringToScalarBaseline(ScalarBenchmarkState state, Blackhole bh) {
+		switch (state.targetType) {
+			case "int" -> bh.consume(Integer.parseInt(state.source));
+			case "long" -> bh.consume(Long.parseLong(state.source));
+			case "boolean" -> bh.consume(Boolean.parseBoolean(state.source));
+			default -> bh.consume(TimeUnit.valueOf(state.source));
+		}
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class ScalarBenchmarkState {
+
+		GenericConversionService conversionService = new DefaultConversionService();
+
+		@Param({"int", "long", "boolean", "enum"})
+		String targetType;
+
+		String source;
+
+		Class<?> targetClass;
+
+		TypeDescriptor targetTypeDesc;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			switch (this.targetType) {
+				case "int" -> {
+					this.source = "1234";
+					this.targetClass = int.class;
+				}
+				case "long" -> {
+					this.source = "1234567890123";
+					this.targetClass = long.class;
+				}
+				case "boolean" -> {
+					this.source = "true";
+					this.targetClass = boolean.class;
+				}
+				default -> {
+					this.source = "SECONDS";
+					this.targetClass = TimeUnit.class;
+				}
+			}
+			this.targetTypeDesc = TypeDescriptor.valueOf(this.targetClass);
+		}
+	}
+
 
 	@State(Scope.Benchmark)
 	public static class BenchmarkState {
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.core.observation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for the overhead of observing an operation with the default no-op
+ * {@link ObservationRecorder} and with a recording one, compared to no observation.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class ObservationRecorderBenchmark {
+
+	@Benchmark
+	public void baseline(BenchmarkData data, Blackhole bh) {
+		bh.consume(data.operation());
+	}
+
+	@Benchmark
+	public void observed(BenchmarkData data, Blackhole bh) {
+		Observation observation = data.recorder.start("benchmark.operation");
+		if (data.recorder.isEnabled()) {
+			observation.tag("operation", data.operationName);
+		}
+		try {
+			bh.consume(data.operation());
+		}
+		finally {
+			observation.stop();
+		}
+	}
+
+
+	@State(Scope.Thread)
+	public static class BenchmarkData {
+
+		@Param({"noop", "inMemory"})
+		public String recorderType;
+
+		public String operationName = "select";
+
+		public ObservationRecorder recorder;
+
+		private int counter;
+
+		@Setup(Level.Iteration)
+		public void setup() {
+			this.recorder = (this.recorderType.equals("noop") ?
+					ObservationRecorder.DEFAULT : new InMemoryObservationRecorder());
+		}
+
+		int operation() {
+			return ++this.counter;
+		}
+	}
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.task;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.util.CustomizableThreadCreator;
+
+/**
+ * Benchmarks for {@link SimpleAsyncTaskExecutor} running tasks that block
+ * (simulating JDBC or HTTP calls), with platform or virtual threads and with
+ * or without a concurrency limit.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class SimpleAsyncTaskExecutorBenchmark {
+
+	@Benchmark
+	public void executeBlockingTasks(BenchmarkData data) throws InterruptedException {
+		CountDownLatch latch = new CountDownLatch(data.taskCount);
+		for (int i = 0; i < data.taskCount; i++) {
+			data.executor.execute(() -> {
+				try {
+					Thread.sleep(data.blockingMillis);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				finally {
+					latch.countDown();
+				}
+			});
+		}
+		latch.await();
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkData {
+
+		@Param({"false", "true"})
+		public boolean virtualThreads;
+
+		@Param({"-1", "200"})
+		public int concurrencyLimit;
+
+		@Param({"1000", "10000"})
+		public int taskCount;
+
+		public long blockingMillis = 10;
+
+		public SimpleAsyncTaskExecutor executor;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			if (this.virtualThreads && !CustomizableThreadCreator.isVirtualThreadSupported()) {
+				throw new IllegalStateException("Virtual threads not supported on this JVM");
+			}
+			this.executor = new SimpleAsyncTaskExecutor();
+			this.executor.setVirtualThreads(this.virtualThreads);
+			this.executor.setConcurrencyLimit(this.concurrencyLimit);
+		}
+	}
+
+}
@@ -27,7 +27,6 @@ import java.util.Map;
 
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
-import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
  * Helper class for resolving generic types against type variables.
@@ -45,7 +44,7 @@ public final class GenericTypeResolver {
 
 	/** Cache from Class to TypeVariable Map. */
 	@SuppressWarnings("rawtypes")
-	private static final Map<Class<?>, Map<TypeVariable, Type>> typeVariableCache = new ConcurrentReferenceHashMap<>();
+	private static final Map<Class<?>, Map<TypeVariable, Type>> typeVariableCache = MetadataCaches.createCache();
 
 
 	private GenericTypeResolver() {
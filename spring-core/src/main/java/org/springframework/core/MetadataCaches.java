@@ -0,0 +1,90 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ConcurrentReferenceHashMap.ReferenceType;
+
+/**
+ * Static factory for the reflective metadata caches in the core package,
+ * i.e. the generic type caches behind {@link ResolvableType} and
+ * {@link GenericTypeResolver} as well as the merged annotation caches
+ * behind {@link org.springframework.core.annotation.MergedAnnotations}.
+ *
+ * <p>By default, those caches hold their entries through soft references,
+ * allowing the garbage collector to reclaim them under memory pressure
+ * at the expense of recomputing them on next access. Long-lived servers
+ * with a fixed set of application classes may set the
+ * {@value #STRONG_REFERENCES_PROPERTY_NAME} flag to "true" in order to
+ * retain all entries strongly instead, until explicitly cleared through
+ * {@link ResolvableType#clearCache()} or
+ * {@link org.springframework.core.annotation.AnnotationUtils#clearCache()}.
+ * Note that strongly held entries keep their classes and class loaders
+ * reachable; this mode is therefore not suitable for environments with
+ * hot redeployment of application classes.
+ *
+ * @author agent
+ * @since 6.0
+ * @see SpringProperties
+ */
+public final class MetadataCaches {
+
+	/**
+	 * System property that instructs Spring to hold reflective metadata caches
+	 * with strong references instead of soft references: {@code "spring.metadata.cache.strong"}.
+	 * <p>The default is "false", using soft references. Needs to be set before
+	 * any of the affected classes get initialized, i.e. as a JVM system property
+	 * or in a {@code spring.properties} file at the root of the classpath.
+	 */
+	public static final String STRONG_REFERENCES_PROPERTY_NAME = "spring.metadata.cache.strong";
+
+	private static final ReferenceType referenceType =
+			(SpringProperties.getFlag(STRONG_REFERENCES_PROPERTY_NAME) ? ReferenceType.STRONG : ReferenceType.SOFT);
+
+
+	private MetadataCaches() {
+	}
+
+
+	/**
+	 * Return whether metadata caches are held with strong references.
+	 * @see #STRONG_REFERENCES_PROPERTY_NAME
+	 */
+	public static boolean isStrongReferences() {
+		return (referenceType == ReferenceType.STRONG);
+	}
+
+	/**
+	 * Create a new metadata cache with a default initial capacity.
+	 * @see #createCache(int)
+	 */
+	public static <K, V> ConcurrentReferenceHashMap<K, V> createCache() {
+		return createCache(16);
+	}
+
+	/**
+	 * Create a new metadata cache with the given initial capacity,
+	 * using soft or strong references according to the
+	 * {@value #STRONG_REFERENCES_PROPERTY_NAME} flag.
+	 * @param initialCapacity the initial capacity of the cache
+	 * @return the cache instance
+	 */
+	public static <K, V> ConcurrentReferenceHashMap<K, V> createCache(int initialCapacity) {
+		return new ConcurrentReferenceHashMap<>(initialCapacity, referenceType);
+	}
+
+}
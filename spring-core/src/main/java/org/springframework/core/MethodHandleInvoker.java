@@ -0,0 +1,170 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Direct invoker for a given {@link Method}, backed by a {@link MethodHandle}
+ * that has been adapted once to a generic {@code (Object, Object[])Object}
+ * signature, as an alternative to reflective {@link Method#invoke} calls
+ * on hot invocation paths.
+ *
+ * <p>In contrast to {@link Method#invoke}, exceptions thrown by the target
+ * method are propagated as-is rather than wrapped in an
+ * {@link java.lang.reflect.InvocationTargetException}. An argument array of
+ * the wrong length leads to an {@link IllegalArgumentException}; arguments
+ * of the wrong type lead to a {@link ClassCastException}, or to a
+ * {@link NullPointerException} for {@code null} primitive arguments.
+ * Callers may check {@link #isApplicable} after such a failure in order to
+ * tell an argument mismatch apart from an exception thrown by the method itself.
+ *
+ * <p>Invokers are cached per {@code Method}; see {@link #forMethod(Method)}.
+ *
+ * @author agent
+ * @since 6.0
+ * @see MethodHandles.Lookup#unreflect(Method)
+ */
+public final class MethodHandleInvoker {
+
+	private static final MethodType GENERIC_INVOKER_TYPE =
+			MethodType.methodType(Object.class, Object.class, Object[].class);
+
+	private static final Map<Method, MethodHandleInvoker> invokerCache = new ConcurrentReferenceHashMap<>(256);
+
+
+	private final Method method;
+
+	private final MethodHandle methodHandle;
+
+
+	private MethodHandleInvoker(Method method) {
+		this.method = method;
+		this.methodHandle = adaptMethodHandle(method);
+	}
+
+
+	/**
+	 * Return the target method of this invoker.
+	 */
+	public Method getMethod() {
+		return this.method;
+	}
+
+	/**
+	 * Invoke the target method on the given target object.
+	 * @param target the target object to invoke the method on
+	 * (may be {@code null} for a static method)
+	 * @param args the method arguments, matching the method's parameter count
+	 * @return the invocation result, or {@code null} for a {@code void} method
+	 * @throws Throwable any exception thrown by the target method
+	 */
+	@Nullable
+	public Object invoke(@Nullable Object target, Object... args) throws Throwable {
+		return this.methodHandle.invokeExact(target, args);
+	}
+
+	/**
+	 * Determine whether the given target object and arguments are applicable
+	 * to the target method: that is, whether the target is an instance of the
+	 * declaring class (or {@code null} for a static method), and whether the
+	 * arguments match the method's parameter count and types.
+	 * <p>Typically called after an invocation failed with a
+	 * {@link ClassCastException}, {@link NullPointerException} or
+	 * {@link IllegalArgumentException}: If this method returns {@code false},
+	 * the failure stems from the given target or arguments rather than
+	 * from the target method itself.
+	 * @param target the target object to check
+	 * @param args the arguments to check
+	 */
+	public boolean isApplicable(@Nullable Object target, Object[] args) {
+		if (!Modifier.isStatic(this.method.getModifiers()) &&
+				!this.method.getDeclaringClass().isInstance(target)) {
+			return false;
+		}
+		Class<?>[] parameterTypes = this.method.getParameterTypes();
+		if (args.length != parameterTypes.length) {
+			return false;
+		}
+		for (int i = 0; i < args.length; i++) {
+			if (!ClassUtils.isAssignableValue(parameterTypes[i], args[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return "MethodHandleInvoker for " + this.method.toGenericString();
+	}
+
+
+	/**
+	 * Obtain a (cached) {@code MethodHandleInvoker} for the given method.
+	 * <p>The method is made accessible if necessary, analogous to what
+	 * {@link ReflectionUtils#makeAccessible(Method)} does for reflective calls.
+	 * @param method the method to invoke
+	 * @return the corresponding invoker (never {@code null})
+	 * @throws IllegalStateException if no method handle can be obtained
+	 */
+	public static MethodHandleInvoker forMethod(Method method) {
+		Assert.notNull(method, "Method must not be null");
+		MethodHandleInvoker invoker = invokerCache.get(method);
+		if (invoker == null) {
+			invoker = new MethodHandleInvoker(method);
+			invokerCache.put(method, invoker);
+		}
+		return invoker;
+	}
+
+	/**
+	 * Clear the internal {@code MethodHandleInvoker} cache.
+	 */
+	public static void clearCache() {
+		invokerCache.clear();
+	}
+
+	private static MethodHandle adaptMethodHandle(Method method) {
+		ReflectionUtils.makeAccessible(method);
+		MethodHandle handle;
+		try {
+			handle = MethodHandles.lookup().unreflect(method);
+		}
+		catch (IllegalAccessException ex) {
+			throw new IllegalStateException("Cannot obtain MethodHandle for " + method, ex);
+		}
+		// Varargs methods receive their trailing array like any other argument
+		handle = handle.asFixedArity();
+		if (Modifier.isStatic(method.getModifiers())) {
+			handle = MethodHandles.dropArguments(handle, 0, Object.class);
+		}
+		return handle.asSpreader(Object[].class, method.getParameterCount()).asType(GENERIC_INVOKER_TYPE);
+	}
+
+}
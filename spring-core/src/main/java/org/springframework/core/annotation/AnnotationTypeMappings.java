@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,8 +23,8 @@ import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.core.MetadataCaches;
 import org.springframework.lang.Nullable;
-import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
  * Provides {@link AnnotationTypeMapping} information for a single source
@@ -47,9 +47,9 @@ final class AnnotationTypeMappings {
 
 	private static final IntrospectionFailureLogger failureLogger = IntrospectionFailureLogger.DEBUG;
 
-	private static final Map<AnnotationFilter, Cache> standardRepeatablesCache = new ConcurrentReferenceHashMap<>();
+	private static final Map<AnnotationFilter, Cache> standardRepeatablesCache = MetadataCaches.createCache();
 
-	private static final Map<AnnotationFilter, Cache> noRepeatablesCache = new ConcurrentReferenceHashMap<>();
+	private static final Map<AnnotationFilter, Cache> noRepeatablesCache = MetadataCaches.createCache();
 
 
 	private final RepeatableContainers repeatableContainers;
@@ -229,7 +229,7 @@ final class AnnotationTypeMappings {
 		Cache(RepeatableContainers repeatableContainers, AnnotationFilter filter) {
 			this.repeatableContainers = repeatableContainers;
 			this.filter = filter;
-			this.mappings = new ConcurrentReferenceHashMap<>();
+			this.mappings = MetadataCaches.createCache();
 		}
 
 		/**
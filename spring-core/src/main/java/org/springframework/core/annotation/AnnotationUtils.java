@@ -30,12 +30,12 @@ import java.util.NoSuchElementException;
 import java.util.Set;
 
 import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.MetadataCaches;
 import org.springframework.core.annotation.AnnotationTypeMapping.MirrorSets.MirrorSet;
 import org.springframework.core.annotation.MergedAnnotation.Adapt;
 import org.springframework.core.annotation.MergedAnnotations.SearchStrategy;
 import org.springframework.lang.Nullable;
 import org.springframework.util.CollectionUtils;
-import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
@@ -113,7 +113,7 @@ public abstract class AnnotationUtils {
 			AnnotationFilter.packages("java.lang.annotation");
 
 	private static final Map<Class<? extends Annotation>, Map<String, DefaultValueHolder>> defaultValuesCache =
-			new ConcurrentReferenceHashMap<>();
+			MetadataCaches.createCache();
 
 
 	/**
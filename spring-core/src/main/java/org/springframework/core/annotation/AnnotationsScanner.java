@@ -26,12 +26,12 @@ import java.util.Map;
 import java.util.function.Predicate;
 
 import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.MetadataCaches;
 import org.springframework.core.Ordered;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.MergedAnnotations.Search;
 import org.springframework.core.annotation.MergedAnnotations.SearchStrategy;
 import org.springframework.lang.Nullable;
-import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.ReflectionUtils;
 
@@ -52,10 +52,10 @@ abstract class AnnotationsScanner {
 
 
 	private static final Map<AnnotatedElement, Annotation[]> declaredAnnotationCache =
-			new ConcurrentReferenceHashMap<>(256);
+			MetadataCaches.createCache(256);
 
 	private static final Map<Class<?>, Method[]> baseTypeMethodsCache =
-			new ConcurrentReferenceHashMap<>(256);
+			MetadataCaches.createCache(256);
 
 
 	private AnnotationsScanner() {
@@ -22,9 +22,9 @@ import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Map;
 
+import org.springframework.core.MetadataCaches;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
-import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ReflectionUtils;
 
 /**
@@ -41,7 +41,7 @@ final class AttributeMethods {
 
 
 	private static final Map<Class<? extends Annotation>, AttributeMethods> cache =
-			new ConcurrentReferenceHashMap<>();
+			MetadataCaches.createCache();
 
 	private static final Comparator<Method> methodComparator = (m1, m2) -> {
 		if (m1 != null && m2 != null) {
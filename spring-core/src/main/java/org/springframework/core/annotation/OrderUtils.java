@@ -19,9 +19,9 @@ package org.springframework.core.annotation;
 import java.lang.reflect.AnnotatedElement;
 import java.util.Map;
 
+import org.springframework.core.MetadataCaches;
 import org.springframework.core.annotation.MergedAnnotations.SearchStrategy;
 import org.springframework.lang.Nullable;
-import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
  * General utility for determining the order of an object based on its type declaration.
@@ -41,7 +41,7 @@ public abstract class OrderUtils {
 	private static final String JAVAX_PRIORITY_ANNOTATION = "jakarta.annotation.Priority";
 
 	/** Cache for @Order value (or NOT_ANNOTATED marker) per Class. */
-	private static final Map<AnnotatedElement, Object> orderCache = new ConcurrentReferenceHashMap<>(64);
+	private static final Map<AnnotatedElement, Object> orderCache = MetadataCaches.createCache(64);
 
 
 	/**
@@ -17,6 +17,7 @@
 package org.springframework.core.convert.support;
 
 import java.lang.reflect.Array;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Deque;
@@ -47,6 +48,7 @@ import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -79,6 +81,11 @@ public class GenericConversionService implements ConfigurableConversionService {
 
 	private final Map<ConverterCacheKey, GenericConverter> converterCache = new ConcurrentReferenceHashMap<>(64);
 
+	private final Map<Class<?>, Map<Class<?>, ClassPairConverter>> classPairCache =
+			new ConcurrentReferenceHashMap<>(64);
+
+	private final boolean classPairFastPath = !overridesConversionHooks(getClass());
+
 
 	// ConverterRegistry implementation
 
@@ -172,6 +179,9 @@ public class GenericConversionService implements ConfigurableConversionService {
 	@Nullable
 	public <T> T convert(@Nullable Object source, Class<T> targetType) {
 		Assert.notNull(targetType, "Target type to convert to cannot be null");
+		if (source != null && this.classPairFastPath) {
+			return (T) getClassPairConverter(source.getClass(), targetType).convert(source);
+		}
 		return (T) convert(source, TypeDescriptor.forObject(source), TypeDescriptor.valueOf(targetType));
 	}
 
@@ -303,8 +313,47 @@ public class GenericConversionService implements ConfigurableConversionService {
 		return generics;
 	}
 
+	/**
+	 * Obtain the pre-resolved converter for the given source and target class,
+	 * resolving it through {@link #getConverter} once per class pair and
+	 * reusing the resolved type descriptors for subsequent conversions.
+	 */
+	private ClassPairConverter getClassPairConverter(Class<?> sourceClass, Class<?> targetClass) {
+		Map<Class<?>, ClassPairConverter> sourceCache = this.classPairCache.get(targetClass);
+		if (sourceCache == null) {
+			sourceCache = this.classPairCache.computeIfAbsent(targetClass,
+					key -> new ConcurrentReferenceHashMap<>(16, 1));
+		}
+		ClassPairConverter converter = sourceCache.get(sourceClass);
+		if (converter == null) {
+			TypeDescriptor sourceType = TypeDescriptor.valueOf(sourceClass);
+			TypeDescriptor targetType = TypeDescriptor.valueOf(targetClass);
+			converter = new ClassPairConverter(sourceType, targetType, getConverter(sourceType, targetType));
+			sourceCache.put(sourceClass, converter);
+		}
+		return converter;
+	}
+
 	private void invalidateCache() {
 		this.converterCache.clear();
+		this.classPairCache.clear();
+	}
+
+	/**
+	 * Determine whether the given subclass customizes converter lookup or
+	 * descriptor-based conversion, in which case conversions by class need
+	 * to go through the overridden methods for every call.
+	 */
+	private static boolean overridesConversionHooks(Class<?> clazz) {
+		if (clazz == GenericConversionService.class) {
+			return false;
+		}
+		Method convertMethod = ReflectionUtils.findMethod(
+				clazz, "convert", Object.class, TypeDescriptor.class, TypeDescriptor.class);
+		Method getConverterMethod = ReflectionUtils.findMethod(
+				clazz, "getConverter", TypeDescriptor.class, TypeDescriptor.class);
+		return (convertMethod == null || convertMethod.getDeclaringClass() != GenericConversionService.class ||
+				getConverterMethod == null || getConverterMethod.getDeclaringClass() != GenericConversionService.class);
 	}
 
 	@Nullable
@@ -444,6 +493,69 @@ public class GenericConversionService implements ConfigurableConversionService {
 	}
 
 
+	/**
+	 * Converter pre-resolved for a specific source and target class, holding
+	 * the corresponding type descriptors and, for converters registered as
+	 * {@link Converter} or {@link ConverterFactory}, the target converter to
+	 * invoke directly. Avoids per-call descriptor, cache key and converter
+	 * instances for common conversions such as String to int or enum.
+	 */
+	private final class ClassPairConverter {
+
+		private final TypeDescriptor sourceType;
+
+		private final TypeDescriptor targetType;
+
+		@Nullable
+		private final GenericConverter converter;
+
+		@Nullable
+		private final Converter<Object, Object> directConverter;
+
+		@SuppressWarnings("unchecked")
+		public ClassPairConverter(TypeDescriptor sourceType, TypeDescriptor targetType,
+				@Nullable GenericConverter converter) {
+
+			this.sourceType = sourceType;
+			this.targetType = targetType;
+			this.converter = converter;
+			if (converter instanceof ConverterAdapter adapter) {
+				this.directConverter = adapter.converter;
+			}
+			else if (converter instanceof ConverterFactoryAdapter adapter) {
+				this.directConverter = (Converter<Object, Object>)
+						adapter.converterFactory.getConverter(targetType.getObjectType());
+			}
+			else {
+				this.directConverter = null;
+			}
+		}
+
+		@Nullable
+		public Object convert(Object source) {
+			if (this.converter == null) {
+				return handleConverterNotFound(source, this.sourceType, this.targetType);
+			}
+			Object result;
+			if (this.directConverter != null) {
+				try {
+					result = this.directConverter.convert(source);
+				}
+				catch (ConversionFailedException ex) {
+					throw ex;
+				}
+				catch (Throwable ex) {
+					throw new ConversionFailedException(this.sourceType, this.targetType, source, ex);
+				}
+			}
+			else {
+				result = ConversionUtils.invokeConverter(this.converter, source, this.sourceType, this.targetType);
+			}
+			return handleResult(this.sourceType, this.targetType, result);
+		}
+	}
+
+
 	/**
 	 * Key for use with the converter cache.
 	 */
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.observation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ObservationRecorder} keeping all stopped observations in memory,
+ * mainly intended for tests and local diagnostics.
+ *
+ * <p>Note that observations are retained until {@link #clear() cleared},
+ * so this recorder should not be used for long-running applications.
+ *
+ * @author agent
+ * @since 6.0
+ */
+public class InMemoryObservationRecorder implements ObservationRecorder {
+
+	private final ConcurrentLinkedQueue<RecordedObservation> observations = new ConcurrentLinkedQueue<>();
+
+
+	@Override
+	public Observation start(String name) {
+		Assert.notNull(name, "Name must not be null");
+		return new InMemoryObservation(name, System.nanoTime());
+	}
+
+	/**
+	 * Return all observations stopped so far, in the order they were stopped.
+	 */
+	public List<RecordedObservation> getObservations() {
+		return Collections.unmodifiableList(new ArrayList<>(this.observations));
+	}
+
+	/**
+	 * Return the observations with the given name stopped so far,
+	 * in the order they were stopped.
+	 * @param name the observation name
+	 */
+	public List<RecordedObservation> getObservations(String name) {
+		List<RecordedObservation> result = new ArrayList<>();
+		for (RecordedObservation observation : this.observations) {
+			if (observation.getName().equals(name)) {
+				result.add(observation);
+			}
+		}
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * Remove all observations recorded so far.
+	 */
+	public void clear() {
+		this.observations.clear();
+	}
+
+
+	private class InMemoryObservation implements Observation {
+
+		private final String name;
+
+		private final long startTime;
+
+		private final Map<String, String> tags = new LinkedHashMap<>(4);
+
+		@Nullable
+		private Throwable error;
+
+		private boolean stopped;
+
+		InMemoryObservation(String name, long startTime) {
+			this.name = name;
+			this.startTime = startTime;
+		}
+
+		@Override
+		public synchronized Observation tag(String key, String value) {
+			Assert.state(!this.stopped, "Observation already stopped");
+			this.tags.put(key, value);
+			return this;
+		}
+
+		@Override
+		public synchronized Observation error(Throwable ex) {
+			Assert.state(!this.stopped, "Observation already stopped");
+			this.error = ex;
+			return this;
+		}
+
+		@Override
+		public synchronized void stop() {
+			Assert.state(!this.stopped, "Observation already stopped");
+			this.stopped = true;
+			observations.add(new RecordedObservation(
+					this.name, this.tags, System.nanoTime() - this.startTime, this.error));
+		}
+	}
+
+
+	/**
+	 * A stopped observation, as recorded by {@link InMemoryObservationRecorder}.
+	 */
+	public static final class RecordedObservation {
+
+		private final String name;
+
+		private final Map<String, String> tags;
+
+		private final long duration;
+
+		@Nullable
+		private final Throwable error;
+
+		RecordedObservation(String name, Map<String, String> tags, long duration, @Nullable Throwable error) {
+			this.name = name;
+			this.tags = Collections.unmodifiableMap(new LinkedHashMap<>(tags));
+			this.duration = duration;
+			this.error = error;
+		}
+
+		/**
+		 * Return the name of the observation.
+		 */
+		public String getName() {
+			return this.name;
+		}
+
+		/**
+		 * Return the tags of the observation, in the order they were added.
+		 */
+		public Map<String, String> getTags() {
+			return this.tags;
+		}
+
+		/**
+		 * Return the duration of the observation, in nanoseconds.
+		 */
+		public long getDuration() {
+			return this.duration;
+		}
+
+		/**
+		 * Return the exception recorded for the observation, if any.
+		 */
+		@Nullable
+		public Throwable getError() {
+			return this.error;
+		}
+
+		@Override
+		public String toString() {
+			return "Observation '" + this.name + "' " + this.tags + " took " + this.duration + "ns" +
+					(this.error != null ? " with error " + this.error : "");
+		}
+	}
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.observation;
+
+/**
+ * Default "no op" {@code ObservationRecorder} implementation.
+ *
+ * <p>This variant is designed for minimal overhead and does not record
+ * data, returning a shared {@link Observation} instance.
+ *
+ * @author agent
+ * @since 6.0
+ */
+class NoOpObservationRecorder implements ObservationRecorder {
+
+	private static final NoOpObservation NO_OP_OBSERVATION = new NoOpObservation();
+
+	@Override
+	public Observation start(String name) {
+		return NO_OP_OBSERVATION;
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return false;
+	}
+
+
+	private static class NoOpObservation implements Observation {
+
+		@Override
+		public Observation tag(String key, String value) {
+			return this;
+		}
+
+		@Override
+		public Observation error(Throwable ex) {
+			return this;
+		}
+
+		@Override
+		public void stop() {
+		}
+	}
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.observation;
+
+/**
+ * A single timed operation, started through {@link ObservationRecorder#start(String)}.
+ *
+ * <p>The lifecycle of an {@code Observation} goes as follows:
+ * <ol>
+ * <li>the observation is started by the {@link ObservationRecorder}
+ * <li>we can then attach low-cardinality {@link #tag tags} and an {@link #error error}
+ * <li>we then need to {@link #stop()} the observation, typically in a {@code finally} block
+ * </ol>
+ *
+ * <p>Callers should only pass tag values which are available anyway (e.g. constants
+ * or {@link Enum#name()}), so that no allocations happen if observations are not
+ * recorded. Values that are expensive to compute should only be tagged if the
+ * recorder is {@link ObservationRecorder#isEnabled() enabled}.
+ *
+ * @author agent
+ * @since 6.0
+ */
+public interface Observation {
+
+	/**
+	 * Add a tag to this observation.
+	 * @param key the tag key
+	 * @param value the tag value
+	 * @return this observation, for chaining
+	 */
+	Observation tag(String key, String value);
+
+	/**
+	 * Record the given exception as the outcome of the observed operation.
+	 * @param ex the exception thrown by the observed operation
+	 * @return this observation, for chaining
+	 */
+	Observation error(Throwable ex);
+
+	/**
+	 * Stop this observation and record it, including its duration.
+	 * <p>Once stopped, changes on the observation are not allowed.
+	 */
+	void stop();
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.observation;
+
+/**
+ * Records {@link Observation observations} of framework operations on hot paths,
+ * such as request handling, query execution, transaction demarcation and message
+ * dispatch, for example for deriving latency histograms.
+ *
+ * <p>Components which support observations expose a {@code setObservationRecorder}
+ * method and use the {@linkplain #DEFAULT no-op recorder} by default.
+ * Implementations are expected to be thread-safe.
+ *
+ * @author agent
+ * @since 6.0
+ * @see InMemoryObservationRecorder
+ */
+public interface ObservationRecorder {
+
+	/**
+	 * Default "no op" {@code ObservationRecorder} implementation.
+	 * <p>This variant is designed for minimal overhead and does not record data.
+	 */
+	ObservationRecorder DEFAULT = new NoOpObservationRecorder();
+
+	/**
+	 * Create a new observation and mark its start.
+	 * <p>An observation name describes the observed operation. This technical
+	 * name should be "." namespaced, e.g. {@code "jdbc.query"}.
+	 * @param name the observation name
+	 */
+	Observation start(String name);
+
+	/**
+	 * Return whether this recorder actually records observations.
+	 * <p>Callers may check this for skipping expensive preparation such as
+	 * computing tag values or decorating reactive pipelines.
+	 * <p>The default implementation returns {@code true}.
+	 */
+	default boolean isEnabled() {
+		return true;
+	}
+
+}
@@ -0,0 +1,10 @@
+/**
+ * Lightweight SPI for observing the execution time of framework operations
+ * such as request handling, query execution and message dispatch.
+ */
+@NonNullApi
+@NonNullFields
+package org.springframework.core.observation;
+
+import org.springframework.lang.NonNullApi;
+import org.springframework.lang.NonNullFields;
@@ -38,7 +38,10 @@ import org.springframework.util.concurrent.ListenableFutureTask;
  *
  * <p><b>NOTE: This implementation does not reuse threads!</b> Consider a
  * thread-pooling TaskExecutor implementation instead, in particular for
- * executing a large number of short-lived tasks.
+ * executing a large number of short-lived tasks. Alternatively, switch to
+ * {@link #setVirtualThreads virtual threads} on JDK 21+, which are cheap
+ * enough to be created per task, e.g. for a large number of concurrent tasks
+ * blocking on I/O.
  *
  * @author Juergen Hoeller
  * @since 2.0
@@ -21,16 +21,34 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
 
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.SpringProperties;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
 
 /**
  * Caching implementation of the {@link MetadataReaderFactory} interface,
  * caching a {@link MetadataReader} instance per Spring {@link Resource} handle
  * (i.e. per ".class" file).
  *
+ * <p>The metadata of a ".class" file is read outside of any cache lock, so that
+ * a single factory can be used for reading several resources concurrently.
+ *
+ * <p>Factories created for a {@link ResourceLoader} may share a bounded JVM-wide
+ * cache instead of the cache of the {@link DefaultResourceLoader}, through the
+ * {@value #SHARED_CACHE_LIMIT_PROPERTY_NAME} property. This is mainly useful for
+ * test suites which create many application contexts for the same classpath:
+ * the metadata of each ".class" file is then read only once per JVM.
+ *
+ * <p>A persistent {@link MetadataReaderIndex} may be specified in addition,
+ * allowing for the metadata of unchanged ".class" files to be restored without
+ * parsing them on subsequent runs. The index is {@linkplain MetadataReaderIndex#store()
+ * stored} whenever the cache of this factory gets {@linkplain #clearCache() cleared}.
+ *
  * @author Juergen Hoeller
  * @author Costin Leau
  * @since 2.5
@@ -40,10 +58,34 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 	/** Default maximum number of entries for a local MetadataReader cache: 256. */
 	public static final int DEFAULT_CACHE_LIMIT = 256;
 
+	/**
+	 * System property that specifies the maximum number of entries for a JVM-wide
+	 * MetadataReader cache shared by all factories created for a {@link ResourceLoader}:
+	 * {@value}. The shared cache is disabled by default.
+	 * <p>Can be set as a JVM system property or in a {@code spring.properties} file,
+	 * typically for a test suite. Note that changes to ".class" files are not
+	 * detected once their metadata has been cached.
+	 * @since 6.0
+	 * @see #clearSharedCache()
+	 * @see org.springframework.core.SpringProperties
+	 */
+	public static final String SHARED_CACHE_LIMIT_PROPERTY_NAME = "spring.classreading.shared-cache-limit";
+
+	private static final int sharedCacheLimit = getSharedCacheLimit();
+
+	@Nullable
+	private static final SharedResourceCache sharedCache =
+			(sharedCacheLimit > 0 ? new SharedResourceCache(sharedCacheLimit) : null);
+
+
 	/** MetadataReader cache: either local or shared at the ResourceLoader level. */
 	@Nullable
 	private Map<Resource, MetadataReader> metadataReaderCache;
 
+	/** Persistent metadata index, if any. */
+	@Nullable
+	private MetadataReaderIndex metadataIndex = MetadataReaderIndex.getSharedIndex();
+
 
 	/**
 	 * Create a new CachingMetadataReaderFactory for the default class loader,
@@ -67,13 +109,18 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 	/**
 	 * Create a new CachingMetadataReaderFactory for the given {@link ResourceLoader},
 	 * using a shared resource cache if supported or a local resource cache otherwise.
+	 * <p>If the {@value #SHARED_CACHE_LIMIT_PROPERTY_NAME} property is set,
+	 * the JVM-wide shared cache is used instead.
 	 * @param resourceLoader the Spring ResourceLoader to use
 	 * (also determines the ClassLoader to use)
 	 * @see DefaultResourceLoader#getResourceCache
 	 */
 	public CachingMetadataReaderFactory(@Nullable ResourceLoader resourceLoader) {
 		super(resourceLoader);
-		if (resourceLoader instanceof DefaultResourceLoader defaultResourceLoader) {
+		if (sharedCache != null) {
+			this.metadataReaderCache = sharedCache;
+		}
+		else if (resourceLoader instanceof DefaultResourceLoader defaultResourceLoader) {
 			this.metadataReaderCache = defaultResourceLoader.getResourceCache(MetadataReader.class);
 		}
 		else {
@@ -81,6 +128,18 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 		}
 	}
 
+	private void storeMetadataIndex() {
+		MetadataReaderIndex metadataIndex = this.metadataIndex;
+		if (metadataIndex != null && metadataIndex.hasPendingChanges()) {
+			try {
+				metadataIndex.store();
+			}
+			catch (IOException ex) {
+				LogFactory.getLog(getClass()).warn("Failed to store metadata index", ex);
+			}
+		}
+	}
+
 
 	/**
 	 * Specify the maximum number of entries for the MetadataReader cache.
@@ -112,6 +171,27 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 		}
 	}
 
+	/**
+	 * Specify a persistent index to restore class metadata from, and to record
+	 * newly read class metadata into.
+	 * <p>Default is the {@linkplain MetadataReaderIndex#getSharedIndex() shared index}
+	 * specified through the {@value MetadataReaderIndex#INDEX_LOCATION_PROPERTY_NAME}
+	 * property, if any.
+	 * @since 6.0
+	 */
+	public void setMetadataIndex(@Nullable MetadataReaderIndex metadataIndex) {
+		this.metadataIndex = metadataIndex;
+	}
+
+	/**
+	 * Return the persistent index used by this factory, if any.
+	 * @since 6.0
+	 */
+	@Nullable
+	public MetadataReaderIndex getMetadataIndex() {
+		return this.metadataIndex;
+	}
+
 
 	@Override
 	public MetadataReader getMetadataReader(Resource resource) throws IOException {
@@ -119,30 +199,49 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 			// No synchronization necessary...
 			MetadataReader metadataReader = this.metadataReaderCache.get(resource);
 			if (metadataReader == null) {
-				metadataReader = super.getMetadataReader(resource);
+				metadataReader = readMetadataReader(resource);
 				this.metadataReaderCache.put(resource, metadataReader);
 			}
 			return metadataReader;
 		}
 		else if (this.metadataReaderCache != null) {
-			synchronized (this.metadataReaderCache) {
-				MetadataReader metadataReader = this.metadataReaderCache.get(resource);
-				if (metadataReader == null) {
-					metadataReader = super.getMetadataReader(resource);
-					this.metadataReaderCache.put(resource, metadataReader);
+			Map<Resource, MetadataReader> cache = this.metadataReaderCache;
+			MetadataReader metadataReader;
+			synchronized (cache) {
+				metadataReader = cache.get(resource);
+			}
+			if (metadataReader == null) {
+				// Read outside of the lock, allowing for concurrent reading of other resources
+				metadataReader = readMetadataReader(resource);
+				synchronized (cache) {
+					MetadataReader existing = cache.putIfAbsent(resource, metadataReader);
+					if (existing != null) {
+						metadataReader = existing;
+					}
 				}
-				return metadataReader;
 			}
+			return metadataReader;
 		}
 		else {
-			return super.getMetadataReader(resource);
+			return readMetadataReader(resource);
+		}
+	}
+
+	private MetadataReader readMetadataReader(Resource resource) throws IOException {
+		MetadataReaderIndex metadataIndex = this.metadataIndex;
+		if (metadataIndex != null) {
+			return metadataIndex.getMetadataReader(resource, getResourceLoader().getClassLoader());
 		}
+		return super.getMetadataReader(resource);
 	}
 
 	/**
 	 * Clear the local MetadataReader cache, if any, removing all cached class metadata.
+	 * <p>Also stores the {@linkplain #setMetadataIndex persistent index}, if any,
+	 * including the class metadata read so far.
 	 */
 	public void clearCache() {
+		storeMetadataIndex();
 		if (this.metadataReaderCache instanceof LocalResourceCache) {
 			synchronized (this.metadataReaderCache) {
 				this.metadataReaderCache.clear();
@@ -155,6 +254,25 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 	}
 
 
+	/**
+	 * Clear the JVM-wide shared MetadataReader cache, if enabled.
+	 * @since 6.0
+	 * @see #SHARED_CACHE_LIMIT_PROPERTY_NAME
+	 */
+	public static void clearSharedCache() {
+		if (sharedCache != null) {
+			synchronized (sharedCache) {
+				sharedCache.clear();
+			}
+		}
+	}
+
+	private static int getSharedCacheLimit() {
+		String limit = SpringProperties.getProperty(SHARED_CACHE_LIMIT_PROPERTY_NAME);
+		return (StringUtils.hasText(limit) ? Integer.parseInt(limit.trim()) : 0);
+	}
+
+
 	@SuppressWarnings("serial")
 	private static class LocalResourceCache extends LinkedHashMap<Resource, MetadataReader> {
 
@@ -179,4 +297,25 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 		}
 	}
 
+
+	/**
+	 * Bounded cache shared by all factories created for a {@link ResourceLoader},
+	 * not being cleared along with an individual factory.
+	 */
+	@SuppressWarnings("serial")
+	private static class SharedResourceCache extends LinkedHashMap<Resource, MetadataReader> {
+
+		private final int cacheLimit;
+
+		public SharedResourceCache(int cacheLimit) {
+			super(256, 0.75f, true);
+			this.cacheLimit = cacheLimit;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Resource, MetadataReader> eldest) {
+			return size() > this.cacheLimit;
+		}
+	}
+
 }
@@ -0,0 +1,885 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.asm.AnnotationVisitor;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.SpringAsmInfo;
+import org.springframework.asm.Type;
+import org.springframework.core.SpringProperties;
+import org.springframework.core.annotation.AnnotationFilter;
+import org.springframework.core.io.Resource;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Persistent index of class metadata, allowing a {@link CachingMetadataReaderFactory}
+ * to skip reading ".class" files with ASM on warm restarts.
+ *
+ * <p>For every ".class" file read through ASM, the index records the parts of the
+ * class structure that {@link AnnotationMetadata} is built from: class header,
+ * nesting, methods, and visible annotations. Once {@linkplain #store() stored},
+ * the recorded structure is replayed for the same resource on subsequent runs,
+ * as long as its URL, content length and last-modified timestamp are unchanged.
+ * The index file is read in full when loaded and not kept open, so that it can
+ * be replaced when storing the index again on any platform; records are only
+ * decoded when actually requested.
+ *
+ * <p>The index is opt-in: either set the {@value #INDEX_LOCATION_PROPERTY_NAME}
+ * property to the location of the index file, in which case all factories created
+ * for a {@link org.springframework.core.io.ResourceLoader} share it, or pass an
+ * index to {@link CachingMetadataReaderFactory#setMetadataIndex}. Note that for
+ * classes in jar files, the last-modified timestamp is the one of the jar file.
+ *
+ * @author agent
+ * @since 6.0
+ * @see CachingMetadataReaderFactory#setMetadataIndex
+ */
+public final class MetadataReaderIndex {
+
+	/**
+	 * System property that specifies the location of a metadata index file
+	 * to be shared by all {@link CachingMetadataReaderFactory} instances created
+	 * for a {@link org.springframework.core.io.ResourceLoader}: {@value}.
+	 * <p>Can be set as a JVM system property or in a {@code spring.properties} file.
+	 * The file is created on first use.
+	 * @see org.springframework.core.SpringProperties
+	 */
+	public static final String INDEX_LOCATION_PROPERTY_NAME = "spring.classreading.index-location";
+
+	private static final int MAGIC = 0x53504D49;
+
+	private static final int VERSION = 1;
+
+	private static final byte END = 0;
+
+	private static final byte VISIT = 1;
+
+	private static final byte OUTER_CLASS = 2;
+
+	private static final byte INNER_CLASS = 3;
+
+	private static final byte ANNOTATION = 4;
+
+	private static final byte METHOD = 5;
+
+	private static final byte VALUE = 10;
+
+	private static final byte ENUM = 11;
+
+	private static final byte NESTED_ANNOTATION = 12;
+
+	private static final byte ARRAY = 13;
+
+	private static final Log logger = LogFactory.getLog(MetadataReaderIndex.class);
+
+	@Nullable
+	private static volatile MetadataReaderIndex sharedIndex;
+
+	private static volatile boolean sharedIndexResolved;
+
+
+	private final Path location;
+
+	private final ByteBuffer content;
+
+	private final Map<String, Entry> storedEntries;
+
+	private final Set<String> usedKeys = ConcurrentHashMap.newKeySet();
+
+	private final Map<String, Entry> recordedEntries = new ConcurrentHashMap<>();
+
+	private volatile boolean dirty;
+
+
+	private MetadataReaderIndex(Path location, ByteBuffer content, Map<String, Entry> storedEntries) {
+		this.location = location;
+		this.content = content;
+		this.storedEntries = storedEntries;
+	}
+
+
+	/**
+	 * Return the number of classes in this index, including the ones recorded
+	 * since it has been loaded.
+	 */
+	public int size() {
+		int size = this.recordedEntries.size();
+		for (String key : this.storedEntries.keySet()) {
+			if (!this.recordedEntries.containsKey(key)) {
+				size++;
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Return whether classes have been recorded since this index has been
+	 * loaded or last stored.
+	 */
+	public boolean hasPendingChanges() {
+		return this.dirty;
+	}
+
+	/**
+	 * Store this index to its location if it has pending changes.
+	 * <p>Only the classes which have been requested since this index has been
+	 * loaded are retained, so that classes which are no longer in use do not
+	 * accumulate over time.
+	 * @throws IOException in case of I/O errors
+	 */
+	public synchronized void store() throws IOException {
+		if (!this.dirty) {
+			return;
+		}
+		this.dirty = false;
+		Path directory = this.location.toAbsolutePath().getParent();
+		if (directory != null) {
+			Files.createDirectories(directory);
+		}
+		Path tempFile = Files.createTempFile(directory, this.location.getFileName().toString(), ".tmp");
+		try {
+			try (OutputStream os = Files.newOutputStream(tempFile);
+					DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os))) {
+				Map<String, Entry> entries = new HashMap<>(this.recordedEntries);
+				for (String key : this.usedKeys) {
+					entries.putIfAbsent(key, this.storedEntries.get(key));
+				}
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(entries.size());
+				for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+					writeString(out, entry.getKey());
+					entry.getValue().writeTo(out, this.content);
+				}
+			}
+			Files.move(tempFile, this.location, StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (IOException ex) {
+			this.dirty = true;
+			Files.deleteIfExists(tempFile);
+			throw ex;
+		}
+	}
+
+
+	/**
+	 * Return a {@link MetadataReader} for the given resource, either replayed
+	 * from this index or read through ASM and recorded into this index.
+	 */
+	MetadataReader getMetadataReader(Resource resource, @Nullable ClassLoader classLoader) throws IOException {
+		String key;
+		long contentLength;
+		long lastModified;
+		try {
+			key = resource.getURL().toExternalForm();
+			contentLength = resource.contentLength();
+			lastModified = resource.lastModified();
+		}
+		catch (IOException ex) {
+			// Not identifiable -> no indexing
+			return new SimpleMetadataReader(resource, classLoader);
+		}
+
+		Entry entry = this.recordedEntries.get(key);
+		if (entry == null) {
+			entry = this.storedEntries.get(key);
+		}
+		if (entry != null && entry.matches(contentLength, lastModified)) {
+			try {
+				SimpleAnnotationMetadataReadingVisitor visitor = new SimpleAnnotationMetadataReadingVisitor(classLoader);
+				new Replayer(entry.getRecord(this.content)).replay(visitor);
+				this.usedKeys.add(key);
+				return new SimpleMetadataReader(resource, visitor.getMetadata());
+			}
+			catch (RuntimeException ex) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Ignoring invalid metadata index entry for " + resource, ex);
+				}
+			}
+		}
+
+		SimpleAnnotationMetadataReadingVisitor visitor = new SimpleAnnotationMetadataReadingVisitor(classLoader);
+		Recorder recorder = new Recorder(visitor);
+		SimpleMetadataReader.getClassReader(resource).accept(recorder, SimpleMetadataReader.PARSING_OPTIONS);
+		SimpleMetadataReader metadataReader = new SimpleMetadataReader(resource, visitor.getMetadata());
+		this.recordedEntries.put(key, new Entry(contentLength, lastModified, recorder.toByteArray()));
+		this.dirty = true;
+		return metadataReader;
+	}
+
+
+	/**
+	 * Load the index stored at the given location, or create an empty index
+	 * for that location if no index has been stored there yet or if the stored
+	 * index is unreadable.
+	 * @param location the location of the index file
+	 * @return the index
+	 */
+	public static MetadataReaderIndex load(Path location) {
+		Assert.notNull(location, "Location must not be null");
+		if (Files.isRegularFile(location)) {
+			try {
+				// Not memory-mapped: a mapping would prevent store() from replacing the file on Windows
+				ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(location)).asReadOnlyBuffer();
+				return new MetadataReaderIndex(location, content, readEntries(content));
+			}
+			catch (IOException | RuntimeException ex) {
+				if (logger.isWarnEnabled()) {
+					logger.warn("Ignoring unreadable metadata index at " + location + ": " + ex);
+				}
+			}
+		}
+		return new MetadataReaderIndex(location, ByteBuffer.allocate(0), Collections.emptyMap());
+	}
+
+	/**
+	 * Return the index shared by all {@link CachingMetadataReaderFactory} instances
+	 * created for a {@code ResourceLoader}, as specified through the
+	 * {@value #INDEX_LOCATION_PROPERTY_NAME} property.
+	 * @return the shared index, or {@code null} if none has been specified
+	 */
+	@Nullable
+	public static MetadataReaderIndex getSharedIndex() {
+		if (!sharedIndexResolved) {
+			synchronized (MetadataReaderIndex.class) {
+				if (!sharedIndexResolved) {
+					String location = SpringProperties.getProperty(INDEX_LOCATION_PROPERTY_NAME);
+					if (StringUtils.hasText(location)) {
+						sharedIndex = load(Paths.get(location.trim()));
+					}
+					sharedIndexResolved = true;
+				}
+			}
+		}
+		return sharedIndex;
+	}
+
+	private static Map<String, Entry> readEntries(ByteBuffer content) {
+		ByteBuffer buffer = content.duplicate();
+		if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+			throw new IllegalStateException("Unsupported metadata index format");
+		}
+		int count = buffer.getInt();
+		Map<String, Entry> entries = new HashMap<>(count * 4 / 3 + 1);
+		for (int i = 0; i < count; i++) {
+			String key = readString(buffer);
+			long contentLength = buffer.getLong();
+			long lastModified = buffer.getLong();
+			int length = buffer.getInt();
+			entries.put(key, new Entry(contentLength, lastModified, buffer.position(), length));
+			buffer.position(buffer.position() + length);
+		}
+		return entries;
+	}
+
+	private static void writeString(DataOutputStream out, @Nullable String value) throws IOException {
+		if (value == null) {
+			out.writeInt(-1);
+		}
+		else {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+	}
+
+	@Nullable
+	private static String readString(ByteBuffer buffer) {
+		int length = buffer.getInt();
+		if (length == -1) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+
+	/**
+	 * Index entry for a single class, either recorded in memory
+	 * or stored in the index file.
+	 */
+	private static final class Entry {
+
+		private final long contentLength;
+
+		private final long lastModified;
+
+		@Nullable
+		private final byte[] record;
+
+		private final int offset;
+
+		private final int length;
+
+		Entry(long contentLength, long lastModified, byte[] record) {
+			this.contentLength = contentLength;
+			this.lastModified = lastModified;
+			this.record = record;
+			this.offset = 0;
+			this.length = record.length;
+		}
+
+		Entry(long contentLength, long lastModified, int offset, int length) {
+			this.contentLength = contentLength;
+			this.lastModified = lastModified;
+			this.record = null;
+			this.offset = offset;
+			this.length = length;
+		}
+
+		boolean matches(long contentLength, long lastModified) {
+			return (this.contentLength == contentLength && this.lastModified == lastModified);
+		}
+
+		ByteBuffer getRecord(ByteBuffer content) {
+			if (this.record != null) {
+				return ByteBuffer.wrap(this.record);
+			}
+			return content.duplicate().position(this.offset).limit(this.offset + this.length).slice();
+		}
+
+		void writeTo(DataOutputStream out, ByteBuffer content) throws IOException {
+			out.writeLong(this.contentLength);
+			out.writeLong(this.lastModified);
+			out.writeInt(this.length);
+			if (this.record != null) {
+				out.write(this.record);
+			}
+			else {
+				byte[] bytes = new byte[this.length];
+				content.duplicate().position(this.offset).get(bytes);
+				out.write(bytes);
+			}
+		}
+	}
+
+
+	/**
+	 * {@link ClassVisitor} recording the class structure relevant for
+	 * {@link SimpleAnnotationMetadataReadingVisitor} while delegating to it.
+	 */
+	private static final class Recorder extends ClassVisitor {
+
+		private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+
+		private final DataOutputStream out = new DataOutputStream(this.bytes);
+
+		Recorder(ClassVisitor delegate) {
+			super(SpringAsmInfo.ASM_VERSION, delegate);
+		}
+
+		@Override
+		public void visit(int version, int access, String name, String signature,
+				@Nullable String supername, String[] interfaces) {
+
+			write(VISIT);
+			writeInt(access);
+			write(name);
+			write(supername);
+			writeInt(interfaces.length);
+			for (String element : interfaces) {
+				write(element);
+			}
+			super.visit(version, access, name, signature, supername, interfaces);
+		}
+
+		@Override
+		public void visitOuterClass(String owner, @Nullable String name, @Nullable String descriptor) {
+			write(OUTER_CLASS);
+			write(owner);
+			write(name);
+			write(descriptor);
+			super.visitOuterClass(owner, name, descriptor);
+		}
+
+		@Override
+		public void visitInnerClass(String name, @Nullable String outerName, @Nullable String innerName, int access) {
+			write(INNER_CLASS);
+			write(name);
+			write(outerName);
+			write(innerName);
+			writeInt(access);
+			super.visitInnerClass(name, outerName, innerName, access);
+		}
+
+		@Override
+		@Nullable
+		public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+			AnnotationVisitor delegate = super.visitAnnotation(descriptor, visible);
+			if (!isRecordable(descriptor, visible)) {
+				return delegate;
+			}
+			write(ANNOTATION);
+			write(descriptor);
+			return new RecordingAnnotationVisitor(this, delegate);
+		}
+
+		@Override
+		@Nullable
+		public MethodVisitor visitMethod(int access, String name, String descriptor,
+				String signature, String[] exceptions) {
+
+			MethodVisitor delegate = super.visitMethod(access, name, descriptor, signature, exceptions);
+			if (delegate == null) {
+				return null;
+			}
+			write(METHOD);
+			writeInt(access);
+			write(name);
+			write(descriptor);
+			return new RecordingMethodVisitor(this, delegate);
+		}
+
+		@Override
+		public void visitEnd() {
+			write(END);
+			super.visitEnd();
+		}
+
+		byte[] toByteArray() {
+			return this.bytes.toByteArray();
+		}
+
+		void write(byte value) {
+			try {
+				this.out.writeByte(value);
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		}
+
+		void writeInt(int value) {
+			try {
+				this.out.writeInt(value);
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		}
+
+		void write(@Nullable String value) {
+			try {
+				writeString(this.out, value);
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		}
+
+		void writeValue(Object value) {
+			try {
+				DataOutputStream out = this.out;
+				if (value instanceof String string) {
+					out.writeByte('s');
+					writeString(out, string);
+				}
+				else if (value instanceof Type type) {
+					out.writeByte('T');
+					writeString(out, type.getDescriptor());
+				}
+				else if (value instanceof Integer number) {
+					out.writeByte('I');
+					out.writeInt(number);
+				}
+				else if (value instanceof Boolean bool) {
+					out.writeByte('Z');
+					out.writeBoolean(bool);
+				}
+				else if (value instanceof Long number) {
+					out.writeByte('J');
+					out.writeLong(number);
+				}
+				else if (value instanceof Byte number) {
+					out.writeByte('B');
+					out.writeByte(number);
+				}
+				else if (value instanceof Character character) {
+					out.writeByte('C');
+					out.writeChar(character);
+				}
+				else if (value instanceof Short number) {
+					out.writeByte('S');
+					out.writeShort(number);
+				}
+				else if (value instanceof Float number) {
+					out.writeByte('F');
+					out.writeFloat(number);
+				}
+				else if (value instanceof Double number) {
+					out.writeByte('D');
+					out.writeDouble(number);
+				}
+				else {
+					writePrimitiveArray(out, value);
+				}
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		}
+
+		private static void writePrimitiveArray(DataOutputStream out, Object value) throws IOException {
+			if (value instanceof int[] array) {
+				out.writeByte('i');
+				out.writeInt(array.length);
+				for (int element : array) {
+					out.writeInt(element);
+				}
+			}
+			else if (value instanceof boolean[] array) {
+				out.writeByte('z');
+				out.writeInt(array.length);
+				for (boolean element : array) {
+					out.writeBoolean(element);
+				}
+			}
+			else if (value instanceof long[] array) {
+				out.writeByte('j');
+				out.writeInt(array.length);
+				for (long element : array) {
+					out.writeLong(element);
+				}
+			}
+			else if (value instanceof byte[] array) {
+				out.writeByte('b');
+				out.writeInt(array.length);
+				out.write(array);
+			}
+			else if (value instanceof char[] array) {
+				out.writeByte('c');
+				out.writeInt(array.length);
+				for (char element : array) {
+					out.writeChar(element);
+				}
+			}
+			else if (value instanceof short[] array) {
+				out.writeByte('h');
+				out.writeInt(array.length);
+				for (short element : array) {
+					out.writeShort(element);
+				}
+			}
+			else if (value instanceof float[] array) {
+				out.writeByte('f');
+				out.writeInt(array.length);
+				for (float element : array) {
+					out.writeFloat(element);
+				}
+			}
+			else if (value instanceof double[] array) {
+				out.writeByte('d');
+				out.writeInt(array.length);
+				for (double element : array) {
+					out.writeDouble(element);
+				}
+			}
+			else {
+				throw new IllegalArgumentException("Unsupported annotation attribute value: " + value);
+			}
+		}
+
+		static boolean isRecordable(String descriptor, boolean visible) {
+			return (visible && !AnnotationFilter.PLAIN.matches(Type.getType(descriptor).getClassName()));
+		}
+	}
+
+
+	/**
+	 * {@link MethodVisitor} recording the visible annotations of a method.
+	 */
+	private static final class RecordingMethodVisitor extends MethodVisitor {
+
+		private final Recorder recorder;
+
+		RecordingMethodVisitor(Recorder recorder, MethodVisitor delegate) {
+			super(SpringAsmInfo.ASM_VERSION, delegate);
+			this.recorder = recorder;
+		}
+
+		@Override
+		@Nullable
+		public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+			AnnotationVisitor delegate = super.visitAnnotation(descriptor, visible);
+			if (!Recorder.isRecordable(descriptor, visible)) {
+				return delegate;
+			}
+			this.recorder.write(ANNOTATION);
+			this.recorder.write(descriptor);
+			return new RecordingAnnotationVisitor(this.recorder, delegate);
+		}
+
+		@Override
+		public void visitEnd() {
+			this.recorder.write(END);
+			super.visitEnd();
+		}
+	}
+
+
+	/**
+	 * {@link AnnotationVisitor} recording annotation attributes, including nested
+	 * annotations and arrays, with or without a delegate to forward them to.
+	 */
+	private static final class RecordingAnnotationVisitor extends AnnotationVisitor {
+
+		private final Recorder recorder;
+
+		RecordingAnnotationVisitor(Recorder recorder, @Nullable AnnotationVisitor delegate) {
+			super(SpringAsmInfo.ASM_VERSION, delegate);
+			this.recorder = recorder;
+		}
+
+		@Override
+		public void visit(@Nullable String name, Object value) {
+			this.recorder.write(VALUE);
+			this.recorder.write(name);
+			this.recorder.writeValue(value);
+			super.visit(name, value);
+		}
+
+		@Override
+		public void visitEnum(@Nullable String name, String descriptor, String value) {
+			this.recorder.write(ENUM);
+			this.recorder.write(name);
+			this.recorder.write(descriptor);
+			this.recorder.write(value);
+			super.visitEnum(name, descriptor, value);
+		}
+
+		@Override
+		public AnnotationVisitor visitAnnotation(@Nullable String name, String descriptor) {
+			this.recorder.write(NESTED_ANNOTATION);
+			this.recorder.write(name);
+			this.recorder.write(descriptor);
+			return new RecordingAnnotationVisitor(this.recorder, super.visitAnnotation(name, descriptor));
+		}
+
+		@Override
+		public AnnotationVisitor visitArray(@Nullable String name) {
+			this.recorder.write(ARRAY);
+			this.recorder.write(name);
+			return new RecordingAnnotationVisitor(this.recorder, super.visitArray(name));
+		}
+
+		@Override
+		public void visitEnd() {
+			this.recorder.write(END);
+			super.visitEnd();
+		}
+	}
+
+
+	/**
+	 * Replays a recorded class structure onto a {@link ClassVisitor}.
+	 */
+	private static final class Replayer {
+
+		private final ByteBuffer record;
+
+		Replayer(ByteBuffer record) {
+			this.record = record;
+		}
+
+		void replay(ClassVisitor visitor) {
+			try {
+				byte type;
+				while ((type = this.record.get()) != END) {
+					switch (type) {
+						case VISIT -> {
+							int access = this.record.getInt();
+							String name = readRequiredString();
+							String supername = readString(this.record);
+							String[] interfaces = new String[this.record.getInt()];
+							for (int i = 0; i < interfaces.length; i++) {
+								interfaces[i] = readRequiredString();
+							}
+							visitor.visit(0, access, name, null, supername, interfaces);
+						}
+						case OUTER_CLASS -> visitor.visitOuterClass(
+								readRequiredString(), readString(this.record), readString(this.record));
+						case INNER_CLASS -> visitor.visitInnerClass(readRequiredString(),
+								readString(this.record), readString(this.record), this.record.getInt());
+						case ANNOTATION -> replayAnnotation(visitor.visitAnnotation(readRequiredString(), true));
+						case METHOD -> replayMethod(visitor.visitMethod(
+								this.record.getInt(), readRequiredString(), readRequiredString(), null, null));
+						default -> throw new IllegalStateException("Unexpected record type " + type);
+					}
+				}
+				visitor.visitEnd();
+			}
+			catch (BufferUnderflowException ex) {
+				throw new IllegalStateException("Truncated metadata index record", ex);
+			}
+		}
+
+		private void replayMethod(@Nullable MethodVisitor visitor) {
+			byte type;
+			while ((type = this.record.get()) != END) {
+				if (type != ANNOTATION) {
+					throw new IllegalStateException("Unexpected method record type " + type);
+				}
+				String descriptor = readRequiredString();
+				replayAnnotation(visitor != null ? visitor.visitAnnotation(descriptor, true) : null);
+			}
+			if (visitor != null) {
+				visitor.visitEnd();
+			}
+		}
+
+		private void replayAnnotation(@Nullable AnnotationVisitor visitor) {
+			byte type;
+			while ((type = this.record.get()) != END) {
+				String name = readString(this.record);
+				switch (type) {
+					case VALUE -> {
+						Object value = readValue();
+						if (visitor != null) {
+							visitor.visit(name, value);
+						}
+					}
+					case ENUM -> {
+						String descriptor = readRequiredString();
+						String value = readRequiredString();
+						if (visitor != null) {
+							visitor.visitEnum(name, descriptor, value);
+						}
+					}
+					case NESTED_ANNOTATION -> {
+						String descriptor = readRequiredString();
+						replayAnnotation(visitor != null ? visitor.visitAnnotation(name, descriptor) : null);
+					}
+					case ARRAY -> replayAnnotation(visitor != null ? visitor.visitArray(name) : null);
+					default -> throw new IllegalStateException("Unexpected annotation record type " + type);
+				}
+			}
+			if (visitor != null) {
+				visitor.visitEnd();
+			}
+		}
+
+		private Object readValue() {
+			ByteBuffer record = this.record;
+			byte kind = record.get();
+			return switch (kind) {
+				case 's' -> readRequiredString();
+				case 'T' -> Type.getType(readRequiredString());
+				case 'I' -> record.getInt();
+				case 'Z' -> (record.get() != 0);
+				case 'J' -> record.getLong();
+				case 'B' -> record.get();
+				case 'C' -> record.getChar();
+				case 'S' -> record.getShort();
+				case 'F' -> record.getFloat();
+				case 'D' -> record.getDouble();
+				default -> readPrimitiveArray(kind);
+			};
+		}
+
+		private Object readPrimitiveArray(byte kind) {
+			ByteBuffer record = this.record;
+			int length = record.getInt();
+			switch (kind) {
+				case 'i' -> {
+					int[] array = new int[length];
+					record.asIntBuffer().get(array);
+					record.position(record.position() + length * Integer.BYTES);
+					return array;
+				}
+				case 'z' -> {
+					boolean[] array = new boolean[length];
+					for (int i = 0; i < length; i++) {
+						array[i] = (record.get() != 0);
+					}
+					return array;
+				}
+				case 'j' -> {
+					long[] array = new long[length];
+					record.asLongBuffer().get(array);
+					record.position(record.position() + length * Long.BYTES);
+					return array;
+				}
+				case 'b' -> {
+					byte[] array = new byte[length];
+					record.get(array);
+					return array;
+				}
+				case 'c' -> {
+					char[] array = new char[length];
+					record.asCharBuffer().get(array);
+					record.position(record.position() + length * Character.BYTES);
+					return array;
+				}
+				case 'h' -> {
+					short[] array = new short[length];
+					record.asShortBuffer().get(array);
+					record.position(record.position() + length * Short.BYTES);
+					return array;
+				}
+				case 'f' -> {
+					float[] array = new float[length];
+					record.asFloatBuffer().get(array);
+					record.position(record.position() + length * Float.BYTES);
+					return array;
+				}
+				case 'd' -> {
+					double[] array = new double[length];
+					record.asDoubleBuffer().get(array);
+					record.position(record.position() + length * Double.BYTES);
+					return array;
+				}
+				default -> throw new IllegalStateException("Unexpected value kind " + kind);
+			}
+		}
+
+		private String readRequiredString() {
+			String value = readString(this.record);
+			if (value == null) {
+				throw new IllegalStateException("Unexpected null value in metadata index record");
+			}
+			return value;
+		}
+	}
+
+}
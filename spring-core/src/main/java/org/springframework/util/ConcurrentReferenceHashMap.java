@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,8 +28,10 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
@@ -39,6 +41,8 @@ import org.springframework.lang.Nullable;
 /**
  * A {@link ConcurrentHashMap} that uses {@link ReferenceType#SOFT soft} or
  * {@linkplain ReferenceType#WEAK weak} references for both {@code keys} and {@code values}.
+ * Alternatively, entries may be held {@linkplain ReferenceType#STRONG strongly},
+ * retaining them until explicitly removed.
  *
  * <p>This class can be used as an alternative to
  * {@code Collections.synchronizedMap(new WeakHashMap<K, Reference<V>>())} in order to
@@ -86,7 +90,7 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 	private final float loadFactor;
 
 	/**
-	 * The reference type: SOFT or WEAK.
+	 * The reference type: SOFT, WEAK or STRONG.
 	 */
 	private final ReferenceType referenceType;
 
@@ -140,7 +144,7 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 	/**
 	 * Create a new {@code ConcurrentReferenceHashMap} instance.
 	 * @param initialCapacity the initial capacity of the map
-	 * @param referenceType the reference type used for entries (soft or weak)
+	 * @param referenceType the reference type used for entries (soft, weak or strong)
 	 */
 	public ConcurrentReferenceHashMap(int initialCapacity, ReferenceType referenceType) {
 		this(initialCapacity, DEFAULT_LOAD_FACTOR, DEFAULT_CONCURRENCY_LEVEL, referenceType);
@@ -165,7 +169,7 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 	 * table exceeds this value, resize will be attempted.
 	 * @param concurrencyLevel the expected number of threads that will concurrently
 	 * write to the map
-	 * @param referenceType the reference type used for entries (soft or weak)
+	 * @param referenceType the reference type used for entries (soft, weak or strong)
 	 */
 	@SuppressWarnings("unchecked")
 	public ConcurrentReferenceHashMap(
@@ -450,7 +454,13 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 		SOFT,
 
 		/** Use {@link WeakReference WeakReferences}. */
-		WEAK
+		WEAK,
+
+		/**
+		 * Use strong references, never releasing entries to the garbage collector.
+		 * @since 6.0
+		 */
+		STRONG
 	}
 
 
@@ -985,6 +995,8 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 
 		private final ReferenceQueue<Entry<K, V>> queue = new ReferenceQueue<>();
 
+		private final Queue<Reference<K, V>> releasedStrongReferences = new ConcurrentLinkedQueue<>();
+
 		/**
 		 * Factory method used to create a new {@link Reference}.
 		 * @param entry the entry contained in the reference
@@ -996,6 +1008,9 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 			if (ConcurrentReferenceHashMap.this.referenceType == ReferenceType.WEAK) {
 				return new WeakEntryReference<>(entry, hash, next, this.queue);
 			}
+			if (ConcurrentReferenceHashMap.this.referenceType == ReferenceType.STRONG) {
+				return new StrongEntryReference<>(entry, hash, next, this.releasedStrongReferences);
+			}
 			return new SoftEntryReference<>(entry, hash, next, this.queue);
 		}
 
@@ -1009,7 +1024,11 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 		@SuppressWarnings("unchecked")
 		@Nullable
 		public Reference<K, V> pollForPurge() {
-			return (Reference<K, V>) this.queue.poll();
+			Reference<K, V> ref = (Reference<K, V>) this.queue.poll();
+			if (ref == null && ConcurrentReferenceHashMap.this.referenceType == ReferenceType.STRONG) {
+				ref = this.releasedStrongReferences.poll();
+			}
+			return ref;
 		}
 	}
 
@@ -1087,4 +1106,54 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 		}
 	}
 
+
+	/**
+	 * Internal {@link Reference} implementation for strongly held entries,
+	 * added to the manager's purge queue when explicitly released.
+	 */
+	private static final class StrongEntryReference<K, V> implements Reference<K, V> {
+
+		@Nullable
+		private volatile Entry<K, V> entry;
+
+		private final int hash;
+
+		@Nullable
+		private final Reference<K, V> nextReference;
+
+		private final Queue<Reference<K, V>> releasedReferences;
+
+		public StrongEntryReference(Entry<K, V> entry, int hash, @Nullable Reference<K, V> next,
+				Queue<Reference<K, V>> releasedReferences) {
+
+			this.entry = entry;
+			this.hash = hash;
+			this.nextReference = next;
+			this.releasedReferences = releasedReferences;
+		}
+
+		@Override
+		@Nullable
+		public Entry<K, V> get() {
+			return this.entry;
+		}
+
+		@Override
+		public int getHash() {
+			return this.hash;
+		}
+
+		@Override
+		@Nullable
+		public Reference<K, V> getNext() {
+			return this.nextReference;
+		}
+
+		@Override
+		public void release() {
+			this.releasedReferences.add(this);
+			this.entry = null;
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,9 @@
 package org.springframework.util;
 
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.springframework.lang.Nullable;
@@ -28,6 +31,9 @@ import org.springframework.lang.Nullable;
  * <p>Serves as base class for thread factories such as
  * {@link org.springframework.scheduling.concurrent.CustomizableThreadFactory}.
  *
+ * <p>As of 6.0, may also create virtual threads on a JVM that supports them
+ * (JDK 21, or JDK 19/20 with preview features enabled), detected at runtime.
+ *
  * @author Juergen Hoeller
  * @since 2.0.3
  * @see org.springframework.scheduling.concurrent.CustomizableThreadFactory
@@ -44,6 +50,8 @@ public class CustomizableThreadCreator implements Serializable {
 	@Nullable
 	private ThreadGroup threadGroup;
 
+	private boolean virtualThreads = false;
+
 	private final AtomicInteger threadCount = new AtomicInteger();
 
 
@@ -142,14 +150,45 @@ public class CustomizableThreadCreator implements Serializable {
 	}
 
 
+	/**
+	 * Specify whether to create virtual threads instead of platform threads.
+	 * <p>Default is "false". Virtual threads are always daemon threads with
+	 * normal priority, so the "threadPriority", "daemon" and "threadGroup"
+	 * settings do not apply to them.
+	 * @throws IllegalStateException if virtual threads are not supported
+	 * on the current JVM
+	 * @since 6.0
+	 * @see #isVirtualThreadSupported()
+	 */
+	public void setVirtualThreads(boolean virtualThreads) {
+		if (virtualThreads && !isVirtualThreadSupported()) {
+			throw new IllegalStateException("Virtual threads not supported on this JVM: " +
+					"requires JDK 21 or JDK 19+ with preview features enabled");
+		}
+		this.virtualThreads = virtualThreads;
+	}
+
+	/**
+	 * Return whether this factory creates virtual threads.
+	 * @since 6.0
+	 */
+	public boolean isVirtualThreads() {
+		return this.virtualThreads;
+	}
+
+
 	/**
 	 * Template method for the creation of a new {@link Thread}.
 	 * <p>The default implementation creates a new Thread for the given
 	 * {@link Runnable}, applying an appropriate thread name.
 	 * @param runnable the Runnable to execute
 	 * @see #nextThreadName()
+	 * @see #setVirtualThreads
 	 */
 	public Thread createThread(Runnable runnable) {
+		if (this.virtualThreads) {
+			return VirtualThreadDelegate.createThread(runnable, nextThreadName());
+		}
 		Thread thread = new Thread(getThreadGroup(), runnable, nextThreadName());
 		thread.setPriority(getThreadPriority());
 		thread.setDaemon(isDaemon());
@@ -174,4 +213,72 @@ public class CustomizableThreadCreator implements Serializable {
 		return ClassUtils.getShortName(getClass()) + "-";
 	}
 
+
+	/**
+	 * Determine whether virtual threads are supported on the current JVM.
+	 * @since 6.0
+	 * @see #setVirtualThreads
+	 */
+	public static boolean isVirtualThreadSupported() {
+		return VirtualThreadDelegate.supported;
+	}
+
+
+	/**
+	 * Inner class to avoid a hard dependency on the JDK 19+ virtual thread API,
+	 * accessing {@code Thread.ofVirtual()} through method handles.
+	 */
+	private static final class VirtualThreadDelegate {
+
+		@Nullable
+		private static final MethodHandle ofVirtual;
+
+		@Nullable
+		private static final MethodHandle name;
+
+		@Nullable
+		private static final MethodHandle unstarted;
+
+		static final boolean supported;
+
+		static {
+			MethodHandle ofVirtualHandle = null;
+			MethodHandle nameHandle = null;
+			MethodHandle unstartedHandle = null;
+			boolean supportedFlag = false;
+			try {
+				MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+				Class<?> builderClass = ClassUtils.forName("java.lang.Thread$Builder", null);
+				Class<?> ofVirtualClass = ClassUtils.forName("java.lang.Thread$Builder$OfVirtual", null);
+				ofVirtualHandle = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(ofVirtualClass));
+				nameHandle = lookup.findVirtual(builderClass, "name", MethodType.methodType(builderClass, String.class));
+				unstartedHandle = lookup.findVirtual(builderClass, "unstarted", MethodType.methodType(Thread.class, Runnable.class));
+				// Fails with an UnsupportedOperationException on JDK 19/20 without preview features
+				ofVirtualHandle.invoke();
+				supportedFlag = true;
+			}
+			catch (Throwable ex) {
+				// Virtual threads not available
+			}
+			ofVirtual = ofVirtualHandle;
+			name = nameHandle;
+			unstarted = unstartedHandle;
+			supported = supportedFlag;
+		}
+
+		static Thread createThread(Runnable runnable, String threadName) {
+			Assert.state(ofVirtual != null && name != null && unstarted != null, "Virtual threads not supported");
+			try {
+				Object builder = name.invoke(ofVirtual.invoke(), threadName);
+				return (Thread) unstarted.invoke(builder, runnable);
+			}
+			catch (RuntimeException | Error ex) {
+				throw ex;
+			}
+			catch (Throwable ex) {
+				throw new IllegalStateException("Failed to create virtual thread", ex);
+			}
+		}
+	}
+
 }
@@ -268,6 +268,10 @@ public abstract class StringUtils {
 		if (str == null) {
 			return null;
 		}
+		if (!containsWhitespace(str)) {
+			// Common case: nothing to trim, no need for a copy
+			return str;
+		}
 		return trimAllWhitespace((CharSequence) str).toString();
 	}
 
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Unit tests for {@link MethodHandleInvoker}.
+ *
+ * @author agent
+ */
+class MethodHandleInvokerTests {
+
+	@Test
+	void invokeInstanceMethod() throws Throwable {
+		MethodHandleInvoker invoker = MethodHandleInvoker.forMethod(method("concat", String.class, int.class));
+		assertThat(invoker.invoke(new Target(), "value", 42)).isEqualTo("value-42");
+	}
+
+	@Test
+	void invokeStaticMethod() throws Throwable {
+		MethodHandleInvoker invoker = MethodHandleInvoker.forMethod(method("sum", int.class, int.class));
+		assertThat(invoker.invoke(null, 1, 2)).isEqualTo(3);
+	}
+
+	@Test
+	void invokeVoidMethod() throws Throwable {
+		Target target = new Target();
+		MethodHandleInvoker invoker = MethodHandleInvoker.forMethod(method("increment"));
+		assertThat(invoker.invoke(target)).isNull();
+		assertThat(target.counter).isEqualTo(1);
+	}
+
+	@Test
+	void invokeVarargsMethod() throws Throwable {
+		MethodHandleInvoker invoker = MethodHandleInvoker.forMethod(method("join", String[].class));
+		assertThat(invoker.invoke(new Target(), (Object) new String[] {"a", "b"})).isEqualTo("ab");
+	}
+
+	@Test
+	void invokeWithExceptionPropagatedAsIs() throws Throwable {
+		MethodHandleInvoker invoker = MethodHandleInvoker.forMethod(method("fail"));
+		assertThatExceptionOfType(IOException.class)
+				.isThrownBy(() -> invoker.invoke(new Target()))
+				.withMessage("failure");
+	}
+
+	@Test
+	void invokeWithWrongArgumentCount() throws Throwable {
+		MethodHandleInvoker invoker = MethodHandleInvoker.forMethod(method("concat", String.class, int.class));
+		assertThatIllegalArgumentException().isThrownBy(() -> invoker.invoke(new Target(), "value"));
+	}
+
+	@Test
+	void isApplicable() throws Throwable {
+		MethodHandleInvoker invoker = MethodHandleInvoker.forMethod(method("concat", String.class, int.class));
+		assertThat(invoker.isApplicable(new Target(), new Object[] {"value", 42})).isTrue();
+		assertThat(invoker.isApplicable(new Target(), new Object[] {null, 42})).isTrue();
+		assertThat(invoker.isApplicable(new Target(), new Object[] {42, 42})).isFalse();
+		assertThat(invoker.isApplicable(new Target(), new Object[] {"value", null})).isFalse();
+		assertThat(invoker.isApplicable(new Target(), new Object[] {"value"})).isFalse();
+		assertThat(invoker.isApplicable("target", new Object[] {"value", 42})).isFalse();
+		assertThat(invoker.isApplicable(null, new Object[] {"value", 42})).isFalse();
+
+		MethodHandleInvoker staticInvoker = MethodHandleInvoker.forMethod(method("sum", int.class, int.class));
+		assertThat(staticInvoker.isApplicable(null, new Object[] {1, 2})).isTrue();
+	}
+
+	@Test
+	void invokerIsCached() throws Throwable {
+		Method method = method("increment");
+		assertThat(MethodHandleInvoker.forMethod(method)).isSameAs(MethodHandleInvoker.forMethod(method));
+		assertThat(MethodHandleInvoker.forMethod(method).getMethod()).isEqualTo(method);
+	}
+
+
+	private static Method method(String name, Class<?>... parameterTypes) throws NoSuchMethodException {
+		return Target.class.getDeclaredMethod(name, parameterTypes);
+	}
+
+
+	@SuppressWarnings("unused")
+	private static class Target {
+
+		int counter;
+
+		String concat(String value, int number) {
+			return value + "-" + number;
+		}
+
+		static int sum(int a, int b) {
+			return a + b;
+		}
+
+		void increment() {
+			this.counter++;
+		}
+
+		String join(String... values) {
+			return String.join("", values);
+		}
+
+		void fail() throws IOException {
+			throw new IOException("failure");
+		}
+	}
+
+}
@@ -30,6 +30,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
@@ -416,6 +417,52 @@ class GenericConversionServiceTests {
 		assertThat(conversionService.canConvert(String.class, Color.class)).isFalse();
 	}
 
+	@Test
+	void convertByClassReusesResolvedConverter() {
+		CountingStringToNumberConverterFactory factory = new CountingStringToNumberConverterFactory();
+		conversionService.addConverterFactory(factory);
+		assertThat(conversionService.convert("1", int.class)).isEqualTo(1);
+		assertThat(conversionService.convert(" 2 ", Integer.class)).isEqualTo(2);
+		int converterRequests = factory.getConverterRequests();
+		assertThat(conversionService.convert("3", int.class)).isEqualTo(3);
+		assertThat(conversionService.convert("4", Integer.class)).isEqualTo(4);
+		assertThat(factory.getConverterRequests()).isEqualTo(converterRequests);
+
+		conversionService.addConverter(String.class, Integer.class, source -> -Integer.parseInt(source));
+		assertThat(conversionService.convert("5", Integer.class)).isEqualTo(-5);
+		assertThat(conversionService.convert("6", int.class)).isEqualTo(-6);
+		assertThat(factory.getConverterRequests()).isEqualTo(converterRequests);
+	}
+
+	@Test
+	void convertByClassWithFailingConverter() {
+		conversionService.addConverterFactory(new StringToNumberConverterFactory());
+		assertThatExceptionOfType(ConversionFailedException.class).isThrownBy(() ->
+				conversionService.convert("x", int.class))
+			.withCauseInstanceOf(NumberFormatException.class);
+		assertThatExceptionOfType(ConversionFailedException.class).isThrownBy(() ->
+				conversionService.convert("", int.class));
+		assertThat(conversionService.convert("", Integer.class)).isNull();
+		assertThatExceptionOfType(ConverterNotFoundException.class).isThrownBy(() ->
+				conversionService.convert("1", Color.class));
+	}
+
+	@Test
+	void convertByClassWithCustomConverterLookup() {
+		AtomicInteger lookups = new AtomicInteger();
+		GenericConversionService conversionService = new GenericConversionService() {
+			@Override
+			protected GenericConverter getConverter(TypeDescriptor sourceType, TypeDescriptor targetType) {
+				lookups.incrementAndGet();
+				return super.getConverter(sourceType, targetType);
+			}
+		};
+		conversionService.addConverterFactory(new StringToNumberConverterFactory());
+		assertThat(conversionService.convert("1", Integer.class)).isEqualTo(1);
+		assertThat(conversionService.convert("2", Integer.class)).isEqualTo(2);
+		assertThat(lookups.get()).isEqualTo(2);
+	}
+
 	@Test
 	void conditionalConverter() {
 		MyConditionalConverter converter = new MyConditionalConverter();
@@ -721,6 +768,24 @@ class GenericConversionServiceTests {
 	}
 
 
+	private static class CountingStringToNumberConverterFactory implements ConverterFactory<String, Number> {
+
+		private final ConverterFactory<String, Number> delegate = new StringToNumberConverterFactory();
+
+		private int converterRequests;
+
+		@Override
+		public <T extends Number> Converter<String, T> getConverter(Class<T> targetType) {
+			this.converterRequests++;
+			return this.delegate.getConverter(targetType);
+		}
+
+		public int getConverterRequests() {
+			return this.converterRequests;
+		}
+	}
+
+
 	private static class MyConditionalConverterFactory implements ConverterFactory<String, Color>, ConditionalConverter {
 
 		private MyConditionalConverter converter = new MyConditionalConverter();
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.core.observation;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.observation.InMemoryObservationRecorder.RecordedObservation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Tests for {@link InMemoryObservationRecorder} and the default no-op recorder.
+ *
+ * @author agent
+ */
+class InMemoryObservationRecorderTests {
+
+	private final InMemoryObservationRecorder recorder = new InMemoryObservationRecorder();
+
+
+	@Test
+	void recordStoppedObservations() {
+		this.recorder.start("first").tag("key", "value").stop();
+		Observation pending = this.recorder.start("second");
+		assertThat(this.recorder.getObservations()).hasSize(1);
+
+		IllegalStateException ex = new IllegalStateException("failure");
+		pending.tag("a", "1").tag("b", "2").error(ex).stop();
+
+		List<RecordedObservation> observations = this.recorder.getObservations();
+		assertThat(observations).extracting(RecordedObservation::getName).containsExactly("first", "second");
+		assertThat(observations.get(0).getTags()).containsExactly(entry("key", "value"));
+		assertThat(observations.get(0).getError()).isNull();
+		assertThat(observations.get(1).getTags()).containsExactly(entry("a", "1"), entry("b", "2"));
+		assertThat(observations.get(1).getError()).isSameAs(ex);
+		assertThat(observations.get(1).getDuration()).isNotNegative();
+	}
+
+	@Test
+	void filterByName() {
+		this.recorder.start("jdbc.execute").stop();
+		this.recorder.start("tx.commit").stop();
+		this.recorder.start("jdbc.execute").stop();
+
+		assertThat(this.recorder.getObservations("jdbc.execute")).hasSize(2);
+		assertThat(this.recorder.getObservations("tx.commit")).hasSize(1);
+		assertThat(this.recorder.getObservations("tx.rollback")).isEmpty();
+
+		this.recorder.clear();
+		assertThat(this.recorder.getObservations()).isEmpty();
+	}
+
+	@Test
+	void observationCannotBeModifiedOnceStopped() {
+		Observation observation = this.recorder.start("test");
+		observation.stop();
+
+		assertThatIllegalStateException().isThrownBy(() -> observation.tag("key", "value"));
+		assertThatIllegalStateException().isThrownBy(observation::stop);
+		assertThat(this.recorder.getObservations()).hasSize(1);
+	}
+
+	@Test
+	void defaultRecorderIsDisabled() {
+		assertThat(this.recorder.isEnabled()).isTrue();
+		assertThat(ObservationRecorder.DEFAULT.isEnabled()).isFalse();
+
+		Observation observation = ObservationRecorder.DEFAULT.start("test");
+		assertThat(observation.tag("key", "value")).isSameAs(observation);
+		observation.error(new IllegalStateException());
+		observation.stop();
+		observation.stop();
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,10 +19,13 @@ package org.springframework.core.task;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.util.ConcurrencyThrottleSupport;
+import org.springframework.util.CustomizableThreadCreator;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 /**
  * @author Rick Evans
@@ -65,6 +68,26 @@ class SimpleAsyncTaskExecutorTests {
 		assertThat(task.getThreadName()).isEqualTo("test");
 	}
 
+	@Test
+	void virtualThreads() throws Exception {
+		assumeTrue(CustomizableThreadCreator.isVirtualThreadSupported());
+		final Object monitor = new Object();
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("virtual-");
+		executor.setVirtualThreads(true);
+		ThreadNameHarvester task = new ThreadNameHarvester(monitor);
+		executeAndWait(executor, task, monitor);
+		assertThat(task.getThreadName()).startsWith("virtual-");
+		assertThat(task.isDaemon()).isTrue();
+	}
+
+	@Test
+	void virtualThreadsNotSupported() {
+		assumeFalse(CustomizableThreadCreator.isVirtualThreadSupported());
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor();
+		assertThatIllegalStateException().isThrownBy(() -> executor.setVirtualThreads(true));
+		assertThat(executor.isVirtualThreads()).isFalse();
+	}
+
 	@Test
 	void throwsExceptionWhenSuppliedWithNullRunnable() throws Exception {
 		assertThatIllegalArgumentException().isThrownBy(() ->
@@ -120,6 +143,8 @@ class SimpleAsyncTaskExecutorTests {
 
 		private String threadName;
 
+		private boolean daemon;
+
 		protected ThreadNameHarvester(Object monitor) {
 			super(monitor);
 		}
@@ -128,9 +153,14 @@ class SimpleAsyncTaskExecutorTests {
 			return this.threadName;
 		}
 
+		public boolean isDaemon() {
+			return this.daemon;
+		}
+
 		@Override
 		protected void doRun() {
 			this.threadName = Thread.currentThread().getName();
+			this.daemon = Thread.currentThread().isDaemon();
 		}
 	}
 
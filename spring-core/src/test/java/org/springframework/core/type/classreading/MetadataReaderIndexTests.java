@@ -0,0 +1,156 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.type.AbstractAnnotationMetadataTests;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.util.ClassUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link MetadataReaderIndex}, verifying that replayed metadata
+ * behaves like metadata read through ASM.
+ *
+ * @author agent
+ */
+class MetadataReaderIndexTests extends AbstractAnnotationMetadataTests {
+
+	@TempDir
+	Path tempDir;
+
+
+	@Override
+	protected AnnotationMetadata get(Class<?> source) {
+		try {
+			Path location = this.tempDir.resolve("metadata.idx");
+			MetadataReaderIndex index = MetadataReaderIndex.load(location);
+			getMetadataReader(index, source);
+			index.store();
+
+			MetadataReaderIndex reloaded = MetadataReaderIndex.load(location);
+			AnnotationMetadata metadata = getMetadataReader(reloaded, source).getAnnotationMetadata();
+			assertThat(reloaded.hasPendingChanges()).isFalse();
+			return metadata;
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	@Test
+	void storeOnlyWithPendingChanges() throws IOException {
+		Path location = this.tempDir.resolve("metadata.idx");
+		MetadataReaderIndex index = MetadataReaderIndex.load(location);
+		assertThat(index.size()).isZero();
+		index.store();
+		assertThat(location).doesNotExist();
+
+		getMetadataReader(index, MetadataReaderIndexTests.class);
+		assertThat(index.hasPendingChanges()).isTrue();
+		assertThat(index.size()).isEqualTo(1);
+		index.store();
+		assertThat(location).exists();
+		assertThat(index.hasPendingChanges()).isFalse();
+		assertThat(MetadataReaderIndex.load(location).size()).isEqualTo(1);
+	}
+
+	@Test
+	void storeRetainsUsedEntriesOnly() throws IOException {
+		Path location = this.tempDir.resolve("metadata.idx");
+		MetadataReaderIndex index = MetadataReaderIndex.load(location);
+		getMetadataReader(index, MetadataReaderIndexTests.class);
+		getMetadataReader(index, MetadataReaderIndex.class);
+		index.store();
+
+		MetadataReaderIndex reloaded = MetadataReaderIndex.load(location);
+		assertThat(reloaded.size()).isEqualTo(2);
+		getMetadataReader(reloaded, MetadataReaderIndex.class);
+		getMetadataReader(reloaded, SimpleMetadataReader.class);
+		reloaded.store();
+
+		assertThat(MetadataReaderIndex.load(location).size()).isEqualTo(2);
+	}
+
+	@Test
+	void storeReplacesLoadedIndex() throws IOException {
+		Path location = this.tempDir.resolve("metadata.idx");
+		MetadataReaderIndex index = MetadataReaderIndex.load(location);
+		getMetadataReader(index, MetadataReaderIndexTests.class);
+		index.store();
+
+		MetadataReaderIndex reloaded = MetadataReaderIndex.load(location);
+		getMetadataReader(reloaded, MetadataReaderIndexTests.class);
+		getMetadataReader(reloaded, MetadataReaderIndex.class);
+		reloaded.store();
+		assertThat(getMetadataReader(reloaded, MetadataReaderIndexTests.class).getClassMetadata().getClassName())
+				.isEqualTo(MetadataReaderIndexTests.class.getName());
+		assertThat(MetadataReaderIndex.load(location).size()).isEqualTo(2);
+	}
+
+	@Test
+	void rereadWhenClassFileChanged() throws IOException {
+		Path classFile = this.tempDir.resolve("Sample.class");
+		try (InputStream is = getClass().getResourceAsStream("MetadataReaderIndexTests.class")) {
+			Files.copy(is, classFile);
+		}
+		Resource resource = new FileSystemResource(classFile);
+		Path location = this.tempDir.resolve("metadata.idx");
+		MetadataReaderIndex index = MetadataReaderIndex.load(location);
+		index.getMetadataReader(resource, getClass().getClassLoader());
+		index.store();
+
+		MetadataReaderIndex reloaded = MetadataReaderIndex.load(location);
+		reloaded.getMetadataReader(resource, getClass().getClassLoader());
+		assertThat(reloaded.hasPendingChanges()).isFalse();
+
+		Files.setLastModifiedTime(classFile, FileTime.fromMillis(Files.getLastModifiedTime(classFile).toMillis() + 1000));
+		MetadataReader metadataReader = reloaded.getMetadataReader(resource, getClass().getClassLoader());
+		assertThat(reloaded.hasPendingChanges()).isTrue();
+		assertThat(metadataReader.getClassMetadata().getClassName()).isEqualTo(MetadataReaderIndexTests.class.getName());
+	}
+
+	@Test
+	void loadIgnoresUnreadableIndex() throws IOException {
+		Path location = this.tempDir.resolve("metadata.idx");
+		Files.write(location, new byte[] {1, 2, 3});
+		MetadataReaderIndex index = MetadataReaderIndex.load(location);
+		assertThat(index.size()).isZero();
+
+		getMetadataReader(index, MetadataReaderIndexTests.class);
+		index.store();
+		assertThat(MetadataReaderIndex.load(location).size()).isEqualTo(1);
+	}
+
+	private static MetadataReader getMetadataReader(MetadataReaderIndex index, Class<?> source) throws IOException {
+		CachingMetadataReaderFactory metadataReaderFactory = new CachingMetadataReaderFactory(source.getClassLoader());
+		metadataReaderFactory.setMetadataIndex(index);
+		return metadataReaderFactory.getMetadataReader(ClassUtils.getQualifiedName(source));
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -524,6 +524,26 @@ class ConcurrentReferenceHashMapTests {
 		assertThat(cacheTime.getTotalTimeSeconds()).isLessThan(mapTime.getTotalTimeSeconds() / 4.0);
 	}
 
+	@Test
+	void shouldRetainStrongReferences() {
+		ConcurrentReferenceHashMap<Integer, String> map =
+				new ConcurrentReferenceHashMap<>(1, ConcurrentReferenceHashMap.ReferenceType.STRONG);
+		for (int i = 0; i < 100; i++) {
+			map.put(i, String.valueOf(i));
+		}
+		assertThat(map).hasSize(100);
+		assertThat(map.get(42)).isEqualTo("42");
+		assertThat(map.remove(42)).isEqualTo("42");
+		assertThat(map.remove(43, "43")).isTrue();
+		map.purgeUnreferencedEntries();
+		assertThat(map).hasSize(98);
+		assertThat(map.containsKey(42)).isFalse();
+		assertThat(map.get(44)).isEqualTo("44");
+		map.put(42, "42b");
+		assertThat(map.get(42)).isEqualTo("42b");
+		assertThat(map).hasSize(99);
+	}
+
 	@Test
 	void shouldSupportNullReference() {
 		// GC could happen during restructure so we must be able to create a reference for a null entry
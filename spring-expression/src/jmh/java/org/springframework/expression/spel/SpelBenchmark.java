@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,13 +16,17 @@
 
 package org.springframework.expression.spel;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 
 import org.springframework.expression.EvaluationContext;
@@ -103,4 +107,92 @@ public class SpelBenchmark {
 		return data.expression.getValue(data.context);
 	}
 
+	@State(Scope.Benchmark)
+	public static class CompilerBenchmarkData {
+
+		@Param({"OFF", "IMMEDIATE"})
+		public SpelCompilerMode compilerMode;
+
+		@Param({"selection", "projection", "varargs", "mapIndex", "elvis"})
+		public String scenario;
+
+		public EvaluationContext context = new StandardEvaluationContext(new Inventory());
+
+		public Expression expression;
+
+		@Setup
+		public void setup() {
+			String expressionString = switch (this.scenario) {
+				case "selection" -> "items.?[price > 50]";
+				case "projection" -> "items.![name]";
+				case "varargs" -> "join(items[0].name, items[1].name, items[2].name)";
+				case "mapIndex" -> "stock[items[0].name]";
+				case "elvis" -> "items[0].label ?: items[0].name";
+				default -> throw new IllegalStateException("Unknown scenario: " + this.scenario);
+			};
+			SpelParserConfiguration configuration = new SpelParserConfiguration(this.compilerMode, null);
+			this.expression = new SpelExpressionParser(configuration).parseExpression(expressionString);
+			// Determine exit type descriptors before compiling in IMMEDIATE mode
+			this.expression.getValue(this.context);
+			this.expression.getValue(this.context);
+		}
+	}
+
+	@Benchmark
+	public Object compiledExpression(CompilerBenchmarkData data) {
+		return data.expression.getValue(data.context);
+	}
+
+
+	public static class Inventory {
+
+		private final List<Item> items = new ArrayList<>();
+
+		private final Map<String, Integer> stock = new HashMap<>();
+
+		public Inventory() {
+			for (int i = 0; i < 20; i++) {
+				this.items.add(new Item("item" + i, i * 5));
+				this.stock.put("item" + i, i);
+			}
+		}
+
+		public List<Item> getItems() {
+			return this.items;
+		}
+
+		public Map<String, Integer> getStock() {
+			return this.stock;
+		}
+
+		public String join(String... names) {
+			return String.join(",", names);
+		}
+	}
+
+
+	public static class Item {
+
+		private final String name;
+
+		private final int price;
+
+		public Item(String name, int price) {
+			this.name = name;
+			this.price = price;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public int getPrice() {
+			return this.price;
+		}
+
+		public String getLabel() {
+			return null;
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -85,9 +85,17 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * When code generation requires an intermediate variable within a method,
-	 * this method records the next available variable (variable 0 is 'this').
+	 * this method records the next available variable (variable 0 is 'this',
+	 * variables 1 and 2 hold the target and the evaluation context).
 	 */
-	private int nextFreeVariableId = 1;
+	private int nextFreeVariableId = 3;
+
+	/**
+	 * Local variables holding the active context object for nested evaluation,
+	 * e.g. the current element of a collection selection or projection.
+	 * The target passed into the evaluation method is used if empty.
+	 */
+	private final Deque<Integer> activeContextVariables = new ArrayDeque<>();
 
 
 	/**
@@ -105,11 +113,35 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * Push the byte code to load the target (i.e. what was passed as the first argument
-	 * to CompiledExpression.getValue(target, context))
+	 * to CompiledExpression.getValue(target, context)), or the active context object
+	 * within a nested evaluation such as a collection selection or projection.
 	 * @param mv the visitor into which the load instruction should be inserted
+	 * @see #enterActiveContext(int)
 	 */
 	public void loadTarget(MethodVisitor mv) {
-		mv.visitVarInsn(ALOAD, 1);
+		Integer activeContextVariable = this.activeContextVariables.peek();
+		mv.visitVarInsn(ALOAD, (activeContextVariable != null ? activeContextVariable : 1));
+	}
+
+	/**
+	 * Enter a nested evaluation against the object held in the given local variable,
+	 * which subsequent {@link #loadTarget} calls will load as the active context object.
+	 * Variable 1 refers to the target passed into the evaluation method.
+	 * @param variable the local variable holding the active context object
+	 * @since 6.0
+	 * @see #exitActiveContext()
+	 */
+	public void enterActiveContext(int variable) {
+		this.activeContextVariables.push(variable);
+	}
+
+	/**
+	 * Exit a nested evaluation, returning to the previous active context object.
+	 * @since 6.0
+	 * @see #enterActiveContext(int)
+	 */
+	public void exitActiveContext() {
+		this.activeContextVariables.pop();
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,11 +19,15 @@ package org.springframework.expression.spel.ast;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
@@ -84,6 +88,7 @@ public class Projection extends SpelNodeImpl {
 					state.exitScope();
 				}
 			}
+			this.exitTypeDescriptor = "Ljava/lang/Object";
 			return new ValueRef.TypedValueHolderValueRef(new TypedValue(result), this);  // TODO unable to build correct type descriptor
 		}
 
@@ -109,6 +114,7 @@ public class Projection extends SpelNodeImpl {
 				}
 			}
 
+			this.exitTypeDescriptor = "Ljava/lang/Object";
 			if (operandIsArray) {
 				if (arrayElementType == null) {
 					arrayElementType = Object.class;
@@ -137,7 +143,133 @@ public class Projection extends SpelNodeImpl {
 		return "![" + getChild(0).toStringAST() + "]";
 	}
 
-	private Class<?> determineCommonType(@Nullable Class<?> oldType, Class<?> newType) {
+	@Override
+	public boolean isCompilable() {
+		return (this.exitTypeDescriptor != null && this.children[0].isCompilable());
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		if (cf.lastDescriptor() == null) {
+			// Stack is empty, should use context object
+			cf.loadTarget(mv);
+		}
+		int operandVariable = cf.nextFreeVariableId();
+		int iteratorVariable = cf.nextFreeVariableId();
+		int resultVariable = cf.nextFreeVariableId();
+		int elementVariable = cf.nextFreeVariableId();
+		String projectionClass = Projection.class.getName().replace('.', '/');
+		Label endOfProjection = new Label();
+
+		mv.visitVarInsn(ASTORE, operandVariable);
+		if (this.nullSafe) {
+			Label notNull = new Label();
+			mv.visitVarInsn(ALOAD, operandVariable);
+			mv.visitJumpInsn(IFNONNULL, notNull);
+			mv.visitInsn(ACONST_NULL);
+			mv.visitJumpInsn(GOTO, endOfProjection);
+			mv.visitLabel(notNull);
+		}
+		mv.visitVarInsn(ALOAD, operandVariable);
+		mv.visitMethodInsn(INVOKESTATIC, projectionClass, "iterateOperand",
+				"(Ljava/lang/Object;)Ljava/util/Iterator;", false);
+		mv.visitVarInsn(ASTORE, iteratorVariable);
+		mv.visitTypeInsn(NEW, "java/util/ArrayList");
+		mv.visitInsn(DUP);
+		mv.visitMethodInsn(INVOKESPECIAL, "java/util/ArrayList", "<init>", "()V", false);
+		mv.visitVarInsn(ASTORE, resultVariable);
+
+		Label nextElement = new Label();
+		Label endOfElements = new Label();
+		mv.visitLabel(nextElement);
+		mv.visitVarInsn(ALOAD, iteratorVariable);
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Iterator", "hasNext", "()Z", true);
+		mv.visitJumpInsn(IFEQ, endOfElements);
+		mv.visitVarInsn(ALOAD, iteratorVariable);
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Iterator", "next", "()Ljava/lang/Object;", true);
+		mv.visitVarInsn(ASTORE, elementVariable);
+
+		// Evaluate the projection against the current element
+		cf.enterCompilationScope();
+		cf.enterActiveContext(elementVariable);
+		this.children[0].generateCode(mv, cf);
+		String lastDesc = cf.lastDescriptor();
+		if (lastDesc == null || "V".equals(lastDesc)) {
+			mv.visitInsn(ACONST_NULL);
+		}
+		else {
+			CodeFlow.insertBoxIfNecessary(mv, lastDesc);
+		}
+		cf.exitActiveContext();
+		cf.exitCompilationScope();
+
+		mv.visitVarInsn(ALOAD, resultVariable);
+		mv.visitInsn(SWAP);
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/List", "add", "(Ljava/lang/Object;)Z", true);
+		mv.visitInsn(POP);
+		mv.visitJumpInsn(GOTO, nextElement);
+
+		mv.visitLabel(endOfElements);
+		mv.visitVarInsn(ALOAD, operandVariable);
+		mv.visitVarInsn(ALOAD, resultVariable);
+		mv.visitMethodInsn(INVOKESTATIC, projectionClass, "projectionResult",
+				"(Ljava/lang/Object;Ljava/util/List;)Ljava/lang/Object;", false);
+		mv.visitLabel(endOfProjection);
+		cf.pushDescriptor(this.exitTypeDescriptor);
+	}
+
+
+	/**
+	 * Return an iterator over the elements of the given projection operand:
+	 * the entries of a {@code Map}, or the elements of an {@code Iterable} or array.
+	 * <p>Used by compiled projection expressions.
+	 * @param operand the projection operand
+	 * @return the iterator over the operand's elements
+	 * @throws SpelEvaluationException if projection is not supported on the given operand
+	 * @since 6.0
+	 */
+	public static Iterator<?> iterateOperand(@Nullable Object operand) {
+		if (operand instanceof Map<?, ?> map) {
+			return map.entrySet().iterator();
+		}
+		if (operand instanceof Iterable<?> iterable) {
+			return iterable.iterator();
+		}
+		if (ObjectUtils.isArray(operand)) {
+			return Arrays.asList(ObjectUtils.toObjectArray(operand)).iterator();
+		}
+		throw new SpelEvaluationException(SpelMessage.PROJECTION_NOT_SUPPORTED_ON_TYPE,
+				(operand != null ? operand.getClass().getName() : "null"));
+	}
+
+	/**
+	 * Build the result of a projection from the projected values: an array
+	 * of the values' common type for an array operand, or a {@code List} otherwise.
+	 * <p>Used by compiled projection expressions.
+	 * @param operand the projection operand
+	 * @param values the projected values
+	 * @return the projection result
+	 * @since 6.0
+	 */
+	public static Object projectionResult(Object operand, List<Object> values) {
+		if (!ObjectUtils.isArray(operand)) {
+			return values;
+		}
+		Class<?> arrayElementType = null;
+		for (Object value : values) {
+			if (value != null) {
+				arrayElementType = determineCommonType(arrayElementType, value.getClass());
+			}
+		}
+		if (arrayElementType == null) {
+			arrayElementType = Object.class;
+		}
+		Object resultArray = Array.newInstance(arrayElementType, values.size());
+		System.arraycopy(values.toArray(), 0, resultArray, 0, values.size());
+		return resultArray;
+	}
+
+	private static Class<?> determineCommonType(@Nullable Class<?> oldType, Class<?> newType) {
 		if (oldType == null) {
 			return newType;
 		}
@@ -20,15 +20,20 @@ import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.CollectionUtils;
@@ -92,6 +97,7 @@ public class Selection extends SpelNodeImpl {
 			// TODO don't lose generic info for the new map
 			Map<Object, Object> result = new HashMap<>();
 			Object lastKey = null;
+			this.exitTypeDescriptor = "Ljava/lang/Object";
 
 			for (Map.Entry<?, ?> entry : mapdata.entrySet()) {
 				try {
@@ -140,6 +146,7 @@ public class Selection extends SpelNodeImpl {
 
 			List<Object> result = new ArrayList<>();
 			int index = 0;
+			this.exitTypeDescriptor = "Ljava/lang/Object";
 			for (Object element : data) {
 				try {
 					state.pushActiveContextObject(new TypedValue(element));
@@ -208,6 +215,92 @@ public class Selection extends SpelNodeImpl {
 		return prefix() + getChild(0).toStringAST() + "]";
 	}
 
+	@Override
+	public boolean isCompilable() {
+		SpelNodeImpl selectionCriteria = this.children[0];
+		String criteriaDescriptor = selectionCriteria.exitTypeDescriptor;
+		return (this.exitTypeDescriptor != null && selectionCriteria.isCompilable() &&
+				("Z".equals(criteriaDescriptor) || "Ljava/lang/Boolean".equals(criteriaDescriptor)));
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		if (cf.lastDescriptor() == null) {
+			// Stack is empty, should use context object
+			cf.loadTarget(mv);
+		}
+		int operandVariable = cf.nextFreeVariableId();
+		int iteratorVariable = cf.nextFreeVariableId();
+		int resultVariable = cf.nextFreeVariableId();
+		int elementVariable = cf.nextFreeVariableId();
+		String selectionClass = Selection.class.getName().replace('.', '/');
+		Label endOfSelection = new Label();
+
+		mv.visitVarInsn(ASTORE, operandVariable);
+		if (this.nullSafe) {
+			Label notNull = new Label();
+			mv.visitVarInsn(ALOAD, operandVariable);
+			mv.visitJumpInsn(IFNONNULL, notNull);
+			mv.visitInsn(ACONST_NULL);
+			mv.visitJumpInsn(GOTO, endOfSelection);
+			mv.visitLabel(notNull);
+		}
+		mv.visitVarInsn(ALOAD, operandVariable);
+		mv.visitMethodInsn(INVOKESTATIC, selectionClass, "iterateOperand",
+				"(Ljava/lang/Object;)Ljava/util/Iterator;", false);
+		mv.visitVarInsn(ASTORE, iteratorVariable);
+		if (this.variant != FIRST) {
+			mv.visitTypeInsn(NEW, "java/util/ArrayList");
+			mv.visitInsn(DUP);
+			mv.visitMethodInsn(INVOKESPECIAL, "java/util/ArrayList", "<init>", "()V", false);
+			mv.visitVarInsn(ASTORE, resultVariable);
+		}
+
+		Label nextElement = new Label();
+		Label endOfElements = new Label();
+		mv.visitLabel(nextElement);
+		mv.visitVarInsn(ALOAD, iteratorVariable);
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Iterator", "hasNext", "()Z", true);
+		mv.visitJumpInsn(IFEQ, endOfElements);
+		mv.visitVarInsn(ALOAD, iteratorVariable);
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Iterator", "next", "()Ljava/lang/Object;", true);
+		mv.visitVarInsn(ASTORE, elementVariable);
+
+		// Evaluate the selection criteria against the current element
+		cf.enterCompilationScope();
+		cf.enterActiveContext(elementVariable);
+		this.children[0].generateCode(mv, cf);
+		cf.unboxBooleanIfNecessary(mv);
+		cf.exitActiveContext();
+		cf.exitCompilationScope();
+		mv.visitJumpInsn(IFEQ, nextElement);
+
+		if (this.variant == FIRST) {
+			mv.visitVarInsn(ALOAD, operandVariable);
+			mv.visitVarInsn(ALOAD, elementVariable);
+			mv.visitMethodInsn(INVOKESTATIC, selectionClass, "firstResult",
+					"(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", false);
+			mv.visitJumpInsn(GOTO, endOfSelection);
+			mv.visitLabel(endOfElements);
+			mv.visitInsn(ACONST_NULL);
+		}
+		else {
+			mv.visitVarInsn(ALOAD, resultVariable);
+			mv.visitVarInsn(ALOAD, elementVariable);
+			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/List", "add", "(Ljava/lang/Object;)Z", true);
+			mv.visitInsn(POP);
+			mv.visitJumpInsn(GOTO, nextElement);
+			mv.visitLabel(endOfElements);
+			mv.visitVarInsn(ALOAD, operandVariable);
+			mv.visitVarInsn(ALOAD, resultVariable);
+			mv.visitInsn(this.variant == LAST ? ICONST_1 : ICONST_0);
+			mv.visitMethodInsn(INVOKESTATIC, selectionClass, "selectionResult",
+					"(Ljava/lang/Object;Ljava/util/List;Z)Ljava/lang/Object;", false);
+		}
+		mv.visitLabel(endOfSelection);
+		cf.pushDescriptor(this.exitTypeDescriptor);
+	}
+
 	private String prefix() {
 		return switch (this.variant) {
 			case ALL -> "?[";
@@ -217,4 +310,85 @@ public class Selection extends SpelNodeImpl {
 		};
 	}
 
+
+	/**
+	 * Return an iterator over the elements of the given selection operand:
+	 * the entries of a {@code Map}, or the elements of an {@code Iterable} or array.
+	 * <p>Used by compiled selection expressions.
+	 * @param operand the selection operand
+	 * @return the iterator over the operand's elements
+	 * @throws SpelEvaluationException if selection is not supported on the given operand
+	 * @since 6.0
+	 */
+	public static Iterator<?> iterateOperand(@Nullable Object operand) {
+		if (operand instanceof Map<?, ?> map) {
+			return map.entrySet().iterator();
+		}
+		if (operand instanceof Iterable<?> iterable) {
+			return iterable.iterator();
+		}
+		if (ObjectUtils.isArray(operand)) {
+			return Arrays.asList(ObjectUtils.toObjectArray(operand)).iterator();
+		}
+		throw new SpelEvaluationException(SpelMessage.INVALID_TYPE_FOR_SELECTION,
+				(operand != null ? operand.getClass().getName() : "null"));
+	}
+
+	/**
+	 * Build the result of a first-item selection ({@code ^[]}) from the
+	 * selected element: a single-entry {@code Map} for a map operand,
+	 * or the element itself otherwise.
+	 * <p>Used by compiled selection expressions.
+	 * @param operand the selection operand
+	 * @param element the first selected element
+	 * @return the selection result
+	 * @since 6.0
+	 */
+	@Nullable
+	public static Object firstResult(Object operand, @Nullable Object element) {
+		if (operand instanceof Map && element instanceof Map.Entry<?, ?> entry) {
+			Map<Object, Object> result = new HashMap<>();
+			result.put(entry.getKey(), entry.getValue());
+			return result;
+		}
+		return element;
+	}
+
+	/**
+	 * Build the result of an all-items ({@code ?[]}) or last-item ({@code $[]})
+	 * selection from the selected elements, in the same form as an interpreted
+	 * evaluation: a {@code Map} for a map operand, an array of the operand's
+	 * component type for an array operand, or a {@code List} otherwise.
+	 * <p>Used by compiled selection expressions.
+	 * @param operand the selection operand
+	 * @param selected the selected elements
+	 * @param last whether to return the last selected item only
+	 * @return the selection result
+	 * @since 6.0
+	 */
+	@Nullable
+	public static Object selectionResult(Object operand, List<Object> selected, boolean last) {
+		if (operand instanceof Map) {
+			if (last && selected.isEmpty()) {
+				return null;
+			}
+			Map<Object, Object> result = new HashMap<>();
+			for (int i = (last ? selected.size() - 1 : 0); i < selected.size(); i++) {
+				Map.Entry<?, ?> entry = (Map.Entry<?, ?>) selected.get(i);
+				result.put(entry.getKey(), entry.getValue());
+			}
+			return result;
+		}
+		if (last) {
+			return CollectionUtils.lastElement(selected);
+		}
+		if (operand instanceof Iterable) {
+			return selected;
+		}
+		Class<?> elementType = ClassUtils.resolvePrimitiveIfNecessary(operand.getClass().getComponentType());
+		Object resultArray = Array.newInstance(elementType, selected.size());
+		System.arraycopy(selected.toArray(), 0, resultArray, 0, selected.size());
+		return resultArray;
+	}
+
 }
@@ -55,6 +55,10 @@ public class SpelExpression implements Expression {
 	// Number of times to try compiling an expression before giving up
 	private static final int FAILED_ATTEMPTS_THRESHOLD = 100;
 
+	// Maximum number of times to double the interpretation threshold in mixed mode
+	// after the compiled form failed at runtime, e.g. due to changing operand types
+	private static final int MAX_COMPILED_FAILURES_BACKOFF = 10;
+
 
 	private final String expression;
 
@@ -78,6 +82,11 @@ public class SpelExpression implements Expression {
 	// give up trying to compile it when it just doesn't seem to be possible.
 	private final AtomicInteger failedAttempts = new AtomicInteger();
 
+	// The number of times the compiled form failed at runtime in mixed mode - each such
+	// failure doubles the number of interpretations before the next compilation attempt,
+	// giving the operand types a chance to stabilize before recompiling.
+	private final AtomicInteger compiledFailures = new AtomicInteger();
+
 
 	/**
 	 * Construct an expression, only used by the parser.
@@ -128,8 +137,7 @@ public class SpelExpression implements Expression {
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
+					revertAfterCompiledFailure();
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -164,8 +172,7 @@ public class SpelExpression implements Expression {
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
+					revertAfterCompiledFailure();
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -192,8 +199,7 @@ public class SpelExpression implements Expression {
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
+					revertAfterCompiledFailure();
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -228,8 +234,7 @@ public class SpelExpression implements Expression {
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
+					revertAfterCompiledFailure();
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -259,8 +264,7 @@ public class SpelExpression implements Expression {
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
+					revertAfterCompiledFailure();
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -295,8 +299,7 @@ public class SpelExpression implements Expression {
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
+					revertAfterCompiledFailure();
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -324,8 +327,7 @@ public class SpelExpression implements Expression {
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
+					revertAfterCompiledFailure();
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -362,8 +364,7 @@ public class SpelExpression implements Expression {
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
+					revertAfterCompiledFailure();
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -494,7 +495,8 @@ public class SpelExpression implements Expression {
 			}
 			else {
 				// compilerMode = SpelCompilerMode.MIXED
-				if (this.interpretedCount.get() > INTERPRETED_COUNT_THRESHOLD) {
+				int backoff = Math.min(this.compiledFailures.get(), MAX_COMPILED_FAILURES_BACKOFF);
+				if (this.interpretedCount.get() > (INTERPRETED_COUNT_THRESHOLD << backoff)) {
 					compileExpression();
 				}
 			}
@@ -558,12 +560,25 @@ public class SpelExpression implements Expression {
 	/**
 	 * Cause an expression to revert to being interpreted if it has been using a compiled
 	 * form. It also resets the compilation attempt failure count (an expression is normally no
-	 * longer considered compilable if it cannot be compiled after 100 attempts).
+	 * longer considered compilable if it cannot be compiled after 100 attempts) as well as
+	 * the count of runtime failures of the compiled form in mixed mode.
 	 */
 	public void revertToInterpreted() {
 		this.compiledAst = null;
 		this.interpretedCount.set(0);
 		this.failedAttempts.set(0);
+		this.compiledFailures.set(0);
+	}
+
+	/**
+	 * Revert to interpreted mode after the compiled form failed at runtime,
+	 * postponing recompilation until the expression has been interpreted
+	 * for twice as many times as before (up to a maximum).
+	 */
+	private void revertAfterCompiledFailure() {
+		this.compiledAst = null;
+		this.interpretedCount.set(0);
+		this.compiledFailures.incrementAndGet();
 	}
 
 	/**
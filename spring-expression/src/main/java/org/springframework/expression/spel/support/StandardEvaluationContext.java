@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -276,6 +276,30 @@ public class StandardEvaluationContext implements EvaluationContext {
 		resolver.registerMethodFilter(type, filter);
 	}
 
+	/**
+	 * Apply the delegates of this context to the given evaluation context:
+	 * its property accessors, constructor and method resolvers, bean resolver,
+	 * type locator, converter and comparator, and operator overloader.
+	 * <p>Typically invoked right after creating a new context for a specific
+	 * evaluation, sharing the delegate instances and therefore their internal
+	 * caches (e.g. for reflective property access) across evaluation contexts.
+	 * The root object and the variables of the given context remain untouched.
+	 * @param evaluationContext the evaluation context to apply the delegates to
+	 * @since 6.0
+	 */
+	public void applyDelegatesTo(StandardEvaluationContext evaluationContext) {
+		// Triggers initialization of the default delegates
+		evaluationContext.setPropertyAccessors(new ArrayList<>(getPropertyAccessors()));
+		evaluationContext.setConstructorResolvers(new ArrayList<>(getConstructorResolvers()));
+		evaluationContext.setMethodResolvers(new ArrayList<>(getMethodResolvers()));
+		evaluationContext.reflectiveMethodResolver = this.reflectiveMethodResolver;
+		evaluationContext.beanResolver = this.beanResolver;
+		evaluationContext.setTypeLocator(getTypeLocator());
+		evaluationContext.setTypeConverter(getTypeConverter());
+		evaluationContext.typeComparator = this.typeComparator;
+		evaluationContext.operatorOverloader = this.operatorOverloader;
+	}
+
 
 	private List<PropertyAccessor> initPropertyAccessors() {
 		List<PropertyAccessor> accessors = this.propertyAccessors;
@@ -279,6 +279,27 @@ public class PropertyAccessTests extends AbstractExpressionTests {
 			.extracting(SpelEvaluationException::getMessageCode).isEqualTo(SpelMessage.ARRAY_INDEX_OUT_OF_BOUNDS);
 	}
 
+	@Test
+	void propertyAccessWithAppliedDelegates() {
+		StandardEvaluationContext sharedContext = new StandardEvaluationContext();
+		sharedContext.addPropertyAccessor(new StringyPropertyAccessor());
+		StandardEvaluationContext context1 = new StandardEvaluationContext(new Person("p1"));
+		StandardEvaluationContext context2 = new StandardEvaluationContext(new Person("p2"));
+		sharedContext.applyDelegatesTo(context1);
+		sharedContext.applyDelegatesTo(context2);
+
+		assertThat(context1.getPropertyAccessors()).isEqualTo(sharedContext.getPropertyAccessors());
+		assertThat(context1.getPropertyAccessors()).isNotSameAs(sharedContext.getPropertyAccessors());
+		assertThat(context2.getMethodResolvers()).isEqualTo(sharedContext.getMethodResolvers());
+		assertThat(context2.getTypeConverter()).isSameAs(sharedContext.getTypeConverter());
+
+		// Accessor cached in the AST remains applicable for the second context
+		Expression expression = parser.parseExpression("name.flibbles");
+		assertThat(expression.getValue(context1)).isEqualTo(7);
+		assertThat(expression.getValue(context2)).isEqualTo(7);
+		assertThat(context2.getRootObject().getValue()).isInstanceOf(Person.class);
+	}
+
 
 	// This can resolve the property 'flibbles' on any String (very useful...)
 	private static class StringyPropertyAccessor implements PropertyAccessor {
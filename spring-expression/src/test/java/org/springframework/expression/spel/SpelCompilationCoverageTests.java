@@ -108,6 +108,8 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 	 * FunctionReference
 	 * InlineList
 	 * OpModulus
+	 * Projection
+	 * Selection
 	 *
 	 * Not yet compiled (some may never need to be):
 	 * Assign
@@ -118,9 +120,7 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 	 * OpMatches
 	 * OpPower
 	 * OpInc
-	 * Projection
 	 * QualifiedId
-	 * Selection
 	 */
 
 
@@ -894,6 +894,15 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		assertCanCompile(expression);
 	}
 
+	@Test
+	void elvisWithPrimitiveCondition() {
+		expression = parser.parseExpression("age ?: 5");
+		assertThat(expression.getValue(new Person(42), Integer.class)).isEqualTo(42);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(new Person(42), Integer.class)).isEqualTo(42);
+		assertThat(expression.getValue(new Person(0), Integer.class)).isEqualTo(0);
+	}
+
 	@Test
 	public void variableReference_root() throws Exception {
 		String s = "hello";
@@ -912,6 +921,98 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		assertThat(i).isEqualTo(42);
 	}
 
+	@Test
+	void variableReference_this() {
+		List<Integer> ints = new ArrayList<>(List.of(1, 2, 3));
+		expression = parser.parseExpression("#root.?[#this > 1]");
+		assertThat(expression.getValue(ints)).isEqualTo(List.of(2, 3));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(ints)).isEqualTo(List.of(2, 3));
+
+		expression = parser.parseExpression("#this.size()");
+		assertThat(expression.getValue(ints)).isEqualTo(3);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(ints)).isEqualTo(3);
+	}
+
+	@Test
+	void selection() {
+		Person p1 = new Person(10);
+		Person p2 = new Person(20);
+		Person p3 = new Person(30);
+		List<Person> people = new ArrayList<>(List.of(p1, p2, p3));
+
+		expression = parser.parseExpression("#root.?[age > 15]");
+		assertThat(expression.getValue(people)).isEqualTo(List.of(p2, p3));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(people)).isEqualTo(List.of(p2, p3));
+
+		expression = parser.parseExpression("#root.^[age > 15]");
+		assertThat(expression.getValue(people)).isSameAs(p2);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(people)).isSameAs(p2);
+
+		expression = parser.parseExpression("#root.$[age > 15]");
+		assertThat(expression.getValue(people)).isSameAs(p3);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(people)).isSameAs(p3);
+		assertThat(expression.getValue(new ArrayList<>(List.of(p1)))).isNull();
+
+		Person[] array = new Person[] {p1, p2, p3};
+		expression = parser.parseExpression("#root.?[age > 15]");
+		assertThat(expression.getValue(array)).isEqualTo(new Person[] {p2, p3});
+		assertCanCompile(expression);
+		assertThat(expression.getValue(array)).isEqualTo(new Person[] {p2, p3});
+
+		Map<String, Integer> map = new HashMap<>();
+		map.put("a", 1);
+		map.put("b", 2);
+		map.put("c", 3);
+		expression = parser.parseExpression("#root.?[value > 1]");
+		assertThat(expression.getValue(map)).isEqualTo(Map.of("b", 2, "c", 3));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(map)).isEqualTo(Map.of("b", 2, "c", 3));
+
+		expression = parser.parseExpression("#root.^[value > 1]");
+		assertThat(expression.getValue(map)).isEqualTo(Map.of("b", 2));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(map)).isEqualTo(Map.of("b", 2));
+	}
+
+	@Test
+	void projection() {
+		List<Person> people = new ArrayList<>(List.of(new Person(10), new Person(20)));
+		expression = parser.parseExpression("#root.![age * 2]");
+		assertThat(expression.getValue(people)).isEqualTo(List.of(20, 40));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(people)).isEqualTo(List.of(20, 40));
+
+		int[] ints = new int[] {1, 2, 3};
+		expression = parser.parseExpression("#root.![#this * 2]");
+		assertThat(expression.getValue(ints)).isEqualTo(new Integer[] {2, 4, 6});
+		assertCanCompile(expression);
+		assertThat(expression.getValue(ints)).isEqualTo(new Integer[] {2, 4, 6});
+
+		Map<String, Integer> map = new HashMap<>();
+		map.put("a", 1);
+		map.put("b", 2);
+		expression = parser.parseExpression("#root.![key.toUpperCase()]");
+		assertThat((List<?>) expression.getValue(map)).containsExactlyInAnyOrder("A", "B");
+		assertCanCompile(expression);
+		assertThat((List<?>) expression.getValue(map)).containsExactlyInAnyOrder("A", "B");
+
+		expression = parser.parseExpression("#root?.![age]");
+		assertThat(expression.getValue(people)).isEqualTo(List.of(10, 20));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(people)).isEqualTo(List.of(10, 20));
+		assertThat(expression.getValue((Object) null)).isNull();
+
+		expression = parser.parseExpression("#root.?[age > 15].![age]");
+		assertThat(expression.getValue(people)).isEqualTo(List.of(20));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(people)).isEqualTo(List.of(20));
+	}
+
 	public static String concat(String a, String b) {
 		return a+b;
 	}
@@ -1030,8 +1131,8 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 
 		expression = parser.parseExpression("#negate(#ints.?[#this<2][0])");
 		assertThat(expression.getValue(context, Integer.class).toString()).isEqualTo("-1");
-		// Selection isn't compilable.
-		assertThat(((SpelNodeImpl)((SpelExpression) expression).getAST()).isCompilable()).isFalse();
+		assertCanCompile(expression);
+		assertThat(expression.getValue(context, Integer.class).toString()).isEqualTo("-1");
 	}
 
 	@Test
@@ -16,6 +16,8 @@
 
 package org.springframework.expression.spel.standard;
 
+import java.lang.reflect.Field;
+import java.util.List;
 import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
@@ -91,6 +93,35 @@ class SpelCompilerTests {
 		});
 	}
 
+	@Test
+	void recompilationInMixedModeAfterOperandTypeChange() throws Exception {
+		SpelParserConfiguration config = new SpelParserConfiguration(SpelCompilerMode.MIXED, null);
+		SpelExpressionParser parser = new SpelExpressionParser(config);
+		Expression expression = parser.parseExpression("#this.![toString()]");
+		List<Integer> ints = List.of(1, 2, 3);
+		List<Long> longs = List.of(1L, 2L, 3L);
+
+		IntStream.rangeClosed(1, 101).forEach(i -> expression.getValue(ints));
+		SpelCompilationCoverageTests.assertIsCompiled(expression);
+
+		// Compiled form fails for Long elements -> reverts to interpreted mode
+		assertThat(expression.getValue(longs)).isEqualTo(List.of("1", "2", "3"));
+		assertThat(isCompiled(expression)).isFalse();
+
+		// Recompilation only after twice as many interpretations as initially
+		IntStream.rangeClosed(1, 199).forEach(i -> expression.getValue(longs));
+		assertThat(isCompiled(expression)).isFalse();
+		assertThat(expression.getValue(longs)).isEqualTo(List.of("1", "2", "3"));
+		SpelCompilationCoverageTests.assertIsCompiled(expression);
+		assertThat(expression.getValue(longs)).isEqualTo(List.of("1", "2", "3"));
+	}
+
+	private static boolean isCompiled(Expression expression) throws Exception {
+		Field field = SpelExpression.class.getDeclaredField("compiledAst");
+		field.setAccessible(true);
+		return (field.get(expression) != null);
+	}
+
 
 	static class OrderedComponent implements Ordered {
 
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+/**
+ * Benchmark for mapping rows from an in-memory HSQL database through
+ * {@link BeanPropertyRowMapper} and {@link DataClassRowMapper}, with and
+ * without compiled row mapping.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class BeanPropertyRowMapperBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"100", "10000"})
+		public int rowCount;
+
+		@Param({"false", "true"})
+		public boolean compiled;
+
+		public EmbeddedDatabase database;
+
+		public JdbcTemplate jdbcTemplate;
+
+		public BeanPropertyRowMapper<Person> beanMapper;
+
+		public DataClassRowMapper<PersonRecord> dataClassMapper;
+
+		@Setup
+		public void setup() {
+			this.database = new EmbeddedDatabaseBuilder().generateUniqueName(true)
+					.setType(EmbeddedDatabaseType.HSQL).build();
+			this.jdbcTemplate = new JdbcTemplate(this.database);
+			this.jdbcTemplate.execute("create table person (id integer primary key, first_name varchar(50), " +
+					"last_name varchar(50), age integer, active boolean, balance decimal(12,2), " +
+					"created_at timestamp)");
+			List<Object[]> rows = new ArrayList<>(this.rowCount);
+			for (int i = 0; i < this.rowCount; i++) {
+				rows.add(new Object[] {i, "first" + i, "last" + i, i % 100, i % 2 == 0,
+						new BigDecimal(i + ".50"), new Timestamp(System.currentTimeMillis())});
+			}
+			this.jdbcTemplate.batchUpdate("insert into person values (?, ?, ?, ?, ?, ?, ?)", rows);
+
+			this.beanMapper = new BeanPropertyRowMapper<>(Person.class);
+			this.beanMapper.setCompiledRowMapping(this.compiled);
+			this.dataClassMapper = new DataClassRowMapper<>(PersonRecord.class);
+			this.dataClassMapper.setCompiledRowMapping(this.compiled);
+		}
+
+		@TearDown
+		public void teardown() {
+			this.database.shutdown();
+		}
+	}
+
+	@Benchmark
+	public List<Person> beanPropertyRowMapper(BenchmarkState state) {
+		return state.jdbcTemplate.query("select * from person", state.beanMapper);
+	}
+
+	@Benchmark
+	public List<PersonRecord> dataClassRowMapper(BenchmarkState state) {
+		return state.jdbcTemplate.query("select * from person", state.dataClassMapper);
+	}
+
+
+	public static class Person {
+
+		private int id;
+
+		private String firstName;
+
+		private String lastName;
+
+		private int age;
+
+		private boolean active;
+
+		private BigDecimal balance;
+
+		private Date createdAt;
+
+		public int getId() {
+			return this.id;
+		}
+
+		public void setId(int id) {
+			this.id = id;
+		}
+
+		public String getFirstName() {
+			return this.firstName;
+		}
+
+		public void setFirstName(String firstName) {
+			this.firstName = firstName;
+		}
+
+		public String getLastName() {
+			return this.lastName;
+		}
+
+		public void setLastName(String lastName) {
+			this.lastName = lastName;
+		}
+
+		public int getAge() {
+			return this.age;
+		}
+
+		public void setAge(int age) {
+			this.age = age;
+		}
+
+		public boolean isActive() {
+			return this.active;
+		}
+
+		public void setActive(boolean active) {
+			this.active = active;
+		}
+
+		public BigDecimal getBalance() {
+			return this.balance;
+		}
+
+		public void setBalance(BigDecimal balance) {
+			this.balance = balance;
+		}
+
+		public Date getCreatedAt() {
+			return this.createdAt;
+		}
+
+		public void setCreatedAt(Date createdAt) {
+			this.createdAt = createdAt;
+		}
+	}
+
+
+	public record PersonRecord(int id, String firstName, String lastName, int age, boolean active,
+			BigDecimal balance, Date createdAt) {
+	}
+
+}
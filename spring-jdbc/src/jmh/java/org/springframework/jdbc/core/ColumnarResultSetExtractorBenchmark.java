@@ -0,0 +1,130 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+/**
+ * Benchmark for aggregating a numeric column per region from an in-memory HSQL
+ * database through {@link JdbcTemplate#queryForList(String)}, a {@link RowMapper},
+ * a {@link ColumnarResultSetExtractor} and a {@link ChunkedColumnarResultSetExtractor}.
+ * Run with the JMH GC profiler ({@code -prof gc}) for allocation rates per operation.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class ColumnarResultSetExtractorBenchmark {
+
+	private static final String QUERY = "select region_id, quantity, amount from sales";
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"10000", "1000000"})
+		public int rowCount;
+
+		public EmbeddedDatabase database;
+
+		public JdbcTemplate jdbcTemplate;
+
+		@Setup
+		public void setup() {
+			this.database = new EmbeddedDatabaseBuilder().generateUniqueName(true)
+					.setType(EmbeddedDatabaseType.HSQL).build();
+			this.jdbcTemplate = new JdbcTemplate(this.database);
+			this.jdbcTemplate.setFetchSize(ChunkedColumnarResultSetExtractor.DEFAULT_CHUNK_SIZE);
+			this.jdbcTemplate.execute("create table sales (id integer primary key, region_id integer, " +
+					"quantity bigint, amount double)");
+			List<Object[]> rows = new ArrayList<>(this.rowCount);
+			for (int i = 0; i < this.rowCount; i++) {
+				rows.add(new Object[] {i, i % 16, (long) (i % 100), i * 0.5});
+			}
+			this.jdbcTemplate.batchUpdate("insert into sales values (?, ?, ?, ?)", rows);
+		}
+
+		@TearDown
+		public void teardown() {
+			this.database.shutdown();
+		}
+	}
+
+	@Benchmark
+	public double[] queryForList(BenchmarkState state) {
+		double[] totals = new double[16];
+		for (Map<String, Object> row : state.jdbcTemplate.queryForList(QUERY)) {
+			totals[((Number) row.get("REGION_ID")).intValue()] +=
+					((Number) row.get("QUANTITY")).longValue() * ((Number) row.get("AMOUNT")).doubleValue();
+		}
+		return totals;
+	}
+
+	@Benchmark
+	public double[] rowMapper(BenchmarkState state) {
+		double[] totals = new double[16];
+		List<Sale> sales = state.jdbcTemplate.query(QUERY,
+				(rs, rowNum) -> new Sale(rs.getInt(1), rs.getLong(2), rs.getDouble(3)));
+		for (Sale sale : sales) {
+			totals[sale.regionId()] += sale.quantity() * sale.amount();
+		}
+		return totals;
+	}
+
+	@Benchmark
+	public double[] columnarResultSetExtractor(BenchmarkState state) {
+		double[] totals = new double[16];
+		ColumnarBatch batch = state.jdbcTemplate.query(QUERY, new ColumnarResultSetExtractor());
+		aggregate(batch, totals);
+		return totals;
+	}
+
+	@Benchmark
+	public double[] chunkedColumnarResultSetExtractor(BenchmarkState state) {
+		double[] totals = new double[16];
+		state.jdbcTemplate.query(QUERY, new ChunkedColumnarResultSetExtractor(batch -> aggregate(batch, totals)));
+		return totals;
+	}
+
+	private static void aggregate(ColumnarBatch batch, double[] totals) {
+		long[] regionIds = batch.getLongColumn(0);
+		long[] quantities = batch.getLongColumn(1);
+		double[] amounts = batch.getDoubleColumn(2);
+		for (int i = 0; i < batch.getRowCount(); i++) {
+			totals[(int) regionIds[i]] += quantities[i] * amounts[i];
+		}
+	}
+
+
+	record Sale(int regionId, long quantity, double amount) {
+	}
+
+}
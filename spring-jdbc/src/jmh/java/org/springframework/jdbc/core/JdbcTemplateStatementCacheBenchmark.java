@@ -0,0 +1,95 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Benchmark for repeated statement executions within a transaction against
+ * an embedded database without server-side statement caching, with and
+ * without a {@linkplain JdbcTemplate#setStatementCacheSize statement cache}.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class JdbcTemplateStatementCacheBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"0", "16"})
+		public int statementCacheSize;
+
+		@Param({"HSQL", "H2"})
+		public EmbeddedDatabaseType databaseType;
+
+		@Param({"100"})
+		public int statementsPerTransaction;
+
+		public EmbeddedDatabase database;
+
+		public JdbcTemplate jdbcTemplate;
+
+		public TransactionTemplate transactionTemplate;
+
+		@Setup
+		public void setup() {
+			this.database = new EmbeddedDatabaseBuilder().generateUniqueName(true)
+					.setType(this.databaseType).build();
+			this.jdbcTemplate = new JdbcTemplate(this.database);
+			this.jdbcTemplate.setStatementCacheSize(this.statementCacheSize);
+			this.jdbcTemplate.execute("create table account (id integer primary key, owner varchar(50), balance bigint)");
+			for (int i = 0; i < 100; i++) {
+				this.jdbcTemplate.update("insert into account (id, owner, balance) values (?, ?, ?)", i, "owner" + i, 1000L);
+			}
+			this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(this.database));
+		}
+
+		@TearDown
+		public void teardown() {
+			this.database.shutdown();
+		}
+	}
+
+	@Benchmark
+	public void queryAndUpdate(BenchmarkState state, Blackhole bh) {
+		state.transactionTemplate.executeWithoutResult(status -> {
+			for (int i = 0; i < state.statementsPerTransaction; i++) {
+				int id = i % 100;
+				bh.consume(state.jdbcTemplate.queryForObject(
+						"select balance from account where id = ? and owner is not null", Long.class, id));
+				bh.consume(state.jdbcTemplate.update(
+						"update account set balance = balance + ? where id = ?", 1L, id));
+			}
+		});
+	}
+
+}
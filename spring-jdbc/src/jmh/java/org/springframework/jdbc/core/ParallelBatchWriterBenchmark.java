@@ -0,0 +1,109 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+/**
+ * Benchmark for bulk inserts into an embedded H2 database, through
+ * {@link JdbcTemplate#batchUpdate(String, java.util.Collection, int, ParameterizedPreparedStatementSetter)}
+ * versus a {@link ParallelBatchWriter} with a varying number of connections.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+public class ParallelBatchWriterBenchmark {
+
+	private static final String INSERT_SQL = "insert into item (id, name, amount) values (?, ?, ?)";
+
+	private static final ParameterizedPreparedStatementSetter<Integer> ITEM_SETTER = (ps, id) -> {
+		ps.setInt(1, id);
+		ps.setString(2, "item" + id);
+		ps.setLong(3, id * 10L);
+	};
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"100000"})
+		public int rowCount;
+
+		@Param({"1000"})
+		public int batchSize;
+
+		@Param({"1", "4"})
+		public int concurrency;
+
+		public EmbeddedDatabase database;
+
+		public JdbcTemplate jdbcTemplate;
+
+		public ParallelBatchWriter<Integer> writer;
+
+		public List<Integer> ids;
+
+		@Setup
+		public void setup() {
+			this.database = new EmbeddedDatabaseBuilder().generateUniqueName(true)
+					.setType(EmbeddedDatabaseType.H2).build();
+			this.jdbcTemplate = new JdbcTemplate(this.database);
+			this.jdbcTemplate.execute("create table item (id integer primary key, name varchar(50), amount bigint)");
+			this.writer = new ParallelBatchWriter<>(this.jdbcTemplate, INSERT_SQL, ITEM_SETTER);
+			this.writer.setBatchSize(this.batchSize);
+			this.writer.setConcurrency(this.concurrency);
+			this.ids = IntStream.range(0, this.rowCount).boxed().collect(Collectors.toList());
+		}
+
+		@Setup(Level.Invocation)
+		public void truncate() {
+			this.jdbcTemplate.execute("truncate table item");
+		}
+
+		@TearDown
+		public void teardown() {
+			this.database.shutdown();
+		}
+	}
+
+	@Benchmark
+	public int[][] jdbcTemplateBatchUpdate(BenchmarkState state) {
+		return state.jdbcTemplate.batchUpdate(INSERT_SQL, state.ids, state.batchSize, ITEM_SETTER);
+	}
+
+	@Benchmark
+	public ParallelBatchWriter.Result parallelBatchWriter(BenchmarkState state) {
+		return state.writer.write(IntStream.range(0, state.rowCount).boxed());
+	}
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.namedparam;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark for {@link NamedParameterUtils} substitution and value array building,
+ * for scalar parameters as well as for an {@code IN} clause with and without padding.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class NamedParameterUtilsBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"5", "100"})
+		public int inClauseSize;
+
+		@Param({"false", "true"})
+		public boolean padInClauses;
+
+		public ParsedSql scalarSql;
+
+		public ParsedSql inClauseSql;
+
+		public MapSqlParameterSource paramSource;
+
+		@Setup
+		public void setup() {
+			this.scalarSql = NamedParameterUtils.parseSqlStatement(
+					"select * from person where first_name = :firstName and last_name = :lastName and age > :age");
+			this.inClauseSql = NamedParameterUtils.parseSqlStatement(
+					"select * from person where age > :age and id in (:ids)");
+			List<Integer> ids = IntStream.range(0, this.inClauseSize).boxed().collect(Collectors.toList());
+			this.paramSource = new MapSqlParameterSource("firstName", "Walter").addValue("lastName", "White")
+					.addValue("age", 50).addValue("ids", ids);
+		}
+	}
+
+	@Benchmark
+	public Object[] scalarParameters(BenchmarkState state) {
+		String sql = NamedParameterUtils.substituteNamedParameters(state.scalarSql, state.paramSource, state.padInClauses);
+		return new Object[] {sql, NamedParameterUtils.buildValueArray(
+				state.scalarSql, state.paramSource, null, state.padInClauses)};
+	}
+
+	@Benchmark
+	public Object[] inClauseParameters(BenchmarkState state) {
+		String sql = NamedParameterUtils.substituteNamedParameters(state.inClauseSql, state.paramSource, state.padInClauses);
+		return new Object[] {sql, NamedParameterUtils.buildValueArray(
+				state.inClauseSql, state.paramSource, null, state.padInClauses)};
+	}
+
+}
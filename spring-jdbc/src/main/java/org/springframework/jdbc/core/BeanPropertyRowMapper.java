@@ -16,12 +16,22 @@
 
 package org.springframework.jdbc.core;
 
+import java.beans.PropertyChangeEvent;
 import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
@@ -32,6 +42,7 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeanWrapper;
 import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.MethodInvocationException;
 import org.springframework.beans.NotWritablePropertyException;
 import org.springframework.beans.TypeConverter;
 import org.springframework.beans.TypeMismatchException;
@@ -43,6 +54,7 @@ import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -69,7 +81,8 @@ import org.springframework.util.StringUtils;
  * will have been set to the primitive's default value instead of null.
  *
  * <p>Please note that this class is designed to provide convenience rather than high performance.
- * For best performance, consider using a custom {@link RowMapper} implementation.
+ * For best performance, consider using a custom {@link RowMapper} implementation, or switch on
+ * {@link #setCompiledRowMapping compiled row mapping} for large result sets.
  *
  * @author Thomas Risberg
  * @author Juergen Hoeller
@@ -104,6 +117,20 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 	@Nullable
 	private Set<String> mappedProperties;
 
+	/** Whether we're mapping rows through a precomputed column mapping plan. */
+	private boolean compiledRowMapping = false;
+
+	/** Column mapping plan for the most recently mapped ResultSet. */
+	@Nullable
+	private volatile CurrentRowMappingPlan currentRowMappingPlan;
+
+	/** Incremented whenever the mapping meta-data changes, invalidating all plans. */
+	private volatile int rowMappingPlanGeneration;
+
+	/** Whether column values may be read through typed ResultSet getters directly. */
+	@Nullable
+	private volatile Boolean typedColumnAccess;
+
 
 	/**
 	 * Create a new {@code BeanPropertyRowMapper} for bean-style configuration.
@@ -191,6 +218,32 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 		return this.primitivesDefaultedForNullValue;
 	}
 
+	/**
+	 * Set whether to map rows through a precomputed plan that binds each column
+	 * index to its target property once per {@code ResultSet} layout, rather than
+	 * resolving column names and properties for every row.
+	 * <p>Default is {@code false}. If switched on, the plan is created on the first
+	 * row and reused for as long as the column labels of the mapped {@code ResultSet}
+	 * remain the same. Columns of common JDBC types (such as {@code String}, numbers
+	 * and their primitives, {@code BigDecimal} and date/time types) are read through
+	 * the corresponding typed {@code ResultSet} getter and set directly on matching
+	 * properties, without going through the {@link ConversionService}; any other
+	 * columns are bound through a {@link BeanWrapper} as usual. Typed access is not
+	 * applied if this mapper overrides {@link #getColumnValue} or {@link #initBeanWrapper}.
+	 * @since 6.0
+	 */
+	public void setCompiledRowMapping(boolean compiledRowMapping) {
+		this.compiledRowMapping = compiledRowMapping;
+	}
+
+	/**
+	 * Return whether rows are mapped through a precomputed column mapping plan.
+	 * @since 6.0
+	 */
+	public boolean isCompiledRowMapping() {
+		return this.compiledRowMapping;
+	}
+
 	/**
 	 * Set a {@link ConversionService} for binding JDBC values to bean properties,
 	 * or {@code null} for none.
@@ -222,6 +275,7 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 		this.mappedClass = mappedClass;
 		this.mappedFields = new HashMap<>();
 		this.mappedProperties = new HashSet<>();
+		resetRowMappingPlan();
 
 		for (PropertyDescriptor pd : BeanUtils.getPropertyDescriptors(mappedClass)) {
 			if (pd.getWriteMethod() != null) {
@@ -246,6 +300,12 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 			this.mappedFields.remove(lowerCaseName(propertyName));
 			this.mappedFields.remove(underscoreName(propertyName));
 		}
+		resetRowMappingPlan();
+	}
+
+	private void resetRowMappingPlan() {
+		this.currentRowMappingPlan = null;
+		this.rowMappingPlanGeneration++;
 	}
 
 	/**
@@ -294,6 +354,10 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 	 */
 	@Override
 	public T mapRow(ResultSet rs, int rowNumber) throws SQLException {
+		if (this.compiledRowMapping) {
+			return mapRow(rs, rowNumber, getRowMappingPlan(rs));
+		}
+
 		BeanWrapperImpl bw = new BeanWrapperImpl();
 		initBeanWrapper(bw);
 
@@ -309,36 +373,14 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 			String field = lowerCaseName(StringUtils.delete(column, " "));
 			PropertyDescriptor pd = (this.mappedFields != null ? this.mappedFields.get(field) : null);
 			if (pd != null) {
-				try {
-					Object value = getColumnValue(rs, index, pd);
-					if (rowNumber == 0 && logger.isDebugEnabled()) {
-						logger.debug("Mapping column '" + column + "' to property '" + pd.getName() +
-								"' of type '" + ClassUtils.getQualifiedName(pd.getPropertyType()) + "'");
-					}
-					try {
-						bw.setPropertyValue(pd.getName(), value);
-					}
-					catch (TypeMismatchException ex) {
-						if (value == null && this.primitivesDefaultedForNullValue) {
-							if (logger.isDebugEnabled()) {
-								logger.debug("Intercepted TypeMismatchException for row " + rowNumber +
-										" and column '" + column + "' with null value when setting property '" +
-										pd.getName() + "' of type '" +
-										ClassUtils.getQualifiedName(pd.getPropertyType()) +
-										"' on object: " + mappedObject, ex);
-							}
-						}
-						else {
-							throw ex;
-						}
-					}
-					if (populatedProperties != null) {
-						populatedProperties.add(pd.getName());
-					}
+				Object value = getColumnValue(rs, index, pd);
+				if (rowNumber == 0 && logger.isDebugEnabled()) {
+					logger.debug("Mapping column '" + column + "' to property '" + pd.getName() +
+							"' of type '" + ClassUtils.getQualifiedName(pd.getPropertyType()) + "'");
 				}
-				catch (NotWritablePropertyException ex) {
-					throw new DataRetrievalFailureException(
-							"Unable to map column '" + column + "' to property '" + pd.getName() + "'", ex);
+				setPropertyValue(bw, rowNumber, column, pd, value);
+				if (populatedProperties != null) {
+					populatedProperties.add(pd.getName());
 				}
 			}
 		}
@@ -351,6 +393,165 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 		return mappedObject;
 	}
 
+	/**
+	 * Map the current row through the given plan.
+	 */
+	private T mapRow(ResultSet rs, int rowNumber, RowMappingPlan plan) throws SQLException {
+		if (isCheckFullyPopulated() && !plan.fullyPopulated) {
+			throw new InvalidDataAccessApiUsageException("Given ResultSet does not contain all fields " +
+					"necessary to populate object of " + this.mappedClass + ": " + this.mappedProperties);
+		}
+
+		BeanWrapperImpl bw = new BeanWrapperImpl();
+		initBeanWrapper(bw);
+
+		T mappedObject = constructMappedInstance(rs, bw);
+		bw.setBeanInstance(mappedObject);
+
+		for (ColumnMapping mapping : plan.columnMappings) {
+			if (mapping.reader != null && mapping.writer != null) {
+				Object value = mapping.reader.getValue(rs, mapping.index);
+				if (value != null || !mapping.primitive) {
+					mapping.setValue(mappedObject, value);
+				}
+				else {
+					// Null for primitive property: handled by the BeanWrapper
+					setPropertyValue(bw, rowNumber, mapping.column, mapping.pd, null);
+				}
+			}
+			else {
+				Object value = getColumnValue(rs, mapping.index, mapping.pd);
+				setPropertyValue(bw, rowNumber, mapping.column, mapping.pd, value);
+			}
+		}
+
+		return mappedObject;
+	}
+
+	private void setPropertyValue(BeanWrapper bw, int rowNumber, String column, PropertyDescriptor pd,
+			@Nullable Object value) {
+
+		try {
+			bw.setPropertyValue(pd.getName(), value);
+		}
+		catch (TypeMismatchException ex) {
+			if (value == null && this.primitivesDefaultedForNullValue) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Intercepted TypeMismatchException for row " + rowNumber +
+							" and column '" + column + "' with null value when setting property '" +
+							pd.getName() + "' of type '" +
+							ClassUtils.getQualifiedName(pd.getPropertyType()) +
+							"' on object: " + bw.getWrappedInstance(), ex);
+				}
+			}
+			else {
+				throw ex;
+			}
+		}
+		catch (NotWritablePropertyException ex) {
+			throw new DataRetrievalFailureException(
+					"Unable to map column '" + column + "' to property '" + pd.getName() + "'", ex);
+		}
+	}
+
+	/**
+	 * Obtain the column mapping plan for the given ResultSet, reusing the
+	 * current plan if the ResultSet has the same column labels.
+	 * <p>The meta-data is only read for the first row of a ResultSet, unless
+	 * rows of other ResultSets are mapped concurrently in the meantime.
+	 * @param rs the ResultSet to map
+	 * @return the applicable plan
+	 * @throws SQLException if the ResultSet meta-data cannot be read
+	 */
+	RowMappingPlan getRowMappingPlan(ResultSet rs) throws SQLException {
+		int generation = this.rowMappingPlanGeneration;
+		CurrentRowMappingPlan current = this.currentRowMappingPlan;
+		if (current != null && current.generation != generation) {
+			current = null;
+		}
+		if (current != null && current.resultSet.get() == rs) {
+			return current.plan;
+		}
+		ResultSetMetaData rsmd = rs.getMetaData();
+		String[] columns = new String[rsmd.getColumnCount()];
+		for (int index = 1; index <= columns.length; index++) {
+			columns[index - 1] = JdbcUtils.lookupColumnName(rsmd, index);
+		}
+		RowMappingPlan plan = (current != null && Arrays.equals(current.plan.columns, columns) ?
+				current.plan : createRowMappingPlan(rs, columns));
+		this.currentRowMappingPlan = new CurrentRowMappingPlan(rs, plan, generation);
+		return plan;
+	}
+
+	private RowMappingPlan createRowMappingPlan(ResultSet rs, String[] columns) throws SQLException {
+		List<ColumnMapping> columnMappings = new ArrayList<>(columns.length);
+		Set<String> populatedProperties = new HashSet<>();
+		for (int index = 1; index <= columns.length; index++) {
+			String column = columns[index - 1];
+			String field = lowerCaseName(StringUtils.delete(column, " "));
+			PropertyDescriptor pd = (this.mappedFields != null ? this.mappedFields.get(field) : null);
+			if (pd != null) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Mapping column '" + column + "' to property '" + pd.getName() +
+							"' of type '" + ClassUtils.getQualifiedName(pd.getPropertyType()) + "'");
+				}
+				ColumnReader reader = getTypedColumnReader(pd.getPropertyType());
+				MethodHandle writer = (reader != null ? createWriter(pd) : null);
+				columnMappings.add(new ColumnMapping(index, column, pd, reader, writer));
+				populatedProperties.add(pd.getName());
+			}
+		}
+		return new RowMappingPlan(columns, columnMappings.toArray(new ColumnMapping[0]),
+				populatedProperties.equals(this.mappedProperties), resolveConstructorColumns(rs));
+	}
+
+	/**
+	 * Resolve the column indexes for the constructor arguments of the mapped
+	 * class, if any, to be kept in the {@link RowMappingPlan}.
+	 * <p>The default implementation returns {@code null}.
+	 * @param rs the ResultSet to map
+	 * @return the column index for each constructor argument, or {@code null}
+	 * @throws SQLException if a column cannot be found
+	 */
+	@Nullable
+	int[] resolveConstructorColumns(ResultSet rs) throws SQLException {
+		return null;
+	}
+
+	/**
+	 * Return a typed reader for columns mapped to the given type, if supported
+	 * and not superseded by a custom {@link #getColumnValue} implementation.
+	 * @param type the target type
+	 * @return the reader, or {@code null} to go through {@code getColumnValue}
+	 */
+	@Nullable
+	ColumnReader getTypedColumnReader(Class<?> type) {
+		Boolean typedColumnAccess = this.typedColumnAccess;
+		if (typedColumnAccess == null) {
+			typedColumnAccess = !overridesColumnAccessHooks(getClass());
+			this.typedColumnAccess = typedColumnAccess;
+		}
+		return (typedColumnAccess ? ColumnReader.forType(type) : null);
+	}
+
+	@Nullable
+	private MethodHandle createWriter(PropertyDescriptor pd) {
+		Method writeMethod = pd.getWriteMethod();
+		if (writeMethod == null) {
+			return null;
+		}
+		try {
+			ReflectionUtils.makeAccessible(writeMethod);
+			return MethodHandles.lookup().unreflect(writeMethod).asType(ColumnMapping.WRITER_TYPE);
+		}
+		catch (IllegalAccessException | RuntimeException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Cannot directly invoke write method [" + writeMethod + "] - using BeanWrapper", ex);
+			}
+			return null;
+		}
+	}
+
 	/**
 	 * Construct an instance of the mapped class for the current row.
 	 * @param rs the ResultSet to map (pre-initialized for the current row)
@@ -416,6 +617,20 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 	}
 
 
+	private static boolean overridesColumnAccessHooks(Class<?> mapperClass) {
+		Method[] hooks = new Method[] {
+				ReflectionUtils.findMethod(mapperClass, "getColumnValue", ResultSet.class, int.class, PropertyDescriptor.class),
+				ReflectionUtils.findMethod(mapperClass, "getColumnValue", ResultSet.class, int.class, Class.class),
+				ReflectionUtils.findMethod(mapperClass, "initBeanWrapper", BeanWrapper.class)};
+		for (Method hook : hooks) {
+			if (hook == null || hook.getDeclaringClass() != BeanPropertyRowMapper.class) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+
 	/**
 	 * Static factory method to create a new {@code BeanPropertyRowMapper}.
 	 * @param mappedClass the class that each row should be mapped to
@@ -442,4 +657,171 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 		return rowMapper;
 	}
 
+
+	/**
+	 * Plan for mapping rows of a specific {@code ResultSet} layout.
+	 */
+	static final class RowMappingPlan {
+
+		final String[] columns;
+
+		final ColumnMapping[] columnMappings;
+
+		final boolean fullyPopulated;
+
+		@Nullable
+		final int[] constructorColumns;
+
+		RowMappingPlan(String[] columns, ColumnMapping[] columnMappings,
+				boolean fullyPopulated, @Nullable int[] constructorColumns) {
+
+			this.columns = columns;
+			this.columnMappings = columnMappings;
+			this.fullyPopulated = fullyPopulated;
+			this.constructorColumns = constructorColumns;
+		}
+	}
+
+
+	/**
+	 * The plan applied to the most recently mapped {@code ResultSet}.
+	 */
+	private static final class CurrentRowMappingPlan {
+
+		final WeakReference<ResultSet> resultSet;
+
+		final RowMappingPlan plan;
+
+		final int generation;
+
+		CurrentRowMappingPlan(ResultSet rs, RowMappingPlan plan, int generation) {
+			this.resultSet = new WeakReference<>(rs);
+			this.plan = plan;
+			this.generation = generation;
+		}
+	}
+
+
+	/**
+	 * Mapping of a column index to a bean property.
+	 */
+	private static final class ColumnMapping {
+
+		static final MethodType WRITER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+		final int index;
+
+		final String column;
+
+		final PropertyDescriptor pd;
+
+		final boolean primitive;
+
+		@Nullable
+		final ColumnReader reader;
+
+		@Nullable
+		final MethodHandle writer;
+
+		ColumnMapping(int index, String column, PropertyDescriptor pd,
+				@Nullable ColumnReader reader, @Nullable MethodHandle writer) {
+
+			this.index = index;
+			this.column = column;
+			this.pd = pd;
+			this.primitive = pd.getPropertyType().isPrimitive();
+			this.reader = reader;
+			this.writer = writer;
+		}
+
+		void setValue(Object target, @Nullable Object value) {
+			Assert.state(this.writer != null, "No writer");
+			try {
+				this.writer.invokeExact(target, value);
+			}
+			catch (Throwable ex) {
+				PropertyChangeEvent pce = new PropertyChangeEvent(target, this.pd.getName(), null, value);
+				throw new MethodInvocationException(pce, ex);
+			}
+		}
+	}
+
+
+	/**
+	 * Strategy for reading a column value through a typed {@code ResultSet}
+	 * getter, with the same semantics as
+	 * {@link JdbcUtils#getResultSetValue(ResultSet, int, Class)}.
+	 */
+	@FunctionalInterface
+	interface ColumnReader {
+
+		@Nullable
+		Object getValue(ResultSet rs, int index) throws SQLException;
+
+		@Nullable
+		static ColumnReader forType(Class<?> type) {
+			if (String.class == type) {
+				return ResultSet::getString;
+			}
+			else if (boolean.class == type || Boolean.class == type) {
+				return (rs, index) -> {
+					boolean value = rs.getBoolean(index);
+					return (value || !rs.wasNull() ? value : null);
+				};
+			}
+			else if (byte.class == type || Byte.class == type) {
+				return (rs, index) -> {
+					byte value = rs.getByte(index);
+					return (value != 0 || !rs.wasNull() ? value : null);
+				};
+			}
+			else if (short.class == type || Short.class == type) {
+				return (rs, index) -> {
+					short value = rs.getShort(index);
+					return (value != 0 || !rs.wasNull() ? value : null);
+				};
+			}
+			else if (int.class == type || Integer.class == type) {
+				return (rs, index) -> {
+					int value = rs.getInt(index);
+					return (value != 0 || !rs.wasNull() ? value : null);
+				};
+			}
+			else if (long.class == type || Long.class == type) {
+				return (rs, index) -> {
+					long value = rs.getLong(index);
+					return (value != 0 || !rs.wasNull() ? value : null);
+				};
+			}
+			else if (float.class == type || Float.class == type) {
+				return (rs, index) -> {
+					float value = rs.getFloat(index);
+					return (value != 0 || !rs.wasNull() ? value : null);
+				};
+			}
+			else if (double.class == type || Double.class == type || Number.class == type) {
+				return (rs, index) -> {
+					double value = rs.getDouble(index);
+					return (value != 0 || !rs.wasNull() ? value : null);
+				};
+			}
+			else if (BigDecimal.class == type) {
+				return ResultSet::getBigDecimal;
+			}
+			else if (java.sql.Date.class == type) {
+				return ResultSet::getDate;
+			}
+			else if (java.sql.Time.class == type) {
+				return ResultSet::getTime;
+			}
+			else if (java.sql.Timestamp.class == type || java.util.Date.class == type) {
+				return ResultSet::getTimestamp;
+			}
+			else if (byte[].class == type) {
+				return ResultSet::getBytes;
+			}
+			return null;
+		}
+	}
+
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Extension of {@link PreparedStatementCreator} for creators whose statements
+ * may be reused for subsequent executions on the same connection, separating
+ * the preparation of the statement from the setting of its parameter values.
+ *
+ * @author agent
+ * @since 6.0
+ * @see JdbcTemplate#setStatementCacheSize
+ */
+interface CacheablePreparedStatementCreator extends PreparedStatementCreator, PreparedStatementSetter {
+
+	/**
+	 * Return the key identifying statements that are interchangeable with the
+	 * statements prepared by this creator, i.e. the SQL along with any statement
+	 * options, or {@code null} if the statement is not suitable for reuse.
+	 */
+	@Nullable
+	Object getStatementCacheKey();
+
+	/**
+	 * Prepare a statement for the given connection, without parameter values.
+	 * @param con the connection to prepare the statement on
+	 * @return the prepared statement
+	 * @throws SQLException if thrown by JDBC methods
+	 * @see #setValues
+	 */
+	PreparedStatement prepareStatement(Connection con) throws SQLException;
+
+	@Override
+	default PreparedStatement createPreparedStatement(Connection con) throws SQLException {
+		PreparedStatement ps = prepareStatement(con);
+		setValues(ps);
+		return ps;
+	}
+
+}
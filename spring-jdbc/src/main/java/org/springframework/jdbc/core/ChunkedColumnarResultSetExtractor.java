@@ -0,0 +1,164 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ResultSetExtractor} implementation that reads a {@link ResultSet}
+ * in chunks of rows, handing each chunk as a {@link ColumnarBatch} to a
+ * {@link ColumnarBatchCallback}. The column buffers are allocated once for
+ * the chunk size and reused for every chunk, so that no objects get allocated
+ * per row except for the values of {@code OBJECT} columns and new dictionary
+ * entries of {@code STRING} columns.
+ *
+ * <p>Note that the dictionaries of {@code STRING} columns keep their codes
+ * stable across chunks by default, growing with the number of distinct values
+ * in the entire result. For high-cardinality character columns, consider
+ * {@linkplain #setResetDictionaries resetting the dictionaries} for every chunk
+ * or specifying {@code OBJECT} as their storage type instead.
+ *
+ * <p>Returns the total number of rows processed. A usage example with JdbcTemplate:
+ *
+ * <pre class="code">double[] total = new double[1];
+ * jdbcTemplate.query("select amount from sales", new ChunkedColumnarResultSetExtractor(batch -&gt; {
+ *     double[] amounts = batch.getDoubleColumn(0);
+ *     for (int i = 0; i &lt; batch.getRowCount(); i++) {
+ *         total[0] += amounts[i];
+ *     }
+ * }));</pre>
+ *
+ * <p>Consider setting a {@linkplain JdbcTemplate#setFetchSize fetch size} on the
+ * JdbcTemplate in line with the chunk size, in order to have the JDBC driver
+ * stream the result rather than hold all of it in memory.
+ *
+ * @author agent
+ * @since 6.0
+ * @see ColumnarBatch
+ * @see ColumnarResultSetExtractor
+ */
+public class ChunkedColumnarResultSetExtractor implements ResultSetExtractor<Long> {
+
+	/** Default number of rows per chunk: 4096. */
+	public static final int DEFAULT_CHUNK_SIZE = 4096;
+
+
+	private final ColumnarBatchCallback callback;
+
+	private final int chunkSize;
+
+	@Nullable
+	private final ColumnarBatch.ColumnType[] columnTypes;
+
+	private boolean resetDictionaries;
+
+
+	/**
+	 * Create a new {@code ChunkedColumnarResultSetExtractor} with the default
+	 * chunk size, determining the storage type of each column from the
+	 * result set metadata.
+	 * @param callback the callback to invoke for each chunk
+	 */
+	public ChunkedColumnarResultSetExtractor(ColumnarBatchCallback callback) {
+		this(callback, DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * Create a new {@code ChunkedColumnarResultSetExtractor}, determining the
+	 * storage type of each column from the result set metadata.
+	 * @param callback the callback to invoke for each chunk
+	 * @param chunkSize the maximum number of rows per chunk
+	 */
+	public ChunkedColumnarResultSetExtractor(ColumnarBatchCallback callback, int chunkSize) {
+		Assert.notNull(callback, "ColumnarBatchCallback must not be null");
+		Assert.isTrue(chunkSize > 0, "Chunk size must be greater than 0");
+		this.callback = callback;
+		this.chunkSize = chunkSize;
+		this.columnTypes = null;
+	}
+
+	/**
+	 * Create a new {@code ChunkedColumnarResultSetExtractor} for the given
+	 * storage types, one per column in the result set.
+	 * @param callback the callback to invoke for each chunk
+	 * @param chunkSize the maximum number of rows per chunk
+	 * @param columnTypes the storage types of the columns
+	 */
+	public ChunkedColumnarResultSetExtractor(
+			ColumnarBatchCallback callback, int chunkSize, ColumnarBatch.ColumnType... columnTypes) {
+
+		Assert.notNull(callback, "ColumnarBatchCallback must not be null");
+		Assert.isTrue(chunkSize > 0, "Chunk size must be greater than 0");
+		Assert.notEmpty(columnTypes, "Column types must not be empty");
+		this.callback = callback;
+		this.chunkSize = chunkSize;
+		this.columnTypes = columnTypes;
+	}
+
+
+	/**
+	 * Set whether to reset the dictionaries of {@code STRING} columns after
+	 * each chunk, bounding their size by the chunk size rather than by the
+	 * number of distinct values in the entire result.
+	 * <p>Default is {@code false}, keeping dictionary codes stable across the
+	 * chunks of a result. Switch this to {@code true} when the codes are only
+	 * interpreted within the callback for a single chunk.
+	 */
+	public void setResetDictionaries(boolean resetDictionaries) {
+		this.resetDictionaries = resetDictionaries;
+	}
+
+	/**
+	 * Return whether the dictionaries of {@code STRING} columns get reset
+	 * after each chunk.
+	 */
+	public boolean isResetDictionaries() {
+		return this.resetDictionaries;
+	}
+
+
+	@Override
+	public Long extractData(ResultSet rs) throws SQLException {
+		ColumnarBatch batch = ColumnarBatch.forResultSet(rs.getMetaData(), this.columnTypes, this.chunkSize);
+		long rowCount = 0;
+		while (rs.next()) {
+			batch.readRow(rs);
+			if (batch.getRowCount() == this.chunkSize) {
+				rowCount += processBatch(batch);
+			}
+		}
+		if (batch.getRowCount() > 0) {
+			rowCount += processBatch(batch);
+		}
+		return rowCount;
+	}
+
+	private int processBatch(ColumnarBatch batch) throws SQLException {
+		int batchRowCount = batch.getRowCount();
+		this.callback.processBatch(batch);
+		batch.clear();
+		if (this.resetDictionaries) {
+			batch.resetDictionaries();
+		}
+		return batchRowCount;
+	}
+
+}
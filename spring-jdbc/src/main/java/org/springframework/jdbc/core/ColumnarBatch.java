@@ -0,0 +1,535 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.jdbc.IncorrectResultSetColumnCountException;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.lang.Nullable;
+
+/**
+ * Column-oriented view of a number of rows from a {@link java.sql.ResultSet},
+ * holding the values of each column in a primitive array rather than in one
+ * object per row: {@code long[]} for integral and boolean columns, {@code double[]}
+ * for floating-point and decimal columns, and dictionary codes in an {@code int[]}
+ * for character columns, with every distinct string value kept only once.
+ * Any other column types are held as plain objects.
+ *
+ * <p>The column arrays returned from the accessor methods are the actual buffers
+ * of this batch, with the values at positions {@code 0} to {@link #getRowCount()}
+ * {@code - 1}; further positions are unspecified. They are not to be modified
+ * and, when the batch is handed to a {@link ColumnarBatchCallback}, only to be
+ * accessed during the callback since the buffers get reused for the next chunk.
+ * Dictionary codes remain stable across the chunks of the same result set,
+ * unless {@linkplain ChunkedColumnarResultSetExtractor#setResetDictionaries
+ * reset for every chunk}.
+ *
+ * <p>Columns are indexed from 0 to n-1, in contrast to JDBC's 1-based indexes.
+ *
+ * @author agent
+ * @since 6.0
+ * @see ColumnarResultSetExtractor
+ * @see ChunkedColumnarResultSetExtractor
+ */
+public final class ColumnarBatch {
+
+	private final String[] columnNames;
+
+	private final Column[] columns;
+
+	private int rowCount;
+
+
+	private ColumnarBatch(String[] columnNames, Column[] columns) {
+		this.columnNames = columnNames;
+		this.columns = columns;
+	}
+
+
+	/**
+	 * Return the number of rows in this batch.
+	 */
+	public int getRowCount() {
+		return this.rowCount;
+	}
+
+	/**
+	 * Return the number of columns in this batch.
+	 */
+	public int getColumnCount() {
+		return this.columns.length;
+	}
+
+	/**
+	 * Return the name of the specified column, as determined by
+	 * {@link JdbcUtils#lookupColumnName}.
+	 * @param column the column index (starting from 0)
+	 */
+	public String getColumnName(int column) {
+		return this.columnNames[column];
+	}
+
+	/**
+	 * Determine the index of the column with the given name (case-insensitive).
+	 * @param columnName the name of the column
+	 * @return the column index (starting from 0)
+	 * @throws InvalidDataAccessApiUsageException if there is no such column
+	 */
+	public int findColumn(String columnName) {
+		for (int i = 0; i < this.columnNames.length; i++) {
+			if (this.columnNames[i].equalsIgnoreCase(columnName)) {
+				return i;
+			}
+		}
+		throw new InvalidDataAccessApiUsageException("No column '" + columnName +
+				"' in columnar batch with columns " + Arrays.toString(this.columnNames));
+	}
+
+	/**
+	 * Return the storage type of the specified column.
+	 * @param column the column index (starting from 0)
+	 */
+	public ColumnType getColumnType(int column) {
+		return this.columns[column].getType();
+	}
+
+	/**
+	 * Return the values of the specified {@link ColumnType#LONG} column,
+	 * with {@code 0} for {@code null} values.
+	 * @param column the column index (starting from 0)
+	 * @see #isNull
+	 */
+	public long[] getLongColumn(int column) {
+		return ((LongColumn) getColumn(column, ColumnType.LONG)).values;
+	}
+
+	/**
+	 * Return the values of the specified {@link ColumnType#DOUBLE} column,
+	 * with {@code 0} for {@code null} values.
+	 * @param column the column index (starting from 0)
+	 * @see #isNull
+	 */
+	public double[] getDoubleColumn(int column) {
+		return ((DoubleColumn) getColumn(column, ColumnType.DOUBLE)).values;
+	}
+
+	/**
+	 * Return the dictionary codes of the specified {@link ColumnType#STRING} column,
+	 * with {@code -1} for {@code null} values.
+	 * @param column the column index (starting from 0)
+	 * @see #getDictionary
+	 */
+	public int[] getDictionaryCodes(int column) {
+		return ((StringColumn) getColumn(column, ColumnType.STRING)).codes;
+	}
+
+	/**
+	 * Return the dictionary of the specified {@link ColumnType#STRING} column,
+	 * containing the distinct values encountered so far at the positions of
+	 * their {@linkplain #getDictionaryCodes codes}.
+	 * @param column the column index (starting from 0)
+	 */
+	public List<String> getDictionary(int column) {
+		return Collections.unmodifiableList(((StringColumn) getColumn(column, ColumnType.STRING)).dictionary);
+	}
+
+	/**
+	 * Return the values of the specified {@link ColumnType#OBJECT} column.
+	 * @param column the column index (starting from 0)
+	 */
+	public Object[] getObjectColumn(int column) {
+		return ((ObjectColumn) getColumn(column, ColumnType.OBJECT)).values;
+	}
+
+	/**
+	 * Determine whether the specified value is {@code null}.
+	 * @param column the column index (starting from 0)
+	 * @param row the row index within this batch (starting from 0)
+	 */
+	public boolean isNull(int column, int row) {
+		checkRow(row);
+		return this.columns[column].isNull(row);
+	}
+
+	/**
+	 * Return the specified value as an object, decoding dictionary codes
+	 * and boxing primitive values as necessary. Mainly intended for
+	 * occasional access, e.g. for rendering individual rows.
+	 * @param column the column index (starting from 0)
+	 * @param row the row index within this batch (starting from 0)
+	 * @return the value, or {@code null} for a {@code null} value
+	 */
+	@Nullable
+	public Object getValue(int column, int row) {
+		checkRow(row);
+		Column col = this.columns[column];
+		return (col.isNull(row) ? null : col.getValue(row));
+	}
+
+	private Column getColumn(int column, ColumnType requiredType) {
+		Column col = this.columns[column];
+		if (col.getType() != requiredType) {
+			throw new InvalidDataAccessApiUsageException("Column '" + this.columnNames[column] +
+					"' is of type " + col.getType() + " and cannot be accessed as " + requiredType);
+		}
+		return col;
+	}
+
+	private void checkRow(int row) {
+		if (row < 0 || row >= this.rowCount) {
+			throw new IndexOutOfBoundsException("Row index " + row + " out of bounds for row count " + this.rowCount);
+		}
+	}
+
+
+	/**
+	 * Read the current row of the given ResultSet into this batch,
+	 * growing the column buffers if necessary.
+	 */
+	void readRow(ResultSet rs) throws SQLException {
+		int row = this.rowCount;
+		for (int i = 0; i < this.columns.length; i++) {
+			Column col = this.columns[i];
+			col.ensureCapacity(row + 1);
+			col.read(rs, i + 1, row);
+		}
+		this.rowCount = row + 1;
+	}
+
+	/**
+	 * Reset this batch to zero rows, retaining its buffers and dictionaries.
+	 */
+	void clear() {
+		for (Column col : this.columns) {
+			col.clear(this.rowCount);
+		}
+		this.rowCount = 0;
+	}
+
+	/**
+	 * Reset the dictionaries of all {@link ColumnType#STRING} columns,
+	 * to be called after {@link #clear()}.
+	 */
+	void resetDictionaries() {
+		for (Column col : this.columns) {
+			if (col instanceof StringColumn stringColumn) {
+				stringColumn.resetDictionary();
+			}
+		}
+	}
+
+	/**
+	 * Create an empty batch for the columns of the given result set metadata.
+	 * @param rsmd the metadata of the result set to read
+	 * @param columnTypes the storage types to use for the columns, or {@code null}
+	 * to derive them from the result set metadata
+	 * @param initialCapacity the initial number of rows to allocate buffers for
+	 */
+	static ColumnarBatch forResultSet(ResultSetMetaData rsmd, @Nullable ColumnType[] columnTypes,
+			int initialCapacity) throws SQLException {
+
+		int columnCount = rsmd.getColumnCount();
+		if (columnTypes != null && columnTypes.length != columnCount) {
+			throw new IncorrectResultSetColumnCountException(columnTypes.length, columnCount);
+		}
+		String[] columnNames = new String[columnCount];
+		Column[] columns = new Column[columnCount];
+		for (int i = 0; i < columnCount; i++) {
+			int sqlType = rsmd.getColumnType(i + 1);
+			columnNames[i] = JdbcUtils.lookupColumnName(rsmd, i + 1);
+			ColumnType columnType = (columnTypes != null ? columnTypes[i] :
+					determineColumnType(sqlType, rsmd.getPrecision(i + 1), rsmd.getScale(i + 1)));
+			columns[i] = switch (columnType) {
+				case LONG -> new LongColumn(initialCapacity, sqlType == Types.BOOLEAN || sqlType == Types.BIT);
+				case DOUBLE -> new DoubleColumn(initialCapacity);
+				case STRING -> new StringColumn(initialCapacity);
+				case OBJECT -> new ObjectColumn(initialCapacity);
+			};
+		}
+		return new ColumnarBatch(columnNames, columns);
+	}
+
+	/**
+	 * Determine the storage type for a column of the given SQL type.
+	 * @param sqlType the SQL type of the column, as defined in {@link java.sql.Types}
+	 * @param precision the precision of the column (for decimal columns)
+	 * @param scale the scale of the column (for decimal columns)
+	 */
+	static ColumnType determineColumnType(int sqlType, int precision, int scale) {
+		return switch (sqlType) {
+			case Types.BIGINT, Types.INTEGER, Types.SMALLINT, Types.TINYINT, Types.BIT, Types.BOOLEAN ->
+					ColumnType.LONG;
+			case Types.DECIMAL, Types.NUMERIC ->
+					(scale == 0 && precision > 0 && precision <= 18 ? ColumnType.LONG : ColumnType.DOUBLE);
+			case Types.DOUBLE, Types.FLOAT, Types.REAL ->
+					ColumnType.DOUBLE;
+			case Types.CHAR, Types.VARCHAR, Types.LONGVARCHAR, Types.NCHAR, Types.NVARCHAR, Types.LONGNVARCHAR ->
+					ColumnType.STRING;
+			default ->
+					ColumnType.OBJECT;
+		};
+	}
+
+
+	/**
+	 * Storage type of a column in a {@link ColumnarBatch}.
+	 */
+	public enum ColumnType {
+
+		/**
+		 * Integral values (including booleans as 1 and 0) in a {@code long[]}.
+		 * @see ColumnarBatch#getLongColumn
+		 */
+		LONG,
+
+		/**
+		 * Floating-point and decimal values in a {@code double[]}.
+		 * @see ColumnarBatch#getDoubleColumn
+		 */
+		DOUBLE,
+
+		/**
+		 * Dictionary-encoded character values in an {@code int[]}.
+		 * @see ColumnarBatch#getDictionaryCodes
+		 * @see ColumnarBatch#getDictionary
+		 */
+		STRING,
+
+		/**
+		 * Any other values as plain objects in an {@code Object[]}.
+		 * @see ColumnarBatch#getObjectColumn
+		 */
+		OBJECT
+	}
+
+
+	/**
+	 * Buffer for the values of a single column.
+	 */
+	private abstract static class Column {
+
+		private final BitSet nulls = new BitSet();
+
+		abstract ColumnType getType();
+
+		abstract void ensureCapacity(int capacity);
+
+		abstract void read(ResultSet rs, int index, int row) throws SQLException;
+
+		abstract Object getValue(int row);
+
+		final void setNull(int row) {
+			this.nulls.set(row);
+		}
+
+		final boolean isNull(int row) {
+			return this.nulls.get(row);
+		}
+
+		void clear(int rowCount) {
+			this.nulls.clear();
+		}
+
+		static int grow(int length, int capacity) {
+			return Math.max(capacity, length + (length >> 1) + 1);
+		}
+	}
+
+
+	private static final class LongColumn extends Column {
+
+		private final boolean booleanValues;
+
+		long[] values;
+
+		LongColumn(int initialCapacity, boolean booleanValues) {
+			this.values = new long[initialCapacity];
+			this.booleanValues = booleanValues;
+		}
+
+		@Override
+		ColumnType getType() {
+			return ColumnType.LONG;
+		}
+
+		@Override
+		void ensureCapacity(int capacity) {
+			if (capacity > this.values.length) {
+				this.values = Arrays.copyOf(this.values, grow(this.values.length, capacity));
+			}
+		}
+
+		@Override
+		void read(ResultSet rs, int index, int row) throws SQLException {
+			long value = (this.booleanValues ? (rs.getBoolean(index) ? 1 : 0) : rs.getLong(index));
+			this.values[row] = value;
+			if (value == 0 && rs.wasNull()) {
+				setNull(row);
+			}
+		}
+
+		@Override
+		Object getValue(int row) {
+			return this.values[row];
+		}
+	}
+
+
+	private static final class DoubleColumn extends Column {
+
+		double[] values;
+
+		DoubleColumn(int initialCapacity) {
+			this.values = new double[initialCapacity];
+		}
+
+		@Override
+		ColumnType getType() {
+			return ColumnType.DOUBLE;
+		}
+
+		@Override
+		void ensureCapacity(int capacity) {
+			if (capacity > this.values.length) {
+				this.values = Arrays.copyOf(this.values, grow(this.values.length, capacity));
+			}
+		}
+
+		@Override
+		void read(ResultSet rs, int index, int row) throws SQLException {
+			double value = rs.getDouble(index);
+			this.values[row] = value;
+			if (value == 0 && rs.wasNull()) {
+				setNull(row);
+			}
+		}
+
+		@Override
+		Object getValue(int row) {
+			return this.values[row];
+		}
+	}
+
+
+	private static final class StringColumn extends Column {
+
+		private final Map<String, Integer> codesByValue = new HashMap<>();
+
+		final List<String> dictionary = new ArrayList<>();
+
+		int[] codes;
+
+		StringColumn(int initialCapacity) {
+			this.codes = new int[initialCapacity];
+		}
+
+		@Override
+		ColumnType getType() {
+			return ColumnType.STRING;
+		}
+
+		@Override
+		void ensureCapacity(int capacity) {
+			if (capacity > this.codes.length) {
+				this.codes = Arrays.copyOf(this.codes, grow(this.codes.length, capacity));
+			}
+		}
+
+		@Override
+		void read(ResultSet rs, int index, int row) throws SQLException {
+			String value = rs.getString(index);
+			if (value == null) {
+				this.codes[row] = -1;
+				setNull(row);
+				return;
+			}
+			Integer code = this.codesByValue.get(value);
+			if (code == null) {
+				code = this.dictionary.size();
+				this.dictionary.add(value);
+				this.codesByValue.put(value, code);
+			}
+			this.codes[row] = code;
+		}
+
+		@Override
+		Object getValue(int row) {
+			return this.dictionary.get(this.codes[row]);
+		}
+
+		void resetDictionary() {
+			this.codesByValue.clear();
+			this.dictionary.clear();
+		}
+	}
+
+
+	private static final class ObjectColumn extends Column {
+
+		Object[] values;
+
+		ObjectColumn(int initialCapacity) {
+			this.values = new Object[initialCapacity];
+		}
+
+		@Override
+		ColumnType getType() {
+			return ColumnType.OBJECT;
+		}
+
+		@Override
+		void ensureCapacity(int capacity) {
+			if (capacity > this.values.length) {
+				this.values = Arrays.copyOf(this.values, grow(this.values.length, capacity));
+			}
+		}
+
+		@Override
+		void read(ResultSet rs, int index, int row) throws SQLException {
+			Object value = JdbcUtils.getResultSetValue(rs, index);
+			this.values[row] = value;
+			if (value == null) {
+				setNull(row);
+			}
+		}
+
+		@Override
+		Object getValue(int row) {
+			return this.values[row];
+		}
+
+		@Override
+		void clear(int rowCount) {
+			super.clear(rowCount);
+			// Release references to the previous chunk's values
+			Arrays.fill(this.values, 0, rowCount, null);
+		}
+	}
+
+}
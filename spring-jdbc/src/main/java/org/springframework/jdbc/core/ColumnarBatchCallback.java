@@ -0,0 +1,45 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.sql.SQLException;
+
+/**
+ * Callback interface used by {@link ChunkedColumnarResultSetExtractor} for
+ * processing a {@link java.sql.ResultSet} in chunks of rows, each exposed as
+ * a {@link ColumnarBatch}. Typically used for aggregating over large results
+ * without allocating an object per row.
+ *
+ * <p>The given batch and its column arrays get reused for subsequent chunks:
+ * Implementations must not hold on to them beyond the callback invocation.
+ *
+ * @author agent
+ * @since 6.0
+ * @see ChunkedColumnarResultSetExtractor
+ */
+@FunctionalInterface
+public interface ColumnarBatchCallback {
+
+	/**
+	 * Process the rows of the given chunk.
+	 * @param batch the columnar view of the current chunk of rows
+	 * @throws SQLException if an SQLException is encountered
+	 * (that is, there's no need to catch SQLException)
+	 */
+	void processBatch(ColumnarBatch batch) throws SQLException;
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ResultSetExtractor} implementation that reads all rows of a
+ * {@link ResultSet} into a single {@link ColumnarBatch}, with one primitive
+ * array per column instead of one object per row.
+ *
+ * <p>The column buffers start with the {@linkplain #setInitialCapacity initial
+ * capacity} and grow as needed. For results too large to be held in memory,
+ * consider a {@link ChunkedColumnarResultSetExtractor} instead, which processes
+ * the rows in chunks of a fixed size.
+ *
+ * <p>A usage example with JdbcTemplate:
+ *
+ * <pre class="code">ColumnarBatch batch = jdbcTemplate.query(
+ *     "select region, amount from sales", new ColumnarResultSetExtractor());
+ * double[] amounts = batch.getDoubleColumn(1);
+ * double total = 0;
+ * for (int i = 0; i &lt; batch.getRowCount(); i++) {
+ *     total += amounts[i];
+ * }</pre>
+ *
+ * @author agent
+ * @since 6.0
+ * @see ColumnarBatch
+ */
+public class ColumnarResultSetExtractor implements ResultSetExtractor<ColumnarBatch> {
+
+	/** Default initial capacity of the column buffers: 1024 rows. */
+	public static final int DEFAULT_INITIAL_CAPACITY = 1024;
+
+
+	@Nullable
+	private final ColumnarBatch.ColumnType[] columnTypes;
+
+	private int initialCapacity = DEFAULT_INITIAL_CAPACITY;
+
+
+	/**
+	 * Create a new {@code ColumnarResultSetExtractor}, determining the
+	 * storage type of each column from the result set metadata.
+	 */
+	public ColumnarResultSetExtractor() {
+		this.columnTypes = null;
+	}
+
+	/**
+	 * Create a new {@code ColumnarResultSetExtractor} for the given storage types,
+	 * one per column in the result set.
+	 * @param columnTypes the storage types of the columns
+	 */
+	public ColumnarResultSetExtractor(ColumnarBatch.ColumnType... columnTypes) {
+		Assert.notEmpty(columnTypes, "Column types must not be empty");
+		this.columnTypes = columnTypes;
+	}
+
+
+	/**
+	 * Set the initial number of rows to allocate column buffers for.
+	 * Default is 1024.
+	 */
+	public void setInitialCapacity(int initialCapacity) {
+		Assert.isTrue(initialCapacity >= 0, "Initial capacity must not be negative");
+		this.initialCapacity = initialCapacity;
+	}
+
+	/**
+	 * Return the initial number of rows to allocate column buffers for.
+	 */
+	public int getInitialCapacity() {
+		return this.initialCapacity;
+	}
+
+
+	@Override
+	public ColumnarBatch extractData(ResultSet rs) throws SQLException {
+		ColumnarBatch batch = ColumnarBatch.forResultSet(rs.getMetaData(), this.columnTypes, this.initialCapacity);
+		while (rs.next()) {
+			batch.readRow(rs);
+		}
+		return batch;
+	}
+
+}
@@ -54,6 +54,10 @@ public class DataClassRowMapper<T> extends BeanPropertyRowMapper<T> {
 	@Nullable
 	private TypeDescriptor[] constructorParameterTypes;
 
+	/** Typed readers for the constructor parameters, resolved for the first plan. */
+	@Nullable
+	private volatile ColumnReader[] constructorParameterReaders;
+
 
 	/**
 	 * Create a new {@code DataClassRowMapper} for bean-style configuration.
@@ -88,6 +92,7 @@ public class DataClassRowMapper<T> extends BeanPropertyRowMapper<T> {
 				this.constructorParameterTypes[i] = new TypeDescriptor(new MethodParameter(this.mappedConstructor, i));
 			}
 		}
+		this.constructorParameterReaders = null;
 	}
 
 	@Override
@@ -96,21 +101,21 @@ public class DataClassRowMapper<T> extends BeanPropertyRowMapper<T> {
 
 		Object[] args;
 		if (this.constructorParameterNames != null && this.constructorParameterTypes != null) {
+			int[] columns = (isCompiledRowMapping() ? getRowMappingPlan(rs).constructorColumns : null);
+			ColumnReader[] readers = (columns != null ? this.constructorParameterReaders : null);
 			args = new Object[this.constructorParameterNames.length];
 			for (int i = 0; i < args.length; i++) {
-				String name = this.constructorParameterNames[i];
-				int index;
-				try {
-					// Try direct name match first
-					index = rs.findColumn(lowerCaseName(name));
+				TypeDescriptor td = this.constructorParameterTypes[i];
+				if (columns != null && readers != null && readers[i] != null) {
+					// Typed value from precomputed column: no conversion necessary unless null
+					Object value = readers[i].getValue(rs, columns[i]);
+					args[i] = (value != null ? value : tc.convertIfNecessary(null, td.getType(), td));
 				}
-				catch (SQLException ex) {
-					// Try underscored name match instead
-					index = rs.findColumn(underscoreName(name));
+				else {
+					int index = (columns != null ? columns[i] : findColumn(rs, this.constructorParameterNames[i]));
+					Object value = getColumnValue(rs, index, td.getType());
+					args[i] = tc.convertIfNecessary(value, td.getType(), td);
 				}
-				TypeDescriptor td = this.constructorParameterTypes[i];
-				Object value = getColumnValue(rs, index, td.getType());
-				args[i] = tc.convertIfNecessary(value, td.getType(), td);
 			}
 		}
 		else {
@@ -120,6 +125,37 @@ public class DataClassRowMapper<T> extends BeanPropertyRowMapper<T> {
 		return BeanUtils.instantiateClass(this.mappedConstructor, args);
 	}
 
+	@Override
+	@Nullable
+	int[] resolveConstructorColumns(ResultSet rs) throws SQLException {
+		if (this.constructorParameterNames == null || this.constructorParameterTypes == null) {
+			return null;
+		}
+		if (this.constructorParameterReaders == null) {
+			ColumnReader[] readers = new ColumnReader[this.constructorParameterTypes.length];
+			for (int i = 0; i < readers.length; i++) {
+				readers[i] = getTypedColumnReader(this.constructorParameterTypes[i].getType());
+			}
+			this.constructorParameterReaders = readers;
+		}
+		int[] columns = new int[this.constructorParameterNames.length];
+		for (int i = 0; i < columns.length; i++) {
+			columns[i] = findColumn(rs, this.constructorParameterNames[i]);
+		}
+		return columns;
+	}
+
+	private int findColumn(ResultSet rs, String name) throws SQLException {
+		try {
+			// Try direct name match first
+			return rs.findColumn(lowerCaseName(name));
+		}
+		catch (SQLException ex) {
+			// Try underscored name match instead
+			return rs.findColumn(underscoreName(name));
+		}
+	}
+
 
 	/**
 	 * Static factory method to create a new {@code DataClassRowMapper}.
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -41,6 +41,8 @@ import java.util.stream.StreamSupport;
 
 import javax.sql.DataSource;
 
+import org.springframework.core.observation.Observation;
+import org.springframework.core.observation.ObservationRecorder;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.dao.support.DataAccessUtils;
@@ -153,6 +155,12 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	 */
 	private boolean resultsMapCaseInsensitive = false;
 
+	/** Maximum number of prepared statements to cache per transactional connection. */
+	private int statementCacheSize = 0;
+
+	/** Recorder for observing statement executions. */
+	private ObservationRecorder observationRecorder = ObservationRecorder.DEFAULT;
+
 
 	/**
 	 * Construct a new JdbcTemplate for bean usage.
@@ -317,6 +325,58 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		return this.resultsMapCaseInsensitive;
 	}
 
+	/**
+	 * Set the maximum number of prepared statements to keep open for reuse on
+	 * a transactional connection, i.e. a connection bound to the current thread
+	 * through {@link DataSourceUtils} with transaction synchronization active.
+	 * <p>Default is 0, not caching any statements: each execution prepares its
+	 * statement on the connection, relying on the driver or connection pool for
+	 * statement caching. A positive number keeps statements for plain SQL and for
+	 * {@link PreparedStatementCreatorFactory} creators (as used by
+	 * {@code NamedParameterJdbcTemplate}, {@code SimpleJdbcInsert} and the
+	 * {@code org.springframework.jdbc.object} operations) open until the end of the
+	 * transaction, reusing them for subsequent executions of the same SQL through
+	 * this template, evicting the least recently used statements beyond the given
+	 * number. Statements that return generated keys and streamed query statements
+	 * are never cached.
+	 * <p>Note that callbacks operating on a cached statement should not change its
+	 * settings beyond the ones applied by this template (fetch size, max rows,
+	 * query timeout), since the statement will be reused as-is.
+	 * @since 6.0
+	 */
+	public void setStatementCacheSize(int statementCacheSize) {
+		this.statementCacheSize = statementCacheSize;
+	}
+
+	/**
+	 * Return the maximum number of prepared statements to cache per
+	 * transactional connection.
+	 * @since 6.0
+	 */
+	public int getStatementCacheSize() {
+		return this.statementCacheSize;
+	}
+
+	/**
+	 * Set the {@link ObservationRecorder} for observing the execution of
+	 * statements, prepared statements and callable statements as
+	 * {@code "jdbc.execute"} observations, tagged with the SQL if available.
+	 * <p>Default is a no-op recorder.
+	 * @since 6.0
+	 */
+	public void setObservationRecorder(ObservationRecorder observationRecorder) {
+		Assert.notNull(observationRecorder, "ObservationRecorder must not be null");
+		this.observationRecorder = observationRecorder;
+	}
+
+	/**
+	 * Return the {@link ObservationRecorder} for observing statement executions.
+	 * @since 6.0
+	 */
+	public ObservationRecorder getObservationRecorder() {
+		return this.observationRecorder;
+	}
+
 
 	//-------------------------------------------------------------------------
 	// Methods dealing with a plain java.sql.Connection
@@ -374,6 +434,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		Assert.notNull(action, "Callback object must not be null");
 
 		Connection con = DataSourceUtils.getConnection(obtainDataSource());
+		Observation observation = startObservation(action);
 		Statement stmt = null;
 		try {
 			stmt = con.createStatement();
@@ -390,13 +451,19 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			stmt = null;
 			DataSourceUtils.releaseConnection(con, getDataSource());
 			con = null;
+			observation.error(ex);
 			throw translateException("StatementCallback", sql, ex);
 		}
+		catch (RuntimeException | Error ex) {
+			observation.error(ex);
+			throw ex;
+		}
 		finally {
 			if (closeResources) {
 				JdbcUtils.closeStatement(stmt);
 				DataSourceUtils.releaseConnection(con, getDataSource());
 			}
+			observation.stop();
 		}
 	}
 
@@ -644,9 +711,12 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		}
 
 		Connection con = DataSourceUtils.getConnection(obtainDataSource());
+		PreparedStatementCache statementCache = (closeResources && this.statementCacheSize > 0 ?
+				PreparedStatementCache.forConnection(this, con, getDataSource(), this.statementCacheSize) : null);
+		Observation observation = startObservation(psc);
 		PreparedStatement ps = null;
 		try {
-			ps = psc.createPreparedStatement(con);
+			ps = (statementCache != null ? statementCache.obtainStatement(con, psc) : psc.createPreparedStatement(con));
 			applyStatementSettings(ps);
 			T result = action.doInPreparedStatement(ps);
 			handleWarnings(ps);
@@ -660,20 +730,40 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			}
 			String sql = getSql(psc);
 			psc = null;
-			JdbcUtils.closeStatement(ps);
+			if (statementCache != null) {
+				statementCache.discardStatement(ps);
+			}
+			else {
+				JdbcUtils.closeStatement(ps);
+			}
 			ps = null;
 			DataSourceUtils.releaseConnection(con, getDataSource());
 			con = null;
+			observation.error(ex);
 			throw translateException("PreparedStatementCallback", sql, ex);
 		}
+		catch (RuntimeException | Error ex) {
+			if (statementCache != null) {
+				statementCache.discardStatement(ps);
+				ps = null;
+			}
+			observation.error(ex);
+			throw ex;
+		}
 		finally {
 			if (closeResources) {
 				if (psc instanceof ParameterDisposer) {
 					((ParameterDisposer) psc).cleanupParameters();
 				}
-				JdbcUtils.closeStatement(ps);
+				if (statementCache != null) {
+					statementCache.releaseStatement(ps);
+				}
+				else {
+					JdbcUtils.closeStatement(ps);
+				}
 				DataSourceUtils.releaseConnection(con, getDataSource());
 			}
+			observation.stop();
 		}
 	}
 
@@ -1182,6 +1272,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		}
 
 		Connection con = DataSourceUtils.getConnection(obtainDataSource());
+		Observation observation = startObservation(csc);
 		CallableStatement cs = null;
 		try {
 			cs = csc.createCallableStatement(con);
@@ -1202,14 +1293,20 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			cs = null;
 			DataSourceUtils.releaseConnection(con, getDataSource());
 			con = null;
+			observation.error(ex);
 			throw translateException("CallableStatementCallback", sql, ex);
 		}
+		catch (RuntimeException | Error ex) {
+			observation.error(ex);
+			throw ex;
+		}
 		finally {
 			if (csc instanceof ParameterDisposer) {
 				((ParameterDisposer) csc).cleanupParameters();
 			}
 			JdbcUtils.closeStatement(cs);
 			DataSourceUtils.releaseConnection(con, getDataSource());
+			observation.stop();
 		}
 	}
 
@@ -1541,6 +1638,22 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	}
 
 
+	/**
+	 * Start a {@code "jdbc.execute"} observation, tagged with the SQL
+	 * from the given provider object if observations are recorded.
+	 * @param sqlProvider object which is potentially an SqlProvider
+	 */
+	private Observation startObservation(Object sqlProvider) {
+		Observation observation = this.observationRecorder.start("jdbc.execute");
+		if (this.observationRecorder.isEnabled()) {
+			String sql = getSql(sqlProvider);
+			if (sql != null) {
+				observation.tag("sql", sql);
+			}
+		}
+		return observation;
+	}
+
 	/**
 	 * Determine SQL from potential provider object.
 	 * @param sqlProvider object which is potentially an SqlProvider
@@ -1629,7 +1742,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	/**
 	 * Simple adapter for PreparedStatementCreator, allowing to use a plain SQL statement.
 	 */
-	private static class SimplePreparedStatementCreator implements PreparedStatementCreator, SqlProvider {
+	private static class SimplePreparedStatementCreator implements CacheablePreparedStatementCreator, SqlProvider {
 
 		private final String sql;
 
@@ -1639,10 +1752,20 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		}
 
 		@Override
-		public PreparedStatement createPreparedStatement(Connection con) throws SQLException {
+		public Object getStatementCacheKey() {
+			return this.sql;
+		}
+
+		@Override
+		public PreparedStatement prepareStatement(Connection con) throws SQLException {
 			return con.prepareStatement(this.sql);
 		}
 
+		@Override
+		public void setValues(PreparedStatement ps) {
+			// Parameter values get set by a separate PreparedStatementSetter, if any
+		}
+
 		@Override
 		public String getSql() {
 			return this.sql;
@@ -0,0 +1,496 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Streaming batch writer that executes a parameterized SQL statement for each
+ * element of an {@link Iterator} or {@link Stream}, sending chunks of
+ * {@link #setBatchSize batchSize} elements on a configurable number of
+ * {@link #setConcurrency connections} in parallel.
+ *
+ * <p>As opposed to {@link JdbcTemplate#batchUpdate(String, java.util.Collection, int, ParameterizedPreparedStatementSetter)},
+ * the input is consumed incrementally and no per-row update counts are retained:
+ * {@link #write} only reports the aggregate {@link Result}. Each connection reuses
+ * a single {@link PreparedStatement} across all of its chunks. The caller's thread
+ * fills chunks into a bounded queue, blocking once {@link #setQueueCapacity
+ * queueCapacity} chunks are pending, so that memory consumption is bounded
+ * regardless of the size of the input.
+ *
+ * <p>By default, each chunk is committed in its own transaction: in case of a
+ * failure, chunks that have been committed before remain in the database.
+ * Alternatively, {@link #setCommitPerChunk commitPerChunk} may be switched off in
+ * order to keep one transaction per connection open until all chunks have been
+ * written, committing all of them only if all connections succeeded and rolling
+ * all of them back otherwise. Note that this coordination is best-effort: it does
+ * not provide atomicity across connections in case of a failure during the final
+ * commit phase, and it is only suitable for databases that allow concurrent
+ * writers to the same table without blocking each other until commit.
+ *
+ * <p>Connections are obtained from the {@link JdbcTemplate}'s {@code DataSource}
+ * on the writer threads and do not participate in any transaction of the calling
+ * thread. SQL exceptions get translated through the {@code JdbcTemplate}'s
+ * exception translator, and its statement settings (e.g. query timeout) apply.
+ *
+ * @author agent
+ * @since 6.0
+ * @param <T> the element type
+ * @see JdbcTemplate#batchUpdate(String, java.util.Collection, int, ParameterizedPreparedStatementSetter)
+ */
+public class ParallelBatchWriter<T> {
+
+	private static final long POLL_INTERVAL_MILLIS = 100;
+
+	private static final Log logger = LogFactory.getLog(ParallelBatchWriter.class);
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final String sql;
+
+	private final ParameterizedPreparedStatementSetter<T> pss;
+
+	private int batchSize = 1000;
+
+	private int concurrency = 4;
+
+	private int queueCapacity = -1;
+
+	private boolean commitPerChunk = true;
+
+	private TaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("batch-writer-");
+
+
+	/**
+	 * Create a new {@code ParallelBatchWriter} for the given statement.
+	 * @param jdbcTemplate the JdbcTemplate to obtain the DataSource,
+	 * exception translator and statement settings from
+	 * @param sql the SQL statement to execute for each element
+	 * @param pss the setter for the parameters of each element
+	 */
+	public ParallelBatchWriter(JdbcTemplate jdbcTemplate, String sql, ParameterizedPreparedStatementSetter<T> pss) {
+		Assert.notNull(jdbcTemplate, "JdbcTemplate must not be null");
+		Assert.notNull(sql, "SQL must not be null");
+		Assert.notNull(pss, "ParameterizedPreparedStatementSetter must not be null");
+		this.jdbcTemplate = jdbcTemplate;
+		this.sql = sql;
+		this.pss = pss;
+	}
+
+
+	/**
+	 * Set the number of elements to send to the database in one batch.
+	 * <p>Default is 1000.
+	 */
+	public void setBatchSize(int batchSize) {
+		Assert.isTrue(batchSize > 0, "Batch size must be greater than 0");
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Set the number of connections to write chunks on in parallel.
+	 * <p>Default is 4.
+	 */
+	public void setConcurrency(int concurrency) {
+		Assert.isTrue(concurrency > 0, "Concurrency must be greater than 0");
+		this.concurrency = concurrency;
+	}
+
+	/**
+	 * Set the maximum number of chunks waiting to be written, beyond which
+	 * reading from the input blocks until a chunk has been taken.
+	 * <p>Default is twice the {@link #setConcurrency concurrency}.
+	 */
+	public void setQueueCapacity(int queueCapacity) {
+		Assert.isTrue(queueCapacity > 0, "Queue capacity must be greater than 0");
+		this.queueCapacity = queueCapacity;
+	}
+
+	/**
+	 * Set whether to commit each chunk in its own transaction ({@code true}),
+	 * or to commit the transactions of all connections together once all
+	 * chunks have been written successfully ({@code false}).
+	 * <p>Default is {@code true}.
+	 */
+	public void setCommitPerChunk(boolean commitPerChunk) {
+		this.commitPerChunk = commitPerChunk;
+	}
+
+	/**
+	 * Set the executor to run the writers on, one task per connection.
+	 * <p>Default is a {@link SimpleAsyncTaskExecutor}. A custom executor needs
+	 * to be able to run {@link #setConcurrency concurrency} tasks at the same time.
+	 */
+	public void setTaskExecutor(TaskExecutor taskExecutor) {
+		Assert.notNull(taskExecutor, "TaskExecutor must not be null");
+		this.taskExecutor = taskExecutor;
+	}
+
+
+	/**
+	 * Write all elements of the given stream, closing it when done.
+	 * @param elements the elements to write
+	 * @return the aggregate result
+	 * @throws DataAccessException if writing failed
+	 * @see #write(Iterator)
+	 */
+	public Result write(Stream<? extends T> elements) throws DataAccessException {
+		try (elements) {
+			return write(elements.iterator());
+		}
+	}
+
+	/**
+	 * Write all elements of the given iterator.
+	 * <p>The iterator is consumed on the calling thread, blocking while the
+	 * maximum number of chunks is pending.
+	 * @param elements the elements to write
+	 * @return the aggregate result
+	 * @throws DataAccessException if writing failed
+	 */
+	public Result write(Iterator<? extends T> elements) throws DataAccessException {
+		if (logger.isDebugEnabled()) {
+			logger.debug("Executing SQL batch update [" + this.sql + "] with a batch size of " +
+					this.batchSize + " on " + this.concurrency + " connections");
+		}
+
+		DataSource dataSource = this.jdbcTemplate.getDataSource();
+		Assert.state(dataSource != null, "No DataSource set");
+		int capacity = (this.queueCapacity > 0 ? this.queueCapacity : this.concurrency * 2);
+		WriteOperation operation = new WriteOperation(dataSource, new ArrayBlockingQueue<>(capacity));
+
+		try {
+			operation.startWriters(this.taskExecutor);
+			operation.produce(elements);
+			operation.awaitWriters();
+			operation.complete();
+		}
+		finally {
+			if (this.pss instanceof ParameterDisposer parameterDisposer) {
+				parameterDisposer.cleanupParameters();
+			}
+		}
+		return new Result(operation.elementCount.sum(), operation.batchCount.sum(), operation.rowsAffected.sum());
+	}
+
+
+	/**
+	 * Aggregate result of a {@link ParallelBatchWriter#write} operation.
+	 * @param elementCount the number of elements written
+	 * @param batchCount the number of batches sent to the database
+	 * @param rowsAffected the number of rows affected as reported by the driver,
+	 * not including statements with an unknown update count
+	 * (i.e. {@link java.sql.Statement#SUCCESS_NO_INFO})
+	 */
+	public record Result(long elementCount, long batchCount, long rowsAffected) {
+	}
+
+
+	/**
+	 * State of a single write operation, shared between the producing
+	 * thread and the writer threads.
+	 */
+	private class WriteOperation {
+
+		private final DataSource dataSource;
+
+		private final BlockingQueue<List<T>> chunks;
+
+		private final CountDownLatch writersDone = new CountDownLatch(concurrency);
+
+		private final List<WriterConnection> connections = new CopyOnWriteArrayList<>();
+
+		private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+		private final LongAdder elementCount = new LongAdder();
+
+		private final LongAdder batchCount = new LongAdder();
+
+		private final LongAdder rowsAffected = new LongAdder();
+
+		private volatile boolean produced;
+
+		WriteOperation(DataSource dataSource, BlockingQueue<List<T>> chunks) {
+			this.dataSource = dataSource;
+			this.chunks = chunks;
+		}
+
+		void startWriters(TaskExecutor taskExecutor) {
+			for (int i = 0; i < concurrency; i++) {
+				try {
+					taskExecutor.execute(this::runWriter);
+				}
+				catch (RuntimeException ex) {
+					// Typically a TaskRejectedException: stop the writers started so far
+					fail(ex);
+					this.produced = true;
+					for (int j = i; j < concurrency; j++) {
+						this.writersDone.countDown();
+					}
+					return;
+				}
+			}
+		}
+
+		void produce(Iterator<? extends T> elements) {
+			try {
+				List<T> chunk = new ArrayList<>(batchSize);
+				while (this.failure.get() == null && elements.hasNext()) {
+					chunk.add(elements.next());
+					if (chunk.size() == batchSize) {
+						enqueue(chunk);
+						chunk = new ArrayList<>(batchSize);
+					}
+				}
+				if (!chunk.isEmpty()) {
+					enqueue(chunk);
+				}
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				fail(ex);
+			}
+			catch (Throwable ex) {
+				fail(ex);
+			}
+			finally {
+				this.produced = true;
+			}
+		}
+
+		private void enqueue(List<T> chunk) throws InterruptedException {
+			while (!this.chunks.offer(chunk, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+				if (this.failure.get() != null) {
+					return;
+				}
+			}
+		}
+
+		void runWriter() {
+			WriterConnection connection = null;
+			try {
+				while (this.failure.get() == null) {
+					List<T> chunk = this.chunks.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+					if (chunk == null) {
+						if (this.produced && this.chunks.isEmpty()) {
+							break;
+						}
+						continue;
+					}
+					if (connection == null) {
+						connection = new WriterConnection(DataSourceUtils.getConnection(this.dataSource));
+						this.connections.add(connection);
+						connection.begin();
+					}
+					connection.write(chunk);
+				}
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				fail(ex);
+			}
+			catch (Throwable ex) {
+				fail(ex);
+			}
+			finally {
+				this.writersDone.countDown();
+			}
+		}
+
+		private void fail(Throwable ex) {
+			if (!this.failure.compareAndSet(null, ex) && this.failure.get() != ex) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Subsequent failure in batch update after first failure", ex);
+				}
+			}
+		}
+
+		void awaitWriters() {
+			boolean interrupted = false;
+			while (true) {
+				try {
+					this.writersDone.await();
+					break;
+				}
+				catch (InterruptedException ex) {
+					// Writers stop on failure: keep waiting for their connections to be released
+					interrupted = true;
+					fail(ex);
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		void complete() {
+			boolean commit = (this.failure.get() == null);
+			for (WriterConnection connection : this.connections) {
+				try {
+					connection.finish(commit);
+				}
+				catch (Throwable ex) {
+					fail(ex);
+					commit = false;
+				}
+			}
+			Throwable ex = this.failure.get();
+			if (ex instanceof SQLException sqlException) {
+				throw jdbcTemplate.translateException("ParallelBatchWriter", sql, sqlException);
+			}
+			else if (ex instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			else if (ex instanceof Error error) {
+				throw error;
+			}
+			else if (ex != null) {
+				throw new IllegalStateException("Batch update interrupted", ex);
+			}
+		}
+
+
+		/**
+		 * A connection held by a single writer, with its reusable statement.
+		 */
+		private class WriterConnection {
+
+			private final Connection connection;
+
+			private boolean resetAutoCommit;
+
+			@Nullable
+			private PreparedStatement ps;
+
+			private boolean batchSupported;
+
+			WriterConnection(Connection connection) {
+				this.connection = connection;
+			}
+
+			void begin() throws SQLException {
+				if (this.connection.getAutoCommit()) {
+					this.connection.setAutoCommit(false);
+					this.resetAutoCommit = true;
+				}
+			}
+
+			void write(List<T> chunk) throws SQLException {
+				PreparedStatement ps = this.ps;
+				if (ps == null) {
+					ps = this.connection.prepareStatement(sql);
+					jdbcTemplate.applyStatementSettings(ps);
+					this.batchSupported = JdbcUtils.supportsBatchUpdates(this.connection);
+					this.ps = ps;
+				}
+				try {
+					if (this.batchSupported) {
+						for (T element : chunk) {
+							pss.setValues(ps, element);
+							ps.addBatch();
+						}
+						addRowsAffected(ps.executeBatch());
+					}
+					else {
+						for (T element : chunk) {
+							pss.setValues(ps, element);
+							addRowsAffected(ps.executeUpdate());
+						}
+					}
+					if (commitPerChunk) {
+						this.connection.commit();
+					}
+				}
+				catch (SQLException | RuntimeException | Error ex) {
+					if (commitPerChunk) {
+						try {
+							this.connection.rollback();
+						}
+						catch (SQLException rollbackEx) {
+							ex.addSuppressed(rollbackEx);
+						}
+					}
+					throw ex;
+				}
+				elementCount.add(chunk.size());
+				batchCount.increment();
+				if (logger.isTraceEnabled()) {
+					logger.trace("Sent SQL batch update with " + chunk.size() + " items");
+				}
+			}
+
+			private void addRowsAffected(int... updateCounts) {
+				for (int count : updateCounts) {
+					if (count > 0) {
+						rowsAffected.add(count);
+					}
+				}
+			}
+
+			void finish(boolean commit) throws SQLException {
+				try {
+					if (!commitPerChunk) {
+						if (commit) {
+							this.connection.commit();
+						}
+						else {
+							this.connection.rollback();
+						}
+					}
+				}
+				finally {
+					JdbcUtils.closeStatement(this.ps);
+					try {
+						if (this.resetAutoCommit) {
+							this.connection.setAutoCommit(true);
+						}
+					}
+					finally {
+						DataSourceUtils.releaseConnection(this.connection, dataSource);
+					}
+				}
+			}
+		}
+	}
+
+}
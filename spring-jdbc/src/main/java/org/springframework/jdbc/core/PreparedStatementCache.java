@@ -0,0 +1,248 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cache of {@link PreparedStatement PreparedStatements} for a transactional
+ * connection, bound to the current transaction and closed on its completion,
+ * before the connection itself gets released.
+ *
+ * <p>Statements are checked out of the cache while in use, so that nested
+ * executions of the same SQL on the same connection prepare a separate statement.
+ * The cache is only ever accessed by the thread that the transaction is bound to.
+ *
+ * @author agent
+ * @since 6.0
+ * @see JdbcTemplate#setStatementCacheSize
+ */
+final class PreparedStatementCache {
+
+	private final Map<Object, PreparedStatement> statements;
+
+	private final Map<PreparedStatement, Object> checkedOut = new IdentityHashMap<>();
+
+	private boolean closed;
+
+
+	private PreparedStatementCache(int maxSize) {
+		this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Object, PreparedStatement> eldest) {
+				if (size() > maxSize) {
+					JdbcUtils.closeStatement(eldest.getValue());
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+
+	/**
+	 * Obtain a statement for the given creator, reusing a cached statement
+	 * if available, with the creator's parameter values set.
+	 * @param con the connection that this cache is bound to
+	 * @param psc the statement creator
+	 * @return the statement, to be returned through {@link #releaseStatement}
+	 * @throws SQLException if thrown by JDBC methods
+	 */
+	PreparedStatement obtainStatement(Connection con, PreparedStatementCreator psc) throws SQLException {
+		if (psc instanceof CacheablePreparedStatementCreator cpsc) {
+			Object key = cpsc.getStatementCacheKey();
+			if (key != null) {
+				PreparedStatement ps = this.statements.remove(key);
+				if (ps != null && !ps.isClosed()) {
+					ps.clearParameters();
+				}
+				else {
+					ps = cpsc.prepareStatement(con);
+				}
+				this.checkedOut.put(ps, key);
+				try {
+					cpsc.setValues(ps);
+				}
+				catch (SQLException | RuntimeException | Error ex) {
+					discardStatement(ps);
+					throw ex;
+				}
+				return ps;
+			}
+		}
+		return psc.createPreparedStatement(con);
+	}
+
+	/**
+	 * Return the given statement to the cache, or close it if it is not cacheable
+	 * or if an interchangeable statement has been cached in the meantime.
+	 * @param ps the statement obtained from {@link #obtainStatement}
+	 */
+	void releaseStatement(@Nullable PreparedStatement ps) {
+		if (ps == null) {
+			return;
+		}
+		Object key = this.checkedOut.remove(ps);
+		if (key != null && !this.closed && !this.statements.containsKey(key)) {
+			try {
+				ps.clearWarnings();
+				this.statements.put(key, ps);
+				return;
+			}
+			catch (SQLException ex) {
+				// Not reusable - close it below
+			}
+		}
+		JdbcUtils.closeStatement(ps);
+	}
+
+	/**
+	 * Close the given statement after a failure, without returning it to the cache.
+	 * @param ps the statement obtained from {@link #obtainStatement}
+	 */
+	void discardStatement(@Nullable PreparedStatement ps) {
+		if (ps != null) {
+			this.checkedOut.remove(ps);
+			JdbcUtils.closeStatement(ps);
+		}
+	}
+
+	/**
+	 * Return the number of statements currently cached.
+	 */
+	int size() {
+		return this.statements.size();
+	}
+
+	private void close() {
+		if (!this.closed) {
+			this.closed = true;
+			for (PreparedStatement ps : new ArrayList<>(this.statements.values())) {
+				JdbcUtils.closeStatement(ps);
+			}
+			this.statements.clear();
+		}
+	}
+
+
+	/**
+	 * Return the statement cache of the given template for the given connection,
+	 * creating and binding it if necessary, provided that the connection is
+	 * bound to the current transaction.
+	 * @param template the template that the cache is specific to (along with
+	 * its statement settings)
+	 * @param con the connection obtained through {@link DataSourceUtils}
+	 * @param dataSource the DataSource that the connection was obtained from
+	 * @param maxSize the maximum number of statements to cache
+	 * @return the cache, or {@code null} if the connection is not transactional
+	 */
+	@Nullable
+	static PreparedStatementCache forConnection(JdbcTemplate template, Connection con,
+			@Nullable DataSource dataSource, int maxSize) {
+
+		if (!TransactionSynchronizationManager.isSynchronizationActive() ||
+				!DataSourceUtils.isConnectionTransactional(con, dataSource)) {
+			return null;
+		}
+		CacheKey key = new CacheKey(template, con);
+		PreparedStatementCache cache = (PreparedStatementCache) TransactionSynchronizationManager.getResource(key);
+		if (cache == null) {
+			cache = new PreparedStatementCache(maxSize);
+			TransactionSynchronizationManager.bindResource(key, cache);
+			TransactionSynchronizationManager.registerSynchronization(new CacheSynchronization(key, cache));
+		}
+		return cache;
+	}
+
+
+	/**
+	 * Resource key for a statement cache: specific to a template and a connection.
+	 */
+	private record CacheKey(JdbcTemplate template, Connection connection) {
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			return (this == other || (other instanceof CacheKey otherKey &&
+					this.template == otherKey.template && this.connection == otherKey.connection));
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(this.template) * 29 + System.identityHashCode(this.connection);
+		}
+	}
+
+
+	/**
+	 * Synchronization that closes the cached statements on transaction completion,
+	 * before the connection gets released.
+	 */
+	private static class CacheSynchronization implements TransactionSynchronization {
+
+		private final CacheKey key;
+
+		private final PreparedStatementCache cache;
+
+		CacheSynchronization(CacheKey key, PreparedStatementCache cache) {
+			this.key = key;
+			this.cache = cache;
+		}
+
+		@Override
+		public int getOrder() {
+			return DataSourceUtils.CONNECTION_SYNCHRONIZATION_ORDER - 10;
+		}
+
+		@Override
+		public void suspend() {
+			TransactionSynchronizationManager.unbindResourceIfPossible(this.key);
+		}
+
+		@Override
+		public void resume() {
+			TransactionSynchronizationManager.bindResource(this.key, this.cache);
+		}
+
+		@Override
+		public void beforeCompletion() {
+			TransactionSynchronizationManager.unbindResourceIfPossible(this.key);
+			this.cache.close();
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			// In case of no beforeCompletion callback
+			TransactionSynchronizationManager.unbindResourceIfPossible(this.key);
+			this.cache.close();
+		}
+	}
+
+}
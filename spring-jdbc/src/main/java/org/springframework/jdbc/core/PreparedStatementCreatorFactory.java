@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -188,7 +188,7 @@ public class PreparedStatementCreatorFactory {
 	 * PreparedStatementCreator implementation returned by this class.
 	 */
 	private class PreparedStatementCreatorImpl
-			implements PreparedStatementCreator, PreparedStatementSetter, SqlProvider, ParameterDisposer {
+			implements CacheablePreparedStatementCreator, SqlProvider, ParameterDisposer {
 
 		private final String actualSql;
 
@@ -222,7 +222,22 @@ public class PreparedStatementCreatorFactory {
 		}
 
 		@Override
-		public PreparedStatement createPreparedStatement(Connection con) throws SQLException {
+		@Nullable
+		public Object getStatementCacheKey() {
+			if (generatedKeysColumnNames != null || returnGeneratedKeys) {
+				return null;
+			}
+			else if (resultSetType == ResultSet.TYPE_FORWARD_ONLY && !updatableResults) {
+				// Interchangeable with a plain statement for the same SQL
+				return this.actualSql;
+			}
+			else {
+				return new StatementCacheKey(this.actualSql, resultSetType, updatableResults);
+			}
+		}
+
+		@Override
+		public PreparedStatement prepareStatement(Connection con) throws SQLException {
 			PreparedStatement ps;
 			if (generatedKeysColumnNames != null || returnGeneratedKeys) {
 				if (generatedKeysColumnNames != null) {
@@ -239,7 +254,6 @@ public class PreparedStatementCreatorFactory {
 				ps = con.prepareStatement(this.actualSql, resultSetType,
 					updatableResults ? ResultSet.CONCUR_UPDATABLE : ResultSet.CONCUR_READ_ONLY);
 			}
-			setValues(ps);
 			return ps;
 		}
 
@@ -299,4 +313,11 @@ public class PreparedStatementCreatorFactory {
 		}
 	}
 
+
+	/**
+	 * Statement cache key for non-default result set options.
+	 */
+	private record StatementCacheKey(String sql, int resultSetType, boolean updatableResults) {
+	}
+
 }
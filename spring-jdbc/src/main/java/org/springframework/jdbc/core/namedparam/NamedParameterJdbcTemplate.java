@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -80,6 +80,9 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 	private volatile ConcurrentLruCache<String, ParsedSql> parsedSqlCache =
 			new ConcurrentLruCache<>(DEFAULT_CACHE_LIMIT, NamedParameterUtils::parseSqlStatement);
 
+	/** Whether to pad collection values for IN clauses to power-of-two sizes. */
+	private boolean inClausePadding = false;
+
 
 	/**
 	 * Create a new NamedParameterJdbcTemplate for the given {@link DataSource}.
@@ -138,6 +141,34 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 		return this.parsedSqlCache.sizeLimit();
 	}
 
+	/**
+	 * Specify whether to pad the placeholders for collection values (typically
+	 * in an {@code IN} clause) to the next power of two, repeating the last value
+	 * of each collection for the additional placeholders.
+	 * <p>Default is "false", expanding a collection to exactly as many placeholders
+	 * as it has elements. Switch this to "true" in order to bound the number of
+	 * distinct SQL statements for collections of varying size, making them more
+	 * likely to be served from a JDBC driver's or a
+	 * {@linkplain JdbcTemplate#setStatementCacheSize template's} statement cache.
+	 * <p>Note that a padded list may exceed a database-specific limit for the
+	 * number of {@code IN} list elements earlier than its unpadded variant.
+	 * @since 6.0
+	 * @see NamedParameterUtils#substituteNamedParameters(ParsedSql, SqlParameterSource, boolean)
+	 * @see NamedParameterUtils#buildValueArray(ParsedSql, SqlParameterSource, List, boolean)
+	 */
+	public void setInClausePadding(boolean inClausePadding) {
+		this.inClausePadding = inClausePadding;
+	}
+
+	/**
+	 * Return whether to pad the placeholders for collection values
+	 * to the next power of two.
+	 * @since 6.0
+	 */
+	public boolean isInClausePadding() {
+		return this.inClausePadding;
+	}
+
 
 	@Override
 	@Nullable
@@ -375,7 +406,8 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 				new BatchPreparedStatementSetter() {
 					@Override
 					public void setValues(PreparedStatement ps, int i) throws SQLException {
-						Object[] values = NamedParameterUtils.buildValueArray(parsedSql, batchArgs[i], null);
+						Object[] values = NamedParameterUtils.buildValueArray(
+								parsedSql, batchArgs[i], null, isInClausePadding());
 						pscf.newPreparedStatementSetter(values).setValues(ps);
 					}
 					@Override
@@ -422,7 +454,7 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 		if (customizer != null) {
 			customizer.accept(pscf);
 		}
-		Object[] params = NamedParameterUtils.buildValueArray(parsedSql, paramSource, null);
+		Object[] params = NamedParameterUtils.buildValueArray(parsedSql, paramSource, null, isInClausePadding());
 		return pscf.newPreparedStatementCreator(params);
 	}
 
@@ -448,7 +480,7 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 	protected PreparedStatementCreatorFactory getPreparedStatementCreatorFactory(
 			ParsedSql parsedSql, SqlParameterSource paramSource) {
 
-		String sqlToUse = NamedParameterUtils.substituteNamedParameters(parsedSql, paramSource);
+		String sqlToUse = NamedParameterUtils.substituteNamedParameters(parsedSql, paramSource, isInClausePadding());
 		List<SqlParameter> declaredParameters = NamedParameterUtils.buildSqlParameterList(parsedSql, paramSource);
 		return new PreparedStatementCreatorFactory(sqlToUse, declaredParameters);
 	}
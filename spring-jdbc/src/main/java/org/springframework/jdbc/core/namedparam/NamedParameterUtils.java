@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -266,61 +266,125 @@ public abstract class NamedParameterUtils {
 	 * @see #parseSqlStatement
 	 */
 	public static String substituteNamedParameters(ParsedSql parsedSql, @Nullable SqlParameterSource paramSource) {
+		return substituteNamedParameters(parsedSql, paramSource, false);
+	}
+
+	/**
+	 * Parse the SQL statement and locate any placeholders or named parameters. Named
+	 * parameters are substituted for a JDBC placeholder, and any select list is expanded
+	 * to the required number of placeholders, optionally padded as follows.
+	 * <p>With {@code padInClauses} set to {@code true}, the number of placeholders for a
+	 * collection value gets rounded up to the next power of two, so that collections of
+	 * varying size map to a small number of distinct SQL statements which in turn can be
+	 * reused from a statement cache. The corresponding
+	 * {@link #buildValueArray(ParsedSql, SqlParameterSource, List, boolean)} call pads
+	 * the collection values by repeating their last element, which is semantically
+	 * neutral for an {@code IN} clause. Note that a padded list may exceed a
+	 * database-specific limit for the number of elements (e.g. 1000 on Oracle)
+	 * earlier than its unpadded variant.
+	 * <p>If none of the given parameter values is a collection, a statement with one
+	 * placeholder per named parameter is returned, as pre-built by the {@link ParsedSql}
+	 * and shared across invocations.
+	 * @param parsedSql the parsed representation of the SQL statement
+	 * @param paramSource the source for named parameters
+	 * @param padInClauses whether to pad the placeholders for collection values
+	 * to the next power of two
+	 * @return the SQL statement with substituted parameters
+	 * @since 6.0
+	 * @see #parseSqlStatement
+	 */
+	public static String substituteNamedParameters(
+			ParsedSql parsedSql, @Nullable SqlParameterSource paramSource, boolean padInClauses) {
+
 		String originalSql = parsedSql.getOriginalSql();
 		List<String> paramNames = parsedSql.getParameterNames();
 		if (paramNames.isEmpty()) {
 			return originalSql;
 		}
-		StringBuilder actualSql = new StringBuilder(originalSql.length());
+		StringBuilder actualSql = null;
 		int lastIndex = 0;
 		for (int i = 0; i < paramNames.size(); i++) {
 			String paramName = paramNames.get(i);
-			int[] indexes = parsedSql.getParameterIndexes(i);
-			int startIndex = indexes[0];
-			int endIndex = indexes[1];
-			actualSql.append(originalSql, lastIndex, startIndex);
+			Object value = null;
 			if (paramSource != null && paramSource.hasValue(paramName)) {
-				Object value = paramSource.getValue(paramName);
+				value = paramSource.getValue(paramName);
 				if (value instanceof SqlParameterValue) {
 					value = ((SqlParameterValue) value).getValue();
 				}
-				if (value instanceof Iterable) {
-					Iterator<?> entryIter = ((Iterable<?>) value).iterator();
-					int k = 0;
-					while (entryIter.hasNext()) {
-						if (k > 0) {
-							actualSql.append(", ");
-						}
-						k++;
-						Object entryItem = entryIter.next();
-						if (entryItem instanceof Object[] expressionList) {
-							actualSql.append('(');
-							for (int m = 0; m < expressionList.length; m++) {
-								if (m > 0) {
-									actualSql.append(", ");
-								}
-								actualSql.append('?');
-							}
-							actualSql.append(')');
-						}
-						else {
-							actualSql.append('?');
-						}
+			}
+			if (value instanceof Iterable) {
+				if (actualSql == null) {
+					// First collection value: catch up with the plain placeholders so far.
+					actualSql = new StringBuilder(originalSql.length() + 16);
+					for (int j = 0; j < i; j++) {
+						int[] indexes = parsedSql.getParameterIndexes(j);
+						actualSql.append(originalSql, lastIndex, indexes[0]).append('?');
+						lastIndex = indexes[1];
 					}
 				}
-				else {
-					actualSql.append('?');
+				int[] indexes = parsedSql.getParameterIndexes(i);
+				actualSql.append(originalSql, lastIndex, indexes[0]);
+				Iterator<?> entryIter = ((Iterable<?>) value).iterator();
+				int k = 0;
+				Object entryItem = null;
+				while (entryIter.hasNext()) {
+					if (k > 0) {
+						actualSql.append(", ");
+					}
+					k++;
+					entryItem = entryIter.next();
+					appendEntryPlaceholders(actualSql, entryItem);
+				}
+				if (padInClauses) {
+					for (int padded = getPaddedSize(k); k < padded; k++) {
+						actualSql.append(", ");
+						appendEntryPlaceholders(actualSql, entryItem);
+					}
 				}
+				lastIndex = indexes[1];
 			}
-			else {
-				actualSql.append('?');
+			else if (actualSql != null) {
+				int[] indexes = parsedSql.getParameterIndexes(i);
+				actualSql.append(originalSql, lastIndex, indexes[0]).append('?');
+				lastIndex = indexes[1];
 			}
-			lastIndex = endIndex;
+		}
+		if (actualSql == null) {
+			return parsedSql.getSubstitutedSql();
 		}
 		actualSql.append(originalSql, lastIndex, originalSql.length());
 		return actualSql.toString();
 	}
 
+	private static void appendEntryPlaceholders(StringBuilder actualSql, @Nullable Object entryItem) {
+		if (entryItem instanceof Object[] expressionList) {
+			actualSql.append('(');
+			for (int m = 0; m < expressionList.length; m++) {
+				if (m > 0) {
+					actualSql.append(", ");
+				}
+				actualSql.append('?');
+			}
+			actualSql.append(')');
+		}
+		else {
+			actualSql.append('?');
+		}
+	}
+
+	/**
+	 * Determine the padded size for a collection of the given size:
+	 * the next power of two, or the size itself if it is 0 or 1 or
+	 * too large to be rounded up.
+	 */
+	static int getPaddedSize(int size) {
+		if (size <= 1) {
+			return size;
+		}
+		int padded = Integer.highestOneBit(size - 1) << 1;
+		return (padded > 0 ? padded : size);
+	}
+
 	/**
 	 * Convert a Map of named parameter values to a corresponding array.
 	 * @param parsedSql the parsed SQL statement
@@ -333,6 +397,26 @@ public abstract class NamedParameterUtils {
 	public static Object[] buildValueArray(
 			ParsedSql parsedSql, SqlParameterSource paramSource, @Nullable List<SqlParameter> declaredParams) {
 
+		return buildValueArray(parsedSql, paramSource, declaredParams, false);
+	}
+
+	/**
+	 * Convert a Map of named parameter values to a corresponding array,
+	 * optionally padding collection values to the next power of two in size.
+	 * @param parsedSql the parsed SQL statement
+	 * @param paramSource the source for named parameters
+	 * @param declaredParams the List of declared SqlParameter objects
+	 * (may be {@code null}). If specified, the parameter metadata will
+	 * be built into the value array in the form of SqlParameterValue objects.
+	 * @param padInClauses whether to pad collection values by repeating their
+	 * last element, matching the placeholders from
+	 * {@link #substituteNamedParameters(ParsedSql, SqlParameterSource, boolean)}
+	 * @return the array of values
+	 * @since 6.0
+	 */
+	public static Object[] buildValueArray(ParsedSql parsedSql, SqlParameterSource paramSource,
+			@Nullable List<SqlParameter> declaredParams, boolean padInClauses) {
+
 		Object[] paramArray = new Object[parsedSql.getTotalParameterCount()];
 		if (parsedSql.getNamedParameterCount() > 0 && parsedSql.getUnnamedParameterCount() > 0) {
 			throw new InvalidDataAccessApiUsageException(
@@ -354,6 +438,9 @@ public abstract class NamedParameterUtils {
 					paramArray[i] = (param != null ? new SqlParameterValue(param, paramValue) :
 							SqlParameterSourceUtils.getTypedValue(paramSource, paramName));
 				}
+				if (padInClauses) {
+					paramArray[i] = padCollectionValue(paramArray[i]);
+				}
 			}
 			catch (IllegalArgumentException ex) {
 				throw new InvalidDataAccessApiUsageException(
@@ -363,6 +450,32 @@ public abstract class NamedParameterUtils {
 		return paramArray;
 	}
 
+	/**
+	 * Pad the given collection value (possibly wrapped in an {@link SqlParameterValue})
+	 * to the size determined by {@link #getPaddedSize}, repeating its last element.
+	 */
+	@Nullable
+	private static Object padCollectionValue(@Nullable Object paramValue) {
+		Object value = (paramValue instanceof SqlParameterValue sqlParameterValue ?
+				sqlParameterValue.getValue() : paramValue);
+		if (!(value instanceof Iterable<?> iterable)) {
+			return paramValue;
+		}
+		List<Object> entries = new ArrayList<>();
+		iterable.forEach(entries::add);
+		int size = entries.size();
+		int padded = getPaddedSize(size);
+		if (padded == size) {
+			return paramValue;
+		}
+		Object lastEntry = entries.get(size - 1);
+		for (int k = size; k < padded; k++) {
+			entries.add(lastEntry);
+		}
+		return (paramValue instanceof SqlParameterValue sqlParameterValue ?
+				new SqlParameterValue(sqlParameterValue, entries) : entries);
+	}
+
 	/**
 	 * Find a matching parameter in the given list of declared parameters.
 	 * @param declaredParams the declared SqlParameter objects
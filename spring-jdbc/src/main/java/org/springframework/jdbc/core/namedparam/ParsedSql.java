@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,8 @@ package org.springframework.jdbc.core.namedparam;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.springframework.lang.Nullable;
+
 /**
  * Holds information about a parsed SQL statement.
  *
@@ -40,6 +42,9 @@ public class ParsedSql {
 
 	private int totalParameterCount;
 
+	@Nullable
+	private volatile String substitutedSql;
+
 
 	/**
 	 * Create a new instance of the {@link ParsedSql} class.
@@ -134,6 +139,34 @@ public class ParsedSql {
 	}
 
 
+	/**
+	 * Return the SQL statement with every named parameter replaced by a single
+	 * '?' placeholder, as applicable to all parameter values except collections.
+	 * <p>Built on first access and then reused for every further execution.
+	 * @since 6.0
+	 */
+	String getSubstitutedSql() {
+		String sql = this.substitutedSql;
+		if (sql == null) {
+			if (this.parameterNames.isEmpty()) {
+				sql = this.originalSql;
+			}
+			else {
+				StringBuilder actualSql = new StringBuilder(this.originalSql.length());
+				int lastIndex = 0;
+				for (int[] indexes : this.parameterIndexes) {
+					actualSql.append(this.originalSql, lastIndex, indexes[0]).append('?');
+					lastIndex = indexes[1];
+				}
+				actualSql.append(this.originalSql, lastIndex, this.originalSql.length());
+				sql = actualSql.toString();
+			}
+			this.substitutedSql = sql;
+		}
+		return sql;
+	}
+
+
 	/**
 	 * Exposes the original SQL String.
 	 */
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.jdbc.IncorrectResultSetColumnCountException;
+import org.springframework.jdbc.core.ColumnarBatch.ColumnType;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Integration tests for {@link ColumnarResultSetExtractor} and
+ * {@link ChunkedColumnarResultSetExtractor} against an embedded H2 database.
+ *
+ * @author agent
+ */
+class ColumnarResultSetExtractorTests {
+
+	private EmbeddedDatabase database;
+
+	private JdbcTemplate jdbcTemplate;
+
+
+	@BeforeEach
+	void setup() {
+		this.database = new EmbeddedDatabaseBuilder().generateUniqueName(true)
+				.setType(EmbeddedDatabaseType.H2).build();
+		this.jdbcTemplate = new JdbcTemplate(this.database);
+		this.jdbcTemplate.execute("create table sales (id bigint, region varchar(20), amount double, " +
+				"quantity integer, active boolean, price decimal(10,2), created date)");
+		List<Object[]> rows = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			rows.add(new Object[] {i, (i % 10 == 9 ? null : "region" + (i % 3)), i * 1.5,
+					(i % 4 == 0 ? null : i % 4), i % 2 == 0, i + 0.25, java.sql.Date.valueOf("2022-01-01")});
+		}
+		this.jdbcTemplate.batchUpdate("insert into sales values (?, ?, ?, ?, ?, ?, ?)", rows);
+	}
+
+	@AfterEach
+	void shutdown() {
+		this.database.shutdown();
+	}
+
+
+	@Test
+	void extractAllRows() {
+		ColumnarResultSetExtractor extractor = new ColumnarResultSetExtractor();
+		extractor.setInitialCapacity(16);
+		ColumnarBatch batch = this.jdbcTemplate.query("select * from sales order by id", extractor);
+
+		assertThat(batch.getRowCount()).isEqualTo(1000);
+		assertThat(batch.getColumnCount()).isEqualTo(7);
+		assertThat(batch.getColumnType(0)).isEqualTo(ColumnType.LONG);
+		assertThat(batch.getColumnType(1)).isEqualTo(ColumnType.STRING);
+		assertThat(batch.getColumnType(2)).isEqualTo(ColumnType.DOUBLE);
+		assertThat(batch.getColumnType(3)).isEqualTo(ColumnType.LONG);
+		assertThat(batch.getColumnType(4)).isEqualTo(ColumnType.LONG);
+		assertThat(batch.getColumnType(5)).isEqualTo(ColumnType.DOUBLE);
+		assertThat(batch.getColumnType(6)).isEqualTo(ColumnType.OBJECT);
+
+		long[] ids = batch.getLongColumn(batch.findColumn("id"));
+		double[] amounts = batch.getDoubleColumn(batch.findColumn("AMOUNT"));
+		double total = 0;
+		for (int i = 0; i < batch.getRowCount(); i++) {
+			assertThat(ids[i]).isEqualTo(i);
+			total += amounts[i];
+		}
+		assertThat(total).isEqualTo(999 * 1000 / 2 * 1.5);
+		assertThat(batch.getValue(4, 2)).isEqualTo(1L);
+		assertThat(batch.getValue(4, 3)).isEqualTo(0L);
+		assertThat(batch.getValue(5, 3)).isEqualTo(3.25);
+		assertThat(batch.getValue(6, 0)).isEqualTo(java.sql.Date.valueOf("2022-01-01"));
+	}
+
+	@Test
+	void dictionaryEncodedStrings() {
+		ColumnarBatch batch = this.jdbcTemplate.query(
+				"select region from sales order by id", new ColumnarResultSetExtractor());
+
+		assertThat(batch.getDictionary(0)).containsExactly("region0", "region1", "region2");
+		int[] codes = batch.getDictionaryCodes(0);
+		assertThat(codes[0]).isEqualTo(0);
+		assertThat(codes[4]).isEqualTo(1);
+		assertThat(codes[9]).isEqualTo(-1);
+		assertThat(batch.isNull(0, 9)).isTrue();
+		assertThat(batch.getValue(0, 9)).isNull();
+		assertThat(batch.getValue(0, 5)).isEqualTo("region2");
+	}
+
+	@Test
+	void nullValuesInPrimitiveColumns() {
+		ColumnarBatch batch = this.jdbcTemplate.query(
+				"select quantity from sales order by id", new ColumnarResultSetExtractor());
+
+		long[] quantities = batch.getLongColumn(0);
+		assertThat(quantities[0]).isEqualTo(0);
+		assertThat(batch.isNull(0, 0)).isTrue();
+		assertThat(quantities[1]).isEqualTo(1);
+		assertThat(batch.isNull(0, 1)).isFalse();
+		assertThat(batch.getValue(0, 4)).isNull();
+	}
+
+	@Test
+	void explicitColumnTypes() {
+		ColumnarBatch batch = this.jdbcTemplate.query("select id, amount from sales order by id",
+				new ColumnarResultSetExtractor(ColumnType.STRING, ColumnType.LONG));
+
+		assertThat(batch.getValue(0, 7)).isEqualTo("7");
+		assertThat(batch.getLongColumn(1)[2]).isEqualTo(3);
+		assertThatExceptionOfType(IncorrectResultSetColumnCountException.class).isThrownBy(() ->
+				this.jdbcTemplate.query("select * from sales", new ColumnarResultSetExtractor(ColumnType.LONG)));
+	}
+
+	@Test
+	void columnAccessWithWrongType() {
+		ColumnarBatch batch = this.jdbcTemplate.query(
+				"select id from sales where id < 10", new ColumnarResultSetExtractor());
+
+		assertThatExceptionOfType(InvalidDataAccessApiUsageException.class).isThrownBy(() ->
+				batch.getDoubleColumn(0));
+		assertThatExceptionOfType(InvalidDataAccessApiUsageException.class).isThrownBy(() ->
+				batch.findColumn("amount"));
+		assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() ->
+				batch.getValue(0, 10));
+	}
+
+	@Test
+	void extractInChunks() {
+		List<Integer> chunkSizes = new ArrayList<>();
+		double[] total = new double[1];
+		Long rowCount = this.jdbcTemplate.query("select amount, region from sales order by id",
+				new ChunkedColumnarResultSetExtractor(batch -> {
+					chunkSizes.add(batch.getRowCount());
+					double[] amounts = batch.getDoubleColumn(0);
+					for (int i = 0; i < batch.getRowCount(); i++) {
+						total[0] += amounts[i];
+					}
+					assertThat(batch.getDictionary(1)).hasSize(3);
+				}, 300));
+
+		assertThat(rowCount).isEqualTo(1000L);
+		assertThat(chunkSizes).containsExactly(300, 300, 300, 100);
+		assertThat(total[0]).isEqualTo(999 * 1000 / 2 * 1.5);
+	}
+
+	@Test
+	void extractInChunksResetsNullValues() {
+		List<Boolean> firstRowNulls = new ArrayList<>();
+		this.jdbcTemplate.query("select quantity from sales order by id",
+				new ChunkedColumnarResultSetExtractor(batch -> firstRowNulls.add(batch.isNull(0, 0)), 2));
+
+		assertThat(firstRowNulls).hasSize(500);
+		assertThat(firstRowNulls.get(0)).isTrue();
+		assertThat(firstRowNulls.get(1)).isFalse();
+		assertThat(firstRowNulls.get(2)).isTrue();
+	}
+
+	@Test
+	void extractInChunksWithStableDictionary() {
+		List<Integer> dictionarySizes = new ArrayList<>();
+		this.jdbcTemplate.query("select cast(id as varchar(10)) from sales order by id",
+				new ChunkedColumnarResultSetExtractor(batch ->
+						dictionarySizes.add(batch.getDictionary(0).size()), 300));
+
+		assertThat(dictionarySizes).containsExactly(300, 600, 900, 1000);
+	}
+
+	@Test
+	void extractInChunksWithDictionaryReset() {
+		List<Integer> dictionarySizes = new ArrayList<>();
+		ChunkedColumnarResultSetExtractor extractor = new ChunkedColumnarResultSetExtractor(batch -> {
+			dictionarySizes.add(batch.getDictionary(0).size());
+			assertThat(batch.getDictionaryCodes(0)[0]).isEqualTo(0);
+			assertThat(batch.getValue(0, 0)).isEqualTo(String.valueOf(dictionarySizes.size() * 300 - 300));
+		}, 300);
+		extractor.setResetDictionaries(true);
+		Long rowCount = this.jdbcTemplate.query("select cast(id as varchar(10)) from sales order by id", extractor);
+
+		assertThat(rowCount).isEqualTo(1000L);
+		assertThat(dictionarySizes).containsExactly(300, 300, 300, 100);
+	}
+
+	@Test
+	void extractEmptyResultInChunks() {
+		Long rowCount = this.jdbcTemplate.query("select * from sales where id < 0",
+				new ChunkedColumnarResultSetExtractor(batch -> {
+					throw new IllegalStateException("No chunk expected");
+				}));
+
+		assertThat(rowCount).isEqualTo(0L);
+	}
+
+}
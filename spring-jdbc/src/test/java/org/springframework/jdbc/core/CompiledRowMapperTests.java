@@ -0,0 +1,289 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.beans.PropertyDescriptor;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.MethodInvocationException;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.jdbc.core.test.ConcretePerson;
+import org.springframework.jdbc.core.test.ConstructorPerson;
+import org.springframework.jdbc.core.test.EmailPerson;
+import org.springframework.jdbc.core.test.ExtendedPerson;
+import org.springframework.jdbc.core.test.Person;
+import org.springframework.jdbc.core.test.SpacePerson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link BeanPropertyRowMapper} and {@link DataClassRowMapper}
+ * with {@linkplain BeanPropertyRowMapper#setCompiledRowMapping compiled row mapping}.
+ *
+ * @author agent
+ */
+class CompiledRowMapperTests extends AbstractRowMapperTests {
+
+	@Test
+	void staticQueryWithRowMapper() throws Exception {
+		Mock mock = new Mock();
+		List<Person> result = mock.getJdbcTemplate().query(
+				"select name, age, birth_date, balance from people",
+				compiled(new BeanPropertyRowMapper<>(Person.class)));
+		assertThat(result).hasSize(1);
+		verifyPerson(result.get(0));
+		mock.verifyClosed();
+	}
+
+	@Test
+	void mappingWithInheritance() throws Exception {
+		Mock mock = new Mock();
+		List<ConcretePerson> result = mock.getJdbcTemplate().query(
+				"select name, age, birth_date, balance from people",
+				compiled(new BeanPropertyRowMapper<>(ConcretePerson.class, true)));
+		assertThat(result).hasSize(1);
+		verifyPerson(result.get(0));
+		mock.verifyClosed();
+	}
+
+	@Test
+	void mappingWithUnpopulatedFieldsNotAccepted() throws Exception {
+		Mock mock = new Mock();
+		assertThatExceptionOfType(InvalidDataAccessApiUsageException.class).isThrownBy(() ->
+				mock.getJdbcTemplate().query("select name, age, birth_date, balance from people",
+						compiled(new BeanPropertyRowMapper<>(ExtendedPerson.class, true))));
+	}
+
+	@Test
+	void mappingNullValue() throws Exception {
+		Mock mock = new Mock(MockType.TWO);
+		assertThatExceptionOfType(TypeMismatchException.class).isThrownBy(() ->
+				mock.getJdbcTemplate().query("select name, null as age, birth_date, balance from people",
+						compiled(new BeanPropertyRowMapper<>(Person.class))));
+	}
+
+	@Test
+	void mappingNullValueWithPrimitivesDefaulted() throws Exception {
+		Mock mock = new Mock(MockType.TWO);
+		BeanPropertyRowMapper<Person> mapper = compiled(new BeanPropertyRowMapper<>(Person.class));
+		mapper.setPrimitivesDefaultedForNullValue(true);
+		List<Person> result = mock.getJdbcTemplate().query(
+				"select name, null as age, birth_date, balance from people", mapper);
+		assertThat(result).hasSize(1);
+		assertThat(result.get(0).getName()).isEqualTo("Bubba");
+		assertThat(result.get(0).getAge()).isEqualTo(0L);
+		assertThat(result.get(0).getBalance()).isEqualTo(new BigDecimal("1234.56"));
+	}
+
+	@Test
+	void queryWithSpaceInColumnNameAndLocalDateTime() throws Exception {
+		Mock mock = new Mock(MockType.THREE);
+		List<SpacePerson> result = mock.getJdbcTemplate().query(
+				"select last_name as \"Last Name\", age, birth_date, balance from people",
+				compiled(new BeanPropertyRowMapper<>(SpacePerson.class)));
+		assertThat(result).hasSize(1);
+		verifyPerson(result.get(0));
+		mock.verifyClosed();
+	}
+
+	@Test
+	void queryWithUnderscoreInColumnName() throws Exception {
+		Mock mock = new Mock();
+		List<EmailPerson> result = mock.getJdbcTemplate().query(
+				"select name, age, birth_date, balance, e_mail from people",
+				compiled(new BeanPropertyRowMapper<>(EmailPerson.class)));
+		assertThat(result).hasSize(1);
+		verifyPerson(result.get(0));
+		mock.verifyClosed();
+	}
+
+	@Test
+	void staticQueryWithDataClass() throws Exception {
+		Mock mock = new Mock();
+		List<ConstructorPerson> result = mock.getJdbcTemplate().query(
+				"select name, age, birth_date, balance from people",
+				compiled(new DataClassRowMapper<>(ConstructorPerson.class)));
+		assertThat(result).hasSize(1);
+		verifyPerson(result.get(0));
+		mock.verifyClosed();
+	}
+
+	@Test
+	void planReusedForSameResultSet() throws Exception {
+		ResultSet rs = mockResultSet("name", "age");
+		given(rs.getString(1)).willReturn("Bubba", "Buster");
+		given(rs.getLong(2)).willReturn(22L, 33L);
+
+		BeanPropertyRowMapper<Person> mapper = compiled(new BeanPropertyRowMapper<>(Person.class));
+		Person first = mapper.mapRow(rs, 0);
+		Person second = mapper.mapRow(rs, 1);
+		assertThat(first.getName()).isEqualTo("Bubba");
+		assertThat(first.getAge()).isEqualTo(22L);
+		assertThat(second.getName()).isEqualTo("Buster");
+		assertThat(second.getAge()).isEqualTo(33L);
+		verify(rs, times(1)).getMetaData();
+		verify(rs, never()).wasNull();
+	}
+
+	@Test
+	void planReusedForSameColumnsInNewResultSet() throws Exception {
+		BeanPropertyRowMapper<Person> mapper = compiled(new BeanPropertyRowMapper<>(Person.class));
+		ResultSet rs1 = mockResultSet("name", "age");
+		mapper.mapRow(rs1, 0);
+		BeanPropertyRowMapper.RowMappingPlan plan = mapper.getRowMappingPlan(rs1);
+
+		ResultSet rs2 = mockResultSet("name", "age");
+		mapper.mapRow(rs2, 0);
+		assertThat(mapper.getRowMappingPlan(rs2)).isSameAs(plan);
+	}
+
+	@Test
+	void planRecreatedForDifferentColumns() throws Exception {
+		BeanPropertyRowMapper<Person> mapper = compiled(new BeanPropertyRowMapper<>(Person.class));
+		ResultSet rs1 = mockResultSet("name", "age");
+		given(rs1.getString(1)).willReturn("Bubba");
+		given(rs1.getLong(2)).willReturn(22L);
+		Person first = mapper.mapRow(rs1, 0);
+		assertThat(first.getName()).isEqualTo("Bubba");
+		assertThat(first.getAge()).isEqualTo(22L);
+
+		ResultSet rs2 = mockResultSet("age", "name");
+		given(rs2.getLong(1)).willReturn(33L);
+		given(rs2.getString(2)).willReturn("Buster");
+		Person second = mapper.mapRow(rs2, 0);
+		assertThat(second.getName()).isEqualTo("Buster");
+		assertThat(second.getAge()).isEqualTo(33L);
+	}
+
+	@Test
+	void concurrentMappingOfResultSetsWithDifferentColumns() throws Exception {
+		BeanPropertyRowMapper<Person> mapper = compiled(new BeanPropertyRowMapper<>(Person.class));
+		ResultSet rs1 = mockResultSet("name", "age");
+		given(rs1.getString(1)).willReturn("Bubba");
+		given(rs1.getLong(2)).willReturn(22L);
+		ResultSet rs2 = mockResultSet("age", "name");
+		given(rs2.getLong(1)).willReturn(33L);
+		given(rs2.getString(2)).willReturn("Buster");
+
+		CyclicBarrier barrier = new CyclicBarrier(2);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<?> future1 = executor.submit(() -> mapRows(mapper, rs1, barrier, "Bubba", 22L));
+			Future<?> future2 = executor.submit(() -> mapRows(mapper, rs2, barrier, "Buster", 33L));
+			future1.get(10, TimeUnit.SECONDS);
+			future2.get(10, TimeUnit.SECONDS);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void customColumnValueRetrieval() throws Exception {
+		ResultSet rs = mockResultSet("name", "balance");
+		given(rs.getString(1)).willReturn("Bubba");
+		given(rs.getBigDecimal(2)).willReturn(new BigDecimal("1234.56"));
+
+		BeanPropertyRowMapper<Person> mapper = compiled(new BeanPropertyRowMapper<>(Person.class) {
+			@Override
+			protected Object getColumnValue(ResultSet rs, int index, PropertyDescriptor pd) throws SQLException {
+				Object value = super.getColumnValue(rs, index, pd);
+				return (value instanceof String str ? str.toUpperCase() : value);
+			}
+		});
+		Person person = mapper.mapRow(rs, 0);
+		assertThat(person.getName()).isEqualTo("BUBBA");
+		assertThat(person.getBalance()).isEqualTo(new BigDecimal("1234.56"));
+	}
+
+	@Test
+	void exceptionFromSetter() throws Exception {
+		ResultSet rs = mockResultSet("value");
+		given(rs.getInt(1)).willReturn(-1);
+
+		BeanPropertyRowMapper<CheckedBean> mapper = compiled(new BeanPropertyRowMapper<>(CheckedBean.class));
+		assertThatExceptionOfType(MethodInvocationException.class)
+				.isThrownBy(() -> mapper.mapRow(rs, 0))
+				.withCauseInstanceOf(IllegalArgumentException.class);
+	}
+
+
+	private static <M extends BeanPropertyRowMapper<?>> M compiled(M mapper) {
+		mapper.setCompiledRowMapping(true);
+		return mapper;
+	}
+
+	private static Void mapRows(BeanPropertyRowMapper<Person> mapper, ResultSet rs, CyclicBarrier barrier,
+			String name, long age) throws Exception {
+
+		for (int rowNumber = 0; rowNumber < 100; rowNumber++) {
+			// Interleave the rows of both ResultSets
+			barrier.await(10, TimeUnit.SECONDS);
+			Person person = mapper.mapRow(rs, rowNumber);
+			assertThat(person.getName()).isEqualTo(name);
+			assertThat(person.getAge()).isEqualTo(age);
+		}
+		return null;
+	}
+
+	private static ResultSet mockResultSet(String... columns) throws SQLException {
+		ResultSet rs = mock(ResultSet.class);
+		ResultSetMetaData rsmd = mock(ResultSetMetaData.class);
+		given(rs.getMetaData()).willReturn(rsmd);
+		given(rsmd.getColumnCount()).willReturn(columns.length);
+		for (int i = 0; i < columns.length; i++) {
+			given(rsmd.getColumnLabel(i + 1)).willReturn(columns[i]);
+		}
+		return rs;
+	}
+
+
+	public static class CheckedBean {
+
+		private int value;
+
+		public int getValue() {
+			return this.value;
+		}
+
+		public void setValue(int value) {
+			if (value < 0) {
+				throw new IllegalArgumentException("Negative value");
+			}
+			this.value = value;
+		}
+	}
+
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link JdbcTemplate} with a {@linkplain JdbcTemplate#setStatementCacheSize
+ * prepared statement cache}.
+ *
+ * @author agent
+ */
+class JdbcTemplateStatementCacheTests {
+
+	private final DataSource dataSource = mock(DataSource.class);
+
+	private final Connection connection = mock(Connection.class);
+
+	private final List<PreparedStatement> statements = new ArrayList<>();
+
+	private final JdbcTemplate template = new JdbcTemplate(this.dataSource);
+
+	private final TransactionTemplate transactionTemplate =
+			new TransactionTemplate(new DataSourceTransactionManager(this.dataSource));
+
+
+	@BeforeEach
+	void setup() throws Exception {
+		given(this.dataSource.getConnection()).willReturn(this.connection);
+		given(this.connection.prepareStatement(anyString())).willAnswer(invocation -> {
+			PreparedStatement ps = mock(PreparedStatement.class);
+			given(ps.executeUpdate()).willReturn(1);
+			given(ps.executeQuery()).willReturn(mock(ResultSet.class));
+			this.statements.add(ps);
+			return ps;
+		});
+		this.template.setStatementCacheSize(2);
+	}
+
+
+	@Test
+	void statementsReusedWithinTransaction() throws Exception {
+		this.transactionTemplate.executeWithoutResult(status -> {
+			for (int i = 0; i < 10; i++) {
+				this.template.update("update person set age = ?", i);
+				this.template.query("select age from person where id = ?", (RowCallbackHandler) rs -> {}, i);
+			}
+			assertThat(this.statements).hasSize(2);
+		});
+		verify(this.connection, times(1)).prepareStatement("update person set age = ?");
+		verify(this.connection, times(1)).prepareStatement("select age from person where id = ?");
+		for (PreparedStatement ps : this.statements) {
+			verify(ps, times(9)).clearParameters();
+			verify(ps).close();
+		}
+		assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+	}
+
+	@Test
+	void statementsReusedWithNamedParameters() throws Exception {
+		NamedParameterJdbcTemplate namedTemplate = new NamedParameterJdbcTemplate(this.template);
+		this.transactionTemplate.executeWithoutResult(status -> {
+			for (int i = 0; i < 10; i++) {
+				namedTemplate.update("update person set age = :age", Map.of("age", i));
+			}
+		});
+		verify(this.connection, times(1)).prepareStatement("update person set age = ?");
+		assertThat(this.statements).hasSize(1);
+		verify(this.statements.get(0), times(10)).executeUpdate();
+		verify(this.statements.get(0)).close();
+	}
+
+	@Test
+	void statementsNotCachedWithoutTransaction() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			this.template.update("update person set age = ?", i);
+		}
+		assertThat(this.statements).hasSize(3);
+		for (PreparedStatement ps : this.statements) {
+			verify(ps, never()).clearParameters();
+			verify(ps).close();
+		}
+	}
+
+	@Test
+	void leastRecentlyUsedStatementEvicted() throws Exception {
+		this.transactionTemplate.executeWithoutResult(status -> {
+			this.template.update("update a set x = ?", 1);
+			this.template.update("update b set x = ?", 1);
+			this.template.update("update c set x = ?", 1);
+			assertThat(this.statements).hasSize(3);
+			try {
+				verify(this.statements.get(0)).close();
+				verify(this.statements.get(1), never()).close();
+			}
+			catch (SQLException ex) {
+				throw new IllegalStateException(ex);
+			}
+			this.template.update("update b set x = ?", 2);
+			assertThat(this.statements).hasSize(3);
+		});
+	}
+
+	@Test
+	void nestedExecutionOfSameStatement() throws Exception {
+		String sql = "select age from person where id = ?";
+		ResultSet rs = mock(ResultSet.class);
+		given(rs.next()).willReturn(true, false);
+		given(this.connection.prepareStatement(sql)).willAnswer(invocation -> {
+			PreparedStatement ps = mock(PreparedStatement.class);
+			given(ps.executeQuery()).willReturn(this.statements.isEmpty() ? rs : mock(ResultSet.class));
+			this.statements.add(ps);
+			return ps;
+		});
+		this.transactionTemplate.executeWithoutResult(status -> {
+			this.template.query(sql, (RowCallbackHandler) row ->
+					this.template.query(sql, (RowCallbackHandler) nestedRow -> {}, 2), 1);
+			this.template.query(sql, (RowCallbackHandler) row -> {}, 3);
+		});
+		// Outer statement closed since the nested one got cached in the meantime
+		assertThat(this.statements).hasSize(2);
+		verify(this.statements.get(0), times(1)).executeQuery();
+		verify(this.statements.get(0)).close();
+		verify(this.statements.get(1), times(2)).executeQuery();
+		verify(this.statements.get(1)).close();
+	}
+
+	@Test
+	void failedStatementNotReused() throws Exception {
+		this.transactionTemplate.executeWithoutResult(status -> {
+			this.template.update("update person set age = ?", 1);
+			try {
+				willThrow(new SQLException("failure")).given(this.statements.get(0)).executeUpdate();
+			}
+			catch (SQLException ex) {
+				throw new IllegalStateException(ex);
+			}
+			assertThatExceptionOfType(DataAccessException.class).isThrownBy(() ->
+					this.template.update("update person set age = ?", 2));
+			this.template.update("update person set age = ?", 3);
+		});
+		assertThat(this.statements).hasSize(2);
+		verify(this.statements.get(0)).close();
+		verify(this.statements.get(1)).close();
+	}
+
+	@Test
+	void statementClosedWhenSettingValuesFails() throws Exception {
+		this.transactionTemplate.executeWithoutResult(status -> {
+			this.template.update("update person set age = ?", 1);
+			try {
+				willThrow(new SQLException("failure")).given(this.statements.get(0)).setObject(1, 2);
+			}
+			catch (SQLException ex) {
+				throw new IllegalStateException(ex);
+			}
+			assertThatExceptionOfType(DataAccessException.class).isThrownBy(() ->
+					this.template.update("update person set age = ?", 2));
+			try {
+				verify(this.statements.get(0)).close();
+			}
+			catch (SQLException ex) {
+				throw new IllegalStateException(ex);
+			}
+			this.template.update("update person set age = ?", 3);
+		});
+		assertThat(this.statements).hasSize(2);
+		verify(this.statements.get(1)).close();
+	}
+
+	@Test
+	void statementCacheSuspendedWithNewTransaction() throws Exception {
+		Connection otherConnection = mock(Connection.class);
+		given(otherConnection.prepareStatement(anyString())).willAnswer(invocation -> mock(PreparedStatement.class));
+		given(this.dataSource.getConnection()).willReturn(this.connection, otherConnection);
+		TransactionTemplate newTransactionTemplate = new TransactionTemplate(
+				new DataSourceTransactionManager(this.dataSource));
+		newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+		this.transactionTemplate.executeWithoutResult(status -> {
+			this.template.update("update person set age = ?", 1);
+			newTransactionTemplate.executeWithoutResult(newStatus ->
+					this.template.update("update person set age = ?", 2));
+			this.template.update("update person set age = ?", 3);
+		});
+		verify(this.connection, times(1)).prepareStatement("update person set age = ?");
+		verify(otherConnection, times(1)).prepareStatement("update person set age = ?");
+		assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+	}
+
+}
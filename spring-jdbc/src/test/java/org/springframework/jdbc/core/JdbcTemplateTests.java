@@ -38,6 +38,8 @@ import javax.sql.DataSource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.core.observation.InMemoryObservationRecorder;
+import org.springframework.core.observation.InMemoryObservationRecorder.RecordedObservation;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.jdbc.BadSqlGrammarException;
@@ -385,6 +387,28 @@ public class JdbcTemplateTests {
 		verify(this.connection, atLeastOnce()).close();
 	}
 
+	@Test
+	public void testSqlUpdateWithObservationRecorder() throws Exception {
+		final String sql = "UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = 4";
+		SQLException sqlException = new SQLException("bad update");
+		InMemoryObservationRecorder recorder = new InMemoryObservationRecorder();
+		this.template.setObservationRecorder(recorder);
+
+		given(this.statement.executeUpdate(sql)).willReturn(1).willThrow(sqlException);
+		given(this.connection.createStatement()).willReturn(this.statement);
+
+		this.template.update(sql);
+		assertThatExceptionOfType(DataAccessException.class).isThrownBy(() ->
+				this.template.update(sql))
+			.withCause(sqlException);
+
+		List<RecordedObservation> observations = recorder.getObservations("jdbc.execute");
+		assertThat(observations).hasSize(2);
+		assertThat(observations.get(0).getTags()).containsEntry("sql", sql);
+		assertThat(observations.get(0).getError()).isNull();
+		assertThat(observations.get(1).getError()).isSameAs(sqlException);
+	}
+
 	@Test
 	public void testSqlUpdateWithThreadConnection() throws Exception {
 		final String sql = "UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = 4";
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.sql.Types;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Integration tests for {@link ParallelBatchWriter} against an embedded H2 database.
+ *
+ * @author agent
+ */
+class ParallelBatchWriterTests {
+
+	private EmbeddedDatabase database;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private ParallelBatchWriter<Integer> writer;
+
+
+	@BeforeEach
+	void setup() {
+		this.database = new EmbeddedDatabaseBuilder().generateUniqueName(true)
+				.setType(EmbeddedDatabaseType.H2).build();
+		this.jdbcTemplate = new JdbcTemplate(this.database);
+		this.jdbcTemplate.execute("create table numbers (id integer not null)");
+		this.writer = new ParallelBatchWriter<>(this.jdbcTemplate, "insert into numbers (id) values (?)",
+				(ps, number) -> StatementCreatorUtils.setParameterValue(ps, 1, Types.INTEGER, number));
+		this.writer.setBatchSize(100);
+	}
+
+	@AfterEach
+	void shutdown() {
+		this.database.shutdown();
+	}
+
+
+	@Test
+	void writeStream() {
+		this.writer.setConcurrency(4);
+		ParallelBatchWriter.Result result = this.writer.write(IntStream.range(0, 10_000).boxed());
+		assertThat(result.elementCount()).isEqualTo(10_000);
+		assertThat(result.batchCount()).isEqualTo(100);
+		assertThat(result.rowsAffected()).isEqualTo(10_000);
+		assertThat(count()).isEqualTo(10_000);
+		assertThat(this.jdbcTemplate.queryForObject("select sum(id) from numbers", Long.class))
+				.isEqualTo(IntStream.range(0, 10_000).asLongStream().sum());
+	}
+
+	@Test
+	void writeIteratorWithPartialChunk() {
+		this.writer.setQueueCapacity(1);
+		ParallelBatchWriter.Result result = this.writer.write(IntStream.range(0, 250).iterator());
+		assertThat(result.elementCount()).isEqualTo(250);
+		assertThat(result.batchCount()).isEqualTo(3);
+		assertThat(count()).isEqualTo(250);
+	}
+
+	@Test
+	void writeEmptyInput() {
+		ParallelBatchWriter.Result result = this.writer.write(Collections.emptyIterator());
+		assertThat(result).isEqualTo(new ParallelBatchWriter.Result(0, 0, 0));
+		assertThat(count()).isEqualTo(0);
+	}
+
+	@Test
+	void failureWithCommitPerChunk() {
+		this.writer.setConcurrency(1);
+		assertThatExceptionOfType(DataIntegrityViolationException.class).isThrownBy(() ->
+				this.writer.write(IntStream.range(0, 10_000).mapToObj(i -> (i == 5_050 ? null : i))));
+		assertThat(count()).isEqualTo(5_000);
+	}
+
+	@Test
+	void failureWithCoordinatedCommit() {
+		this.writer.setConcurrency(2);
+		this.writer.setCommitPerChunk(false);
+		assertThatExceptionOfType(DataIntegrityViolationException.class).isThrownBy(() ->
+				this.writer.write(IntStream.range(0, 10_000).mapToObj(i -> (i == 5_050 ? null : i))));
+		assertThat(count()).isEqualTo(0);
+	}
+
+	@Test
+	void failureFromInput() {
+		Stream<Integer> input = Stream.iterate(0, i -> i + 1).map(i -> {
+			if (i == 1_000) {
+				throw new IllegalStateException("Broken input");
+			}
+			return i;
+		});
+		assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> this.writer.write(input))
+				.withMessage("Broken input");
+	}
+
+	@Test
+	void failureFromTaskExecutor() {
+		SimpleAsyncTaskExecutor delegate = new SimpleAsyncTaskExecutor();
+		AtomicInteger submitted = new AtomicInteger();
+		this.writer.setConcurrency(2);
+		this.writer.setTaskExecutor(task -> {
+			if (submitted.incrementAndGet() > 1) {
+				throw new TaskRejectedException("Rejected");
+			}
+			delegate.execute(task);
+		});
+		assertThatExceptionOfType(TaskRejectedException.class).isThrownBy(() ->
+				this.writer.write(IntStream.range(0, 1_000).boxed())).withMessage("Rejected");
+		assertThat(count()).isEqualTo(0);
+	}
+
+	private Integer count() {
+		return this.jdbcTemplate.queryForObject("select count(*) from numbers", Integer.class);
+	}
+
+}
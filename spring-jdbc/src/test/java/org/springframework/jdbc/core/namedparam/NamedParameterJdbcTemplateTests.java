@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -459,6 +459,24 @@ public class NamedParameterJdbcTemplateTests {
 		verify(connection).close();
 	}
 
+	@Test
+	public void testUpdateWithPaddedInClause() throws SQLException {
+		given(preparedStatement.executeUpdate()).willReturn(3);
+		namedParameterTemplate.setInClausePadding(true);
+
+		params.put("ids", Arrays.asList(1, 2, 3));
+		int rowsAffected = namedParameterTemplate.update("delete sometable where id in (:ids)", params);
+
+		assertThat(rowsAffected).isEqualTo(3);
+		verify(connection).prepareStatement("delete sometable where id in (?, ?, ?, ?)");
+		verify(preparedStatement).setObject(1, 1);
+		verify(preparedStatement).setObject(2, 2);
+		verify(preparedStatement).setObject(3, 3);
+		verify(preparedStatement).setObject(4, 3);
+		verify(preparedStatement).close();
+		verify(connection).close();
+	}
+
 	@Test
 	public void testBatchUpdateWithPlainMap() throws Exception {
 		@SuppressWarnings("unchecked")
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,8 +16,11 @@
 
 package org.springframework.jdbc.core.namedparam;
 
+import java.sql.Types;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
@@ -327,4 +330,69 @@ public class NamedParameterUtilsTests {
 		assertThat(psql.getParameterNames()).containsExactly("ext");
 	}
 
+	@Test
+	public void substituteNamedParametersReusesPrebuiltSql() {
+		ParsedSql psql = NamedParameterUtils.parseSqlStatement("select * from t where a = :a and b = :b");
+		MapSqlParameterSource paramSource = new MapSqlParameterSource("a", 1).addValue("b", "x");
+		String sql = NamedParameterUtils.substituteNamedParameters(psql, paramSource);
+		assertThat(sql).isEqualTo("select * from t where a = ? and b = ?");
+		assertThat(NamedParameterUtils.substituteNamedParameters(psql, paramSource)).isSameAs(sql);
+		assertThat(NamedParameterUtils.substituteNamedParameters(psql, null)).isSameAs(sql);
+	}
+
+	@Test
+	public void substituteNamedParametersWithPaddedInClause() {
+		ParsedSql psql = NamedParameterUtils.parseSqlStatement("select * from t where a = :a and b in (:ids) and c = :a");
+		MapSqlParameterSource paramSource = new MapSqlParameterSource("a", 1).addValue("ids", Arrays.asList(1, 2, 3));
+		assertThat(NamedParameterUtils.substituteNamedParameters(psql, paramSource, false))
+				.isEqualTo("select * from t where a = ? and b in (?, ?, ?) and c = ?");
+		assertThat(NamedParameterUtils.substituteNamedParameters(psql, paramSource, true))
+				.isEqualTo("select * from t where a = ? and b in (?, ?, ?, ?) and c = ?");
+		paramSource.addValue("ids", Arrays.asList(1, 2, 3, 4));
+		assertThat(NamedParameterUtils.substituteNamedParameters(psql, paramSource, true))
+				.isEqualTo("select * from t where a = ? and b in (?, ?, ?, ?) and c = ?");
+		paramSource.addValue("ids", Collections.singletonList(1));
+		assertThat(NamedParameterUtils.substituteNamedParameters(psql, paramSource, true))
+				.isEqualTo("select * from t where a = ? and b in (?) and c = ?");
+	}
+
+	@Test
+	public void substituteNamedParametersWithPaddedExpressionList() {
+		ParsedSql psql = NamedParameterUtils.parseSqlStatement("select * from t where (a, b) in (:pairs)");
+		List<Object[]> pairs = Arrays.asList(new Object[] {1, "a"}, new Object[] {2, "b"}, new Object[] {3, "c"});
+		MapSqlParameterSource paramSource = new MapSqlParameterSource("pairs", pairs);
+		assertThat(NamedParameterUtils.substituteNamedParameters(psql, paramSource, true))
+				.isEqualTo("select * from t where (a, b) in ((?, ?), (?, ?), (?, ?), (?, ?))");
+	}
+
+	@Test
+	public void buildValueArrayWithPaddedInClause() {
+		ParsedSql psql = NamedParameterUtils.parseSqlStatement("select * from t where a = :a and b in (:ids)");
+		MapSqlParameterSource paramSource = new MapSqlParameterSource("a", 1).addValue("ids", Arrays.asList(1, 2, 3, 4, 5));
+		Object[] values = NamedParameterUtils.buildValueArray(psql, paramSource, null, true);
+		assertThat(values[0]).isEqualTo(1);
+		assertThat(values[1]).isEqualTo(Arrays.asList(1, 2, 3, 4, 5, 5, 5, 5));
+
+		paramSource.addValue("ids", new SqlParameterValue(Types.INTEGER, Arrays.asList(1, 2, 3)));
+		values = NamedParameterUtils.buildValueArray(psql, paramSource, null, true);
+		assertThat(values[1]).isInstanceOf(SqlParameterValue.class);
+		assertThat(((SqlParameterValue) values[1]).getSqlType()).isEqualTo(Types.INTEGER);
+		assertThat(((SqlParameterValue) values[1]).getValue()).isEqualTo(Arrays.asList(1, 2, 3, 3));
+
+		paramSource.addValue("ids", Arrays.asList(1, 2, 3, 4));
+		values = NamedParameterUtils.buildValueArray(psql, paramSource, null, true);
+		assertThat(values[1]).isSameAs(paramSource.getValue("ids"));
+	}
+
+	@Test
+	public void paddedSize() {
+		assertThat(NamedParameterUtils.getPaddedSize(0)).isEqualTo(0);
+		assertThat(NamedParameterUtils.getPaddedSize(1)).isEqualTo(1);
+		assertThat(NamedParameterUtils.getPaddedSize(2)).isEqualTo(2);
+		assertThat(NamedParameterUtils.getPaddedSize(3)).isEqualTo(4);
+		assertThat(NamedParameterUtils.getPaddedSize(5)).isEqualTo(8);
+		assertThat(NamedParameterUtils.getPaddedSize(1000)).isEqualTo(1024);
+		assertThat(NamedParameterUtils.getPaddedSize(Integer.MAX_VALUE)).isEqualTo(Integer.MAX_VALUE);
+	}
+
 }
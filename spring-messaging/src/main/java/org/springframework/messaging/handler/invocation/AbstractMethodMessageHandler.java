@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -105,6 +105,8 @@ public abstract class AbstractMethodMessageHandler<T>
 	private final HandlerMethodReturnValueHandlerComposite returnValueHandlers =
 			new HandlerMethodReturnValueHandlerComposite();
 
+	private boolean methodHandleInvocation = false;
+
 	@Nullable
 	private ApplicationContext applicationContext;
 
@@ -220,6 +222,25 @@ public abstract class AbstractMethodMessageHandler<T>
 		return this.returnValueHandlers.getReturnValueHandlers();
 	}
 
+	/**
+	 * Specify whether handler methods should be invoked through cached
+	 * {@code MethodHandle}-based invokers rather than via reflection.
+	 * <p>Default is "false".
+	 * @since 6.0
+	 * @see InvocableHandlerMethod#setMethodHandleInvocation
+	 */
+	public void setMethodHandleInvocation(boolean methodHandleInvocation) {
+		this.methodHandleInvocation = methodHandleInvocation;
+	}
+
+	/**
+	 * Return whether handler methods are invoked through {@code MethodHandle}-based invokers.
+	 * @since 6.0
+	 */
+	public boolean isMethodHandleInvocation() {
+		return this.methodHandleInvocation;
+	}
+
 	@Override
 	public void setApplicationContext(@Nullable ApplicationContext applicationContext) {
 		this.applicationContext = applicationContext;
@@ -564,6 +585,7 @@ public abstract class AbstractMethodMessageHandler<T>
 			invocable.setLogger(this.handlerMethodLogger);
 		}
 		invocable.setMessageMethodArgumentResolvers(this.argumentResolvers);
+		invocable.setMethodHandleInvocation(this.methodHandleInvocation);
 		try {
 			Object returnValue = invocable.invoke(message);
 			MethodParameter returnType = handlerMethod.getReturnType();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,7 @@ import java.lang.reflect.Type;
 import java.util.Arrays;
 
 import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodHandleInvoker;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.core.ResolvableType;
@@ -48,6 +49,11 @@ public class InvocableHandlerMethod extends HandlerMethod {
 
 	private ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
 
+	private boolean methodHandleInvocation = false;
+
+	@Nullable
+	private MethodHandleInvoker methodHandleInvoker;
+
 
 	/**
 	 * Create an instance from a {@code HandlerMethod}.
@@ -93,6 +99,28 @@ public class InvocableHandlerMethod extends HandlerMethod {
 		this.parameterNameDiscoverer = parameterNameDiscoverer;
 	}
 
+	/**
+	 * Specify whether to invoke the handler method through a {@link MethodHandleInvoker}
+	 * (a {@code MethodHandle} adapted once per method and cached) rather than through
+	 * reflective {@link Method#invoke} calls. The invoker is resolved right here,
+	 * once for this handler method rather than on every invocation.
+	 * <p>Default is "false". Argument type mismatches are reported as an
+	 * {@code IllegalStateException} just like with reflective invocation.
+	 * @since 6.0
+	 */
+	public void setMethodHandleInvocation(boolean methodHandleInvocation) {
+		this.methodHandleInvocation = methodHandleInvocation;
+		this.methodHandleInvoker = (methodHandleInvocation ? MethodHandleInvoker.forMethod(getBridgedMethod()) : null);
+	}
+
+	/**
+	 * Return whether the handler method is invoked through a {@link MethodHandleInvoker}.
+	 * @since 6.0
+	 */
+	public boolean isMethodHandleInvocation() {
+		return this.methodHandleInvocation;
+	}
+
 
 	/**
 	 * Invoke the method after resolving its argument values in the context of the given message.
@@ -165,6 +193,10 @@ public class InvocableHandlerMethod extends HandlerMethod {
 	 */
 	@Nullable
 	protected Object doInvoke(Object... args) throws Exception {
+		MethodHandleInvoker invoker = this.methodHandleInvoker;
+		if (invoker != null) {
+			return doInvokeWithMethodHandle(invoker, args);
+		}
 		try {
 			return getBridgedMethod().invoke(getBean(), args);
 		}
@@ -191,6 +223,28 @@ public class InvocableHandlerMethod extends HandlerMethod {
 		}
 	}
 
+	@Nullable
+	private Object doInvokeWithMethodHandle(MethodHandleInvoker invoker, Object[] args) throws Exception {
+		try {
+			return invoker.invoke(getBean(), args);
+		}
+		catch (ClassCastException | NullPointerException | IllegalArgumentException ex) {
+			if (invoker.isApplicable(getBean(), args)) {
+				// Thrown by the handler method itself
+				throw ex;
+			}
+			assertTargetBean(invoker.getMethod(), getBean(), args);
+			throw new IllegalStateException(formatInvokeError("argument type mismatch", args), ex);
+		}
+		catch (Exception | Error ex) {
+			// Not wrapped in an InvocationTargetException to begin with...
+			throw ex;
+		}
+		catch (Throwable ex) {
+			throw new IllegalStateException(formatInvokeError("Invocation failure", args), ex);
+		}
+	}
+
 	MethodParameter getAsyncReturnValueType(@Nullable Object returnValue) {
 		return new AsyncResultMethodParameter(returnValue);
 	}
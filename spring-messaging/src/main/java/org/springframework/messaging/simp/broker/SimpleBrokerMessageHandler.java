@@ -23,6 +23,8 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 
+import org.springframework.core.observation.Observation;
+import org.springframework.core.observation.ObservationRecorder;
 import org.springframework.lang.Nullable;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
@@ -70,6 +72,8 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 	@Nullable
 	private MessageHeaderInitializer headerInitializer;
 
+	private ObservationRecorder observationRecorder = ObservationRecorder.DEFAULT;
+
 
 	private SubscriptionRegistry subscriptionRegistry;
 
@@ -249,6 +253,26 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 		return this.headerInitializer;
 	}
 
+	/**
+	 * Configure an {@link ObservationRecorder} for observing the dispatch of
+	 * each published message to its subscribers as a
+	 * {@code "messaging.broker.dispatch"} observation.
+	 * <p>By default a no-op recorder is used.
+	 * @since 6.0
+	 */
+	public void setObservationRecorder(ObservationRecorder observationRecorder) {
+		Assert.notNull(observationRecorder, "ObservationRecorder must not be null");
+		this.observationRecorder = observationRecorder;
+	}
+
+	/**
+	 * Return the configured {@link ObservationRecorder}.
+	 * @since 6.0
+	 */
+	public ObservationRecorder getObservationRecorder() {
+		return this.observationRecorder;
+	}
+
 
 	@Override
 	public void startInternal() {
@@ -301,7 +325,17 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 		SimpMessageType messageType = SimpMessageHeaderAccessor.getMessageType(headers);
 		if (SimpMessageType.MESSAGE.equals(messageType)) {
 			logMessage(message);
-			sendMessageToSubscribers(destination, message);
+			Observation observation = this.observationRecorder.start("messaging.broker.dispatch");
+			try {
+				sendMessageToSubscribers(destination, message);
+			}
+			catch (RuntimeException | Error ex) {
+				observation.error(ex);
+				throw ex;
+			}
+			finally {
+				observation.stop();
+			}
 		}
 		else if (SimpMessageType.CONNECT.equals(messageType)) {
 			logMessage(message);
@@ -154,6 +154,34 @@ public class InvocableHandlerMethodTests {
 			.withMessageContaining("Illegal argument");
 	}
 
+	@Test
+	public void argumentTypeMismatchWithMethodHandleInvocation() throws Exception {
+		this.resolvers.addResolver(new StubArgumentResolver(Integer.class, "__not_an_int__"));
+		this.resolvers.addResolver(new StubArgumentResolver("value"));
+		Method method = ResolvableMethod.on(Handler.class).mockCall(c -> c.handle(0, "")).method();
+		InvocableHandlerMethod handlerMethod = new InvocableHandlerMethod(new Handler(), method);
+		handlerMethod.setMessageMethodArgumentResolvers(this.resolvers);
+		handlerMethod.setMethodHandleInvocation(true);
+		assertThatIllegalStateException().isThrownBy(() ->
+				handlerMethod.invoke(this.message))
+			.withCauseInstanceOf(ClassCastException.class)
+			.withMessageContaining("argument type mismatch")
+			.withMessageContaining("Endpoint [")
+			.withMessageContaining("[0] [type=java.lang.String] [value=__not_an_int__]");
+	}
+
+	@Test
+	public void invocationTargetExceptionWithMethodHandleInvocation() throws Exception {
+		Method method = ResolvableMethod.on(Handler.class).argTypes(Throwable.class).resolveMethod();
+		InvocableHandlerMethod handlerMethod = new InvocableHandlerMethod(new Handler(), method);
+		handlerMethod.setMessageMethodArgumentResolvers(this.resolvers);
+		handlerMethod.setMethodHandleInvocation(true);
+		ClassCastException classCastException = new ClassCastException("error");
+		assertThatExceptionOfType(ClassCastException.class)
+			.isThrownBy(() -> handlerMethod.invoke(this.message, classCastException))
+			.isSameAs(classCastException);
+	}
+
 	@Nullable
 	private Object invoke(Object handler, Method method, Object... providedArgs) throws Exception {
 		InvocableHandlerMethod handlerMethod = new InvocableHandlerMethod(handler, method);
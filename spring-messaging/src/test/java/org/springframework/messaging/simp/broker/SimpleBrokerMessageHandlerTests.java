@@ -29,6 +29,8 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.core.observation.InMemoryObservationRecorder;
+import org.springframework.core.observation.InMemoryObservationRecorder.RecordedObservation;
 import org.springframework.core.testfixture.security.TestPrincipal;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
@@ -41,6 +43,7 @@ import org.springframework.scheduling.TaskScheduler;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
@@ -295,6 +298,41 @@ public class SimpleBrokerMessageHandlerTests {
 		assertThat(messages.get(0).getHeaders().get(SimpMessageHeaderAccessor.MESSAGE_TYPE_HEADER)).isEqualTo(SimpMessageType.CONNECT_ACK);
 	}
 
+	@Test
+	public void observationRecorder() {
+		InMemoryObservationRecorder recorder = new InMemoryObservationRecorder();
+		this.messageHandler.setObservationRecorder(recorder);
+		startSession("sess1");
+
+		this.messageHandler.handleMessage(createSubscriptionMessage("sess1", "sub1", "/foo"));
+		this.messageHandler.handleMessage(createMessage("/foo", "message1"));
+
+		verify(this.clientOutChannel).send(this.messageCaptor.capture());
+		List<RecordedObservation> observations = recorder.getObservations();
+		assertThat(observations).hasSize(1);
+		assertThat(observations.get(0).getName()).isEqualTo("messaging.broker.dispatch");
+		assertThat(observations.get(0).getTags()).isEmpty();
+		assertThat(observations.get(0).getError()).isNull();
+	}
+
+	@Test
+	public void observationRecorderWithError() {
+		IllegalStateException failure = new IllegalStateException("registry failure");
+		SubscriptionRegistry subscriptionRegistry = mock(SubscriptionRegistry.class);
+		given(subscriptionRegistry.findSubscriptions(any())).willThrow(failure);
+		InMemoryObservationRecorder recorder = new InMemoryObservationRecorder();
+		this.messageHandler.setSubscriptionRegistry(subscriptionRegistry);
+		this.messageHandler.setObservationRecorder(recorder);
+		this.messageHandler.start();
+
+		assertThatIllegalStateException().isThrownBy(() ->
+				this.messageHandler.handleMessage(createMessage("/foo", "message1")));
+
+		List<RecordedObservation> observations = recorder.getObservations("messaging.broker.dispatch");
+		assertThat(observations).hasSize(1);
+		assertThat(observations.get(0).getError()).isSameAs(failure);
+	}
+
 
 	private Message<String> startSession(String id) {
 		this.messageHandler.start();
@@ -143,6 +143,21 @@ public interface DatabaseClient extends ConnectionAccessor {
 		 */
 		Builder namedParameters(boolean enabled);
 
+		/**
+		 * Configure whether to pad the placeholders for collection values
+		 * (typically in an {@code IN} clause) to the next power of two,
+		 * binding the last value of each collection to the additional placeholders.
+		 * This bounds the number of distinct SQL statements for collections of
+		 * varying size, e.g. for the benefit of a driver's statement cache.
+		 * Only applicable with {@link #namedParameters(boolean) named parameter}
+		 * expansion. Defaults to {@code false}.
+		 * @param enabled {@code true} to pad collection values;
+		 * {@code false} to expand them to exactly their number of elements
+		 * @since 6.0
+		 * @see NamedParameterExpander
+		 */
+		Builder inClausePadding(boolean enabled);
+
 		/**
 		 * Configures a {@link Consumer} to configure this builder.
 		 */
@@ -80,12 +80,12 @@ class DefaultDatabaseClient implements DatabaseClient {
 
 
 	DefaultDatabaseClient(BindMarkersFactory bindMarkersFactory, ConnectionFactory connectionFactory,
-			ExecuteFunction executeFunction, boolean namedParameters) {
+			ExecuteFunction executeFunction, boolean namedParameters, boolean inClausePadding) {
 
 		this.bindMarkersFactory = bindMarkersFactory;
 		this.connectionFactory = connectionFactory;
 		this.executeFunction = executeFunction;
-		this.namedParameterExpander = (namedParameters ? new NamedParameterExpander() : null);
+		this.namedParameterExpander = (namedParameters ? new NamedParameterExpander(inClausePadding) : null);
 	}
 
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -44,6 +44,8 @@ class DefaultDatabaseClientBuilder implements DatabaseClient.Builder {
 
 	private boolean namedParameters = true;
 
+	private boolean inClausePadding = false;
+
 
 	DefaultDatabaseClientBuilder() {
 	}
@@ -76,6 +78,12 @@ class DefaultDatabaseClientBuilder implements DatabaseClient.Builder {
 		return this;
 	}
 
+	@Override
+	public DatabaseClient.Builder inClausePadding(boolean enabled) {
+		this.inClausePadding = enabled;
+		return this;
+	}
+
 	@Override
 	public DatabaseClient build() {
 		Assert.notNull(this.connectionFactory, "ConnectionFactory must not be null");
@@ -91,7 +99,8 @@ class DefaultDatabaseClientBuilder implements DatabaseClient.Builder {
 		}
 
 		return new DefaultDatabaseClient(
-				bindMarkers, this.connectionFactory, this.executeFunction, this.namedParameters);
+				bindMarkers, this.connectionFactory, this.executeFunction, this.namedParameters,
+				this.inClausePadding);
 	}
 
 	@Override
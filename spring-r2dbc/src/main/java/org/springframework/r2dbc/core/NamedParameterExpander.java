@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -49,6 +49,29 @@ class NamedParameterExpander {
 	private final ConcurrentLruCache<String, ParsedSql> parsedSqlCache =
 			new ConcurrentLruCache<>(DEFAULT_CACHE_LIMIT, NamedParameterUtils::parseSqlStatement);
 
+	/** Whether to pad collection values for IN clauses to power-of-two sizes. */
+	private final boolean padInClauses;
+
+
+	/**
+	 * Create a new {@code NamedParameterExpander} which expands collection
+	 * values to exactly as many placeholders as they have elements.
+	 */
+	NamedParameterExpander() {
+		this(false);
+	}
+
+	/**
+	 * Create a new {@code NamedParameterExpander}.
+	 * @param padInClauses whether to pad the placeholders for collection values
+	 * to the next power of two, bounding the number of distinct SQL statements
+	 * @since 6.0
+	 * @see NamedParameterUtils#substituteNamedParameters(ParsedSql, BindMarkersFactory, BindParameterSource, boolean)
+	 */
+	NamedParameterExpander(boolean padInClauses) {
+		this.padInClauses = padInClauses;
+	}
+
 
 	/**
 	 * Obtain a parsed representation of the given SQL statement.
@@ -84,7 +107,8 @@ class NamedParameterExpander {
 			String sql, BindMarkersFactory bindMarkersFactory, BindParameterSource paramSource) {
 
 		ParsedSql parsedSql = getParsedSql(sql);
-		return NamedParameterUtils.substituteNamedParameters(parsedSql, bindMarkersFactory, paramSource);
+		return NamedParameterUtils.substituteNamedParameters(
+				parsedSql, bindMarkersFactory, paramSource, this.padInClauses);
 	}
 
 	/**
@@ -276,11 +276,37 @@ abstract class NamedParameterUtils {
 	public static PreparedOperation<String> substituteNamedParameters(ParsedSql parsedSql,
 			BindMarkersFactory bindMarkersFactory, BindParameterSource paramSource) {
 
+		return substituteNamedParameters(parsedSql, bindMarkersFactory, paramSource, false);
+	}
+
+	/**
+	 * Parse the SQL statement and locate any placeholders or named parameters. Named
+	 * parameters are substituted for a R2DBC placeholder, and any select list is expanded
+	 * to the required number of placeholders, optionally padded as follows.
+	 * <p>With {@code padInClauses} set to {@code true}, the number of placeholders for a
+	 * collection value gets rounded up to the next power of two, with the last element
+	 * of the collection bound to the additional placeholders. This way, collections of
+	 * varying size map to a small number of distinct SQL statements which in turn can be
+	 * reused from a driver's statement cache. Note that a padded list may exceed a
+	 * database-specific limit for the number of elements earlier than its unpadded variant.
+	 * @param parsedSql the parsed representation of the SQL statement
+	 * @param bindMarkersFactory the bind marker factory.
+	 * @param paramSource the source for named parameters
+	 * @param padInClauses whether to pad the placeholders for collection values
+	 * to the next power of two
+	 * @return the expanded query that accepts bind parameters and allows for execution
+	 * without further translation
+	 * @since 6.0
+	 * @see #parseSqlStatement
+	 */
+	public static PreparedOperation<String> substituteNamedParameters(ParsedSql parsedSql,
+			BindMarkersFactory bindMarkersFactory, BindParameterSource paramSource, boolean padInClauses) {
+
 		NamedParameters markerHolder = new NamedParameters(bindMarkersFactory);
 		String originalSql = parsedSql.getOriginalSql();
 		List<String> paramNames = parsedSql.getParameterNames();
 		if (paramNames.isEmpty()) {
-			return new ExpandedQuery(originalSql, markerHolder, paramSource);
+			return new ExpandedQuery(originalSql, markerHolder, paramSource, padInClauses);
 		}
 
 		StringBuilder actualSql = new StringBuilder(originalSql.length());
@@ -299,26 +325,19 @@ abstract class NamedParameterUtils {
 					Iterator<?> entryIter = c.iterator();
 					int k = 0;
 					int counter = 0;
+					Object entryItem = null;
 					while (entryIter.hasNext()) {
 						if (k > 0) {
 							actualSql.append(", ");
 						}
 						k++;
-						Object entryItem = entryIter.next();
-						if (entryItem instanceof Object[] expressionList) {
-							actualSql.append('(');
-							for (int m = 0; m < expressionList.length; m++) {
-								if (m > 0) {
-									actualSql.append(", ");
-								}
-								actualSql.append(marker.getPlaceholder(counter));
-								counter++;
-							}
-							actualSql.append(')');
-						}
-						else {
-							actualSql.append(marker.getPlaceholder(counter));
-							counter++;
+						entryItem = entryIter.next();
+						counter = appendEntryPlaceholders(actualSql, marker, entryItem, counter);
+					}
+					if (padInClauses) {
+						for (int padded = getPaddedSize(k); k < padded; k++) {
+							actualSql.append(", ");
+							counter = appendEntryPlaceholders(actualSql, marker, entryItem, counter);
 						}
 					}
 				}
@@ -333,7 +352,41 @@ abstract class NamedParameterUtils {
 		}
 		actualSql.append(originalSql, lastIndex, originalSql.length());
 
-		return new ExpandedQuery(actualSql.toString(), markerHolder, paramSource);
+		return new ExpandedQuery(actualSql.toString(), markerHolder, paramSource, padInClauses);
+	}
+
+	private static int appendEntryPlaceholders(StringBuilder actualSql,
+			NamedParameters.NamedParameter marker, @Nullable Object entryItem, int counter) {
+
+		if (entryItem instanceof Object[] expressionList) {
+			actualSql.append('(');
+			for (int m = 0; m < expressionList.length; m++) {
+				if (m > 0) {
+					actualSql.append(", ");
+				}
+				actualSql.append(marker.getPlaceholder(counter));
+				counter++;
+			}
+			actualSql.append(')');
+		}
+		else {
+			actualSql.append(marker.getPlaceholder(counter));
+			counter++;
+		}
+		return counter;
+	}
+
+	/**
+	 * Determine the padded size for a collection of the given size:
+	 * the next power of two, or the size itself if it is 0 or 1 or
+	 * too large to be rounded up.
+	 */
+	static int getPaddedSize(int size) {
+		if (size <= 1) {
+			return size;
+		}
+		int padded = Integer.highestOneBit(size - 1) << 1;
+		return (padded > 0 ? padded : size);
 	}
 
 	/**
@@ -493,7 +546,8 @@ abstract class NamedParameterUtils {
 
 	/**
 	 * Expanded query that allows binding of parameters using parameter names that were
-	 * used to expand the query. Binding unrolls {@link Collection}s and nested arrays.
+	 * used to expand the query. Binding unrolls {@link Collection}s and nested arrays,
+	 * repeating the last element of a collection for any padding placeholders.
 	 */
 	private static class ExpandedQuery implements PreparedOperation<String> {
 
@@ -503,10 +557,15 @@ abstract class NamedParameterUtils {
 
 		private final BindParameterSource parameterSource;
 
-		ExpandedQuery(String expandedSql, NamedParameters parameters, BindParameterSource parameterSource) {
+		private final boolean padInClauses;
+
+		ExpandedQuery(String expandedSql, NamedParameters parameters, BindParameterSource parameterSource,
+				boolean padInClauses) {
+
 			this.expandedSql = expandedSql;
 			this.parameters = parameters;
 			this.parameterSource = parameterSource;
+			this.padInClauses = padInClauses;
 		}
 
 		@SuppressWarnings("unchecked")
@@ -520,15 +579,16 @@ abstract class NamedParameterUtils {
 				Collection<Object> collection = (Collection<Object>) parameter.getValue();
 				Iterator<Object> iterator = collection.iterator();
 				Iterator<BindMarker> markers = bindMarkers.iterator();
+				int count = 0;
+				Object valueToBind = null;
 				while (iterator.hasNext()) {
-					Object valueToBind = iterator.next();
-					if (valueToBind instanceof Object[] objects) {
-						for (Object object : objects) {
-							bind(target, markers, object);
-						}
-					}
-					else {
-						bind(target, markers, valueToBind);
+					valueToBind = iterator.next();
+					bindEntry(target, markers, valueToBind);
+					count++;
+				}
+				if (this.padInClauses) {
+					for (int padded = getPaddedSize(count); count < padded; count++) {
+						bindEntry(target, markers, valueToBind);
 					}
 				}
 			}
@@ -539,6 +599,17 @@ abstract class NamedParameterUtils {
 			}
 		}
 
+		private void bindEntry(BindTarget target, Iterator<BindMarker> markers, @Nullable Object valueToBind) {
+			if (valueToBind instanceof Object[] objects) {
+				for (Object object : objects) {
+					bind(target, markers, object);
+				}
+			}
+			else {
+				bind(target, markers, valueToBind);
+			}
+		}
+
 		private void bind(BindTarget target, Iterator<BindMarker> markers, Object valueToBind) {
 			Assert.isTrue(markers.hasNext(), () -> String.format(
 					"No bind marker for value [%s] in SQL [%s]. Check that the query was expanded using the same arguments.",
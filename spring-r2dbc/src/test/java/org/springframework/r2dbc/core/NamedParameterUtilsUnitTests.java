@@ -111,6 +111,44 @@ public class NamedParameterUtilsUnitTests {
 		verify(bindTarget).bind(3, "Flynn");
 	}
 
+	@Test
+	public void substituteNamedParametersWithPaddedInClause() {
+		MapBindParameterSource namedParams = new MapBindParameterSource(new HashMap<>());
+		namedParams.addValue("ids", Arrays.asList(1, 2, 3)).addValue("name", "Walter");
+		ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement("xxx IN (:ids) AND name = :name");
+
+		PreparedOperation<?> operation = NamedParameterUtils.substituteNamedParameters(
+				parsedSql, BIND_MARKERS, namedParams, false);
+		assertThat(operation.toQuery()).isEqualTo("xxx IN ($1, $2, $3) AND name = $4");
+
+		PreparedOperation<?> paddedOperation = NamedParameterUtils.substituteNamedParameters(
+				parsedSql, BIND_MARKERS, namedParams, true);
+		assertThat(paddedOperation.toQuery()).isEqualTo("xxx IN ($1, $2, $3, $4) AND name = $5");
+	}
+
+	@Test
+	public void shouldBindPaddedInClause() {
+		MapBindParameterSource namedParams = new MapBindParameterSource(new HashMap<>());
+		namedParams.addValue("a", Arrays.asList(new Object[] { "Walter", "Heisenberg" },
+				new Object[] { "Walt Jr.", "Flynn" }, new Object[] { "Skyler", "White" }));
+
+		BindTarget bindTarget = mock(BindTarget.class);
+
+		PreparedOperation<?> operation = NamedParameterUtils.substituteNamedParameters(
+				NamedParameterUtils.parseSqlStatement("xxx :a"), BIND_MARKERS, namedParams, true);
+		operation.bindTo(bindTarget);
+
+		assertThat(operation.toQuery()).isEqualTo("xxx ($1, $2), ($3, $4), ($5, $6), ($7, $8)");
+		verify(bindTarget).bind(0, "Walter");
+		verify(bindTarget).bind(1, "Heisenberg");
+		verify(bindTarget).bind(2, "Walt Jr.");
+		verify(bindTarget).bind(3, "Flynn");
+		verify(bindTarget).bind(4, "Skyler");
+		verify(bindTarget).bind(5, "White");
+		verify(bindTarget).bind(6, "Skyler");
+		verify(bindTarget).bind(7, "White");
+	}
+
 	@Test
 	public void parseSqlContainingComments() {
 		String sql1 = "/*+ HINT */ xxx /* comment ? */ :a yyyy :b :c :a zzzzz -- :xx XX\n";
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,6 +25,8 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.core.Constants;
+import org.springframework.core.observation.Observation;
+import org.springframework.core.observation.ObservationRecorder;
 import org.springframework.lang.Nullable;
 import org.springframework.transaction.IllegalTransactionStateException;
 import org.springframework.transaction.InvalidTimeoutException;
@@ -35,6 +37,7 @@ import org.springframework.transaction.TransactionException;
 import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.TransactionSuspensionNotSupportedException;
 import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.util.Assert;
 
 /**
  * Abstract base class that implements Spring's standard transaction workflow,
@@ -127,6 +130,8 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 
 	private boolean rollbackOnCommitFailure = false;
 
+	private transient ObservationRecorder observationRecorder = ObservationRecorder.DEFAULT;
+
 
 	/**
 	 * Set the transaction synchronization by the name of the corresponding constant
@@ -324,6 +329,28 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 		return this.rollbackOnCommitFailure;
 	}
 
+	/**
+	 * Set the {@link ObservationRecorder} for observing the begin, commit and
+	 * rollback of new transactions as {@code "tx.begin"}, {@code "tx.commit"}
+	 * and {@code "tx.rollback"} observations. Participation in existing
+	 * transactions is not observed.
+	 * <p>Default is a no-op recorder. Note that the recorder is not serialized
+	 * along with this transaction manager.
+	 * @since 6.0
+	 */
+	public final void setObservationRecorder(ObservationRecorder observationRecorder) {
+		Assert.notNull(observationRecorder, "ObservationRecorder must not be null");
+		this.observationRecorder = observationRecorder;
+	}
+
+	/**
+	 * Return the {@link ObservationRecorder} for observing transactions.
+	 * @since 6.0
+	 */
+	public final ObservationRecorder getObservationRecorder() {
+		return this.observationRecorder;
+	}
+
 
 	//---------------------------------------------------------------------
 	// Implementation of PlatformTransactionManager
@@ -397,7 +424,17 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 		boolean newSynchronization = (getTransactionSynchronization() != SYNCHRONIZATION_NEVER);
 		DefaultTransactionStatus status = newTransactionStatus(
 				definition, transaction, true, newSynchronization, debugEnabled, suspendedResources);
-		doBegin(transaction, definition);
+		Observation observation = startObservation("tx.begin", status, definition);
+		try {
+			doBegin(transaction, definition);
+		}
+		catch (RuntimeException | Error ex) {
+			observation.error(ex);
+			throw ex;
+		}
+		finally {
+			observation.stop();
+		}
 		prepareSynchronization(status, definition);
 		return status;
 	}
@@ -718,6 +755,7 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 	 * @throws TransactionException in case of commit failure
 	 */
 	private void processCommit(DefaultTransactionStatus status) throws TransactionException {
+		Observation observation = startObservation("tx.commit", status, null);
 		try {
 			boolean beforeCompletionInvoked = false;
 
@@ -786,8 +824,17 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 			}
 
 		}
+		catch (RuntimeException | Error ex) {
+			observation.error(ex);
+			throw ex;
+		}
 		finally {
-			cleanupAfterCompletion(status);
+			try {
+				cleanupAfterCompletion(status);
+			}
+			finally {
+				observation.stop();
+			}
 		}
 	}
 
@@ -816,6 +863,7 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 	 * @throws TransactionException in case of rollback failure
 	 */
 	private void processRollback(DefaultTransactionStatus status, boolean unexpected) {
+		Observation observation = startObservation("tx.rollback", status, null);
 		try {
 			boolean unexpectedRollback = unexpected;
 
@@ -871,9 +919,44 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 						"Transaction rolled back because it has been marked as rollback-only");
 			}
 		}
+		catch (RuntimeException | Error ex) {
+			observation.error(ex);
+			throw ex;
+		}
 		finally {
-			cleanupAfterCompletion(status);
+			try {
+				cleanupAfterCompletion(status);
+			}
+			finally {
+				observation.stop();
+			}
+		}
+	}
+
+	/**
+	 * Start an observation with the given name for a new transaction,
+	 * tagged with the transaction name if observations are recorded.
+	 * Returns a no-op observation for participating transactions.
+	 * @param name the observation name
+	 * @param status object representing the transaction
+	 * @param definition the definition of a transaction to begin,
+	 * or {@code null} to take the name of the current transaction
+	 */
+	private Observation startObservation(String name, DefaultTransactionStatus status,
+			@Nullable TransactionDefinition definition) {
+
+		if (!status.isNewTransaction()) {
+			return ObservationRecorder.DEFAULT.start(name);
+		}
+		Observation observation = this.observationRecorder.start(name);
+		if (this.observationRecorder.isEnabled()) {
+			String transactionName = (definition != null ? definition.getName() :
+					TransactionSynchronizationManager.getCurrentTransactionName());
+			if (transactionName != null) {
+				observation.tag("name", transactionName);
+			}
 		}
+		return observation;
 	}
 
 	/**
@@ -1253,6 +1336,7 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 
 		// Initialize transient fields.
 		this.logger = LogFactory.getLog(getClass());
+		this.observationRecorder = ObservationRecorder.DEFAULT;
 	}
 
 
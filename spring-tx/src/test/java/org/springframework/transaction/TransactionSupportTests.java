@@ -16,9 +16,14 @@
 
 package org.springframework.transaction;
 
+import java.util.List;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.core.observation.InMemoryObservationRecorder;
+import org.springframework.core.observation.InMemoryObservationRecorder.RecordedObservation;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
 import org.springframework.transaction.support.DefaultTransactionDefinition;
 import org.springframework.transaction.support.DefaultTransactionStatus;
 import org.springframework.transaction.support.TransactionCallbackWithoutResult;
@@ -228,6 +233,48 @@ public class TransactionSupportTests {
 		assertThat(tm.rollbackOnly).as("no rollbackOnly").isFalse();
 	}
 
+	@Test
+	public void transactionTemplateWithObservationRecorder() {
+		TestTransactionManager tm = new TestTransactionManager(false, true);
+		tm.setTransactionSynchronization(AbstractPlatformTransactionManager.SYNCHRONIZATION_ALWAYS);
+		InMemoryObservationRecorder recorder = new InMemoryObservationRecorder();
+		tm.setObservationRecorder(recorder);
+		TransactionTemplate template = new TransactionTemplate(tm);
+		template.setName("myTransaction");
+		template.executeWithoutResult(status -> {});
+
+		List<RecordedObservation> observations = recorder.getObservations();
+		assertThat(observations).extracting(RecordedObservation::getName).containsExactly("tx.begin", "tx.commit");
+		assertThat(observations).allSatisfy(observation -> {
+			assertThat(observation.getTags()).containsEntry("name", "myTransaction");
+			assertThat(observation.getError()).isNull();
+		});
+	}
+
+	@SuppressWarnings("serial")
+	@Test
+	public void transactionTemplateWithObservationRecorderAndRollbackException() {
+		final TransactionSystemException tex = new TransactionSystemException("system exception");
+		TestTransactionManager tm = new TestTransactionManager(false, true) {
+			@Override
+			protected void doRollback(DefaultTransactionStatus status) {
+				super.doRollback(status);
+				throw tex;
+			}
+		};
+		InMemoryObservationRecorder recorder = new InMemoryObservationRecorder();
+		tm.setObservationRecorder(recorder);
+		TransactionTemplate template = new TransactionTemplate(tm);
+		assertThatRuntimeException()
+			.isThrownBy(() -> template.executeWithoutResult(status -> { throw new RuntimeException(); }))
+			.isSameAs(tex);
+
+		assertThat(recorder.getObservations()).extracting(RecordedObservation::getName)
+				.containsExactly("tx.begin", "tx.rollback");
+		List<RecordedObservation> observations = recorder.getObservations("tx.rollback");
+		assertThat(observations.get(0).getError()).isSameAs(tex);
+	}
+
 	@Test
 	public void transactionTemplateInitialization() {
 		TestTransactionManager tm = new TestTransactionManager(false, true);
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.client;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Benchmarks for exchanges performed through the {@link ClientHttpRequestFactory}
+ * implementations against a local server, with concurrent callers sharing a
+ * single factory. The number of new client connections seen by the server is
+ * reported as a secondary result.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+@Threads(8)
+public class ClientHttpRequestFactoryBenchmark {
+
+	private static final String NEW_CONNECTION_HEADER = "X-New-Connection";
+
+
+	@Benchmark
+	public void get(BenchmarkData data, ConnectionCounters counters, Blackhole bh) throws Exception {
+		ClientHttpRequest request = data.requestFactory.createRequest(data.uri, HttpMethod.GET);
+		try (ClientHttpResponse response = request.execute()) {
+			counters.record(response);
+			bh.consume(StreamUtils.copyToByteArray(response.getBody()));
+		}
+	}
+
+	@Benchmark
+	public void post(BenchmarkData data, ConnectionCounters counters, Blackhole bh) throws Exception {
+		ClientHttpRequest request = data.requestFactory.createRequest(data.uri, HttpMethod.POST);
+		request.getHeaders().setContentLength(data.requestBody.length);
+		request.getBody().write(data.requestBody);
+		try (ClientHttpResponse response = request.execute()) {
+			counters.record(response);
+			bh.consume(StreamUtils.copyToByteArray(response.getBody()));
+		}
+	}
+
+
+	/**
+	 * Counts the exchanges for which the server saw a new client connection.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class ConnectionCounters {
+
+		public long newConnections;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			this.newConnections = 0;
+		}
+
+		void record(ClientHttpResponse response) {
+			if (Boolean.parseBoolean(response.getHeaders().getFirst(NEW_CONNECTION_HEADER))) {
+				this.newConnections++;
+			}
+		}
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkData {
+
+		@Param({"simple", "httpComponents", "okHttp3", "jdk"})
+		public String factory;
+
+		@Param({"1024", "65536"})
+		public int bodySize;
+
+		public ClientHttpRequestFactory requestFactory;
+
+		public URI uri;
+
+		public byte[] requestBody;
+
+		private HttpServer server;
+
+		private ExecutorService executor;
+
+		private final Set<InetSocketAddress> connections = ConcurrentHashMap.newKeySet();
+
+		@Setup(Level.Trial)
+		public void startServer() throws Exception {
+			this.requestBody = new byte[this.bodySize];
+			Arrays.fill(this.requestBody, (byte) 'a');
+			this.executor = Executors.newFixedThreadPool(16);
+			this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+			this.server.setExecutor(this.executor);
+			this.server.createContext("/", exchange -> {
+				boolean newConnection = this.connections.add(exchange.getRemoteAddress());
+				exchange.getResponseHeaders().set(NEW_CONNECTION_HEADER, String.valueOf(newConnection));
+				try (InputStream in = exchange.getRequestBody()) {
+					StreamUtils.drain(in);
+				}
+				exchange.sendResponseHeaders(200, this.requestBody.length);
+				try (OutputStream out = exchange.getResponseBody()) {
+					out.write(this.requestBody);
+				}
+			});
+			this.server.start();
+			this.uri = URI.create("http://localhost:" + this.server.getAddress().getPort() + "/");
+			this.requestFactory = switch (this.factory) {
+				case "simple" -> new SimpleClientHttpRequestFactory();
+				case "httpComponents" -> new HttpComponentsClientHttpRequestFactory();
+				case "okHttp3" -> new OkHttp3ClientHttpRequestFactory();
+				case "jdk" -> new JdkClientHttpRequestFactory();
+				default -> throw new IllegalArgumentException("Unknown factory: " + this.factory);
+			};
+		}
+
+		@TearDown(Level.Trial)
+		public void stopServer() throws Exception {
+			if (this.requestFactory instanceof DisposableBean disposableBean) {
+				disposableBean.destroy();
+			}
+			this.server.stop(0);
+			this.executor.shutdownNow();
+		}
+	}
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.http.codec.json;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Benchmarks for decoding JSON to POJOs using Jackson.
+ *
+ * @author agent
+ * @see AbstractJackson2Decoder
+ */
+@BenchmarkMode(Mode.Throughput)
+public class Jackson2JsonDecoderBenchmark {
+
+
+	/**
+	 * Benchmark data holding a JSON array of {@link Project} elements, or a stream of
+	 * newline-delimited {@link Project} documents, split into data buffers of {@code chunkSize}.
+	 * A {@code projectCount} parameter can be used to grow the size of each element.
+	 */
+	@State(Scope.Benchmark)
+	public static class DecodeData {
+
+		@Param({"false", "true"})
+		boolean directBinding;
+
+		@Param({"array", "ndjson"})
+		String format;
+
+		@Param({"0", "50"})
+		int projectCount;
+
+		@Param({"10", "10000"})
+		int streamSize;
+
+		@Param({"8192"})
+		int chunkSize;
+
+		Jackson2JsonDecoder jsonDecoder;
+
+		ResolvableType resolvableType;
+
+		MediaType mediaType;
+
+		byte[] content;
+
+		@Setup
+		public void setup() throws Exception {
+			ObjectMapper objectMapper = new Jackson2ObjectMapperBuilder().build();
+			this.jsonDecoder = new Jackson2JsonDecoder(objectMapper);
+			this.jsonDecoder.setDirectBinding(this.directBinding);
+			this.jsonDecoder.setMaxInMemorySize(-1);
+			this.resolvableType = ResolvableType.forClass(Project.class);
+			boolean array = this.format.equals("array");
+			this.mediaType = (array ? MediaType.APPLICATION_JSON : MediaType.APPLICATION_NDJSON);
+			this.content = content(objectMapper, this.projectCount, this.streamSize, array);
+		}
+
+		Flux<DataBuffer> input() {
+			return split(this.content, this.chunkSize);
+		}
+
+	}
+
+	@Benchmark
+	public void decode(Blackhole bh, DecodeData data) {
+		data.jsonDecoder.decode(data.input(), data.resolvableType, data.mediaType, Collections.emptyMap())
+				.doOnNext(bh::consume)
+				.then().block();
+	}
+
+	/**
+	 * Benchmark data holding a JSON array of {@link Project} elements to be decoded
+	 * as a whole, split into data buffers of {@code chunkSize}.
+	 */
+	@State(Scope.Benchmark)
+	public static class DecodeToMonoData {
+
+		@Param({"0", "50"})
+		int projectCount;
+
+		@Param({"10", "10000"})
+		int streamSize;
+
+		@Param({"8192"})
+		int chunkSize;
+
+		Jackson2JsonDecoder jsonDecoder;
+
+		ResolvableType resolvableType;
+
+		byte[] content;
+
+		@Setup
+		public void setup() throws Exception {
+			ObjectMapper objectMapper = new Jackson2ObjectMapperBuilder().build();
+			this.jsonDecoder = new Jackson2JsonDecoder(objectMapper);
+			this.jsonDecoder.setMaxInMemorySize(-1);
+			this.resolvableType = ResolvableType.forClassWithGenerics(List.class, Project.class);
+			this.content = content(objectMapper, this.projectCount, this.streamSize, true);
+		}
+
+	}
+
+	@Benchmark
+	public Object decodeToMono(DecodeToMonoData data) {
+		return data.jsonDecoder.decodeToMono(split(data.content, data.chunkSize), data.resolvableType,
+				MediaType.APPLICATION_JSON, Collections.emptyMap()).block();
+	}
+
+
+	private static byte[] content(ObjectMapper objectMapper, int projectCount, int streamSize, boolean array)
+			throws Exception {
+
+		String element = objectMapper.writeValueAsString(new Project("spring", projectCount));
+		StringBuilder builder = new StringBuilder(array ? "[" : "");
+		for (int i = 0; i < streamSize; i++) {
+			if (array && i > 0) {
+				builder.append(',');
+			}
+			builder.append(element);
+			if (!array) {
+				builder.append('\n');
+			}
+		}
+		builder.append(array ? "]" : "");
+		return builder.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static Flux<DataBuffer> split(byte[] content, int chunkSize) {
+		List<DataBuffer> buffers = new ArrayList<>(content.length / chunkSize + 1);
+		for (int offset = 0; offset < content.length; offset += chunkSize) {
+			int length = Math.min(chunkSize, content.length - offset);
+			DataBuffer buffer = DefaultDataBufferFactory.sharedInstance.allocateBuffer(length);
+			buffer.write(content, offset, length);
+			buffers.add(buffer);
+		}
+		return Flux.fromIterable(buffers);
+	}
+
+}
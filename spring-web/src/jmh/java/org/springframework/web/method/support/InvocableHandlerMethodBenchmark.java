@@ -0,0 +1,84 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.method.support;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
+import org.springframework.web.testfixture.servlet.MockHttpServletResponse;
+
+/**
+ * Benchmarks for {@link InvocableHandlerMethod}, comparing reflective
+ * dispatch with {@code MethodHandle}-based dispatch.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class InvocableHandlerMethodBenchmark {
+
+	@Benchmark
+	public void invokeForRequest(BenchmarkState state, Blackhole bh) throws Exception {
+		bh.consume(state.handlerMethod.invokeForRequest(state.request, null, state.id, state.name));
+	}
+
+	@Benchmark
+	public void invokeWithResolvedArguments(BenchmarkState state, Blackhole bh) throws Exception {
+		bh.consume(state.handlerMethod.doInvoke(state.id, state.name));
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"false", "true"})
+		public boolean methodHandleInvocation;
+
+		public InvocableHandlerMethod handlerMethod;
+
+		public NativeWebRequest request;
+
+		public Long id = 42L;
+
+		public String name = "spring";
+
+		@Setup(Level.Trial)
+		public void setup() throws Exception {
+			this.handlerMethod = new InvocableHandlerMethod(new Controller(), "handle", long.class, String.class);
+			this.handlerMethod.setMethodHandleInvocation(this.methodHandleInvocation);
+			this.request = new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse());
+		}
+	}
+
+
+	public static class Controller {
+
+		public String handle(long id, String name) {
+			return name + id;
+		}
+	}
+
+}
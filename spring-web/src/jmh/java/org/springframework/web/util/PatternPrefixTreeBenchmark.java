@@ -0,0 +1,130 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * Benchmarks for selecting the {@link PathPattern PathPatterns} matching request
+ * paths, either by checking every registered pattern (as done by handler method
+ * mappings by default) or by checking the candidates of a {@link PatternPrefixTree}.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class PatternPrefixTreeBenchmark {
+
+	@Benchmark
+	public void matchAndSortAllPatterns(BenchmarkData data, Blackhole bh) {
+		for (int i = 0; i < data.requestPaths.size(); i++) {
+			bh.consume(matchAndSort(data.patterns, data.parsedRequestPaths.get(i)));
+		}
+	}
+
+	@Benchmark
+	public void matchAndSortPrefixTreeCandidates(BenchmarkData data, Blackhole bh) {
+		for (int i = 0; i < data.requestPaths.size(); i++) {
+			Collection<PathPattern> candidates = data.tree.getCandidates(data.requestPaths.get(i));
+			bh.consume(matchAndSort(candidates != null ? candidates : data.patterns, data.parsedRequestPaths.get(i)));
+		}
+	}
+
+	private static List<PathPattern> matchAndSort(Collection<PathPattern> patterns, PathContainer path) {
+		List<PathPattern> matches = new ArrayList<>();
+		for (PathPattern pattern : patterns) {
+			if (pattern.matches(path)) {
+				matches.add(pattern);
+			}
+		}
+		Collections.sort(matches);
+		return matches;
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkData {
+
+		@Param({"100", "1000", "10000"})
+		public int mappingCount;
+
+		public List<PathPattern> patterns;
+
+		public PatternPrefixTree<PathPattern> tree;
+
+		public List<String> requestPaths;
+
+		public List<PathContainer> parsedRequestPaths;
+
+		@Setup(Level.Trial)
+		public void registerPatterns() {
+			PathPatternParser parser = new PathPatternParser();
+			this.patterns = new ArrayList<>(this.mappingCount);
+			this.tree = new PatternPrefixTree<>();
+			for (int i = 0; i < this.mappingCount; i++) {
+				String value = switch (i % 4) {
+					case 0 -> "/api/resource" + i + "/{id}";
+					case 1 -> "/api/resource" + i + "/{id}/items/{item}";
+					case 2 -> "/api/v2/resource" + i + "/{id}";
+					default -> "/admin/resource" + i + "/**";
+				};
+				PathPattern pattern = parser.parse(value);
+				this.patterns.add(pattern);
+				this.tree.add(pattern, Collections.singleton(pattern.getPatternString()));
+			}
+			// A few catch-all mappings that are candidates for every path
+			for (String value : new String[] {"/{*path}", "/api/{resource}/{id}"}) {
+				PathPattern pattern = parser.parse(value);
+				this.patterns.add(pattern);
+				this.tree.add(pattern, Collections.singleton(pattern.getPatternString()));
+			}
+
+			Random random = new Random(42);
+			this.requestPaths = new ArrayList<>();
+			this.parsedRequestPaths = new ArrayList<>();
+			for (int i = 0; i < 100; i++) {
+				int index = random.nextInt(this.mappingCount);
+				String path = switch (index % 4) {
+					case 0 -> "/api/resource" + index + "/42";
+					case 1 -> "/api/resource" + index + "/42/items/7";
+					case 2 -> "/api/v2/resource" + index + "/42";
+					default -> "/admin/resource" + index + "/a/b";
+				};
+				this.requestPaths.add(path);
+				this.parsedRequestPaths.add(PathContainer.parsePath(path));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,394 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.client;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.lang.ref.Cleaner;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
+
+/**
+ * {@link ClientHttpRequest} implementation based on the Java {@link HttpClient}.
+ * Created via the {@link JdkClientHttpRequestFactory}.
+ *
+ * <p>Once the body is written to, the request is sent asynchronously with the
+ * body publisher reading from a bounded hand-off queue that is filled as the body
+ * is written, so that the body does not need to be buffered in full. A request
+ * whose body is requested but never written to is not sent at all, and a request
+ * that is abandoned before being executed gets cancelled.
+ *
+ * @author agent
+ * @since 6.0
+ */
+final class JdkClientHttpRequest extends AbstractClientHttpRequest {
+
+	/**
+	 * Headers that the {@code HttpClient} does not allow to be set,
+	 * see {@code jdk.httpclient.allowRestrictedHeaders}.
+	 */
+	private static final Set<String> DISALLOWED_HEADERS = disallowedHeaders();
+
+	private static final int CHUNK_SIZE = 8192;
+
+	private static final Cleaner cleaner = Cleaner.create();
+
+
+	private final HttpClient httpClient;
+
+	private final URI uri;
+
+	private final HttpMethod method;
+
+	@Nullable
+	private final Duration timeout;
+
+	@Nullable
+	private OutputStream body;
+
+	@Nullable
+	private StreamingBody streamingBody;
+
+
+	JdkClientHttpRequest(HttpClient httpClient, URI uri, HttpMethod method, @Nullable Duration timeout) {
+		this.httpClient = httpClient;
+		this.uri = uri;
+		this.method = method;
+		this.timeout = timeout;
+	}
+
+
+	@Override
+	public HttpMethod getMethod() {
+		return this.method;
+	}
+
+	@Override
+	@Deprecated
+	public String getMethodValue() {
+		return this.method.name();
+	}
+
+	@Override
+	public URI getURI() {
+		return this.uri;
+	}
+
+
+	@Override
+	protected OutputStream getBodyInternal(HttpHeaders headers) throws IOException {
+		if (this.body == null) {
+			StreamingBody streamingBody = new StreamingBody();
+			HttpRequest.BodyPublisher publisher;
+			long contentLength = headers.getContentLength();
+			if (contentLength == 0) {
+				publisher = HttpRequest.BodyPublishers.noBody();
+			}
+			else {
+				publisher = HttpRequest.BodyPublishers.ofInputStream(streamingBody::getInputStream);
+				if (contentLength > 0) {
+					publisher = HttpRequest.BodyPublishers.fromPublisher(publisher, contentLength);
+				}
+			}
+			// Sent once the body is written to, and must not refer back to this request
+			HttpClient httpClient = this.httpClient;
+			HttpRequest request = buildRequest(headers, publisher);
+			streamingBody.setSender(() -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream()));
+			cleaner.register(this, streamingBody::abandon);
+			this.streamingBody = streamingBody;
+			this.body = new BufferedOutputStream(streamingBody.getOutputStream(), CHUNK_SIZE);
+		}
+		return StreamUtils.nonClosing(this.body);
+	}
+
+	@Override
+	protected ClientHttpResponse executeInternal(HttpHeaders headers) throws IOException {
+		if (this.body != null) {
+			Assert.state(this.streamingBody != null, "No streaming body");
+			this.streamingBody.setExecuted();
+			try {
+				// Flush remaining content and signal the end of the body
+				this.body.close();
+			}
+			catch (IOException ex) {
+				// The response may have been received before the body was consumed
+				Future<?> future = this.streamingBody.getResponseFuture();
+				if (future == null || !future.isDone()) {
+					throw ex;
+				}
+			}
+			CompletableFuture<HttpResponse<InputStream>> responseFuture = this.streamingBody.getResponseFuture();
+			Assert.state(responseFuture != null, "Request not sent");
+			return new JdkClientHttpResponse(awaitResponse(responseFuture));
+		}
+		else {
+			HttpRequest request = buildRequest(headers, HttpRequest.BodyPublishers.noBody());
+			try {
+				return new JdkClientHttpResponse(this.httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream()));
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Request interrupted: " + ex.getMessage());
+			}
+		}
+	}
+
+	private HttpRequest buildRequest(HttpHeaders headers, HttpRequest.BodyPublisher bodyPublisher) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(this.uri).method(this.method.name(), bodyPublisher);
+		if (this.timeout != null) {
+			builder.timeout(this.timeout);
+		}
+		for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+			if (DISALLOWED_HEADERS.contains(entry.getKey())) {
+				// content-length is applied to the body publisher
+				continue;
+			}
+			for (String value : entry.getValue()) {
+				builder.header(entry.getKey(), value);
+			}
+		}
+		return builder.build();
+	}
+
+	private static HttpResponse<InputStream> awaitResponse(Future<HttpResponse<InputStream>> responseFuture)
+			throws IOException {
+
+		try {
+			return responseFuture.get();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			responseFuture.cancel(true);
+			throw new InterruptedIOException("Request interrupted: " + ex.getMessage());
+		}
+		catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof IOException ioException) {
+				throw ioException;
+			}
+			throw new IOException(cause != null ? cause.getMessage() : ex.getMessage(), cause);
+		}
+	}
+
+	private static Set<String> disallowedHeaders() {
+		TreeSet<String> headers = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+		headers.addAll(Set.of("connection", "content-length", "expect", "host", "upgrade"));
+		return headers;
+	}
+
+
+	/**
+	 * Hands off chunks written to its {@code OutputStream} to its
+	 * {@code InputStream}, which is read by the {@code HttpClient}
+	 * while sending the request. The request is sent when the first
+	 * chunk (or the end of the body) is handed off.
+	 */
+	private static final class StreamingBody {
+
+		private static final int MAX_PENDING_CHUNKS = 16;
+
+		private static final long POLL_TIMEOUT_MILLIS = 100;
+
+		private static final byte[] END_OF_BODY = new byte[0];
+
+		private final BlockingQueue<byte[]> chunks = new ArrayBlockingQueue<>(MAX_PENDING_CHUNKS);
+
+		@Nullable
+		private Supplier<CompletableFuture<HttpResponse<InputStream>>> sender;
+
+		@Nullable
+		private volatile CompletableFuture<HttpResponse<InputStream>> responseFuture;
+
+		private volatile boolean executed;
+
+		private volatile boolean abandoned;
+
+		void setSender(Supplier<CompletableFuture<HttpResponse<InputStream>>> sender) {
+			this.sender = sender;
+		}
+
+		@Nullable
+		CompletableFuture<HttpResponse<InputStream>> getResponseFuture() {
+			return this.responseFuture;
+		}
+
+		void setExecuted() {
+			this.executed = true;
+		}
+
+		private void sendIfNecessary() throws IOException {
+			if (this.responseFuture == null) {
+				synchronized (this) {
+					if (this.abandoned) {
+						throw new IOException("Request abandoned");
+					}
+					if (this.responseFuture == null) {
+						Assert.state(this.sender != null, "No sender");
+						this.responseFuture = this.sender.get();
+						this.sender = null;
+					}
+				}
+			}
+		}
+
+		/**
+		 * Called once the request has become unreachable: unless it has been
+		 * executed, cancels the exchange and releases the body publisher.
+		 */
+		synchronized void abandon() {
+			if (this.executed) {
+				return;
+			}
+			this.abandoned = true;
+			this.sender = null;
+			Future<?> future = this.responseFuture;
+			if (future != null) {
+				future.cancel(true);
+			}
+		}
+
+		private boolean isReleased() {
+			Future<?> future = this.responseFuture;
+			return (this.abandoned || (future != null && future.isDone()));
+		}
+
+		OutputStream getOutputStream() {
+			return new OutputStream() {
+
+				private boolean closed;
+
+				@Override
+				public void write(int b) throws IOException {
+					write(new byte[] {(byte) b}, 0, 1);
+				}
+
+				@Override
+				public void write(byte[] b, int off, int len) throws IOException {
+					if (this.closed) {
+						throw new IOException("Stream closed");
+					}
+					if (len > 0) {
+						enqueue(Arrays.copyOfRange(b, off, off + len));
+					}
+				}
+
+				@Override
+				public void close() throws IOException {
+					if (!this.closed) {
+						this.closed = true;
+						enqueue(END_OF_BODY);
+					}
+				}
+			};
+		}
+
+		private void enqueue(byte[] chunk) throws IOException {
+			sendIfNecessary();
+			try {
+				while (!this.chunks.offer(chunk, POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+					if (isReleased()) {
+						throw new IOException("Request body not consumed anymore: " +
+								"response received or request failed before the body was sent");
+					}
+				}
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while writing request body");
+			}
+		}
+
+		InputStream getInputStream() {
+			return new InputStream() {
+
+				@Nullable
+				private byte[] current;
+
+				private int position;
+
+				@Override
+				public int read() throws IOException {
+					byte[] b = new byte[1];
+					return (read(b, 0, 1) != -1 ? (b[0] & 0xFF) : -1);
+				}
+
+				@Override
+				public int read(byte[] b, int off, int len) throws IOException {
+					if (this.current == END_OF_BODY) {
+						return -1;
+					}
+					if (len == 0) {
+						return 0;
+					}
+					if (this.current == null || this.position == this.current.length) {
+						this.current = takeChunk();
+						this.position = 0;
+						if (this.current == END_OF_BODY) {
+							return -1;
+						}
+					}
+					int count = Math.min(len, this.current.length - this.position);
+					System.arraycopy(this.current, this.position, b, off, count);
+					this.position += count;
+					return count;
+				}
+			};
+		}
+
+		private byte[] takeChunk() throws IOException {
+			try {
+				byte[] chunk;
+				while ((chunk = this.chunks.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+					if (isReleased()) {
+						throw new IOException("Request body not written anymore: " +
+								"request abandoned or failed before the body was complete");
+					}
+				}
+				return chunk;
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while reading request body");
+			}
+		}
+	}
+
+}
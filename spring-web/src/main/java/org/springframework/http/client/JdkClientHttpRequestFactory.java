@@ -0,0 +1,106 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.client;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ClientHttpRequestFactory} implementation that uses the
+ * {@link HttpClient java.net.http.HttpClient} to create requests, the blocking
+ * counterpart of the reactive
+ * {@link org.springframework.http.client.reactive.JdkClientHttpConnector}.
+ *
+ * <p>With the default {@code HttpClient}, requests over HTTPS negotiate HTTP/2
+ * where supported by the server, multiplexing concurrent requests to the same
+ * host over a single connection.
+ *
+ * <p>Request bodies are streamed to the {@code HttpClient} while they are being
+ * written rather than buffered up front; a {@code Content-Length} set on the
+ * request headers is passed on as the fixed length of the body.
+ *
+ * @author agent
+ * @since 6.0
+ * @see org.springframework.web.client.RestTemplate
+ */
+public class JdkClientHttpRequestFactory implements ClientHttpRequestFactory {
+
+	private final HttpClient httpClient;
+
+	@Nullable
+	private Duration readTimeout;
+
+
+	/**
+	 * Create a new {@code JdkClientHttpRequestFactory} with a default
+	 * {@link HttpClient} instance.
+	 * @see HttpClient#newHttpClient()
+	 */
+	public JdkClientHttpRequestFactory() {
+		this(HttpClient.newHttpClient());
+	}
+
+	/**
+	 * Create a new {@code JdkClientHttpRequestFactory} with the given
+	 * {@link HttpClient} instance, e.g. configured with a connect timeout,
+	 * a specific executor or an {@code SSLContext}.
+	 * @param httpClient the client to use
+	 */
+	public JdkClientHttpRequestFactory(HttpClient httpClient) {
+		Assert.notNull(httpClient, "HttpClient must not be null");
+		this.httpClient = httpClient;
+	}
+
+
+	/**
+	 * Set the underlying {@code HttpClient}'s read timeout (in milliseconds),
+	 * applied as the timeout of each request until response headers are received.
+	 * A value of 0 specifies an infinite timeout (the default).
+	 * @see java.net.http.HttpRequest.Builder#timeout(Duration)
+	 */
+	public void setReadTimeout(int readTimeout) {
+		Assert.isTrue(readTimeout >= 0, "Timeout must be a non-negative value");
+		this.readTimeout = (readTimeout > 0 ? Duration.ofMillis(readTimeout) : null);
+	}
+
+	/**
+	 * Variant of {@link #setReadTimeout(int)} with a {@link Duration} value.
+	 */
+	public void setReadTimeout(@Nullable Duration readTimeout) {
+		Assert.isTrue(readTimeout == null || !readTimeout.isNegative(), "Timeout must be a non-negative value");
+		this.readTimeout = (readTimeout != null && !readTimeout.isZero() ? readTimeout : null);
+	}
+
+	/**
+	 * Return the underlying {@link HttpClient}.
+	 */
+	public HttpClient getHttpClient() {
+		return this.httpClient;
+	}
+
+
+	@Override
+	public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+		return new JdkClientHttpRequest(this.httpClient, uri, httpMethod, this.readTimeout);
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.client;
+
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+
+/**
+ * {@link ClientHttpResponse} implementation based on the Java {@link java.net.http.HttpClient}.
+ * Obtained via {@link JdkClientHttpRequest#execute()}.
+ *
+ * @author agent
+ * @since 6.0
+ */
+final class JdkClientHttpResponse implements ClientHttpResponse {
+
+	private final HttpResponse<InputStream> response;
+
+	@Nullable
+	private HttpHeaders headers;
+
+
+	JdkClientHttpResponse(HttpResponse<InputStream> response) {
+		this.response = response;
+	}
+
+
+	@Override
+	public HttpStatusCode getStatusCode() {
+		return HttpStatusCode.valueOf(this.response.statusCode());
+	}
+
+	@Override
+	@Deprecated
+	public int getRawStatusCode() {
+		return this.response.statusCode();
+	}
+
+	@Override
+	public String getStatusText() {
+		// The HttpClient does not expose the reason phrase (which HTTP/2 does not have anyway)
+		HttpStatus status = HttpStatus.resolve(this.response.statusCode());
+		return (status != null ? status.getReasonPhrase() : "");
+	}
+
+	@Override
+	public HttpHeaders getHeaders() {
+		if (this.headers == null) {
+			HttpHeaders headers = new HttpHeaders();
+			this.response.headers().map().forEach(headers::addAll);
+			this.headers = headers;
+		}
+		return this.headers;
+	}
+
+	@Override
+	public InputStream getBody() {
+		return this.response.body();
+	}
+
+	@Override
+	public void close() {
+		InputStream body = this.response.body();
+		try {
+			// Drain the body for the connection to be reused
+			StreamUtils.drain(body);
+			body.close();
+		}
+		catch (Exception ex) {
+			// ignore
+		}
+	}
+
+}
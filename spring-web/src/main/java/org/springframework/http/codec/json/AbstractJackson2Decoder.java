@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,12 +17,18 @@
 package org.springframework.http.codec.json;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.lang.annotation.Annotation;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JavaType;
@@ -42,6 +48,8 @@ import org.springframework.core.codec.Hints;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.LimitedDataBufferList;
+import org.springframework.core.io.buffer.PooledDataBuffer;
 import org.springframework.core.log.LogFormatUtils;
 import org.springframework.http.codec.HttpMessageDecoder;
 import org.springframework.http.server.reactive.ServerHttpRequest;
@@ -65,6 +73,8 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 
 	private int maxInMemorySize = 256 * 1024;
 
+	private boolean directBinding;
+
 
 	/**
 	 * Constructor with a Jackson {@link ObjectMapper} to use.
@@ -95,6 +105,34 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 		return this.maxInMemorySize;
 	}
 
+	/**
+	 * Whether to bind top-level JSON values and the elements of top-level JSON
+	 * arrays directly from the input bytes when decoding to a {@code Flux},
+	 * rather than buffering the tokens of each value before binding it.
+	 * <p>This avoids parsing every value twice and reduces garbage considerably
+	 * for large arrays or for streams of many small documents. It applies to
+	 * UTF-8 JSON content only; other data formats are always tokenized first.
+	 * <p>When decoding to a {@code Mono}, the received buffers are read in
+	 * sequence rather than joined into a single buffer first. Note that
+	 * {@link #decode(DataBuffer, ResolvableType, MimeType, Map)} is then only
+	 * called for input received in a single buffer.
+	 * <p>By default this is set to {@code false}.
+	 * @param directBinding whether to bind values directly from the input bytes
+	 * @since 6.0
+	 */
+	public void setDirectBinding(boolean directBinding) {
+		this.directBinding = directBinding;
+	}
+
+	/**
+	 * Return whether values are {@link #setDirectBinding bound directly}
+	 * from the input bytes.
+	 * @since 6.0
+	 */
+	public boolean isDirectBinding() {
+		return this.directBinding;
+	}
+
 
 	@Override
 	public boolean canDecode(ResolvableType elementType, @Nullable MimeType mimeType) {
@@ -135,11 +173,24 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 		}
 
 		Flux<DataBuffer> processed = processInput(input, elementType, mimeType, hints);
+		ObjectReader reader = getObjectReader(mapper, elementType, hints);
+
+		if (this.directBinding && JsonFactory.FORMAT_NAME_JSON.equals(mapper.getFactory().getFormatName())) {
+			return Jackson2ValueBinder.bind(processed, (bytes, offset, length) -> {
+				try {
+					Object value = reader.readValue(bytes, offset, length);
+					logValue(value, hints);
+					return value;
+				}
+				catch (IOException ex) {
+					throw processException(ex);
+				}
+			}, getMaxInMemorySize());
+		}
+
 		Flux<TokenBuffer> tokens = Jackson2Tokenizer.tokenize(processed, mapper.getFactory(), mapper,
 				true, forceUseOfBigDecimal, getMaxInMemorySize());
 
-		ObjectReader reader = getObjectReader(mapper, elementType, hints);
-
 		return tokens.handle((tokenBuffer, sink) -> {
 			try {
 				Object value = reader.readValue(tokenBuffer.asParser(mapper));
@@ -175,8 +226,17 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 	public Mono<Object> decodeToMono(Publisher<DataBuffer> input, ResolvableType elementType,
 			@Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
 
-		return DataBufferUtils.join(input, this.maxInMemorySize)
-				.flatMap(dataBuffer -> Mono.justOrEmpty(decode(dataBuffer, elementType, mimeType, hints)));
+		if (!this.directBinding) {
+			return DataBufferUtils.join(input, this.maxInMemorySize)
+					.flatMap(dataBuffer -> Mono.justOrEmpty(decode(dataBuffer, elementType, mimeType, hints)));
+		}
+
+		// Read from the received buffers in sequence rather than joining them into one
+		return Flux.from(input)
+				.collect(() -> new LimitedDataBufferList(this.maxInMemorySize), LimitedDataBufferList::add)
+				.filter(list -> !list.isEmpty())
+				.flatMap(list -> Mono.justOrEmpty(decode(list, elementType, mimeType, hints)))
+				.doOnDiscard(PooledDataBuffer.class, DataBufferUtils::release);
 	}
 
 	@Override
@@ -190,7 +250,15 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 
 		try {
 			ObjectReader objectReader = getObjectReader(mapper, targetType, hints);
-			Object value = objectReader.readValue(dataBuffer.asInputStream());
+			Object value;
+			ByteBuffer byteBuffer = dataBuffer.asByteBuffer();
+			if (byteBuffer.hasArray()) {
+				value = objectReader.readValue(byteBuffer.array(),
+						byteBuffer.arrayOffset() + byteBuffer.position(), byteBuffer.remaining());
+			}
+			else {
+				value = objectReader.readValue(dataBuffer.asInputStream());
+			}
 			logValue(value, hints);
 			return value;
 		}
@@ -202,6 +270,38 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 		}
 	}
 
+	@Nullable
+	private Object decode(List<DataBuffer> dataBuffers, ResolvableType targetType,
+			@Nullable MimeType mimeType, @Nullable Map<String, Object> hints) throws DecodingException {
+
+		if (dataBuffers.size() == 1) {
+			return decode(dataBuffers.get(0), targetType, mimeType, hints);
+		}
+
+		ObjectMapper mapper = selectObjectMapper(targetType, mimeType);
+		if (mapper == null) {
+			dataBuffers.forEach(DataBufferUtils::release);
+			throw new IllegalStateException("No ObjectMapper for " + targetType);
+		}
+
+		List<InputStream> inputStreams = new ArrayList<>(dataBuffers.size());
+		for (DataBuffer dataBuffer : dataBuffers) {
+			inputStreams.add(dataBuffer.asInputStream());
+		}
+		try {
+			ObjectReader objectReader = getObjectReader(mapper, targetType, hints);
+			Object value = objectReader.readValue(new SequenceInputStream(Collections.enumeration(inputStreams)));
+			logValue(value, hints);
+			return value;
+		}
+		catch (IOException ex) {
+			throw processException(ex);
+		}
+		finally {
+			dataBuffers.forEach(DataBufferUtils::release);
+		}
+	}
+
 	private ObjectReader getObjectReader(
 			ObjectMapper mapper, ResolvableType elementType, @Nullable Map<String, Object> hints) {
 
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.http.codec.json;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import reactor.core.publisher.Flux;
+
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.lang.Nullable;
+
+/**
+ * Splits a UTF-8 encoded JSON stream of arbitrary size into top-level JSON values,
+ * or into the elements of top-level JSON arrays, and binds each of them directly
+ * from the received bytes.
+ *
+ * <p>As opposed to {@link Jackson2Tokenizer}, no {@code TokenBuffer} is created:
+ * element boundaries are detected by a lightweight scan over the raw bytes, and
+ * elements which are fully contained in a single data buffer are bound from that
+ * buffer's backing array without copying. Only elements spanning several data
+ * buffers get their bytes accumulated, up to the configured maximum size.
+ *
+ * <p>The scan only checks the structure required for splitting; the content of
+ * each element is validated when binding it.
+ *
+ * @author agent
+ * @since 6.0
+ * @see AbstractJackson2Decoder#setDirectBinding(boolean)
+ */
+final class Jackson2ValueBinder {
+
+	private final ValueReader valueReader;
+
+	private final int maxInMemorySize;
+
+	private int depth;
+
+	private boolean inTopLevelArray;
+
+	private boolean inString;
+
+	private boolean escaped;
+
+	private boolean inScalar;
+
+	private boolean valueExpected;
+
+	private boolean separatorExpected;
+
+	private boolean started;
+
+	// Bytes of an element spanning several data buffers
+	private byte[] pending = new byte[0];
+
+	private int pendingLength = -1;
+
+
+	private Jackson2ValueBinder(ValueReader valueReader, int maxInMemorySize) {
+		this.valueReader = valueReader;
+		this.maxInMemorySize = maxInMemorySize;
+	}
+
+
+	private List<Object> bind(DataBuffer dataBuffer) {
+		try {
+			ByteBuffer byteBuffer = dataBuffer.asByteBuffer();
+			byte[] bytes;
+			int offset;
+			int length = byteBuffer.remaining();
+			if (byteBuffer.hasArray()) {
+				bytes = byteBuffer.array();
+				offset = byteBuffer.arrayOffset() + byteBuffer.position();
+			}
+			else {
+				bytes = new byte[length];
+				byteBuffer.get(bytes);
+				offset = 0;
+			}
+			List<Object> result = new ArrayList<>();
+			scan(bytes, offset, offset + length, result);
+			return result;
+		}
+		finally {
+			DataBufferUtils.release(dataBuffer);
+		}
+	}
+
+	private Flux<Object> endOfInput() {
+		return Flux.defer(() -> {
+			List<Object> result = new ArrayList<>(1);
+			if (this.inScalar) {
+				this.inScalar = false;
+				bindPending(result);
+			}
+			if (this.depth > 0 || this.inString) {
+				throw new DecodingException("JSON decoding error: Unexpected end-of-input");
+			}
+			return Flux.fromIterable(result);
+		});
+	}
+
+	private void scan(byte[] bytes, int offset, int end, List<Object> result) {
+		int elementStart = (this.pendingLength != -1 ? offset : -1);
+		for (int i = offset; i < end; i++) {
+			byte b = bytes[i];
+			if (this.inString) {
+				if (this.escaped) {
+					this.escaped = false;
+				}
+				else if (b == '\\') {
+					this.escaped = true;
+				}
+				else if (b == '"') {
+					this.inString = false;
+					if (this.depth == baseDepth()) {
+						completeElement(bytes, elementStart, i + 1, result);
+						elementStart = -1;
+					}
+				}
+				continue;
+			}
+			if (this.inScalar) {
+				if (!isScalarEnd(b)) {
+					continue;
+				}
+				this.inScalar = false;
+				completeElement(bytes, elementStart, i, result);
+				elementStart = -1;
+			}
+			switch (b) {
+				case ' ', '\t', '\n', '\r', ':' -> {
+				}
+				case ',' -> {
+					if (this.depth == baseDepth()) {
+						if (!this.separatorExpected) {
+							throw unexpectedCharacter(b);
+						}
+						this.separatorExpected = false;
+						this.valueExpected = true;
+					}
+				}
+				case '{', '[' -> {
+					if (this.depth == 0 && b == '[' && !this.separatorExpected) {
+						// Top-level array: bind its elements individually
+						this.depth = 1;
+						this.inTopLevelArray = true;
+						this.valueExpected = false;
+						this.started = true;
+					}
+					else {
+						if (this.depth == baseDepth()) {
+							startElement(b);
+							elementStart = i;
+						}
+						this.depth++;
+					}
+				}
+				case '}', ']' -> {
+					if (this.depth == 0) {
+						throw unexpectedCharacter(b);
+					}
+					this.depth--;
+					if (this.inTopLevelArray && this.depth == 0) {
+						if (b != ']' || this.valueExpected) {
+							throw unexpectedCharacter(b);
+						}
+						this.inTopLevelArray = false;
+						this.separatorExpected = false;
+					}
+					else if (this.depth == baseDepth()) {
+						completeElement(bytes, elementStart, i + 1, result);
+						elementStart = -1;
+					}
+				}
+				case '"' -> {
+					if (this.depth == baseDepth()) {
+						startElement(b);
+						elementStart = i;
+					}
+					this.inString = true;
+				}
+				default -> {
+					if (this.depth == baseDepth()) {
+						if (!this.started && isByteOrderMark(bytes, i, end)) {
+							i += 2;
+							continue;
+						}
+						startElement(b);
+						elementStart = i;
+						this.inScalar = true;
+					}
+				}
+			}
+			this.started = true;
+		}
+		if (elementStart != -1) {
+			appendPending(bytes, elementStart, end);
+		}
+	}
+
+	private int baseDepth() {
+		return (this.inTopLevelArray ? 1 : 0);
+	}
+
+	private void startElement(byte b) {
+		if (this.separatorExpected) {
+			throw unexpectedCharacter(b);
+		}
+		this.valueExpected = false;
+	}
+
+	private void completeElement(byte[] bytes, int elementStart, int elementEnd, List<Object> result) {
+		this.separatorExpected = true;
+		if (this.pendingLength == -1) {
+			Object value = this.valueReader.read(bytes, elementStart, elementEnd - elementStart);
+			if (value != null) {
+				result.add(value);
+			}
+		}
+		else {
+			appendPending(bytes, elementStart, elementEnd);
+			bindPending(result);
+		}
+		if (!this.inTopLevelArray) {
+			// Top-level values are separated by whitespace only
+			this.separatorExpected = false;
+		}
+	}
+
+	private void appendPending(byte[] bytes, int start, int end) {
+		int length = end - start;
+		int currentLength = Math.max(this.pendingLength, 0);
+		if (this.maxInMemorySize >= 0 && length > this.maxInMemorySize - currentLength) {
+			throw new DataBufferLimitException(
+					"Exceeded limit on max bytes per JSON object: " + this.maxInMemorySize);
+		}
+		if (currentLength + length > this.pending.length) {
+			this.pending = Arrays.copyOf(this.pending, Math.max(currentLength + length, this.pending.length * 2));
+		}
+		System.arraycopy(bytes, start, this.pending, currentLength, length);
+		this.pendingLength = currentLength + length;
+	}
+
+	private void bindPending(List<Object> result) {
+		int length = this.pendingLength;
+		this.pendingLength = -1;
+		Object value = this.valueReader.read(this.pending, 0, length);
+		if (value != null) {
+			result.add(value);
+		}
+	}
+
+	private static boolean isScalarEnd(byte b) {
+		return (b == ',' || b == ']' || b == '}' || b == ' ' || b == '\t' || b == '\n' || b == '\r');
+	}
+
+	private static boolean isByteOrderMark(byte[] bytes, int index, int end) {
+		return (index + 2 < end && bytes[index] == (byte) 0xEF &&
+				bytes[index + 1] == (byte) 0xBB && bytes[index + 2] == (byte) 0xBF);
+	}
+
+	private static DecodingException unexpectedCharacter(byte b) {
+		return new DecodingException("JSON decoding error: Unexpected character ('" + (char) b + "')");
+	}
+
+
+	/**
+	 * Bind the given {@code Flux<DataBuffer>} into a {@code Flux} of values, one for
+	 * each top-level JSON value or each element of a top-level JSON array.
+	 * {@code null} values are skipped.
+	 * @param dataBuffers the source data buffers, containing UTF-8 encoded JSON
+	 * @param valueReader the reader to bind each value with
+	 * @param maxInMemorySize maximum number of bytes to accumulate for a single
+	 * value spanning several data buffers, or -1 for unlimited
+	 * @return the resulting values
+	 */
+	public static Flux<Object> bind(Flux<DataBuffer> dataBuffers, ValueReader valueReader, int maxInMemorySize) {
+		Jackson2ValueBinder binder = new Jackson2ValueBinder(valueReader, maxInMemorySize);
+		return dataBuffers.concatMapIterable(binder::bind).concatWith(binder.endOfInput());
+	}
+
+
+	/**
+	 * Callback for binding the bytes of a single JSON value.
+	 */
+	@FunctionalInterface
+	interface ValueReader {
+
+		/**
+		 * Bind the JSON value in the given byte range.
+		 * @param bytes the array holding the value
+		 * @param offset the offset of the value in the array
+		 * @param length the length of the value
+		 * @return the bound value, or {@code null} for a JSON {@code null}
+		 */
+		@Nullable
+		Object read(byte[] bytes, int offset, int length);
+	}
+
+}
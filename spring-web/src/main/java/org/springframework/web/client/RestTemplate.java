@@ -30,6 +30,8 @@ import java.util.stream.Stream;
 
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.SpringProperties;
+import org.springframework.core.observation.Observation;
+import org.springframework.core.observation.ObservationRecorder;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -140,6 +142,8 @@ public class RestTemplate extends InterceptingHttpAccessor implements RestOperat
 
 	private UriTemplateHandler uriTemplateHandler;
 
+	private ObservationRecorder observationRecorder = ObservationRecorder.DEFAULT;
+
 	private final ResponseExtractor<HttpHeaders> headersExtractor = new HeadersExtractor();
 
 
@@ -323,6 +327,26 @@ public class RestTemplate extends InterceptingHttpAccessor implements RestOperat
 		return this.uriTemplateHandler;
 	}
 
+	/**
+	 * Set the {@link ObservationRecorder} for observing request executions as
+	 * {@code "http.client.requests"} observations, tagged with the HTTP method
+	 * and the response status.
+	 * <p>Default is a no-op recorder.
+	 * @since 6.0
+	 */
+	public void setObservationRecorder(ObservationRecorder observationRecorder) {
+		Assert.notNull(observationRecorder, "ObservationRecorder must not be null");
+		this.observationRecorder = observationRecorder;
+	}
+
+	/**
+	 * Return the configured {@link ObservationRecorder}.
+	 * @since 6.0
+	 */
+	public ObservationRecorder getObservationRecorder() {
+		return this.observationRecorder;
+	}
+
 
 	// GET
 
@@ -768,6 +792,7 @@ public class RestTemplate extends InterceptingHttpAccessor implements RestOperat
 
 		Assert.notNull(url, "URI is required");
 		Assert.notNull(method, "HttpMethod is required");
+		Observation observation = this.observationRecorder.start("http.client.requests").tag("method", method.name());
 		ClientHttpResponse response = null;
 		try {
 			ClientHttpRequest request = createRequest(url, method);
@@ -775,20 +800,29 @@ public class RestTemplate extends InterceptingHttpAccessor implements RestOperat
 				requestCallback.doWithRequest(request);
 			}
 			response = request.execute();
+			if (this.observationRecorder.isEnabled()) {
+				observation.tag("status", String.valueOf(response.getStatusCode().value()));
+			}
 			handleResponse(url, method, response);
 			return (responseExtractor != null ? responseExtractor.extractData(response) : null);
 		}
 		catch (IOException ex) {
+			observation.error(ex);
 			String resource = url.toString();
 			String query = url.getRawQuery();
 			resource = (query != null ? resource.substring(0, resource.indexOf('?')) : resource);
 			throw new ResourceAccessException("I/O error on " + method.name() +
 					" request for \"" + resource + "\": " + ex.getMessage(), ex);
 		}
+		catch (RuntimeException | Error ex) {
+			observation.error(ex);
+			throw ex;
+		}
 		finally {
 			if (response != null) {
 				response.close();
 			}
+			observation.stop();
 		}
 	}
 
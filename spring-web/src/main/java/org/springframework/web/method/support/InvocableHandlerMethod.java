@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,6 +24,7 @@ import org.springframework.context.MessageSource;
 import org.springframework.core.CoroutinesUtils;
 import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.KotlinDetector;
+import org.springframework.core.MethodHandleInvoker;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.lang.Nullable;
@@ -56,6 +57,11 @@ public class InvocableHandlerMethod extends HandlerMethod {
 	@Nullable
 	private WebDataBinderFactory dataBinderFactory;
 
+	private boolean methodHandleInvocation = false;
+
+	@Nullable
+	private MethodHandleInvoker methodHandleInvoker;
+
 
 	/**
 	 * Create an instance from a {@code HandlerMethod}.
@@ -119,6 +125,32 @@ public class InvocableHandlerMethod extends HandlerMethod {
 		this.dataBinderFactory = dataBinderFactory;
 	}
 
+	/**
+	 * Specify whether to invoke the handler method through a {@link MethodHandleInvoker}
+	 * (a {@code MethodHandle} adapted once per method and cached) rather than through
+	 * reflective {@link Method#invoke} calls. The invoker is resolved right here,
+	 * once for this handler method rather than on every invocation.
+	 * <p>Default is "false". Switch this to "true" for direct dispatch on hot paths.
+	 * Argument type mismatches are reported as an {@code IllegalStateException}
+	 * just like with reflective invocation. Kotlin suspending functions are
+	 * always invoked reflectively.
+	 * @since 6.0
+	 */
+	public void setMethodHandleInvocation(boolean methodHandleInvocation) {
+		Method method = getBridgedMethod();
+		this.methodHandleInvocation = methodHandleInvocation;
+		this.methodHandleInvoker = (methodHandleInvocation && !KotlinDetector.isSuspendingFunction(method) ?
+				MethodHandleInvoker.forMethod(method) : null);
+	}
+
+	/**
+	 * Return whether the handler method is invoked through a {@link MethodHandleInvoker}.
+	 * @since 6.0
+	 */
+	public boolean isMethodHandleInvocation() {
+		return this.methodHandleInvocation;
+	}
+
 
 	/**
 	 * Invoke the method after resolving its argument values in the context of the given request.
@@ -197,6 +229,10 @@ public class InvocableHandlerMethod extends HandlerMethod {
 	 */
 	@Nullable
 	protected Object doInvoke(Object... args) throws Exception {
+		MethodHandleInvoker invoker = this.methodHandleInvoker;
+		if (invoker != null) {
+			return doInvokeWithMethodHandle(invoker, args);
+		}
 		Method method = getBridgedMethod();
 		try {
 			if (KotlinDetector.isSuspendingFunction(method)) {
@@ -227,4 +263,26 @@ public class InvocableHandlerMethod extends HandlerMethod {
 		}
 	}
 
+	@Nullable
+	private Object doInvokeWithMethodHandle(MethodHandleInvoker invoker, Object[] args) throws Exception {
+		try {
+			return invoker.invoke(getBean(), args);
+		}
+		catch (ClassCastException | NullPointerException | IllegalArgumentException ex) {
+			if (invoker.isApplicable(getBean(), args)) {
+				// Thrown by the handler method itself
+				throw ex;
+			}
+			assertTargetBean(invoker.getMethod(), getBean(), args);
+			throw new IllegalStateException(formatInvokeError("argument type mismatch", args), ex);
+		}
+		catch (Exception | Error ex) {
+			// Not wrapped in an InvocationTargetException to begin with...
+			throw ex;
+		}
+		catch (Throwable ex) {
+			throw new IllegalStateException(formatInvokeError("Invocation failure", args), ex);
+		}
+	}
+
 }
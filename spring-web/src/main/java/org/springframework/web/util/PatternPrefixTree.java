@@ -0,0 +1,224 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+/**
+ * Prefix tree that indexes mappings by the literal path segments their URL
+ * patterns start with, in order to narrow down the mappings to check for a
+ * given lookup path without iterating over all registered mappings.
+ *
+ * <p>Each pattern is split into segments; leading segments without pattern
+ * syntax (no captures, wildcards or regular expressions) form the edges of
+ * the tree, and the mapping is registered at the node reached through them.
+ * A lookup walks the segments of the lookup path and collects the mappings
+ * registered at every node along the way, including the root node which
+ * holds all mappings whose patterns start with a capture or wildcard.
+ *
+ * <p>The candidates returned for a lookup path are a superset of the mappings
+ * that can actually match it: the last segment of a pattern is never indexed
+ * (since it may be subject to suffix or trailing slash matching), segments are
+ * compared case-insensitively, and lookup paths containing encoded or
+ * path parameter characters are not narrowed down at all. Every candidate
+ * therefore still needs to be matched against the request.
+ *
+ * <p>This class is not thread-safe; access needs to be guarded externally,
+ * as done through the read-write lock of the handler method mapping registry.
+ *
+ * @author agent
+ * @since 6.0
+ * @param <T> the type of mapping held in the tree
+ */
+public class PatternPrefixTree<T> {
+
+	private static final String SEPARATOR = "/";
+
+	private static final String NON_LITERAL_CHARS = "{}*?%;\\";
+
+
+	private final Node<T> root = new Node<>();
+
+
+	/**
+	 * Add the given mapping under each of the given patterns.
+	 * @param mapping the mapping to add
+	 * @param patterns the URL patterns of the mapping; if empty, the mapping is
+	 * registered at the root and will be returned as a candidate for any path
+	 */
+	public void add(T mapping, Collection<String> patterns) {
+		if (patterns.isEmpty()) {
+			this.root.mappings.add(mapping);
+			return;
+		}
+		for (String pattern : patterns) {
+			Node<T> node = this.root;
+			for (String segment : getLiteralPrefix(pattern)) {
+				node = node.children.computeIfAbsent(segment, key -> new Node<>());
+			}
+			node.mappings.add(mapping);
+		}
+	}
+
+	/**
+	 * Remove the given mapping, previously added with the same patterns.
+	 * @param mapping the mapping to remove
+	 * @param patterns the URL patterns the mapping was added with
+	 */
+	public void remove(T mapping, Collection<String> patterns) {
+		if (patterns.isEmpty()) {
+			this.root.mappings.remove(mapping);
+			return;
+		}
+		for (String pattern : patterns) {
+			remove(this.root, getLiteralPrefix(pattern), 0, mapping);
+		}
+	}
+
+	private boolean remove(Node<T> node, List<String> segments, int index, T mapping) {
+		if (index == segments.size()) {
+			node.mappings.remove(mapping);
+		}
+		else {
+			Node<T> child = node.children.get(segments.get(index));
+			if (child != null && remove(child, segments, index + 1, mapping)) {
+				node.children.remove(segments.get(index));
+			}
+		}
+		return (node.mappings.isEmpty() && node.children.isEmpty());
+	}
+
+	/**
+	 * Return the mappings that may match the given lookup path.
+	 * @param lookupPath the lookup path to find candidates for
+	 * @return the candidate mappings, in registration order per tree node,
+	 * or {@code null} if the lookup path cannot be narrowed down, in which
+	 * case all mappings need to be considered
+	 */
+	@Nullable
+	public Collection<T> getCandidates(String lookupPath) {
+		if (!lookupPath.startsWith(SEPARATOR) || lookupPath.indexOf('%') != -1 || lookupPath.indexOf(';') != -1) {
+			return null;
+		}
+		Collection<T> result = this.root.mappings;
+		Set<T> merged = null;
+		Node<T> node = this.root;
+		for (String segment : StringUtils.tokenizeToStringArray(lookupPath, SEPARATOR, true, true)) {
+			node = node.children.get(foldCase(segment));
+			if (node == null) {
+				break;
+			}
+			if (node.mappings.isEmpty()) {
+				continue;
+			}
+			if (result.isEmpty()) {
+				result = node.mappings;
+			}
+			else {
+				if (merged == null) {
+					merged = new LinkedHashSet<>(result);
+					result = merged;
+				}
+				merged.addAll(node.mappings);
+			}
+		}
+		return (result.isEmpty() ? Collections.emptySet() : result);
+	}
+
+	/**
+	 * Return the number of nodes in this tree, including the root node.
+	 */
+	public int getNodeCount() {
+		return this.root.getNodeCount();
+	}
+
+
+	/**
+	 * Return the leading segments of the given pattern without pattern syntax,
+	 * not including the last segment, in case-folded form.
+	 */
+	static List<String> getLiteralPrefix(String pattern) {
+		if (!pattern.startsWith(SEPARATOR)) {
+			return Collections.emptyList();
+		}
+		String[] segments = StringUtils.tokenizeToStringArray(pattern, SEPARATOR, true, true);
+		List<String> result = new ArrayList<>(segments.length);
+		for (int i = 0; i < segments.length - 1; i++) {
+			String segment = segments[i];
+			if (!isLiteral(segment)) {
+				break;
+			}
+			result.add(foldCase(segment));
+		}
+		return result;
+	}
+
+	private static boolean isLiteral(String segment) {
+		for (int i = 0; i < segment.length(); i++) {
+			if (NON_LITERAL_CHARS.indexOf(segment.charAt(i)) != -1) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Fold the case of each character the same way as
+	 * {@link String#equalsIgnoreCase} does for its comparison.
+	 */
+	private static String foldCase(String segment) {
+		char[] chars = null;
+		for (int i = 0; i < segment.length(); i++) {
+			char c = segment.charAt(i);
+			char folded = Character.toLowerCase(Character.toUpperCase(c));
+			if (folded != c) {
+				if (chars == null) {
+					chars = segment.toCharArray();
+				}
+				chars[i] = folded;
+			}
+		}
+		return (chars != null ? new String(chars) : segment);
+	}
+
+
+	private static final class Node<T> {
+
+		final Map<String, Node<T>> children = new HashMap<>(4);
+
+		final Set<T> mappings = new LinkedHashSet<>(2);
+
+		int getNodeCount() {
+			int count = 1;
+			for (Node<T> child : this.children.values()) {
+				count += child.getNodeCount();
+			}
+			return count;
+		}
+	}
+
+}
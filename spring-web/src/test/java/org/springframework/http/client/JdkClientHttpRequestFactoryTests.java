@@ -0,0 +1,78 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.client;
+
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.FileCopyUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent
+ */
+public class JdkClientHttpRequestFactoryTests extends AbstractHttpRequestFactoryTests {
+
+	@Override
+	protected ClientHttpRequestFactory createRequestFactory() {
+		return new JdkClientHttpRequestFactory();
+	}
+
+	@Override
+	@Test
+	public void httpMethods() throws Exception {
+		super.httpMethods();
+		assertHttpMethod("patch", HttpMethod.PATCH);
+	}
+
+	@Test
+	public void largeStreamingBody() throws Exception {
+		ClientHttpRequest request = this.factory.createRequest(new URI(baseUrl + "/echo"), HttpMethod.POST);
+
+		byte[] chunk = new byte[1024];
+		Arrays.fill(chunk, (byte) 'a');
+		OutputStream body = request.getBody();
+		for (int i = 0; i < 1024; i++) {
+			body.write(chunk);
+		}
+
+		try (ClientHttpResponse response = request.execute()) {
+			assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+			assertThat(FileCopyUtils.copyToByteArray(response.getBody())).hasSize(1024 * 1024);
+		}
+	}
+
+	@Test
+	public void emptyBodyWithContentLength() throws Exception {
+		ClientHttpRequest request = this.factory.createRequest(new URI(baseUrl + "/echo"), HttpMethod.POST);
+		request.getHeaders().setContentLength(0);
+		request.getBody();
+
+		try (ClientHttpResponse response = request.execute()) {
+			assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+			assertThat(response.getHeaders().getContentLength()).isEqualTo(0);
+			assertThat(FileCopyUtils.copyToByteArray(response.getBody())).isEmpty();
+		}
+	}
+
+}
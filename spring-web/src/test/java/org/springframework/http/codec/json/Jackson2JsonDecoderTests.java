@@ -41,6 +41,7 @@ import org.springframework.core.ResolvableType;
 import org.springframework.core.codec.CodecException;
 import org.springframework.core.codec.DecodingException;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.core.testfixture.codec.AbstractDecoderTests;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.json.JacksonViewBean.MyJacksonView1;
@@ -298,6 +299,100 @@ public class Jackson2JsonDecoderTests extends AbstractDecoderTests<Jackson2JsonD
 	}
 
 
+	@Test
+	public void decodeWithDirectBinding() {
+		this.decoder.setDirectBinding(true);
+		Flux<DataBuffer> input = Flux.concat(
+				stringBuffer("[{\"bar\":\"b1\",\"fo"),
+				stringBuffer("o\":\"f1\"},{\"bar\":\"b2\",\"foo\":\"f2\"}, null"),
+				stringBuffer("]"));
+
+		testDecodeAll(input, Pojo.class, step -> step
+				.expectNext(pojo1)
+				.expectNext(pojo2)
+				.verifyComplete());
+	}
+
+	@Test
+	public void decodeStreamWithDirectBinding() {
+		this.decoder.setDirectBinding(true);
+		Flux<DataBuffer> input = Flux.concat(
+				stringBuffer("{\"bar\":\"b1\",\"foo\":\"f1\"}\n{\"bar\":\"b2\","),
+				stringBuffer("\"foo\":\"f2\"}\n"));
+
+		testDecode(input, ResolvableType.forClass(Pojo.class), step -> step
+				.expectNext(pojo1)
+				.expectNext(pojo2)
+				.verifyComplete(), APPLICATION_NDJSON, null);
+	}
+
+	@Test
+	public void decodeScalarsWithDirectBinding() {
+		this.decoder.setDirectBinding(true);
+		Flux<DataBuffer> input = Flux.concat(stringBuffer("[ 1E+2, 1"), stringBuffer("2.5 ]"));
+
+		testDecode(input, BigDecimal.class, step -> step
+				.expectNext(new BigDecimal("1E+2"))
+				.expectNext(new BigDecimal("12.5"))
+				.verifyComplete());
+	}
+
+	@Test
+	public void invalidDataWithDirectBinding() {
+		this.decoder.setDirectBinding(true);
+
+		Flux<DataBuffer> input = Flux.from(stringBuffer("[{\"bar\":\"b1\"} {\"bar\":\"b2\"}]"));
+		testDecode(input, Pojo.class, step -> step.verifyError(DecodingException.class));
+
+		input = Flux.from(stringBuffer("{\"foofoo\": \"foofoo\", \"barbar\": \"barbar\""));
+		testDecode(input, Pojo.class, step -> step.verifyError(DecodingException.class));
+	}
+
+	@Test
+	public void maxInMemorySizeWithDirectBinding() {
+		this.decoder.setDirectBinding(true);
+		this.decoder.setMaxInMemorySize(20);
+		Flux<DataBuffer> input = Flux.concat(
+				stringBuffer("[{\"bar\":\"b1\",\"foo\":\"f1\"},{\"bar\":"),
+				stringBuffer("\"b2\",\"foo\":\"f2\"}]"));
+
+		testDecode(input, Pojo.class, step -> step
+				.expectNext(pojo1)
+				.verifyError(DataBufferLimitException.class));
+	}
+
+	@Test
+	public void decodeToMonoWithMaxInMemorySize() {
+		this.decoder.setMaxInMemorySize(20);
+		Mono<DataBuffer> input = stringBuffer("{\"bar\":\"barbarbar\",\"foo\":\"foofoofoo\"}");
+
+		testDecodeToMono(input, Pojo.class, step -> step.verifyError(DataBufferLimitException.class));
+	}
+
+	@Test
+	public void decodeToMonoWithMaxInMemorySizeAndDirectBinding() {
+		this.decoder.setDirectBinding(true);
+		this.decoder.setMaxInMemorySize(20);
+		Mono<DataBuffer> input = stringBuffer("{\"bar\":\"barbarbar\",\"foo\":\"foofoofoo\"}");
+
+		testDecodeToMono(input, Pojo.class, step -> step.verifyError(DataBufferLimitException.class));
+	}
+
+	@Test
+	public void decodeToMonoWithDirectBinding() {
+		this.decoder.setDirectBinding(true);
+		Flux<DataBuffer> input = Flux.concat(
+				stringBuffer("[{\"bar\":\"b1\",\"foo\":\"f1\"},"),
+				stringBuffer("{\"bar\":\"b2\",\"foo\":\"f2\"}]"));
+
+		ResolvableType elementType = ResolvableType.forClassWithGenerics(List.class, Pojo.class);
+
+		testDecodeToMonoAll(input, elementType, step -> step
+				.expectNext(Arrays.asList(new Pojo("f1", "b1"), new Pojo("f2", "b2")))
+				.expectComplete()
+				.verify(), null, null);
+	}
+
 	private Mono<DataBuffer> stringBuffer(String value) {
 		return stringBuffer(value, StandardCharsets.UTF_8);
 	}
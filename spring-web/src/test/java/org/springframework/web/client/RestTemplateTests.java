@@ -35,6 +35,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.observation.InMemoryObservationRecorder;
+import org.springframework.core.observation.InMemoryObservationRecorder.RecordedObservation;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpInputMessage;
@@ -617,6 +619,39 @@ class RestTemplateTests {
 			.withMessage("I/O error on GET request for \"https://example.com/resource\": Socket failure");
 	}
 
+	@Test
+	void observationRecorder() throws Exception {
+		InMemoryObservationRecorder recorder = new InMemoryObservationRecorder();
+		template.setObservationRecorder(recorder);
+		mockSentRequest(GET, "https://example.com");
+		mockResponseStatus(HttpStatus.OK);
+
+		template.execute("https://example.com", GET, null, null);
+
+		List<RecordedObservation> observations = recorder.getObservations("http.client.requests");
+		assertThat(observations).hasSize(1);
+		assertThat(observations.get(0).getTags()).containsEntry("method", "GET").containsEntry("status", "200");
+		assertThat(observations.get(0).getError()).isNull();
+		verify(response).close();
+	}
+
+	@Test
+	void observationRecorderWithIOException() throws Exception {
+		InMemoryObservationRecorder recorder = new InMemoryObservationRecorder();
+		template.setObservationRecorder(recorder);
+		IOException ioException = new IOException("Socket failure");
+		mockSentRequest(POST, "https://example.com");
+		given(request.execute()).willThrow(ioException);
+
+		assertThatExceptionOfType(ResourceAccessException.class).isThrownBy(() ->
+				template.execute("https://example.com", POST, null, null));
+
+		List<RecordedObservation> observations = recorder.getObservations("http.client.requests");
+		assertThat(observations).hasSize(1);
+		assertThat(observations.get(0).getTags()).containsEntry("method", "POST").doesNotContainKey("status");
+		assertThat(observations.get(0).getError()).isSameAs(ioException);
+	}
+
 	@Test
 	void exchange() throws Exception {
 		mockTextPlainHttpMessageConverter();
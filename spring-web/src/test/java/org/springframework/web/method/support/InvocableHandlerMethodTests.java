@@ -158,6 +158,56 @@ public class InvocableHandlerMethodTests {
 			.withMessageContaining("Illegal argument");
 	}
 
+	@Test
+	public void resolveArgWithMethodHandleInvocation() throws Exception {
+		this.composite.addResolver(new StubArgumentResolver(99));
+		this.composite.addResolver(new StubArgumentResolver("value"));
+
+		InvocableHandlerMethod handlerMethod = getInvocable(Integer.class, String.class);
+		handlerMethod.setMethodHandleInvocation(true);
+		Object value = handlerMethod.invokeForRequest(request, null);
+
+		assertThat(value).isEqualTo("99-value");
+	}
+
+	@Test
+	public void invocationTargetExceptionWithMethodHandleInvocation() throws Exception {
+		InvocableHandlerMethod handlerMethod = getInvocable(Throwable.class);
+		handlerMethod.setMethodHandleInvocation(true);
+
+		IllegalArgumentException illegalArgumentException = new IllegalArgumentException("error");
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> handlerMethod.invokeForRequest(this.request, null, illegalArgumentException))
+			.isSameAs(illegalArgumentException);
+
+		Exception exception = new Exception("error");
+		assertThatException()
+			.isThrownBy(() -> handlerMethod.invokeForRequest(this.request, null, exception))
+			.isSameAs(exception);
+
+		Throwable throwable = new Throwable("error");
+		assertThatIllegalStateException()
+			.isThrownBy(() -> handlerMethod.invokeForRequest(this.request, null, throwable))
+			.withCause(throwable)
+			.withMessageContaining("Invocation failure");
+	}
+
+	@Test
+	public void argumentTypeMismatchWithMethodHandleInvocation() throws Exception {
+		this.composite.addResolver(new StubArgumentResolver(Integer.class, "__not_an_int__"));
+		this.composite.addResolver(new StubArgumentResolver("value"));
+
+		InvocableHandlerMethod handlerMethod = getInvocable(Integer.class, String.class);
+		handlerMethod.setMethodHandleInvocation(true);
+
+		assertThatIllegalStateException()
+			.isThrownBy(() -> handlerMethod.invokeForRequest(request, null))
+			.withCauseInstanceOf(ClassCastException.class)
+			.withMessageContaining("argument type mismatch")
+			.withMessageContaining("Controller [")
+			.withMessageContaining("[0] [type=java.lang.String] [value=__not_an_int__]");
+	}
+
 	private InvocableHandlerMethod getInvocable(Class<?>... argTypes) {
 		Method method = ResolvableMethod.on(Handler.class).argTypes(argTypes).resolveMethod();
 		InvocableHandlerMethod handlerMethod = new InvocableHandlerMethod(new Handler(), method);
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link PatternPrefixTree}.
+ *
+ * @author agent
+ */
+class PatternPrefixTreeTests {
+
+	private final PatternPrefixTree<String> tree = new PatternPrefixTree<>();
+
+
+	@Test
+	void literalPrefix() {
+		assertThat(PatternPrefixTree.getLiteralPrefix("/api/users/{id}")).containsExactly("api", "users");
+		assertThat(PatternPrefixTree.getLiteralPrefix("/api/Users/{id}/orders")).containsExactly("api", "users");
+		assertThat(PatternPrefixTree.getLiteralPrefix("/api/users")).containsExactly("api");
+		assertThat(PatternPrefixTree.getLiteralPrefix("/api/*/users")).containsExactly("api");
+		assertThat(PatternPrefixTree.getLiteralPrefix("/{version}/users/{id}")).isEmpty();
+		assertThat(PatternPrefixTree.getLiteralPrefix("/**")).isEmpty();
+		assertThat(PatternPrefixTree.getLiteralPrefix("api/users/{id}")).isEmpty();
+		assertThat(PatternPrefixTree.getLiteralPrefix("")).isEmpty();
+	}
+
+	@Test
+	void candidates() {
+		this.tree.add("users", List.of("/api/users/{id}"));
+		this.tree.add("orders", List.of("/api/orders/{id}"));
+		this.tree.add("api", List.of("/api/{resource}"));
+		this.tree.add("all", List.of("/**"));
+
+		assertThat(this.tree.getCandidates("/api/users/1")).containsExactly("all", "api", "users");
+		assertThat(this.tree.getCandidates("/api/orders/1")).containsExactly("all", "api", "orders");
+		assertThat(this.tree.getCandidates("/api/Users/1")).containsExactly("all", "api", "users");
+		assertThat(this.tree.getCandidates("/other/1")).containsExactly("all");
+	}
+
+	@Test
+	void candidatesForMappingWithoutPatterns() {
+		this.tree.add("users", List.of("/api/users/{id}"));
+		this.tree.add("none", Collections.emptyList());
+
+		assertThat(this.tree.getCandidates("/api/users/1")).containsExactly("none", "users");
+		assertThat(this.tree.getCandidates("/other")).containsExactly("none");
+	}
+
+	@Test
+	void candidatesForMappingWithMultiplePatterns() {
+		this.tree.add("users", List.of("/api/users/{id}", "/api/v1/users/{id}", "/{id}"));
+
+		assertThat(this.tree.getCandidates("/api/users/1")).containsExactly("users");
+		assertThat(this.tree.getCandidates("/api/v1/users/1")).containsExactly("users");
+	}
+
+	@Test
+	void candidatesNotNarrowedDown() {
+		this.tree.add("users", List.of("/api/users/{id}"));
+
+		assertThat(this.tree.getCandidates("/api/us%65rs/1")).isNull();
+		assertThat(this.tree.getCandidates("/api;v=1/users/1")).isNull();
+		assertThat(this.tree.getCandidates("api/users/1")).isNull();
+	}
+
+	@Test
+	void remove() {
+		this.tree.add("users", List.of("/api/users/{id}"));
+		this.tree.add("orders", List.of("/api/orders/{id}"));
+		assertThat(this.tree.getNodeCount()).isEqualTo(4);
+
+		this.tree.remove("users", List.of("/api/users/{id}"));
+		assertThat(this.tree.getCandidates("/api/users/1")).isEmpty();
+		assertThat(this.tree.getNodeCount()).isEqualTo(3);
+
+		this.tree.remove("orders", List.of("/api/orders/{id}"));
+		assertThat(this.tree.getCandidates("/api/orders/1")).isEmpty();
+		assertThat(this.tree.getNodeCount()).isEqualTo(1);
+	}
+
+}
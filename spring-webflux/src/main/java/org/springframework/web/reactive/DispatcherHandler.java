@@ -28,8 +28,12 @@ import org.springframework.beans.factory.BeanFactoryUtils;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.core.observation.Observation;
+import org.springframework.core.observation.ObservationRecorder;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
 import org.springframework.web.cors.reactive.CorsUtils;
 import org.springframework.web.cors.reactive.PreFlightRequestHandler;
@@ -80,6 +84,8 @@ public class DispatcherHandler implements WebHandler, PreFlightRequestHandler, A
 	@Nullable
 	private List<HandlerResultHandler> resultHandlers;
 
+	private ObservationRecorder observationRecorder = ObservationRecorder.DEFAULT;
+
 
 	/**
 	 * Create a new {@code DispatcherHandler} which needs to be configured with
@@ -115,6 +121,19 @@ public class DispatcherHandler implements WebHandler, PreFlightRequestHandler, A
 		initStrategies(applicationContext);
 	}
 
+	/**
+	 * Set the {@link ObservationRecorder} for observing the handling of each
+	 * request as an {@code "http.server.requests"} observation, from subscription
+	 * until completion, tagged with the HTTP method and the response status.
+	 * <p>Default is a no-op recorder, in which case the handling pipeline
+	 * is not decorated at all.
+	 * @since 6.0
+	 */
+	public void setObservationRecorder(ObservationRecorder observationRecorder) {
+		Assert.notNull(observationRecorder, "ObservationRecorder must not be null");
+		this.observationRecorder = observationRecorder;
+	}
+
 
 	protected void initStrategies(ApplicationContext context) {
 		Map<String, HandlerMapping> mappingBeans = BeanFactoryUtils.beansOfTypeIncludingAncestors(
@@ -146,12 +165,29 @@ public class DispatcherHandler implements WebHandler, PreFlightRequestHandler, A
 		if (CorsUtils.isPreFlightRequest(exchange.getRequest())) {
 			return handlePreFlight(exchange);
 		}
-		return Flux.fromIterable(this.handlerMappings)
+		Mono<Void> result = Flux.fromIterable(this.handlerMappings)
 				.concatMap(mapping -> mapping.getHandler(exchange))
 				.next()
 				.switchIfEmpty(createNotFoundError())
 				.flatMap(handler -> invokeHandler(exchange, handler))
-				.flatMap(result -> handleResult(exchange, result));
+				.flatMap(handlerResult -> handleResult(exchange, handlerResult));
+		return (this.observationRecorder.isEnabled() ? observe(exchange, result) : result);
+	}
+
+	private Mono<Void> observe(ServerWebExchange exchange, Mono<Void> result) {
+		return Mono.defer(() -> {
+			Observation observation = this.observationRecorder.start("http.server.requests")
+					.tag("method", exchange.getRequest().getMethod().name());
+			return result
+					.doOnError(observation::error)
+					.doFinally(signalType -> {
+						HttpStatusCode status = exchange.getResponse().getStatusCode();
+						if (status != null) {
+							observation.tag("status", String.valueOf(status.value()));
+						}
+						observation.stop();
+					});
+		});
 	}
 
 	private <R> Mono<R> createNotFoundError() {
@@ -38,6 +38,8 @@ import reactor.core.publisher.Mono;
 import reactor.util.context.Context;
 
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.observation.Observation;
+import org.springframework.core.observation.ObservationRecorder;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpRequest;
@@ -88,6 +90,8 @@ class DefaultWebClient implements WebClient {
 
 	private final List<DefaultResponseSpec.StatusHandler> defaultStatusHandlers;
 
+	private final ObservationRecorder observationRecorder;
+
 	private final DefaultWebClientBuilder builder;
 
 
@@ -95,7 +99,7 @@ class DefaultWebClient implements WebClient {
 			@Nullable HttpHeaders defaultHeaders, @Nullable MultiValueMap<String, String> defaultCookies,
 			@Nullable Consumer<RequestHeadersSpec<?>> defaultRequest,
 			@Nullable Map<Predicate<HttpStatusCode>, Function<ClientResponse, Mono<? extends Throwable>>> statusHandlerMap,
-			DefaultWebClientBuilder builder) {
+			ObservationRecorder observationRecorder, DefaultWebClientBuilder builder) {
 
 		this.exchangeFunction = exchangeFunction;
 		this.uriBuilderFactory = uriBuilderFactory;
@@ -103,6 +107,7 @@ class DefaultWebClient implements WebClient {
 		this.defaultCookies = defaultCookies;
 		this.defaultRequest = defaultRequest;
 		this.defaultStatusHandlers = initStatusHandlers(statusHandlerMap);
+		this.observationRecorder = observationRecorder;
 		this.builder = builder;
 	}
 
@@ -452,10 +457,22 @@ class DefaultWebClient implements WebClient {
 				if (this.contextModifier != null) {
 					responseMono = responseMono.contextWrite(this.contextModifier);
 				}
+				if (observationRecorder.isEnabled()) {
+					responseMono = observe(request, responseMono);
+				}
 				return responseMono;
 			});
 		}
 
+		private Mono<ClientResponse> observe(ClientRequest request, Mono<ClientResponse> responseMono) {
+			Observation observation = observationRecorder.start("http.client.requests")
+					.tag("method", request.method().name());
+			return responseMono
+					.doOnNext(response -> observation.tag("status", String.valueOf(response.statusCode().value())))
+					.doOnError(observation::error)
+					.doFinally(signalType -> observation.stop());
+		}
+
 		private ClientRequest.Builder initRequestBuilder() {
 			if (defaultRequest != null) {
 				defaultRequest.accept(this);
@@ -27,6 +27,7 @@ import java.util.function.Predicate;
 
 import reactor.core.publisher.Mono;
 
+import org.springframework.core.observation.ObservationRecorder;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.client.reactive.ClientHttpConnector;
@@ -105,6 +106,8 @@ final class DefaultWebClientBuilder implements WebClient.Builder {
 	@Nullable
 	private ExchangeFunction exchangeFunction;
 
+	private ObservationRecorder observationRecorder = ObservationRecorder.DEFAULT;
+
 
 	public DefaultWebClientBuilder() {
 	}
@@ -136,6 +139,7 @@ final class DefaultWebClientBuilder implements WebClient.Builder {
 		this.strategiesConfigurers = (other.strategiesConfigurers != null ?
 				new ArrayList<>(other.strategiesConfigurers) : null);
 		this.exchangeFunction = other.exchangeFunction;
+		this.observationRecorder = other.observationRecorder;
 	}
 
 
@@ -268,6 +272,13 @@ final class DefaultWebClientBuilder implements WebClient.Builder {
 		return this;
 	}
 
+	@Override
+	public WebClient.Builder observationRecorder(ObservationRecorder observationRecorder) {
+		Assert.notNull(observationRecorder, "ObservationRecorder must not be null");
+		this.observationRecorder = observationRecorder;
+		return this;
+	}
+
 	@Override
 	public WebClient.Builder apply(Consumer<WebClient.Builder> builderConsumer) {
 		builderConsumer.accept(this);
@@ -302,6 +313,7 @@ final class DefaultWebClientBuilder implements WebClient.Builder {
 				defaultCookies,
 				this.defaultRequest,
 				this.statusHandlers,
+				this.observationRecorder,
 				new DefaultWebClientBuilder(this));
 	}
 
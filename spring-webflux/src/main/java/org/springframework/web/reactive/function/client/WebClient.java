@@ -33,6 +33,7 @@ import reactor.util.context.Context;
 
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.ReactiveAdapterRegistry;
+import org.springframework.core.observation.ObservationRecorder;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatusCode;
@@ -335,6 +336,17 @@ public interface WebClient {
 		 */
 		Builder exchangeFunction(ExchangeFunction exchangeFunction);
 
+		/**
+		 * Configure an {@link ObservationRecorder} for observing each exchange as
+		 * an {@code "http.client.requests"} observation, from subscription until
+		 * the response status and headers are received, tagged with the HTTP
+		 * method and the response status.
+		 * <p>By default, a no-op recorder is used and exchanges are not decorated.
+		 * @param observationRecorder the observation recorder to use
+		 * @since 6.0
+		 */
+		Builder observationRecorder(ObservationRecorder observationRecorder);
+
 		/**
 		 * Apply the given {@code Consumer} to this builder instance.
 		 * <p>This can be useful for applying pre-packaged customizations.
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -49,6 +49,7 @@ import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.reactive.HandlerMapping;
 import org.springframework.web.reactive.handler.AbstractHandlerMapping;
 import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.PatternPrefixTree;
 
 /**
  * Abstract base class for {@link HandlerMapping} implementations that define
@@ -98,9 +99,33 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 	private final MappingRegistry mappingRegistry = new MappingRegistry();
 
+	private boolean usePatternPrefixTree = false;
+
 
 	// TODO: handlerMethodMappingNamingStrategy
 
+	/**
+	 * Whether to narrow down the mappings to check for a lookup path that has
+	 * no direct path match through a {@link PatternPrefixTree}, indexing
+	 * mappings by the literal leading segments of their URL patterns, instead
+	 * of checking every registered mapping.
+	 * <p>The default value is {@code false}. Switch this on for a large number
+	 * of pattern mappings, most of which start with literal path segments.
+	 * @since 6.0
+	 * @see #getPatternValues(Object)
+	 */
+	public void setUsePatternPrefixTree(boolean usePatternPrefixTree) {
+		this.usePatternPrefixTree = usePatternPrefixTree;
+	}
+
+	/**
+	 * Whether mappings are narrowed down through a {@link PatternPrefixTree}.
+	 * @since 6.0
+	 */
+	public boolean usePatternPrefixTree() {
+		return this.usePatternPrefixTree;
+	}
+
 	/**
 	 * Return a (read-only) map with all mappings and HandlerMethod's.
 	 */
@@ -326,7 +351,11 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			addMatchingMappings(directPathMatches, matches, exchange);
 		}
 		if (matches.isEmpty()) {
-			addMatchingMappings(this.mappingRegistry.getRegistrations().keySet(), matches, exchange);
+			Collection<T> candidates = (this.usePatternPrefixTree ?
+					this.mappingRegistry.getMappingsByPatternPrefix(
+							exchange.getRequest().getPath().pathWithinApplication().value()) : null);
+			addMatchingMappings(candidates != null ? candidates :
+					this.mappingRegistry.getRegistrations().keySet(), matches, exchange);
 		}
 		if (!matches.isEmpty()) {
 			Comparator<Match> comparator = new MatchComparator(getMappingComparator(exchange));
@@ -442,6 +471,18 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		return Collections.emptySet();
 	}
 
+	/**
+	 * Return the URL patterns of the given mapping, as Strings, to index the
+	 * mapping by when {@link #setUsePatternPrefixTree pattern prefix tree}
+	 * lookups are enabled.
+	 * <p>By default, this returns an empty set, in which case the mapping is
+	 * checked for every lookup path without a direct path match.
+	 * @since 6.0
+	 */
+	protected Set<String> getPatternValues(T mapping) {
+		return Collections.emptySet();
+	}
+
 	/**
 	 * Check if a mapping matches the current request and return a (potentially
 	 * new) mapping with conditions relevant to the current request.
@@ -473,6 +514,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 		private final MultiValueMap<String, T> pathLookup = new LinkedMultiValueMap<>();
 
+		private final PatternPrefixTree<T> patternPrefixTree = new PatternPrefixTree<>();
+
 		private final Map<HandlerMethod, CorsConfiguration> corsLookup = new ConcurrentHashMap<>();
 
 		private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
@@ -496,6 +539,17 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.pathLookup.get(path);
 		}
 
+		/**
+		 * Return the mappings whose URL patterns may match the given lookup path,
+		 * or {@code null} if all mappings need to be checked. Not thread-safe.
+		 * @since 6.0
+		 * @see #acquireReadLock()
+		 */
+		@Nullable
+		public Collection<T> getMappingsByPatternPrefix(String lookupPath) {
+			return this.patternPrefixTree.getCandidates(lookupPath);
+		}
+
 		/**
 		 * Return CORS configuration. Thread-safe for concurrent use.
 		 */
@@ -529,6 +583,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 				for (String path : directPaths) {
 					this.pathLookup.add(path, mapping);
 				}
+				this.patternPrefixTree.add(mapping, getPatternValues(mapping));
 
 				CorsConfiguration corsConfig = initCorsConfiguration(handler, method, mapping);
 				if (corsConfig != null) {
@@ -572,6 +627,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 						}
 					}
 				}
+				this.patternPrefixTree.remove(registration.getMapping(), getPatternValues(registration.getMapping()));
 
 				this.corsLookup.remove(registration.getHandlerMethod());
 			}
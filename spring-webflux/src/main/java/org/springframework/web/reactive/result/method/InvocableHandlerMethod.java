@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -29,6 +29,7 @@ import reactor.core.publisher.Mono;
 import org.springframework.core.CoroutinesUtils;
 import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.KotlinDetector;
+import org.springframework.core.MethodHandleInvoker;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.core.ReactiveAdapter;
@@ -65,6 +66,11 @@ public class InvocableHandlerMethod extends HandlerMethod {
 
 	private ReactiveAdapterRegistry reactiveAdapterRegistry = ReactiveAdapterRegistry.getSharedInstance();
 
+	private boolean methodHandleInvocation = false;
+
+	@Nullable
+	private MethodHandleInvoker methodHandleInvoker;
+
 
 	/**
 	 * Create an instance from a {@code HandlerMethod}.
@@ -121,6 +127,31 @@ public class InvocableHandlerMethod extends HandlerMethod {
 		this.reactiveAdapterRegistry = registry;
 	}
 
+	/**
+	 * Specify whether to invoke the handler method through a {@link MethodHandleInvoker}
+	 * (a {@code MethodHandle} adapted once per method and cached) rather than through
+	 * reflective {@link Method#invoke} calls. The invoker is resolved right here,
+	 * once for this handler method rather than on every invocation.
+	 * <p>Default is "false". Argument type mismatches are reported as an
+	 * {@code IllegalStateException} just like with reflective invocation.
+	 * Kotlin suspending functions are always invoked reflectively.
+	 * @since 6.0
+	 */
+	public void setMethodHandleInvocation(boolean methodHandleInvocation) {
+		Method method = getBridgedMethod();
+		this.methodHandleInvocation = methodHandleInvocation;
+		this.methodHandleInvoker = (methodHandleInvocation && !KotlinDetector.isSuspendingFunction(method) ?
+				MethodHandleInvoker.forMethod(method) : null);
+	}
+
+	/**
+	 * Return whether the handler method is invoked through a {@link MethodHandleInvoker}.
+	 * @since 6.0
+	 */
+	public boolean isMethodHandleInvocation() {
+		return this.methodHandleInvocation;
+	}
+
 
 	/**
 	 * Invoke the method for the given exchange.
@@ -135,26 +166,46 @@ public class InvocableHandlerMethod extends HandlerMethod {
 
 		return getMethodArgumentValues(exchange, bindingContext, providedArgs).flatMap(args -> {
 			Object value;
-			try {
-				Method method = getBridgedMethod();
-				if (KotlinDetector.isSuspendingFunction(method)) {
-					value = CoroutinesUtils.invokeSuspendingFunction(method, getBean(), args);
+			MethodHandleInvoker invoker = this.methodHandleInvoker;
+			if (invoker != null) {
+				try {
+					value = invoker.invoke(getBean(), args);
 				}
-				else {
-					value = method.invoke(getBean(), args);
+				catch (ClassCastException | NullPointerException | IllegalArgumentException ex) {
+					if (invoker.isApplicable(getBean(), args)) {
+						// Thrown by the handler method itself
+						return Mono.error(ex);
+					}
+					assertTargetBean(getBridgedMethod(), getBean(), args);
+					return Mono.error(new IllegalStateException(formatInvokeError("argument type mismatch", args), ex));
+				}
+				catch (Throwable ex) {
+					// Not wrapped in an InvocationTargetException to begin with...
+					return Mono.error(ex);
 				}
 			}
-			catch (IllegalArgumentException ex) {
-				assertTargetBean(getBridgedMethod(), getBean(), args);
-				String text = (ex.getMessage() != null ? ex.getMessage() : "Illegal argument");
-				return Mono.error(new IllegalStateException(formatInvokeError(text, args), ex));
-			}
-			catch (InvocationTargetException ex) {
-				return Mono.error(ex.getTargetException());
-			}
-			catch (Throwable ex) {
-				// Unlikely to ever get here, but it must be handled...
-				return Mono.error(new IllegalStateException(formatInvokeError("Invocation failure", args), ex));
+			else {
+				try {
+					Method method = getBridgedMethod();
+					if (KotlinDetector.isSuspendingFunction(method)) {
+						value = CoroutinesUtils.invokeSuspendingFunction(method, getBean(), args);
+					}
+					else {
+						value = method.invoke(getBean(), args);
+					}
+				}
+				catch (IllegalArgumentException ex) {
+					assertTargetBean(getBridgedMethod(), getBean(), args);
+					String text = (ex.getMessage() != null ? ex.getMessage() : "Illegal argument");
+					return Mono.error(new IllegalStateException(formatInvokeError(text, args), ex));
+				}
+				catch (InvocationTargetException ex) {
+					return Mono.error(ex.getTargetException());
+				}
+				catch (Throwable ex) {
+					// Unlikely to ever get here, but it must be handled...
+					return Mono.error(new IllegalStateException(formatInvokeError("Invocation failure", args), ex));
+				}
 			}
 
 			HttpStatusCode status = getResponseStatus();
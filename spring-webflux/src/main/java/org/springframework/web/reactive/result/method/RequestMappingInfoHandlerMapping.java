@@ -78,6 +78,13 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
 		return info.getDirectPaths();
 	}
 
+	@Override
+	protected Set<String> getPatternValues(RequestMappingInfo info) {
+		return info.getPatternsCondition().getPatterns().stream()
+				.map(PathPattern::getPatternString)
+				.collect(Collectors.toSet());
+	}
+
 	/**
 	 * Check if the given RequestMappingInfo matches the current request and
 	 * return a (potentially new) instance with conditions that match the
@@ -110,6 +110,8 @@ class ControllerMethodResolver {
 
 	private final Map<Class<?>, SessionAttributesHandler> sessionAttributesHandlerCache = new ConcurrentHashMap<>(64);
 
+	private boolean methodHandleInvocation = false;
+
 
 	ControllerMethodResolver(ArgumentResolverConfigurer customResolvers, ReactiveAdapterRegistry adapterRegistry,
 			ConfigurableApplicationContext context, List<HttpMessageReader<?>> readers) {
@@ -253,6 +255,16 @@ class ControllerMethodResolver {
 	}
 
 
+	/**
+	 * Specify whether {@code @RequestMapping} methods should be invoked
+	 * through cached {@code MethodHandle}-based invokers.
+	 * @see InvocableHandlerMethod#setMethodHandleInvocation
+	 */
+	void setMethodHandleInvocation(boolean methodHandleInvocation) {
+		this.methodHandleInvocation = methodHandleInvocation;
+	}
+
+
 	/**
 	 * Return an {@link InvocableHandlerMethod} for the given
 	 * {@code @RequestMapping} method initialized with argument resolvers.
@@ -261,6 +273,7 @@ class ControllerMethodResolver {
 		InvocableHandlerMethod invocable = new InvocableHandlerMethod(handlerMethod);
 		invocable.setArgumentResolvers(this.requestMappingResolvers);
 		invocable.setReactiveAdapterRegistry(this.reactiveAdapterRegistry);
+		invocable.setMethodHandleInvocation(this.methodHandleInvocation);
 		return invocable;
 	}
 
@@ -68,6 +68,8 @@ public class RequestMappingHandlerAdapter implements HandlerAdapter, Application
 	@Nullable
 	private ReactiveAdapterRegistry reactiveAdapterRegistry;
 
+	private boolean methodHandleInvocation = false;
+
 	@Nullable
 	private ConfigurableApplicationContext applicationContext;
 
@@ -142,6 +144,25 @@ public class RequestMappingHandlerAdapter implements HandlerAdapter, Application
 		return this.reactiveAdapterRegistry;
 	}
 
+	/**
+	 * Specify whether {@code @RequestMapping} handler methods should be invoked
+	 * through cached {@code MethodHandle}-based invokers rather than via reflection.
+	 * <p>Default is "false".
+	 * @since 6.0
+	 * @see org.springframework.web.reactive.result.method.InvocableHandlerMethod#setMethodHandleInvocation
+	 */
+	public void setMethodHandleInvocation(boolean methodHandleInvocation) {
+		this.methodHandleInvocation = methodHandleInvocation;
+	}
+
+	/**
+	 * Return whether handler methods are invoked through {@code MethodHandle}-based invokers.
+	 * @since 6.0
+	 */
+	public boolean isMethodHandleInvocation() {
+		return this.methodHandleInvocation;
+	}
+
 	/**
 	 * A {@link ConfigurableApplicationContext} is expected for resolving
 	 * expressions in method argument default values as well as for
@@ -172,6 +193,7 @@ public class RequestMappingHandlerAdapter implements HandlerAdapter, Application
 
 		this.methodResolver = new ControllerMethodResolver(this.argumentResolverConfigurer,
 				this.reactiveAdapterRegistry, this.applicationContext, this.messageReaders);
+		this.methodResolver.setMethodHandleInvocation(this.methodHandleInvocation);
 
 		this.modelInitializer = new ModelInitializer(this.methodResolver, this.reactiveAdapterRegistry);
 	}
@@ -18,6 +18,7 @@ package org.springframework.web.reactive;
 
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.List;
 import java.util.function.Supplier;
 
 import org.junit.jupiter.api.Test;
@@ -28,8 +29,12 @@ import org.springframework.core.MethodParameter;
 import org.springframework.core.Ordered;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.observation.InMemoryObservationRecorder;
+import org.springframework.core.observation.InMemoryObservationRecorder.RecordedObservation;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.reactive.result.SimpleHandlerAdapter;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebHandler;
 import org.springframework.web.testfixture.http.server.reactive.MockServerHttpRequest;
@@ -37,6 +42,7 @@ import org.springframework.web.testfixture.method.ResolvableMethod;
 import org.springframework.web.testfixture.server.MockServerWebExchange;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
@@ -98,6 +104,52 @@ public class DispatcherHandlerTests {
 		verifyNoInteractions(webHandler);
 	}
 
+	@Test
+	void observationRecorder() {
+		HandlerMapping handlerMapping = mock(HandlerMapping.class);
+		given(handlerMapping.getHandler(any())).willReturn(Mono.just((Supplier<String>) () -> "body"));
+
+		StaticApplicationContext context = new StaticApplicationContext();
+		context.registerBean("handlerMapping", HandlerMapping.class, () -> handlerMapping);
+		context.registerBean(HandlerAdapter.class, SupplierHandlerAdapter::new);
+		context.registerBean(HandlerResultHandler.class, StringHandlerResultHandler::new);
+		context.refresh();
+
+		InMemoryObservationRecorder recorder = new InMemoryObservationRecorder();
+		DispatcherHandler dispatcherHandler = new DispatcherHandler(context);
+		dispatcherHandler.setObservationRecorder(recorder);
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+		exchange.getResponse().setStatusCode(HttpStatus.CREATED);
+		dispatcherHandler.handle(exchange).block(Duration.ofSeconds(5));
+
+		List<RecordedObservation> observations = recorder.getObservations("http.server.requests");
+		assertThat(observations).hasSize(1);
+		assertThat(observations.get(0).getTags()).containsEntry("method", "GET").containsEntry("status", "201");
+		assertThat(observations.get(0).getError()).isNull();
+	}
+
+	@Test
+	void observationRecorderWithError() {
+		HandlerMapping handlerMapping = mock(HandlerMapping.class);
+		given(handlerMapping.getHandler(any())).willReturn(Mono.empty());
+
+		StaticApplicationContext context = new StaticApplicationContext();
+		context.registerBean("handlerMapping", HandlerMapping.class, () -> handlerMapping);
+		context.refresh();
+
+		InMemoryObservationRecorder recorder = new InMemoryObservationRecorder();
+		DispatcherHandler dispatcherHandler = new DispatcherHandler(context);
+		dispatcherHandler.setObservationRecorder(recorder);
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/"));
+		assertThatExceptionOfType(ResponseStatusException.class).isThrownBy(() ->
+				dispatcherHandler.handle(exchange).block(Duration.ofSeconds(5)));
+
+		List<RecordedObservation> observations = recorder.getObservations("http.server.requests");
+		assertThat(observations).hasSize(1);
+		assertThat(observations.get(0).getTags()).containsEntry("method", "POST").doesNotContainKey("status");
+		assertThat(observations.get(0).getError()).isInstanceOf(ResponseStatusException.class);
+	}
+
 	@SuppressWarnings("unused")
 	private void handle() {}
 
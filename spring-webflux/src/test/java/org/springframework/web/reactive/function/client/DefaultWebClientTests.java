@@ -19,6 +19,7 @@ package org.springframework.web.reactive.function.client;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -36,6 +37,8 @@ import reactor.test.StepVerifier;
 
 import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.observation.InMemoryObservationRecorder;
+import org.springframework.core.observation.InMemoryObservationRecorder.RecordedObservation;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -388,6 +391,37 @@ public class DefaultWebClientTests {
 				.verify(Duration.ofSeconds(5));
 	}
 
+	@Test
+	public void observationRecorder() {
+		InMemoryObservationRecorder recorder = new InMemoryObservationRecorder();
+		WebClient client = this.builder.observationRecorder(recorder).build();
+
+		client.get().uri("/path").retrieve().bodyToMono(Void.class).block(Duration.ofSeconds(10));
+
+		List<RecordedObservation> observations = recorder.getObservations("http.client.requests");
+		assertThat(observations).hasSize(1);
+		assertThat(observations.get(0).getTags()).containsEntry("method", "GET").containsEntry("status", "200");
+		assertThat(observations.get(0).getError()).isNull();
+	}
+
+	@Test
+	public void observationRecorderWithError() {
+		IllegalStateException failure = new IllegalStateException("exchange failure");
+		ExchangeFunction exchangeFunction = mock(ExchangeFunction.class);
+		given(exchangeFunction.exchange(any())).willReturn(Mono.error(failure));
+		InMemoryObservationRecorder recorder = new InMemoryObservationRecorder();
+		WebClient client = WebClient.builder().exchangeFunction(exchangeFunction).observationRecorder(recorder).build();
+
+		StepVerifier.create(client.post().uri("/path").retrieve().bodyToMono(Void.class))
+				.expectError(IllegalStateException.class)
+				.verify(Duration.ofSeconds(5));
+
+		List<RecordedObservation> observations = recorder.getObservations("http.client.requests");
+		assertThat(observations).hasSize(1);
+		assertThat(observations.get(0).getTags()).containsEntry("method", "POST").doesNotContainKey("status");
+		assertThat(observations.get(0).getError()).isSameAs(failure);
+	}
+
 	@Test
 	public void shouldApplyFiltersAtSubscription() {
 		WebClient client = this.builder
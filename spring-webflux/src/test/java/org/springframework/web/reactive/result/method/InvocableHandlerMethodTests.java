@@ -142,6 +142,34 @@ public class InvocableHandlerMethodTests {
 			.withMessageContaining("[0] [type=java.lang.Integer] [value=1]");
 	}
 
+	@Test
+	public void argumentTypeMismatchWithMethodHandleInvocation() {
+		this.resolvers.add(stubResolver(1));
+		Method method = ResolvableMethod.on(TestController.class).mockCall(o -> o.singleArg(null)).method();
+		InvocableHandlerMethod invocable = new InvocableHandlerMethod(new TestController(), method);
+		invocable.setArgumentResolvers(this.resolvers);
+		invocable.setMethodHandleInvocation(true);
+		Mono<HandlerResult> mono = invocable.invoke(this.exchange, new BindingContext());
+		assertThatIllegalStateException().isThrownBy(
+				mono::block)
+			.withCauseInstanceOf(ClassCastException.class)
+			.withMessageContaining("argument type mismatch")
+			.withMessageContaining("Controller [")
+			.withMessageContaining("[0] [type=java.lang.Integer] [value=1]");
+	}
+
+	@Test
+	public void resolveArgWithMethodHandleInvocation() {
+		this.resolvers.add(stubResolver("value1"));
+		Method method = ResolvableMethod.on(TestController.class).mockCall(o -> o.singleArg(null)).method();
+		InvocableHandlerMethod invocable = new InvocableHandlerMethod(new TestController(), method);
+		invocable.setArgumentResolvers(this.resolvers);
+		invocable.setMethodHandleInvocation(true);
+		Mono<HandlerResult> mono = invocable.invoke(this.exchange, new BindingContext());
+
+		assertHandlerResultValue(mono, "success:value1");
+	}
+
 	@Test
 	public void invocationTargetException() {
 		Method method = ResolvableMethod.on(TestController.class).mockCall(TestController::exceptionMethod).method();
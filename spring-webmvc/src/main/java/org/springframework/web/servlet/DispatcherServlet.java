@@ -48,11 +48,14 @@ import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.support.PropertiesLoaderUtils;
 import org.springframework.core.log.LogFormatUtils;
+import org.springframework.core.observation.Observation;
+import org.springframework.core.observation.ObservationRecorder;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.server.RequestPath;
 import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.lang.Nullable;
 import org.springframework.ui.context.ThemeSource;
+import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.context.WebApplicationContext;
@@ -338,6 +341,9 @@ public class DispatcherServlet extends FrameworkServlet {
 
 	private boolean parseRequestPath;
 
+	/** Recorder for observing request handling. */
+	private ObservationRecorder observationRecorder = ObservationRecorder.DEFAULT;
+
 
 	/**
 	 * Create a new {@code DispatcherServlet} that will create its own internal web
@@ -477,6 +483,20 @@ public class DispatcherServlet extends FrameworkServlet {
 		this.cleanupAfterInclude = cleanupAfterInclude;
 	}
 
+	/**
+	 * Set the {@link ObservationRecorder} for observing the dispatch of each
+	 * request as an {@code "http.server.requests"} observation, tagged with
+	 * the HTTP method and the response status.
+	 * <p>For asynchronous requests, only the initial dispatch is observed,
+	 * not the {@link DispatcherType#ASYNC ASYNC} dispatch that completes them.
+	 * <p>Default is a no-op recorder.
+	 * @since 6.0
+	 */
+	public void setObservationRecorder(ObservationRecorder observationRecorder) {
+		Assert.notNull(observationRecorder, "ObservationRecorder must not be null");
+		this.observationRecorder = observationRecorder;
+	}
+
 
 	/**
 	 * This implementation calls {@link #initStrategies}.
@@ -956,10 +976,22 @@ public class DispatcherServlet extends FrameworkServlet {
 			ServletRequestPathUtils.parseAndCache(request);
 		}
 
+		ObservationRecorder observationRecorder = (request.getDispatcherType() != DispatcherType.ASYNC ?
+				this.observationRecorder : ObservationRecorder.DEFAULT);
+		Observation observation = observationRecorder.start("http.server.requests")
+				.tag("method", request.getMethod());
 		try {
 			doDispatch(request, response);
 		}
+		catch (Exception | Error ex) {
+			observation.error(ex);
+			throw ex;
+		}
 		finally {
+			if (observationRecorder.isEnabled()) {
+				observation.tag("status", String.valueOf(response.getStatus()));
+			}
+			observation.stop();
 			if (!WebAsyncUtils.getAsyncManager(request).isConcurrentHandlingStarted()) {
 				// Restore the original attribute snapshot, in case of an include.
 				if (attributesSnapshot != null) {
@@ -49,6 +49,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsUtils;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.PatternPrefixTree;
 import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
@@ -95,6 +96,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 	private boolean detectHandlerMethodsInAncestorContexts = false;
 
+	private boolean usePatternPrefixTree = false;
+
 	@Nullable
 	private HandlerMethodMappingNamingStrategy<T> namingStrategy;
 
@@ -122,6 +125,28 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		this.detectHandlerMethodsInAncestorContexts = detectHandlerMethodsInAncestorContexts;
 	}
 
+	/**
+	 * Whether to narrow down the mappings to check for a lookup path that has
+	 * no direct path match through a {@link PatternPrefixTree}, indexing
+	 * mappings by the literal leading segments of their URL patterns, instead
+	 * of checking every registered mapping.
+	 * <p>The default value is {@code false}. Switch this on for a large number
+	 * of pattern mappings, most of which start with literal path segments.
+	 * @since 6.0
+	 * @see #getPatternValues(Object)
+	 */
+	public void setUsePatternPrefixTree(boolean usePatternPrefixTree) {
+		this.usePatternPrefixTree = usePatternPrefixTree;
+	}
+
+	/**
+	 * Whether mappings are narrowed down through a {@link PatternPrefixTree}.
+	 * @since 6.0
+	 */
+	public boolean usePatternPrefixTree() {
+		return this.usePatternPrefixTree;
+	}
+
 	/**
 	 * Configure the naming strategy to use for assigning a default name to every
 	 * mapped handler method.
@@ -405,7 +430,10 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			addMatchingMappings(directPathMatches, matches, request);
 		}
 		if (matches.isEmpty()) {
-			addMatchingMappings(this.mappingRegistry.getRegistrations().keySet(), matches, request);
+			Collection<T> candidates = (this.usePatternPrefixTree ?
+					this.mappingRegistry.getMappingsByPatternPrefix(lookupPath) : null);
+			addMatchingMappings(candidates != null ? candidates :
+					this.mappingRegistry.getRegistrations().keySet(), matches, request);
 		}
 		if (!matches.isEmpty()) {
 			Match bestMatch = matches.get(0);
@@ -544,6 +572,18 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		return urls;
 	}
 
+	/**
+	 * Return the URL patterns of the given mapping, as Strings, to index the
+	 * mapping by when {@link #setUsePatternPrefixTree pattern prefix tree}
+	 * lookups are enabled.
+	 * <p>By default, this returns an empty set, in which case the mapping is
+	 * checked for every lookup path without a direct path match.
+	 * @since 6.0
+	 */
+	protected Set<String> getPatternValues(T mapping) {
+		return Collections.emptySet();
+	}
+
 	/**
 	 * Check if a mapping matches the current request and return a (potentially
 	 * new) mapping with conditions relevant to the current request.
@@ -574,6 +614,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 		private final MultiValueMap<String, T> pathLookup = new LinkedMultiValueMap<>();
 
+		private final PatternPrefixTree<T> patternPrefixTree = new PatternPrefixTree<>();
+
 		private final Map<String, List<HandlerMethod>> nameLookup = new ConcurrentHashMap<>();
 
 		private final Map<HandlerMethod, CorsConfiguration> corsLookup = new ConcurrentHashMap<>();
@@ -597,6 +639,17 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.pathLookup.get(urlPath);
 		}
 
+		/**
+		 * Return the mappings whose URL patterns may match the given lookup path,
+		 * or {@code null} if all mappings need to be checked. Not thread-safe.
+		 * @since 6.0
+		 * @see #acquireReadLock()
+		 */
+		@Nullable
+		public Collection<T> getMappingsByPatternPrefix(String lookupPath) {
+			return this.patternPrefixTree.getCandidates(lookupPath);
+		}
+
 		/**
 		 * Return handler methods by mapping name. Thread-safe for concurrent use.
 		 */
@@ -637,6 +690,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 				for (String path : directPaths) {
 					this.pathLookup.add(path, mapping);
 				}
+				this.patternPrefixTree.add(mapping, getPatternValues(mapping));
 
 				String name = null;
 				if (getNamingStrategy() != null) {
@@ -704,6 +758,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 						}
 					}
 				}
+				this.patternPrefixTree.remove(registration.getMapping(), getPatternValues(registration.getMapping()));
 
 				removeMappingName(registration);
 
@@ -186,6 +186,8 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 
 	private ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
 
+	private boolean methodHandleInvocation = false;
+
 	@Nullable
 	private ConfigurableBeanFactory beanFactory;
 
@@ -543,6 +545,25 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 		this.parameterNameDiscoverer = parameterNameDiscoverer;
 	}
 
+	/**
+	 * Specify whether {@code @RequestMapping} handler methods should be invoked
+	 * through cached {@code MethodHandle}-based invokers rather than via reflection.
+	 * <p>Default is "false".
+	 * @since 6.0
+	 * @see org.springframework.web.method.support.InvocableHandlerMethod#setMethodHandleInvocation
+	 */
+	public void setMethodHandleInvocation(boolean methodHandleInvocation) {
+		this.methodHandleInvocation = methodHandleInvocation;
+	}
+
+	/**
+	 * Return whether handler methods are invoked through {@code MethodHandle}-based invokers.
+	 * @since 6.0
+	 */
+	public boolean isMethodHandleInvocation() {
+		return this.methodHandleInvocation;
+	}
+
 	/**
 	 * A {@link ConfigurableBeanFactory} is expected for resolving expressions
 	 * in method argument default values.
@@ -866,6 +887,7 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 			}
 			invocableMethod.setDataBinderFactory(binderFactory);
 			invocableMethod.setParameterNameDiscoverer(this.parameterNameDiscoverer);
+			invocableMethod.setMethodHandleInvocation(this.methodHandleInvocation);
 
 			ModelAndViewContainer mavContainer = new ModelAndViewContainer();
 			mavContainer.addAllAttributes(RequestContextUtils.getInputFlashMap(request));
@@ -18,6 +18,7 @@ package org.springframework.web.servlet;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
@@ -40,6 +41,8 @@ import org.springframework.context.ApplicationContextInitializer;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.observation.InMemoryObservationRecorder;
+import org.springframework.core.observation.InMemoryObservationRecorder.RecordedObservation;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.server.RequestPath;
 import org.springframework.web.HttpRequestHandler;
@@ -580,6 +583,55 @@ public class DispatcherServletTests {
 			.withMessageContaining("failed0");
 	}
 
+	@Test
+	public void observationRecorder() throws Exception {
+		InMemoryObservationRecorder recorder = new InMemoryObservationRecorder();
+		simpleDispatcherServlet.setObservationRecorder(recorder);
+
+		MockHttpServletRequest request = new MockHttpServletRequest(getServletContext(), "GET", "/invalid.do");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		simpleDispatcherServlet.service(request, response);
+
+		List<RecordedObservation> observations = recorder.getObservations("http.server.requests");
+		assertThat(observations).hasSize(1);
+		assertThat(observations.get(0).getTags()).containsEntry("method", "GET").containsEntry("status", "404");
+		assertThat(observations.get(0).getError()).isNull();
+	}
+
+	@Test
+	public void observationRecorderWithError() throws Exception {
+		DispatcherServlet complexDispatcherServlet = new DispatcherServlet();
+		complexDispatcherServlet.setContextClass(ComplexWebApplicationContext.class);
+		complexDispatcherServlet.setNamespace("test");
+		complexDispatcherServlet.setDetectAllHandlerExceptionResolvers(false);
+		complexDispatcherServlet.init(new MockServletConfig(getServletContext(), "complex"));
+		InMemoryObservationRecorder recorder = new InMemoryObservationRecorder();
+		complexDispatcherServlet.setObservationRecorder(recorder);
+
+		MockHttpServletRequest request = new MockHttpServletRequest(getServletContext(), "POST", "/unknown.do");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		assertThatExceptionOfType(ServletException.class).isThrownBy(() ->
+				complexDispatcherServlet.service(request, response));
+
+		List<RecordedObservation> observations = recorder.getObservations("http.server.requests");
+		assertThat(observations).hasSize(1);
+		assertThat(observations.get(0).getTags()).containsEntry("method", "POST");
+		assertThat(observations.get(0).getError()).isInstanceOf(ServletException.class);
+	}
+
+	@Test
+	public void observationRecorderSkipsAsyncDispatch() throws Exception {
+		InMemoryObservationRecorder recorder = new InMemoryObservationRecorder();
+		simpleDispatcherServlet.setObservationRecorder(recorder);
+
+		MockHttpServletRequest request = new MockHttpServletRequest(getServletContext(), "GET", "/invalid.do");
+		request.setDispatcherType(DispatcherType.ASYNC);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		simpleDispatcherServlet.service(request, response);
+
+		assertThat(recorder.getObservations()).isEmpty();
+	}
+
 	@Test
 	public void throwExceptionIfNoHandlerFound() throws ServletException, IOException {
 		DispatcherServlet complexDispatcherServlet = new DispatcherServlet();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -107,6 +107,26 @@ public class HandlerMethodMappingTests {
 		assertThat(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE)).isEqualTo(result);
 	}
 
+	@Test
+	public void patternMatchWithPatternPrefixTree() throws Exception {
+		this.mapping.setUsePatternPrefixTree(true);
+		this.mapping.registerMapping("/foo/{id}/bar", this.handler, this.method1);
+		this.mapping.registerMapping("/foo/*", this.handler, this.method2);
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/foo/1/bar");
+		HandlerMethod result = this.mapping.getHandlerInternal(request);
+		assertThat(result.getMethod()).isEqualTo(method1);
+
+		request = new MockHttpServletRequest("GET", "/FOO/1");
+		result = this.mapping.getHandlerInternal(request);
+		assertThat(result).isNull();
+
+		request = new MockHttpServletRequest("GET", "/foo/1");
+		result = this.mapping.getHandlerInternal(request);
+		assertThat(result.getMethod()).isEqualTo(method2);
+		assertThat(this.mapping.getMatches()).containsExactly("/foo/{id}/bar", "/foo/*");
+	}
+
 	@Test
 	public void ambiguousMatch() {
 		this.mapping.registerMapping("/f?o", this.handler, this.method1);
@@ -249,6 +269,7 @@ public class HandlerMethodMappingTests {
 		this.mapping.unregisterMapping(key);
 		assertThat(mapping.getHandlerInternal(new MockHttpServletRequest("GET", key))).isNull();
 		assertThat(this.mapping.getMappingRegistry().getMappingsByDirectPath(key)).isNull();
+		assertThat(this.mapping.getMappingRegistry().getMappingsByPatternPrefix("/" + key)).isEmpty();
 		assertThat(this.mapping.getMappingRegistry().getHandlerMethodsByMappingName(this.method1.getName())).isNull();
 		assertThat(this.mapping.getMappingRegistry().getCorsConfiguration(handlerMethod)).isNull();
 	}
@@ -294,6 +315,11 @@ public class HandlerMethodMappingTests {
 			return (pathMatcher.isPattern(mapping) ? Collections.emptySet() : Collections.singleton(mapping));
 		}
 
+		@Override
+		protected Set<String> getPatternValues(String mapping) {
+			return Collections.singleton(mapping);
+		}
+
 		@Override
 		protected String getMappingForMethod(Method method, Class<?> handlerType) {
 			String methodName = method.getName();